@@ -1,13 +1,10 @@
 package com.biz.cache.map;
 
 import com.biz.common.concurrent.BizScheduledFuture;
-import com.biz.common.concurrent.ExecutorsUtils;
-import com.biz.common.singleton.Singleton;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -22,7 +19,8 @@ import java.util.function.Supplier;
  * {@link SingletonScheduledMap.SingletonMapBuilder} 进行灵活配置和构建。
  * <p>
  * 为了确保在多线程环境中的线程安全性，缓存操作使用了 {@link ReentrantLock} 进行锁保护。
- * 内部使用了 {@link ScheduledExecutorService} 来管理和调度定时任务。
+ * 键值对的过期由 {@link BizScheduledFuture} 调度，默认使用进程内共享的
+ * {@link com.biz.common.concurrent.HashedWheelScheduler}，不会为缓存单独创建线程池。
  *
  * @param <K> 缓存条目的键类型
  * @param <V> 缓存条目的值类型
@@ -33,12 +31,6 @@ import java.util.function.Supplier;
 @Slf4j
 public final class SingletonScheduledMap<K, V> implements CacheMap<K, V> {
 
-    /**
-     * 全局的 {@link ScheduledExecutorService} 单例，用于调度定时任务。
-     */
-    private static final Singleton<ScheduledExecutorService> SCHEDULED_EXECUTOR_SERVICE_SINGLETON =
-            Singleton.createWithSupplier(ExecutorsUtils::buildScheduledExecutorService);
-
     /**
      * 全局版本号，用于控制缓存的生命周期。
      */
@@ -214,10 +206,13 @@ public final class SingletonScheduledMap<K, V> implements CacheMap<K, V> {
 
         lock.lock();
         try {
-            if (!map.containsKey(k)) {
+            Value<V> value = map.remove(k);
+            if (value == null) {
                 return null;
             }
-            return map.remove(k).v;
+            // 主动移除时取消尚未到期的过期任务，避免它留在调度器中
+            value.scheduledFuture.cancel();
+            return value.v;
         } finally {
             lock.unlock();
         }
@@ -341,7 +336,6 @@ public final class SingletonScheduledMap<K, V> implements CacheMap<K, V> {
                     }
                 })
                 .time(died)
-                .scheduledExecutorService(SCHEDULED_EXECUTOR_SERVICE_SINGLETON.get())
                 .build();
         value.scheduledFuture.submit();
         return value;
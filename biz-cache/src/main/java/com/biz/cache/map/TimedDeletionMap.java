@@ -1,6 +1,7 @@
 package com.biz.cache.map;
 
 import com.biz.common.concurrent.ExecutorsUtils;
+import com.biz.common.concurrent.HashedWheelScheduler;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -16,7 +17,9 @@ import java.util.function.Supplier;
  * 提供定时删除功能的并发映射表。该类封装了一个 {@link ConcurrentHashMap}，并通过定时任务定期删除过期的条目。
  * 它特别适合需要管理大量时间敏感数据的应用场景，如缓存管理、会话管理等。
  *
- * <p>这个类使用了一个内部的 {@link ScheduledExecutorService} 来定期执行清理任务，移除所有已过期的条目。</p>
+ * <p>这个类定期执行清理任务，移除所有已过期的条目。指定了 {@link ScheduledExecutorService} 时清理任务按固定频率在其中执行；
+ * 未指定时清理任务挂在进程内共享的 {@link HashedWheelScheduler#shared()} 上，每次执行完后按清理间隔重新登记，
+ * 不会为每个映射单独创建线程。</p>
  *
  * <h3>示例用法:</h3>
  * <pre>{@code
@@ -36,13 +39,14 @@ import java.util.function.Supplier;
  * // 10秒后，"key1" 将被自动删除
  * }</pre>
  *
- * <p>注意：确保在应用程序生命周期结束时调用 {@link #close()} 方法，以正确关闭内部的线程池。</p>
+ * <p>注意：确保在应用程序生命周期结束时调用 {@link #close()} 方法，以停止清理任务并关闭指定的线程池。</p>
  *
  * @param <K> Map 中键的类型
  * @param <V> Map 中值的类型
  * @see ConcurrentHashMap
  * @see ScheduledExecutorService
  * @see ExecutorsUtils
+ * @see HashedWheelScheduler
  * @see TimeUnit
  * @see java.util.function.Consumer
  * @see java.util.function.Supplier
@@ -63,9 +67,20 @@ public class TimedDeletionMap<K, V> implements AutoCloseable, TimedDeletionCache
     /**
      * 使用ScheduledExecutorService来定期执行清理任务。
      * 它负责轮询映射并移除过期的条目，以保持映射的大小和性能。
+     * 为 null 时清理任务在共享的时间轮调度器上执行。
      */
     private final ScheduledExecutorService executorService;
 
+    /**
+     * 在共享时间轮上等待执行的清理任务，仅在未指定 executorService 时使用。
+     */
+    private volatile HashedWheelScheduler.Timeout cleanupTimeout;
+
+    /**
+     * 映射是否已关闭，关闭后清理任务不再重新登记。
+     */
+    private volatile boolean closed;
+
     /**
      * 清理间隔定义了多久执行一次清理任务。
      * 这个间隔帮助控制清理频率，避免过于频繁或过于稀疏的清理操作。
@@ -97,7 +112,7 @@ public class TimedDeletionMap<K, V> implements AutoCloseable, TimedDeletionCache
      * 使用给定的映射、执行器服务、清理间隔和时间单位初始化。
      *
      * @param map              存储条目的映射
-     * @param executorService  用于调度清理任务的执行器服务
+     * @param executorService  用于调度清理任务的执行器服务，为 null 时使用共享的时间轮调度器
      * @param onRemoveConsumer 当元素被清除时执行的函数
      * @param cleanupInterval  清理任务执行的间隔
      * @param timeUnit         清理任务执行间隔的时间单位
@@ -177,12 +192,17 @@ public class TimedDeletionMap<K, V> implements AutoCloseable, TimedDeletionCache
     }
 
     /**
-     * 关闭映射，包括停止执行器服务。
+     * 关闭映射，停止清理任务；指定了执行器服务时同时关闭执行器服务。
      *
      * @throws Exception 如果关闭执行器服务时发生错误
      */
     @Override
     public void close() throws Exception {
+        closed = true;
+        HashedWheelScheduler.Timeout timeout = cleanupTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
         if (executorService != null) {
             executorService.shutdown();
             if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
@@ -209,7 +229,7 @@ public class TimedDeletionMap<K, V> implements AutoCloseable, TimedDeletionCache
         /**
          * 定时任务执行服务，用于定期执行清理任务。
          * 这个 executorService 负责定时清理过期的条目，以保持缓存的活力。
-         * 使用 ExecutorsUtils.buildScheduledExecutorService() 进行初始化，该方法具体实现了 executorService 的配置和创建。
+         * 未指定时清理任务在共享的时间轮调度器上执行，映射本身不创建线程。
          */
         private ScheduledExecutorService executorService;
 
@@ -245,7 +265,8 @@ public class TimedDeletionMap<K, V> implements AutoCloseable, TimedDeletionCache
         }
 
         /**
-         * 指定用于清除数据的定时任务线程池。
+         * 指定用于清除数据的定时任务线程池，未指定时使用共享的时间轮调度器。
+         * 指定的线程池会在映射 {@link TimedDeletionMap#close()} 时被关闭。
          *
          * @param executorService 清除数据的定时任务线程池
          * @return 当前构建器实例
@@ -289,9 +310,6 @@ public class TimedDeletionMap<K, V> implements AutoCloseable, TimedDeletionCache
             if (mapSupplier == null) {
                 throw new IllegalStateException("Map supplier must not be null");
             }
-            if (executorService == null) {
-                executorService = ExecutorsUtils.buildScheduledExecutorService();
-            }
             return new TimedDeletionMap<>((ConcurrentHashMap<K, TimedEntry<V>>) mapSupplier.get(),
                     executorService, onRemoveConsumer, cleanupInterval, timeUnit);
         }
@@ -301,7 +319,27 @@ public class TimedDeletionMap<K, V> implements AutoCloseable, TimedDeletionCache
      * 安排清理任务定期运行，以移除过期的条目。
      */
     private void scheduleCleanupTask(long cleanupInterval, TimeUnit timeUnit) {
-        executorService.scheduleAtFixedRate(new CleanupTask(), 0, cleanupInterval, timeUnit);
+        if (executorService != null) {
+            executorService.scheduleAtFixedRate(new CleanupTask(), 0, cleanupInterval, timeUnit);
+        } else {
+            scheduleOnWheel(new CleanupTask());
+        }
+    }
+
+    /**
+     * 在共享时间轮上登记一次清理任务，执行完后再次登记，直到映射被关闭。
+     */
+    private void scheduleOnWheel(CleanupTask task) {
+        if (closed) {
+            return;
+        }
+        cleanupTimeout = HashedWheelScheduler.shared().schedule(() -> {
+            try {
+                task.run();
+            } finally {
+                scheduleOnWheel(task);
+            }
+        }, cleanupInterval, timeUnit);
     }
 
     /**
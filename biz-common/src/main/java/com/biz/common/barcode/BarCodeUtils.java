@@ -1,16 +1,21 @@
 package com.biz.common.barcode;
 
+import com.biz.common.file.CodeImageCache;
 import com.biz.common.file.FileUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.krysalis.barcode4j.HumanReadablePlacement;
 import org.krysalis.barcode4j.impl.code128.Code128Bean;
+import org.krysalis.barcode4j.impl.code128.Code128LogicImpl;
 import org.krysalis.barcode4j.output.bitmap.BitmapCanvasProvider;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * <p>
@@ -20,14 +25,21 @@ import java.nio.file.Files;
  * 该工具类封装了对Code128格式条形码的生成逻辑，支持自定义条形码的高度、宽度、是否隐藏文本及是否在两侧留白。
  * </p>
  *
+ * <p>
+ * 需要直接返回给客户端时使用 {@link #toByteArray(String)} 或 {@link #writeTo(String, OutputStream)} 在内存中生成，
+ * 结果与 {@link #generate(String, String)} 写入文件的内容完全相同。默认参数的 {@link Code128Bean} 在所有调用之间共享，
+ * 最近生成的 {@value #CACHE_SIZE} 个条形码缓存在内存中；批量打印标签时使用 {@link #toByteArrays(List, Executor)} 并行生成，批量生成不经过缓存。
+ * </p>
+ *
  * <h2>示例代码：</h2>
  * <pre>{@code
  *     File barcodeFile = BarCodeUtils.generate("1234567890", "/path/to/barcode.png");
+ *     byte[] png = BarCodeUtils.toByteArray("1234567890");
  * }
  * </pre>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 @Slf4j
@@ -53,6 +65,21 @@ public final class BarCodeUtils {
      */
     private static final double DEFAULT_MODULE_WIDTH = 0.09D;
 
+    /**
+     * 缓存的最近生成的条形码数量
+     */
+    private static final int CACHE_SIZE = 128;
+
+    /**
+     * 默认参数的条形码生成器，创建后不再修改，可以在多个线程中共享
+     */
+    private static final Code128Bean DEFAULT_BEAN = createCode128Bean(30.0, DEFAULT_MODULE_WIDTH, true, true);
+
+    /**
+     * 最近生成的条形码，按访问顺序淘汰
+     */
+    private static final CodeImageCache CACHE = new CodeImageCache("条形码", CACHE_SIZE, BarCodeUtils::render);
+
     /**
      * 生成条形码文件
      *
@@ -71,7 +98,7 @@ public final class BarCodeUtils {
         File file = new File(path);
         FileUtils.createFileIfNotExists(file);
         try (OutputStream outputStream = Files.newOutputStream(file.toPath())) {
-            generateBarCode128(text, 30.0, DEFAULT_MODULE_WIDTH, true, true, outputStream);
+            outputStream.write(CACHE.render(text));
         } catch (Exception e) {
             log.error("generate error", e);
             // 根据实际情况，可以抛出自定义异常或进行其他错误处理
@@ -80,21 +107,82 @@ public final class BarCodeUtils {
     }
 
     /**
-     * 生成条形码【code128】
+     * 在内存中生成条形码图片
      *
-     * <p>该方法使用Code128标准生成条形码，并将生成的条形码输出到指定的输出流。</p>
+     * @param text 条形码的文本内容，不能为空
+     * @return PNG 格式的图片，每次调用返回新的数组
+     * @throws IllegalArgumentException 当文本内容为空或包含 Code128 不支持的字符时抛出
+     */
+    public static byte[] toByteArray(String text) {
+        checkText(text);
+        return CACHE.render(text).clone();
+    }
+
+    /**
+     * 生成条形码图片并写入输出流，不会关闭输出流
+     *
+     * @param text         条形码的文本内容，不能为空
+     * @param outputStream 输出流，不能为空
+     * @throws IOException              当写入输出流失败时抛出
+     * @throws IllegalArgumentException 当文本内容为空或包含 Code128 不支持的字符时抛出
+     */
+    public static void writeTo(String text, OutputStream outputStream) throws IOException {
+        checkText(text);
+        outputStream.write(CACHE.render(text));
+    }
+
+    /**
+     * 在给定的执行器上并行生成一批条形码图片，用于批量打印标签
+     *
+     * @param texts    条形码的文本内容列表，每项都不能为空
+     * @param executor 执行器，不能为空
+     * @return PNG 格式的图片，与文本内容列表的顺序一致
+     * @throws IllegalArgumentException 当某项文本内容为空或包含 Code128 不支持的字符时抛出
+     * @throws IllegalStateException    当某项生成失败时抛出，此时不再生成剩余的内容
+     * @throws InterruptedException     当等待过程中调用线程被中断时抛出
+     */
+    public static List<byte[]> toByteArrays(List<String> texts, Executor executor) throws InterruptedException {
+        for (String text : texts) {
+            checkText(text);
+        }
+        return CACHE.renderAll(texts, executor);
+    }
+
+    /**
+     * 检查文本内容不为空，且每个字符都能用 Code128 编码（ASCII 字符及 FNC1~FNC4 功能字符）
+     */
+    private static void checkText(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Text must not be null");
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Code128LogicImpl.isValidChar(text.charAt(i))) {
+                throw new IllegalArgumentException("Code128 cannot encode character '" + text.charAt(i) + "' at index " + i);
+            }
+        }
+    }
+
+    /**
+     * 使用默认参数生成条形码图片，不经过缓存
+     */
+    private static byte[] render(String text) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024);
+        generateBarCode128(DEFAULT_BEAN, text, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 创建条形码生成器【code128】
      *
-     * @param text          要生成的条形码的文本内容，不能为空
      * @param height        条形码的高度，为空时使用默认高度
      * @param width         条形码的宽度，为空时使用默认宽度
      * @param withQuietZone 是否在两侧留白
      * @param hideText      是否隐藏条形码下方的可读文本
-     * @param outputStream  输出流，不能为空
-     * @throws RuntimeException 当生成条形码过程中发生IO异常时抛出
+     * @return 条形码生成器
      * @see Code128Bean
      * @see HumanReadablePlacement
      */
-    private static void generateBarCode128(String text, Double height, Double width, boolean withQuietZone, boolean hideText, OutputStream outputStream) {
+    private static Code128Bean createCode128Bean(Double height, Double width, boolean withQuietZone, boolean hideText) {
         Code128Bean code128Bean = new Code128Bean();
         // 设置两侧是否留白
         code128Bean.doQuietZone(withQuietZone);
@@ -107,7 +195,20 @@ public final class BarCodeUtils {
         if (hideText) {
             code128Bean.setMsgPosition(HumanReadablePlacement.HRP_NONE);
         }
+        return code128Bean;
+    }
 
+    /**
+     * 生成条形码【code128】
+     *
+     * <p>该方法使用Code128标准生成条形码，并将生成的条形码输出到指定的输出流。</p>
+     *
+     * @param code128Bean  条形码生成器
+     * @param text         要生成的条形码的文本内容，不能为空
+     * @param outputStream 输出流，不能为空
+     * @throws RuntimeException 当生成条形码过程中发生IO异常时抛出
+     */
+    private static void generateBarCode128(Code128Bean code128Bean, String text, OutputStream outputStream) {
         try {
             BitmapCanvasProvider canvas = new BitmapCanvasProvider(outputStream, IMAGE_PNG, RESOLUTION_RATIO, BufferedImage.TYPE_BYTE_BINARY, false, 0);
             // 生成条形码
@@ -0,0 +1,413 @@
+package com.biz.common.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 根据任务排队时间自适应调整核心线程数的控制器。
+ *
+ * <p>固定按处理器数量配置的线程池对 CPU 密集型任务合适，对阻塞I/O任务则明显偏小，在容器中处理器数量也未必准确。
+ * 该控制器定期采样 {@link BizThreadPoolExecutor} 在采样窗口内的平均排队时间、吞吐量和平均忙碌线程数
+ * （按利特尔法则，等于窗口内任务总运行时间除以窗口时长），在 {@code [minCorePoolSize, maxCorePoolSize]} 范围内调整核心线程数：</p>
+ * <ul>
+ *     <li>连续 {@code stableSamples} 次平均排队时间超过目标值时增加线程；如果上一次扩容后吞吐量没有提升至少5%，
+ *     说明瓶颈不在线程数（如下游限流、锁竞争），暂停扩容，直到吞吐量发生变化；</li>
+ *     <li>连续 {@code 2 * stableSamples} 次排队时间低于目标值的一半、且忙碌线程数不到核心线程数的一半时减少线程，
+ *     缩到忙碌线程数的1.25倍，每次最多减少 {@code step} 个。扩容快、缩容慢，避免在阈值附近来回抖动。</li>
+ * </ul>
+ *
+ * <p>采样任务运行在共享的 {@link HashedWheelScheduler} 上，不额外占用线程；线程池关闭后自动停止采样。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     BizThreadPoolExecutor executor = BizThreadPoolExecutor.builder().name("io").corePoolSize(4).build();
+ *     AdaptivePoolSizer sizer = AdaptivePoolSizer.builder(executor)
+ *         .minCorePoolSize(4)
+ *         .maxCorePoolSize(64)
+ *         .targetQueueDelay(20, TimeUnit.MILLISECONDS)
+ *         .build()
+ *         .start();
+ *     log.info("{}", sizer);
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see BizThreadPoolExecutor
+ * @since 1.5.1
+ */
+@Slf4j
+public final class AdaptivePoolSizer {
+
+    /**
+     * 判定扩容有效所需的最小吞吐量提升比例。
+     */
+    private static final double MIN_THROUGHPUT_GAIN = 1.05;
+
+    /**
+     * 缩容时在忙碌线程数基础上保留的余量。
+     */
+    private static final double SHRINK_HEADROOM = 1.25;
+
+    private final BizThreadPoolExecutor executor;
+    private final int minCorePoolSize;
+    private final int maxCorePoolSize;
+    private final long targetQueueDelayNanos;
+    private final long sampleIntervalNanos;
+    private final int step;
+    private final int stableSamples;
+
+    private final LongAdder growCount = new LongAdder();
+    private final LongAdder shrinkCount = new LongAdder();
+    private final LongAdder saturatedCount = new LongAdder();
+
+    private volatile boolean running;
+    private volatile HashedWheelScheduler.Timeout timeout;
+
+    // 以下字段只在采样任务中访问，采样任务不会并发执行
+    private long lastSampleNanos;
+    private long lastStarted;
+    private long lastWaitNanos;
+    private long lastFinished;
+    private long lastRunNanos;
+    private int overloadedStreak;
+    private int idleStreak;
+    private double throughputBeforeGrow;
+
+    private volatile long queueDelayNanos;
+    private volatile double throughput;
+    private volatile double busyThreads;
+
+    private AdaptivePoolSizer(Builder builder) {
+        this.executor = builder.executor;
+        this.minCorePoolSize = builder.minCorePoolSize;
+        this.maxCorePoolSize = builder.maxCorePoolSize;
+        this.targetQueueDelayNanos = builder.targetQueueDelayNanos;
+        this.sampleIntervalNanos = builder.sampleIntervalNanos;
+        this.step = builder.step;
+        this.stableSamples = builder.stableSamples;
+    }
+
+    /**
+     * 创建控制器构建器。
+     *
+     * @param executor 要调整的线程池，不能为空
+     * @return 控制器构建器
+     */
+    public static Builder builder(BizThreadPoolExecutor executor) {
+        return new Builder(executor);
+    }
+
+    /**
+     * 开始定期采样并调整核心线程数，重复调用无效。
+     *
+     * @return 当前控制器
+     */
+    public synchronized AdaptivePoolSizer start() {
+        if (running) {
+            return this;
+        }
+        running = true;
+        lastSampleNanos = System.nanoTime();
+        lastStarted = executor.getStartedCount();
+        lastWaitNanos = executor.getTotalWaitNanos();
+        lastFinished = executor.getFinishedCount();
+        lastRunNanos = executor.getTotalRunNanos();
+        scheduleNext();
+        return this;
+    }
+
+    /**
+     * 停止采样，核心线程数保持当前值。
+     */
+    public synchronized void stop() {
+        running = false;
+        HashedWheelScheduler.Timeout current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    /**
+     * 是否正在采样。
+     *
+     * @return 正在采样返回 {@code true}
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 获取最近一个采样窗口内任务的平均排队时间，单位为纳秒。
+     *
+     * @return 平均排队时间
+     */
+    public long getQueueDelayNanos() {
+        return queueDelayNanos;
+    }
+
+    /**
+     * 获取最近一个采样窗口内每秒完成的任务数。
+     *
+     * @return 吞吐量
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * 获取最近一个采样窗口内的平均忙碌线程数。
+     *
+     * @return 平均忙碌线程数
+     */
+    public double getBusyThreads() {
+        return busyThreads;
+    }
+
+    /**
+     * 获取扩容次数。
+     *
+     * @return 扩容次数
+     */
+    public long getGrowCount() {
+        return growCount.sum();
+    }
+
+    /**
+     * 获取缩容次数。
+     *
+     * @return 缩容次数
+     */
+    public long getShrinkCount() {
+        return shrinkCount.sum();
+    }
+
+    /**
+     * 获取因扩容后吞吐量没有提升而放弃扩容的次数。
+     *
+     * @return 放弃扩容的次数
+     */
+    public long getSaturatedCount() {
+        return saturatedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePoolSizer[pool = " + executor.getName()
+                + ", corePoolSize = " + executor.getCorePoolSize()
+                + ", queueDelayMillis = " + TimeUnit.NANOSECONDS.toMillis(queueDelayNanos)
+                + ", throughput = " + String.format("%.1f", throughput)
+                + ", busyThreads = " + String.format("%.1f", busyThreads)
+                + ", grow = " + getGrowCount()
+                + ", shrink = " + getShrinkCount()
+                + ", saturated = " + getSaturatedCount() + "]";
+    }
+
+    private void scheduleNext() {
+        timeout = HashedWheelScheduler.shared().schedule(this::sample, sampleIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 采样一次并按需调整核心线程数，然后安排下一次采样。
+     */
+    private void sample() {
+        if (!running) {
+            return;
+        }
+        if (executor.isShutdown()) {
+            running = false;
+            return;
+        }
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            log.error("调整线程池 {} 的核心线程数时出现异常：", executor.getName(), e);
+        }
+        synchronized (this) {
+            if (running) {
+                scheduleNext();
+            }
+        }
+    }
+
+    private void adjust() {
+        long now = System.nanoTime();
+        long started = executor.getStartedCount();
+        long wait = executor.getTotalWaitNanos();
+        long finished = executor.getFinishedCount();
+        long run = executor.getTotalRunNanos();
+        long elapsed = Math.max(1, now - lastSampleNanos);
+        long startedDelta = started - lastStarted;
+        int queueSize = executor.getQueue().size();
+
+        queueDelayNanos = startedDelta == 0 ? 0 : (wait - lastWaitNanos) / startedDelta;
+        throughput = (finished - lastFinished) * 1e9 / elapsed;
+        busyThreads = (double) (run - lastRunNanos) / elapsed;
+
+        lastSampleNanos = now;
+        lastStarted = started;
+        lastWaitNanos = wait;
+        lastFinished = finished;
+        lastRunNanos = run;
+
+        int core = executor.getCorePoolSize();
+        // 队列中有任务长时间没有开始执行时，窗口内开始执行的任务数可能为0，也视为过载
+        boolean overloaded = queueDelayNanos > targetQueueDelayNanos || (startedDelta == 0 && queueSize > 0);
+        boolean idle = queueDelayNanos < targetQueueDelayNanos / 2 && busyThreads < core / 2.0;
+        if (overloaded) {
+            overloadedStreak++;
+            idleStreak = 0;
+        } else if (idle) {
+            idleStreak++;
+            overloadedStreak = 0;
+        } else {
+            overloadedStreak = 0;
+            idleStreak = 0;
+        }
+
+        if (overloadedStreak >= stableSamples && core < maxCorePoolSize) {
+            overloadedStreak = 0;
+            if (throughputBeforeGrow > 0 && throughput < throughputBeforeGrow * MIN_THROUGHPUT_GAIN) {
+                // 上次扩容没有带来吞吐量提升，以当前吞吐量为基准，吞吐量变化后才会再次扩容
+                saturatedCount.increment();
+                throughputBeforeGrow = throughput;
+                return;
+            }
+            throughputBeforeGrow = throughput;
+            resize(Math.min(maxCorePoolSize, core + step));
+            growCount.increment();
+        } else if (idleStreak >= stableSamples * 2 && core > minCorePoolSize) {
+            idleStreak = 0;
+            int target = Math.max(minCorePoolSize, Math.max(core - step, (int) Math.ceil(busyThreads * SHRINK_HEADROOM)));
+            if (target < core) {
+                throughputBeforeGrow = 0;
+                resize(target);
+                shrinkCount.increment();
+            }
+        }
+    }
+
+    private void resize(int corePoolSize) {
+        if (corePoolSize > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(corePoolSize);
+        }
+        int previous = executor.getCorePoolSize();
+        executor.setCorePoolSize(corePoolSize);
+        if (log.isDebugEnabled()) {
+            log.debug("线程池 {} 核心线程数调整：{} -> {}，{}", executor.getName(), previous, corePoolSize, this);
+        }
+    }
+
+    /**
+     * {@link AdaptivePoolSizer} 构建器。
+     */
+    public static class Builder {
+
+        private final BizThreadPoolExecutor executor;
+        private int minCorePoolSize;
+        private int maxCorePoolSize;
+        private long targetQueueDelayNanos = TimeUnit.MILLISECONDS.toNanos(50);
+        private long sampleIntervalNanos = TimeUnit.SECONDS.toNanos(1);
+        private int step = 2;
+        private int stableSamples = 3;
+
+        private Builder(BizThreadPoolExecutor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("线程池不能为空");
+            }
+            this.executor = executor;
+            this.minCorePoolSize = Math.max(1, executor.getCorePoolSize());
+            this.maxCorePoolSize = Math.max(minCorePoolSize, executor.getMaximumPoolSize());
+        }
+
+        /**
+         * 设置核心线程数下限，默认为线程池当前的核心线程数（至少为1）。
+         *
+         * @param minCorePoolSize 核心线程数下限
+         * @return Builder
+         */
+        public Builder minCorePoolSize(int minCorePoolSize) {
+            this.minCorePoolSize = minCorePoolSize;
+            return this;
+        }
+
+        /**
+         * 设置核心线程数上限，默认为线程池当前的最大线程数。超过线程池最大线程数时会同时调大最大线程数。
+         *
+         * @param maxCorePoolSize 核心线程数上限
+         * @return Builder
+         */
+        public Builder maxCorePoolSize(int maxCorePoolSize) {
+            this.maxCorePoolSize = maxCorePoolSize;
+            return this;
+        }
+
+        /**
+         * 设置目标排队时间，默认为50毫秒。
+         *
+         * @param targetQueueDelay 目标排队时间
+         * @param unit             时间单位
+         * @return Builder
+         */
+        public Builder targetQueueDelay(long targetQueueDelay, TimeUnit unit) {
+            this.targetQueueDelayNanos = unit.toNanos(targetQueueDelay);
+            return this;
+        }
+
+        /**
+         * 设置采样间隔，默认为1秒。
+         *
+         * @param sampleInterval 采样间隔
+         * @param unit           时间单位
+         * @return Builder
+         */
+        public Builder sampleInterval(long sampleInterval, TimeUnit unit) {
+            this.sampleIntervalNanos = unit.toNanos(sampleInterval);
+            return this;
+        }
+
+        /**
+         * 设置每次调整的线程数，默认为2。
+         *
+         * @param step 每次调整的线程数
+         * @return Builder
+         */
+        public Builder step(int step) {
+            this.step = step;
+            return this;
+        }
+
+        /**
+         * 设置触发扩容所需的连续过载采样次数，默认为3；触发缩容需要两倍的连续空闲采样次数。
+         *
+         * @param stableSamples 连续采样次数
+         * @return Builder
+         */
+        public Builder stableSamples(int stableSamples) {
+            this.stableSamples = stableSamples;
+            return this;
+        }
+
+        /**
+         * 构建控制器，构建后需要调用 {@link AdaptivePoolSizer#start()} 开始采样。
+         *
+         * @return 控制器
+         * @throws IllegalArgumentException 如果参数不合法
+         */
+        public AdaptivePoolSizer build() {
+            if (minCorePoolSize < 1 || maxCorePoolSize < minCorePoolSize) {
+                throw new IllegalArgumentException("核心线程数范围不合法，需要满足 1 <= min <= max");
+            }
+            if (targetQueueDelayNanos <= 0 || sampleIntervalNanos <= 0) {
+                throw new IllegalArgumentException("目标排队时间和采样间隔必须大于0");
+            }
+            if (step < 1 || stableSamples < 1) {
+                throw new IllegalArgumentException("调整步长和连续采样次数必须大于0");
+            }
+            return new AdaptivePoolSizer(this);
+        }
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.biz.common.concurrent;
+
+import com.biz.common.transactional.TransactionalRunner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 分块并行批处理器。
+ *
+ * <p>将集合或流按 {@link Builder#chunkSize(int)} 切分为分块，在给定的执行器上并行处理每个分块，
+ * 并汇总每个分块的结果和异常。调用线程按需从数据源读取元素，同时处理中的分块数不超过
+ * {@link Builder#maxInFlightChunks(int)}，达到上限时等待已有分块完成后再读取，
+ * 因此处理流式数据源（如逐行读取的导入文件、数据库游标）时内存中最多只有 {@code maxInFlightChunks + 1} 个分块。</p>
+ *
+ * <p>设置 {@link TransactionalRunner} 后每个分块在独立的事务中处理，某个分块失败只回滚该分块。
+ * 默认某个分块失败后继续处理其余分块；开启 {@link Builder#stopOnFailure(boolean)} 后停止读取新的元素，
+ * 等待已提交的分块完成后返回。分块在执行线程中使用调用线程的 {@link org.slf4j.MDC} 上下文。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     BatchProcessor processor = BatchProcessor.builder(executor)
+ *         .chunkSize(500)
+ *         .maxInFlightChunks(4)
+ *         .transactionalRunner(transactionalRunner)
+ *         .build();
+ *     BatchResult<Integer> result = processor.process(rows, chunk -> userMapper.insertBatch(chunk));
+ *     log.info("{}", result);
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see BatchResult
+ * @since 1.5.1
+ */
+@Slf4j
+public final class BatchProcessor {
+
+    private final Executor executor;
+
+    private final int chunkSize;
+
+    private final int maxInFlightChunks;
+
+    private final boolean stopOnFailure;
+
+    private final TransactionalRunner transactionalRunner;
+
+    private BatchProcessor(Builder builder) {
+        this.executor = builder.executor;
+        this.chunkSize = builder.chunkSize;
+        this.maxInFlightChunks = builder.maxInFlightChunks;
+        this.stopOnFailure = builder.stopOnFailure;
+        this.transactionalRunner = builder.transactionalRunner;
+    }
+
+    /**
+     * 创建批处理器构建器。
+     *
+     * @param executor 处理分块的执行器，不能为空
+     * @return 构建器
+     */
+    public static Builder builder(Executor executor) {
+        return new Builder(executor);
+    }
+
+    /**
+     * 分块处理集合中的元素。
+     *
+     * @param source  数据源
+     * @param handler 分块处理函数，参数为分块中的元素
+     * @param <T>     元素类型
+     * @param <R>     分块处理结果类型
+     * @return 处理结果
+     * @throws InterruptedException 如果等待分块完成时调用线程被中断，已提交的分块会继续执行
+     */
+    public <T, R> BatchResult<R> process(Iterable<T> source, Function<List<T>, R> handler) throws InterruptedException {
+        return process(source.iterator(), handler);
+    }
+
+    /**
+     * 分块处理流中的元素，流按需读取。
+     *
+     * @param source  数据源
+     * @param handler 分块处理函数，参数为分块中的元素
+     * @param <T>     元素类型
+     * @param <R>     分块处理结果类型
+     * @return 处理结果
+     * @throws InterruptedException 如果等待分块完成时调用线程被中断，已提交的分块会继续执行
+     */
+    public <T, R> BatchResult<R> process(Stream<T> source, Function<List<T>, R> handler) throws InterruptedException {
+        return process(source.iterator(), handler);
+    }
+
+    /**
+     * 分块处理集合中的元素，分块处理没有返回值。
+     *
+     * @param source  数据源
+     * @param handler 分块处理函数，参数为分块中的元素
+     * @param <T>     元素类型
+     * @return 处理结果
+     * @throws InterruptedException 如果等待分块完成时调用线程被中断，已提交的分块会继续执行
+     */
+    public <T> BatchResult<Void> run(Iterable<T> source, Consumer<List<T>> handler) throws InterruptedException {
+        return process(source.iterator(), chunk -> {
+            handler.accept(chunk);
+            return null;
+        });
+    }
+
+    /**
+     * 分块处理迭代器中的元素，迭代器只在调用线程中访问。
+     *
+     * @param source  数据源
+     * @param handler 分块处理函数，参数为分块中的元素
+     * @param <T>     元素类型
+     * @param <R>     分块处理结果类型
+     * @return 处理结果
+     * @throws InterruptedException 如果等待分块完成时调用线程被中断，已提交的分块会继续执行
+     */
+    public <T, R> BatchResult<R> process(Iterator<T> source, Function<List<T>, R> handler) throws InterruptedException {
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(maxInFlightChunks);
+        List<BatchResult.Chunk<R>> chunks = new ArrayList<>();
+        Run<R> run = new Run<>(chunks);
+
+        int index = 0;
+        long offset = 0;
+        while (source.hasNext() && !run.failed) {
+            permits.acquire();
+            if (run.failed) {
+                permits.release();
+                break;
+            }
+            List<T> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && source.hasNext()) {
+                chunk.add(source.next());
+            }
+            submit(index++, offset, chunk, handler, run, permits);
+            offset += chunk.size();
+        }
+        // 取回全部许可即表示所有已提交的分块都已完成
+        permits.acquire(maxInFlightChunks);
+        permits.release(maxInFlightChunks);
+
+        boolean stopped = run.failed && source.hasNext();
+        List<BatchResult.Chunk<R>> sorted;
+        synchronized (chunks) {
+            sorted = new ArrayList<>(chunks);
+        }
+        sorted.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return new BatchResult<>(sorted, stopped, System.nanoTime() - start);
+    }
+
+    private <T, R> void submit(int index, long offset, List<T> chunk, Function<List<T>, R> handler,
+                               Run<R> run, Semaphore permits) {
+        Runnable task = MdcContext.wrap(() -> {
+            long start = System.nanoTime();
+            try {
+                R value = transactionalRunner == null
+                        ? handler.apply(chunk)
+                        : transactionalRunner.apply(() -> handler.apply(chunk));
+                run.add(new BatchResult.Chunk<>(index, offset, chunk.size(), value, null, System.nanoTime() - start));
+            } catch (Throwable t) {
+                log.warn("批处理第 {} 个分块（位置 {}，{} 个元素）处理失败：{}", index, offset, chunk.size(), t.toString());
+                run.fail(new BatchResult.Chunk<>(index, offset, chunk.size(), null, t, System.nanoTime() - start));
+            } finally {
+                permits.release();
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            run.fail(new BatchResult.Chunk<>(index, offset, chunk.size(), null, e, 0));
+            permits.release();
+        }
+    }
+
+    /**
+     * 一次批处理的共享状态。
+     */
+    private final class Run<R> {
+
+        private final List<BatchResult.Chunk<R>> chunks;
+
+        private volatile boolean failed;
+
+        Run(List<BatchResult.Chunk<R>> chunks) {
+            this.chunks = chunks;
+        }
+
+        void add(BatchResult.Chunk<R> chunk) {
+            synchronized (chunks) {
+                chunks.add(chunk);
+            }
+        }
+
+        void fail(BatchResult.Chunk<R> chunk) {
+            add(chunk);
+            if (stopOnFailure) {
+                failed = true;
+            }
+        }
+    }
+
+    /**
+     * {@link BatchProcessor} 构建器。
+     */
+    public static class Builder {
+
+        private final Executor executor;
+        private int chunkSize = 1000;
+        private int maxInFlightChunks = Runtime.getRuntime().availableProcessors();
+        private boolean stopOnFailure;
+        private TransactionalRunner transactionalRunner;
+
+        private Builder(Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("执行器不能为空");
+            }
+            this.executor = executor;
+        }
+
+        /**
+         * 设置每个分块的元素数，默认为1000。
+         *
+         * @param chunkSize 分块大小
+         * @return Builder
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("分块大小必须大于0");
+            }
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 设置同时处理中的最大分块数，默认为可用处理器数量。
+         *
+         * @param maxInFlightChunks 最大分块数
+         * @return Builder
+         */
+        public Builder maxInFlightChunks(int maxInFlightChunks) {
+            if (maxInFlightChunks <= 0) {
+                throw new IllegalArgumentException("最大分块数必须大于0");
+            }
+            this.maxInFlightChunks = maxInFlightChunks;
+            return this;
+        }
+
+        /**
+         * 设置某个分块失败后是否停止读取新的元素，默认为否。
+         *
+         * @param stopOnFailure 是否在失败时停止
+         * @return Builder
+         */
+        public Builder stopOnFailure(boolean stopOnFailure) {
+            this.stopOnFailure = stopOnFailure;
+            return this;
+        }
+
+        /**
+         * 设置事务执行器，设置后每个分块在独立的事务中处理。
+         *
+         * @param transactionalRunner 事务执行器
+         * @return Builder
+         */
+        public Builder transactionalRunner(TransactionalRunner transactionalRunner) {
+            this.transactionalRunner = transactionalRunner;
+            return this;
+        }
+
+        /**
+         * 构建批处理器，构建后的实例不可变，可以在多个线程中复用。
+         *
+         * @return 批处理器
+         */
+        public BatchProcessor build() {
+            return new BatchProcessor(this);
+        }
+    }
+
+}
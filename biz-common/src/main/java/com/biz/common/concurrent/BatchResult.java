@@ -0,0 +1,230 @@
+package com.biz.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link BatchProcessor} 的处理结果，按分块顺序保存每个分块的结果。
+ *
+ * @param <R> 分块处理结果类型
+ * @author francis
+ * @version 1.5.1
+ * @see BatchProcessor
+ * @since 1.5.1
+ */
+public final class BatchResult<R> {
+
+    private final List<Chunk<R>> chunks;
+
+    private final boolean stopped;
+
+    private final long elapsedNanos;
+
+    BatchResult(List<Chunk<R>> chunks, boolean stopped, long elapsedNanos) {
+        this.chunks = Collections.unmodifiableList(chunks);
+        this.stopped = stopped;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 获取所有已处理分块的结果，按分块序号排列。
+     *
+     * @return 分块结果列表
+     */
+    public List<Chunk<R>> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * 获取成功分块的处理结果，按分块序号排列。
+     *
+     * @return 处理结果列表
+     */
+    public List<R> getValues() {
+        List<R> values = new ArrayList<>(chunks.size());
+        for (Chunk<R> chunk : chunks) {
+            if (chunk.isSuccess()) {
+                values.add(chunk.value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 获取失败的分块。
+     *
+     * @return 失败的分块列表
+     */
+    public List<Chunk<R>> getFailures() {
+        List<Chunk<R>> failures = new ArrayList<>();
+        for (Chunk<R> chunk : chunks) {
+            if (!chunk.isSuccess()) {
+                failures.add(chunk);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 获取已处理（包括失败）的元素总数。
+     *
+     * @return 元素总数
+     */
+    public long getTotalItems() {
+        long total = 0;
+        for (Chunk<R> chunk : chunks) {
+            total += chunk.size;
+        }
+        return total;
+    }
+
+    /**
+     * 获取失败分块中的元素总数。
+     *
+     * @return 失败的元素总数
+     */
+    public long getFailedItems() {
+        long failed = 0;
+        for (Chunk<R> chunk : chunks) {
+            if (!chunk.isSuccess()) {
+                failed += chunk.size;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 是否所有分块都处理成功且数据已全部处理。
+     *
+     * @return 全部成功返回 {@code true}
+     */
+    public boolean isAllSucceeded() {
+        return !stopped && getFailedItems() == 0;
+    }
+
+    /**
+     * 是否因分块失败而提前停止，此时数据源中剩余的元素没有被读取。
+     *
+     * @return 提前停止返回 {@code true}
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * 获取处理总耗时，单位为纳秒。
+     *
+     * @return 耗时
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult[chunks = " + chunks.size()
+                + ", items = " + getTotalItems()
+                + ", failedItems = " + getFailedItems()
+                + ", stopped = " + stopped + "]";
+    }
+
+    /**
+     * 单个分块的处理结果。
+     *
+     * @param <R> 分块处理结果类型
+     */
+    public static final class Chunk<R> {
+
+        private final int index;
+
+        private final long offset;
+
+        private final int size;
+
+        private final R value;
+
+        private final Throwable error;
+
+        private final long elapsedNanos;
+
+        Chunk(int index, long offset, int size, R value, Throwable error, long elapsedNanos) {
+            this.index = index;
+            this.offset = offset;
+            this.size = size;
+            this.value = value;
+            this.error = error;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * 获取分块序号，从0开始。
+         *
+         * @return 分块序号
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * 获取分块第一个元素在数据源中的位置，从0开始。
+         *
+         * @return 元素位置
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * 获取分块中的元素数。
+         *
+         * @return 元素数
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * 获取分块处理结果，失败时为 {@code null}。
+         *
+         * @return 处理结果
+         */
+        public R getValue() {
+            return value;
+        }
+
+        /**
+         * 获取分块处理时抛出的异常，成功时为 {@code null}。
+         *
+         * @return 异常
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * 获取分块处理耗时，单位为纳秒。
+         *
+         * @return 耗时
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 分块是否处理成功。
+         *
+         * @return 成功返回 {@code true}
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "Chunk[index = " + index + ", offset = " + offset + ", size = " + size
+                    + (error == null ? "" : ", error = " + error) + "]";
+        }
+    }
+
+}
@@ -12,6 +12,8 @@ import java.util.concurrent.locks.ReentrantLock;
 /**
  * 用于定时执行任务的工具类。
  * <p>提供了提交、取消和重置任务的能力，并封装了 {@link ScheduledExecutorService} 的使用。</p>
+ * <p>未指定 {@link ScheduledExecutorService} 时使用进程内共享的 {@link HashedWheelScheduler}，
+ * 不会为每个任务创建线程池，到期时间的精度为时间轮的一个刻度（默认10毫秒）。</p>
  *
  * <h2>示例代码：</h2>
  * <pre>{@code
@@ -31,25 +33,30 @@ import java.util.concurrent.locks.ReentrantLock;
 public final class BizScheduledFuture {
 
     /**
-     * 用于执行任务的 {@link ScheduledExecutorService} 实例。
+     * 用于执行任务的 {@link ScheduledExecutorService} 实例，为null时使用共享的 {@link HashedWheelScheduler}。
      */
     private final ScheduledExecutorService scheduledExecutorService;
 
     /**
-     * 要执行的任务。
+     * 要执行的任务，已包装为捕获异常的形式。
      */
     private final Runnable runnable;
 
     /**
      * 任务执行的延迟时间，单位为毫秒。
      */
-    private final long time;
+    private volatile long time;
 
     /**
-     * 当前计划的任务。
+     * 当前计划的任务，使用 {@link ScheduledExecutorService} 时有效。
      */
     private ScheduledFuture<?> scheduledFuture;
 
+    /**
+     * 当前计划的任务，使用共享的 {@link HashedWheelScheduler} 时有效。
+     */
+    private HashedWheelScheduler.Timeout timeout;
+
     /**
      * 锁，用于确保任务提交、取消和重置操作的线程安全性。
      */
@@ -58,33 +65,36 @@ public final class BizScheduledFuture {
     /**
      * 构造函数初始化 {@code BizScheduledFuture}。
      *
-     * @param scheduledExecutorService 用于执行任务的 {@link ScheduledExecutorService}，如果为null，则创建一个新的。
+     * @param scheduledExecutorService 用于执行任务的 {@link ScheduledExecutorService}，如果为null，则使用共享的 {@link HashedWheelScheduler}。
      * @param runnable 要执行的任务，不能为空。
      * @param time 任务执行的延迟时间，单位为毫秒。
      */
     public BizScheduledFuture(ScheduledExecutorService scheduledExecutorService, Runnable runnable, long time) {
-        this.scheduledExecutorService = scheduledExecutorService == null
-                ? ExecutorsUtils.buildScheduledExecutorService(10)
-                : scheduledExecutorService;
-        this.runnable = Objects.requireNonNull(runnable, "Runnable cannot be null");
+        Objects.requireNonNull(runnable, "Runnable cannot be null");
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.runnable = () -> {
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                log.error("任务执行过程中出现异常：", e);
+            }
+        };
         this.time = time;
     }
 
     /**
-     * 提交任务给 {@link ScheduledExecutorService} 执行。
+     * 提交任务给 {@link ScheduledExecutorService} 或共享的 {@link HashedWheelScheduler} 执行。
      * <p>在提交之前，会尝试取消任何当前计划的任务，以避免资源浪费。</p>
      */
     public void submit() {
         lock.lock();
         try {
             cancel(); // 先尝试取消当前任务，避免资源浪费
-            scheduledFuture = this.scheduledExecutorService.schedule(() -> {
-                try {
-                    runnable.run();
-                } catch (Exception e) {
-                    log.error("任务执行过程中出现异常：", e);
-                }
-            }, time, TimeUnit.MILLISECONDS);
+            if (scheduledExecutorService == null) {
+                timeout = HashedWheelScheduler.shared().schedule(runnable, time, TimeUnit.MILLISECONDS);
+            } else {
+                scheduledFuture = scheduledExecutorService.schedule(runnable, time, TimeUnit.MILLISECONDS);
+            }
         } catch (Exception e) {
             log.error("提交计划任务时出现异常错误：", e);
         } finally {
@@ -103,6 +113,10 @@ public final class BizScheduledFuture {
                 scheduledFuture.cancel(false); // 使用false以允许正在运行的任务完成
                 scheduledFuture = null;
             }
+            if (timeout != null) {
+                timeout.cancel();
+                timeout = null;
+            }
         } finally {
             lock.unlock();
         }
@@ -110,13 +124,15 @@ public final class BizScheduledFuture {
 
     /**
      * 重置并重新提交任务。
-     * <p>先取消当前任务，然后以新的延迟时间提交任务。</p>
+     * <p>先取消当前任务，然后以新的延迟时间提交任务，之后的 {@link #submit()} 也使用新的延迟时间。</p>
+     *
+     * @param time 新的延迟时间，单位为毫秒。
      */
     public void resetDied(long time) {
         lock.lock();
         try {
-            cancel();
-            submit(); // 重新提交任务时，不需要再次传递参数，因为它们在构造函数中已经被设定了
+            this.time = time;
+            submit(); // submit 会先取消当前任务
         } finally {
             lock.unlock();
         }
@@ -124,11 +140,13 @@ public final class BizScheduledFuture {
 
     /**
      * 关闭 {@link ScheduledExecutorService}。
-     * <p>应在不再需要执行任务时调用，以释放资源。</p>
+     * <p>应在不再需要执行任务时调用，以释放资源。使用共享的 {@link HashedWheelScheduler} 时只取消当前任务。</p>
      */
     public void shutdownExecutorService() {
         if (scheduledExecutorService != null) {
             scheduledExecutorService.shutdown();
+        } else {
+            cancel();
         }
     }
 
@@ -148,7 +166,7 @@ public final class BizScheduledFuture {
 
         private Runnable runnable;
         private long time;
-        private ScheduledExecutorService scheduledExecutorService = ExecutorsUtils.buildScheduledExecutorService(10); // 提供默认值
+        private ScheduledExecutorService scheduledExecutorService; // 为null时使用共享的时间轮调度器
 
         private ScheduledFutureBuilder() {
         }
@@ -0,0 +1,507 @@
+package com.biz.common.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带运行指标和可配置拒绝策略的线程池。
+ *
+ * <p>通过 {@link #builder()} 创建，每个线程池拥有独立的工作队列和按名称编号的线程，
+ * 饱和时按 {@link RejectionPolicy} 处理新任务，并统计队列深度、活跃线程数、任务等待时间和运行时间等指标，
+ * 可通过 {@link #getMetrics()} 获取快照用于监控。</p>
+ *
+ * <p>为统计等待时间，提交的任务在入队时会被包装并记录入队时间，因此 {@link #getQueue()} 中的元素是包装后的任务；
+ * {@link #remove(Runnable)}、{@link #purge()} 和 {@link #shutdownNow()} 已处理包装，行为与 {@link ThreadPoolExecutor} 一致。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     BizThreadPoolExecutor executor = BizThreadPoolExecutor.builder()
+ *         .name("order")
+ *         .corePoolSize(4)
+ *         .maximumPoolSize(8)
+ *         .queueCapacity(1000)
+ *         .rejectionPolicy(RejectionPolicy.BLOCK)
+ *         .blockTimeout(2, TimeUnit.SECONDS)
+ *         .build();
+ *     executor.execute(() -> System.out.println("Task executed"));
+ *     log.info("{}", executor.getMetrics());
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see RejectionPolicy
+ * @see ThreadPoolMetrics
+ * @since 1.5.1
+ */
+@Slf4j
+public class BizThreadPoolExecutor extends ThreadPoolExecutor {
+
+    /**
+     * 默认队列容量，根据JVM最大内存计算，每 2MB 对应 1 个任务，最大值为10000。
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = (int) Math.min(Runtime.getRuntime().maxMemory() / (1024 * 1024) / 2, 10000);
+
+    private final String name;
+
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder startedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0L);
+
+    private BizThreadPoolExecutor(Builder builder, BlockingQueue<Runnable> workQueue) {
+        super(builder.corePoolSize,
+                builder.maximumPoolSize < 0
+                        ? Math.max(builder.corePoolSize, Runtime.getRuntime().availableProcessors() * 2)
+                        : builder.maximumPoolSize,
+                builder.keepAliveTime,
+                builder.keepAliveUnit,
+                workQueue,
+                builder.threadFactory != null ? builder.threadFactory : new NamedThreadFactory(builder.name, builder.daemon),
+                new PolicyHandler(builder.rejectionPolicy, builder.blockTimeoutUnit.toNanos(builder.blockTimeout)));
+        this.name = builder.name;
+        if (builder.allowCoreThreadTimeOut) {
+            allowCoreThreadTimeOut(true);
+        }
+    }
+
+    /**
+     * 创建线程池构建器。
+     *
+     * @return 线程池构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取线程池名称。
+     *
+     * @return 线程池名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取线程池当前的运行指标快照。
+     *
+     * @return 运行指标快照
+     */
+    public ThreadPoolMetrics getMetrics() {
+        long started = startedCount.sum();
+        long completed = completedCount.sum();
+        BlockingQueue<Runnable> queue = getQueue();
+        return ThreadPoolMetrics.builder()
+                .name(name)
+                .queueSize(queue.size())
+                .queueRemainingCapacity(queue.remainingCapacity())
+                .activeCount(getActiveCount())
+                .poolSize(getPoolSize())
+                .largestPoolSize(getLargestPoolSize())
+                .submittedCount(submittedCount.sum())
+                .completedCount(completed)
+                .rejectedCount(rejectedCount.sum())
+                .droppedCount(droppedCount.sum())
+                .averageWaitNanos(started == 0 ? 0 : totalWaitNanos.sum() / started)
+                .maxWaitNanos(maxWaitNanos.get())
+                .averageRunNanos(completed == 0 ? 0 : totalRunNanos.sum() / completed)
+                .maxRunNanos(maxRunNanos.get())
+                .build();
+    }
+
+    /**
+     * 已开始执行的任务数，供 {@link AdaptivePoolSizer} 按采样窗口计算差值。
+     */
+    long getStartedCount() {
+        return startedCount.sum();
+    }
+
+    /**
+     * 已开始执行的任务在队列中等待的总时间，单位为纳秒。
+     */
+    long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    /**
+     * 已执行完成的任务数。
+     */
+    long getFinishedCount() {
+        return completedCount.sum();
+    }
+
+    /**
+     * 已执行完成的任务的总运行时间，单位为纳秒。
+     */
+    long getTotalRunNanos() {
+        return totalRunNanos.sum();
+    }
+
+    /**
+     * 提交任务，任务会被包装以记录入队时间。
+     *
+     * @param command 要执行的任务，不能为空
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        submittedCount.increment();
+        super.execute(new TimedTask(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        if (r instanceof TimedTask) {
+            TimedTask task = (TimedTask) r;
+            long now = System.nanoTime();
+            long wait = now - task.enqueueNanos;
+            task.startNanos = now;
+            startedCount.increment();
+            totalWaitNanos.add(wait);
+            maxWaitNanos.accumulate(wait);
+        }
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        if (r instanceof TimedTask) {
+            long run = System.nanoTime() - ((TimedTask) r).startNanos;
+            completedCount.increment();
+            totalRunNanos.add(run);
+            maxRunNanos.accumulate(run);
+        }
+    }
+
+    @Override
+    public boolean remove(Runnable task) {
+        if (super.remove(task)) {
+            return true;
+        }
+        for (Runnable r : getQueue()) {
+            if (r instanceof TimedTask && ((TimedTask) r).delegate == task) {
+                return super.remove(r);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void purge() {
+        for (Runnable r : getQueue()) {
+            Runnable task = r instanceof TimedTask ? ((TimedTask) r).delegate : r;
+            if (task instanceof Future<?> && ((Future<?>) task).isCancelled()) {
+                super.remove(r);
+            }
+        }
+        super.purge();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = super.shutdownNow();
+        List<Runnable> result = new ArrayList<>(pending.size());
+        for (Runnable r : pending) {
+            result.add(r instanceof TimedTask ? ((TimedTask) r).delegate : r);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[name = " + name + "]";
+    }
+
+    /**
+     * 绕过包装和计数，直接将已包装的任务交给线程池，供拒绝策略重新提交时使用。
+     */
+    private void reexecute(Runnable task) {
+        super.execute(task);
+    }
+
+    /**
+     * 记录入队时间和开始执行时间的任务包装。
+     */
+    private static final class TimedTask implements Runnable {
+        private final Runnable delegate;
+        private final long enqueueNanos;
+        private long startNanos;
+
+        TimedTask(Runnable delegate) {
+            this.delegate = delegate;
+            this.enqueueNanos = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    /**
+     * 按 {@link RejectionPolicy} 处理被拒绝任务的处理器。
+     */
+    private static final class PolicyHandler implements RejectedExecutionHandler {
+        private final RejectionPolicy policy;
+        private final long blockTimeoutNanos;
+
+        PolicyHandler(RejectionPolicy policy, long blockTimeoutNanos) {
+            this.policy = policy;
+            this.blockTimeoutNanos = blockTimeoutNanos;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            BizThreadPoolExecutor pool = (BizThreadPoolExecutor) executor;
+            pool.rejectedCount.increment();
+            switch (policy) {
+                case CALLER_RUNS:
+                    if (!pool.isShutdown()) {
+                        r.run();
+                    }
+                    return;
+                case BLOCK:
+                    block(pool, r);
+                    return;
+                case DROP_OLDEST:
+                    if (!pool.isShutdown()) {
+                        Runnable oldest = pool.getQueue().poll();
+                        if (oldest != null) {
+                            pool.droppedCount.increment();
+                            log.warn("线程池 {} 已满，丢弃最早的任务：{}", pool.name, oldest);
+                        }
+                        pool.reexecute(r);
+                    }
+                    return;
+                case FAIL:
+                default:
+                    throw new RejectedExecutionException("线程池 " + pool.name + " 已满或已关闭，任务被拒绝：" + r);
+            }
+        }
+
+        /**
+         * 阻塞等待队列空位，超时或线程池关闭时抛出 {@link RejectedExecutionException}。
+         */
+        private void block(BizThreadPoolExecutor pool, Runnable r) {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("线程池 " + pool.name + " 已关闭，任务被拒绝：" + r);
+            }
+            boolean offered;
+            try {
+                offered = pool.getQueue().offer(r, blockTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("等待线程池 " + pool.name + " 队列空位时线程被中断", e);
+            }
+            if (!offered) {
+                throw new RejectedExecutionException("等待线程池 " + pool.name + " 队列空位超时，任务被拒绝：" + r);
+            }
+            if (pool.getPoolSize() == 0) {
+                pool.prestartCoreThread();
+            }
+        }
+    }
+
+    /**
+     * {@link BizThreadPoolExecutor} 构建器。
+     */
+    public static class Builder {
+
+        private String name = "pool";
+        private int corePoolSize = Runtime.getRuntime().availableProcessors();
+        private int maximumPoolSize = -1;
+        private long keepAliveTime = 60L;
+        private TimeUnit keepAliveUnit = TimeUnit.SECONDS;
+        private boolean allowCoreThreadTimeOut;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private BlockingQueue<Runnable> workQueue;
+        private ThreadFactory threadFactory;
+        private boolean daemon;
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+        private long blockTimeout = 5L;
+        private TimeUnit blockTimeoutUnit = TimeUnit.SECONDS;
+
+        private Builder() {
+        }
+
+        /**
+         * 设置线程池名称，同时作为线程名称前缀，默认为 "pool"。
+         *
+         * @param name 线程池名称
+         * @return Builder
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * 设置核心线程数，默认为可用处理器数量。
+         *
+         * @param corePoolSize 核心线程数
+         * @return Builder
+         */
+        public Builder corePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+            return this;
+        }
+
+        /**
+         * 设置最大线程数，默认为可用处理器数量的两倍与核心线程数中较大的一个。
+         *
+         * @param maximumPoolSize 最大线程数
+         * @return Builder
+         */
+        public Builder maximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+            return this;
+        }
+
+        /**
+         * 设置空闲线程的存活时间，默认为60秒。
+         *
+         * @param keepAliveTime 存活时间
+         * @param unit          时间单位
+         * @return Builder
+         */
+        public Builder keepAliveTime(long keepAliveTime, TimeUnit unit) {
+            this.keepAliveTime = keepAliveTime;
+            this.keepAliveUnit = unit;
+            return this;
+        }
+
+        /**
+         * 设置核心线程空闲超时后是否也被回收，默认为否。
+         *
+         * @param allowCoreThreadTimeOut 是否回收空闲的核心线程
+         * @return Builder
+         */
+        public Builder allowCoreThreadTimeOut(boolean allowCoreThreadTimeOut) {
+            this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
+            return this;
+        }
+
+        /**
+         * 设置工作队列容量，默认为 {@link #DEFAULT_QUEUE_CAPACITY}；为0时使用 {@link SynchronousQueue} 直接移交任务。
+         *
+         * @param queueCapacity 队列容量
+         * @return Builder
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * 直接指定工作队列，设置后忽略 {@link #queueCapacity(int)}。队列不应被多个线程池共享。
+         *
+         * @param workQueue 工作队列
+         * @return Builder
+         */
+        public Builder workQueue(BlockingQueue<Runnable> workQueue) {
+            this.workQueue = workQueue;
+            return this;
+        }
+
+        /**
+         * 指定线程工厂，设置后忽略线程池名称和守护线程设置。
+         *
+         * @param threadFactory 线程工厂
+         * @return Builder
+         */
+        public Builder threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        /**
+         * 设置是否创建守护线程，默认为否。
+         *
+         * @param daemon 是否为守护线程
+         * @return Builder
+         */
+        public Builder daemon(boolean daemon) {
+            this.daemon = daemon;
+            return this;
+        }
+
+        /**
+         * 设置拒绝策略，默认为 {@link RejectionPolicy#CALLER_RUNS}。
+         *
+         * @param rejectionPolicy 拒绝策略
+         * @return Builder
+         */
+        public Builder rejectionPolicy(RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+            return this;
+        }
+
+        /**
+         * 设置 {@link RejectionPolicy#BLOCK} 策略下的最长等待时间，默认为5秒。
+         *
+         * @param blockTimeout 最长等待时间
+         * @param unit         时间单位
+         * @return Builder
+         */
+        public Builder blockTimeout(long blockTimeout, TimeUnit unit) {
+            this.blockTimeout = blockTimeout;
+            this.blockTimeoutUnit = unit;
+            return this;
+        }
+
+        /**
+         * 构建线程池。
+         *
+         * @return 线程池
+         * @throws IllegalArgumentException 如果线程数、存活时间或队列容量不合法
+         */
+        public BizThreadPoolExecutor build() {
+            if (rejectionPolicy == null) {
+                throw new IllegalArgumentException("拒绝策略不能为空");
+            }
+            if (queueCapacity < 0) {
+                throw new IllegalArgumentException("队列容量不能小于0");
+            }
+            BlockingQueue<Runnable> queue = workQueue;
+            if (queue == null) {
+                if (queueCapacity == 0) {
+                    queue = new SynchronousQueue<>();
+                } else if (queueCapacity <= 1024) {
+                    queue = new ArrayBlockingQueue<>(queueCapacity);
+                } else {
+                    queue = new LinkedBlockingQueue<>(queueCapacity);
+                }
+            }
+            return new BizThreadPoolExecutor(this, queue);
+        }
+    }
+
+}
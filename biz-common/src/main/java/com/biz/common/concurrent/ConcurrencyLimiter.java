@@ -0,0 +1,201 @@
+package com.biz.common.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发数限制器。
+ *
+ * <p>虚拟线程的数量几乎没有上限，如果每个请求都直接访问下游资源（数据库、Redis、第三方 HTTP 接口等），
+ * 可能瞬间打满对方的连接数。该类基于公平的 {@link Semaphore} 限制同时执行的任务数，
+ * 超出限制的任务在当前线程中排队等待；在虚拟线程中等待不会占用平台线程。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     ConcurrencyLimiter limiter = new ConcurrencyLimiter(50);
+ *     String body = limiter.call(() -> httpClient.get(url));
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see ExecutorsUtils#buildVirtualThreadExecutor(String, int)
+ * @since 1.5.1
+ */
+public class ConcurrencyLimiter {
+
+    private final int maxConcurrency;
+
+    private final Semaphore semaphore;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 创建并发数限制器。
+     *
+     * @param maxConcurrency 最大并发数，必须大于0
+     */
+    public ConcurrencyLimiter(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("最大并发数必须大于0");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.semaphore = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * 在并发数限制内执行任务，超出限制时阻塞等待。
+     *
+     * @param task 任务
+     * @throws InterruptedException 如果等待过程中线程被中断
+     */
+    public void run(Runnable task) throws InterruptedException {
+        semaphore.acquire();
+        try {
+            task.run();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 在并发数限制内执行任务并返回结果，超出限制时阻塞等待。
+     *
+     * @param task 任务
+     * @param <T>  结果类型
+     * @return 任务结果
+     * @throws Exception 任务抛出的异常，或等待过程中线程被中断
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        semaphore.acquire();
+        try {
+            return task.call();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 在指定时间内等待执行许可，获取成功后执行任务。
+     *
+     * @param task    任务
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     * @return 获取到许可并执行了任务返回 {@code true}，等待超时返回 {@code false}
+     * @throws InterruptedException 如果等待过程中线程被中断
+     */
+    public boolean tryRun(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!semaphore.tryAcquire(timeout, unit)) {
+            rejectedCount.increment();
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            semaphore.release();
+        }
+        return true;
+    }
+
+    /**
+     * 将任务包装为在执行时先获取许可的任务。
+     * <p>等待许可时线程被中断（例如执行器被 {@code shutdownNow()}）：</p>
+     * <ul>
+     *     <li>任务是 {@link Future}（例如 {@code submit()} 创建的任务）时取消该任务，等待结果的线程会收到
+     *     {@link java.util.concurrent.CancellationException}；</li>
+     *     <li>其他任务（包括 {@link CompletableFuture#supplyAsync} 等提交的任务）无法从外部结束，
+     *     仍然在获取许可后执行一次，并保持中断状态以便任务尽快结束，避免等待结果的线程永远阻塞。</li>
+     * </ul>
+     *
+     * @param task 任务
+     * @return 包装后的任务
+     * @see #unwrap(Runnable)
+     */
+    public Runnable wrap(Runnable task) {
+        return new LimitedTask(task);
+    }
+
+    /**
+     * 获取 {@link #wrap(Runnable)} 包装前的任务，其他任务原样返回。
+     *
+     * @param task 任务
+     * @return 包装前的任务
+     */
+    static Runnable unwrap(Runnable task) {
+        return task instanceof LimitedTask ? ((LimitedTask) task).task : task;
+    }
+
+    /**
+     * 获取最大并发数。
+     *
+     * @return 最大并发数
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 获取当前正在执行的任务数。
+     *
+     * @return 正在执行的任务数
+     */
+    public int getInFlight() {
+        return maxConcurrency - semaphore.availablePermits();
+    }
+
+    /**
+     * 获取当前等待许可的线程数估计值。
+     *
+     * @return 等待许可的线程数
+     */
+    public int getWaiting() {
+        return semaphore.getQueueLength();
+    }
+
+    /**
+     * 获取 {@link #tryRun(Runnable, long, TimeUnit)} 等待超时的次数。
+     *
+     * @return 等待超时的次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * 执行前先获取许可的任务。
+     */
+    private final class LimitedTask implements Runnable {
+
+        private final Runnable task;
+
+        private LimitedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                // CompletableFuture 的异步任务虽然实现了 Future，取消它并不会结束对应的 CompletableFuture
+                if (task instanceof Future && !(task instanceof CompletableFuture.AsynchronousCompletionTask)) {
+                    ((Future<?>) task).cancel(false);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                semaphore.acquireUninterruptibly();
+                Thread.currentThread().interrupt();
+            }
+            try {
+                task.run();
+            } finally {
+                semaphore.release();
+            }
+        }
+    }
+
+}
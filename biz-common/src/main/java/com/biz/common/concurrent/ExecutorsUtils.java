@@ -3,13 +3,15 @@ package com.biz.common.concurrent;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 提供线程池及相关工具方法的类。
  *
  * <p>该类封装了一些常用的线程池创建方法，以及线程池关闭和管理工具。</p>
  * <p>通过使用这些工具方法，您可以更轻松地创建和管理适合不同场景的线程池。</p>
+ * <p>ThreadPoolExecutor 均通过 {@link BizThreadPoolExecutor#builder()} 创建，每个线程池拥有独立的有界队列，
+ * 饱和时由提交任务的线程执行任务（{@link RejectionPolicy#CALLER_RUNS}），并可通过
+ * {@link BizThreadPoolExecutor#getMetrics()} 获取运行指标。需要其他拒绝策略或线程名称时，直接使用构建器。</p>
  *
  * <h2>示例代码：</h2>
  * <pre>{@code
@@ -20,7 +22,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * </pre>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 @Slf4j
@@ -37,9 +39,9 @@ public final class ExecutorsUtils {
     private static final int MAX_SIZE = CORE_SIZE * 2;
 
     /**
-     * 线程保持活跃时间，单位秒
+     * 线程保持活跃时间，单位毫秒，默认60秒
      */
-    private static final long ALIVE_TIME = 60L;
+    private static final long ALIVE_TIME = 60_000L;
 
     /**
      * 时间单位为毫秒
@@ -47,32 +49,24 @@ public final class ExecutorsUtils {
     private static final TimeUnit MILLISECONDS = TimeUnit.MILLISECONDS;
 
     /**
-     * 队列大小根据JVM最大内存计算得到，最大值为10000
+     * 线程名称前缀
      */
-    private static final int QUEUE_SIZE = calculateQueueSize();
+    private static final String THREAD_NAME_PREFIX = "pool-thread";
 
     /**
-     * 使用有界队列，避免过度膨胀
+     * 虚拟线程名称前缀
      */
-    private static final LinkedBlockingQueue<Runnable> LINKED_BLOCKING_QUEUE = new LinkedBlockingQueue<>(QUEUE_SIZE);
+    private static final String VIRTUAL_THREAD_NAME_PREFIX = "virtual-thread";
 
     /**
-     * 私有构造方法，防止实例化
+     * 不支持虚拟线程时，替代的缓存线程池的默认最大线程数
      */
-    private ExecutorsUtils() {
-    }
+    private static final int FALLBACK_MAX_SIZE = Math.max(CORE_SIZE * 32, 256);
 
     /**
-     * 计算队列大小，根据JVM最大内存平均分配每个任务的空间
-     *
-     * @return 计算得到的队列大小
+     * 私有构造方法，防止实例化
      */
-    private static int calculateQueueSize() {
-        long maxMemory = Runtime.getRuntime().maxMemory();
-        // 以每 1MB 对应 1 个任务的策略
-        int queueSize = (int) (maxMemory / (1024 * 1024) / 2);
-        // 限制最大队列长度为 10000
-        return Math.min(queueSize, 10000);
+    private ExecutorsUtils() {
     }
 
     /**
@@ -105,7 +99,7 @@ public final class ExecutorsUtils {
      * @see Executors#newScheduledThreadPool(int)
      */
     public static ScheduledExecutorService buildScheduledExecutorService(int coreSize) {
-        return Executors.newScheduledThreadPool(Math.max(coreSize, 1), new CustomThreadFactory());
+        return Executors.newScheduledThreadPool(Math.max(coreSize, 1), new NamedThreadFactory(THREAD_NAME_PREFIX));
     }
 
     /**
@@ -115,7 +109,7 @@ public final class ExecutorsUtils {
      * @see ThreadPoolExecutor
      */
     public static ThreadPoolExecutor buildThreadPoolExecutor() {
-        return buildThreadPoolExecutor(CORE_SIZE, MAX_SIZE, ALIVE_TIME, LINKED_BLOCKING_QUEUE);
+        return buildThreadPoolExecutor(CORE_SIZE, MAX_SIZE, ALIVE_TIME);
     }
 
     /**
@@ -126,7 +120,7 @@ public final class ExecutorsUtils {
      * @see ThreadPoolExecutor
      */
     public static ThreadPoolExecutor buildThreadPoolExecutor(int corePoolSize) {
-        return buildThreadPoolExecutor(corePoolSize, corePoolSize + CORE_SIZE, ALIVE_TIME, LINKED_BLOCKING_QUEUE);
+        return buildThreadPoolExecutor(corePoolSize, corePoolSize + CORE_SIZE, ALIVE_TIME);
     }
 
     /**
@@ -138,7 +132,7 @@ public final class ExecutorsUtils {
      * @see ThreadPoolExecutor
      */
     public static ThreadPoolExecutor buildThreadPoolExecutor(int corePoolSize, int maximumPoolSize) {
-        return buildThreadPoolExecutor(corePoolSize, maximumPoolSize, ALIVE_TIME, LINKED_BLOCKING_QUEUE);
+        return buildThreadPoolExecutor(corePoolSize, maximumPoolSize, ALIVE_TIME);
     }
 
     /**
@@ -146,12 +140,12 @@ public final class ExecutorsUtils {
      *
      * @param corePoolSize    核心池大小，不能为空
      * @param maximumPoolSize 最大池大小，不能为空
-     * @param keepAliveTime   线程保持活跃时间，不能为空
+     * @param keepAliveTime   线程保持活跃时间，单位毫秒
      * @return ThreadPoolExecutor实例
      * @see ThreadPoolExecutor
      */
     public static ThreadPoolExecutor buildThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime) {
-        return buildThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, LINKED_BLOCKING_QUEUE);
+        return builder(corePoolSize, maximumPoolSize, keepAliveTime).build();
     }
 
     /**
@@ -159,21 +153,78 @@ public final class ExecutorsUtils {
      *
      * @param corePoolSize    核心池大小，不能为空
      * @param maximumPoolSize 最大池大小，不能为空
-     * @param keepAliveTime   线程保持活跃时间，不能为空
+     * @param keepAliveTime   线程保持活跃时间，单位毫秒
      * @param workQueue       工作队列，不能为空
      * @return ThreadPoolExecutor实例
      * @see ThreadPoolExecutor
      */
     public static ThreadPoolExecutor buildThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, BlockingQueue<Runnable> workQueue) {
-        return new ThreadPoolExecutor(
-                Math.max(corePoolSize, 1),
-                maximumPoolSize,
-                keepAliveTime,
-                MILLISECONDS,
-                workQueue,
-                new CustomThreadFactory(),
-                new CustomRejectedExecutionHandler()
-        );
+        return builder(corePoolSize, maximumPoolSize, keepAliveTime)
+                .workQueue(workQueue)
+                .build();
+    }
+
+    /**
+     * 创建带有本类默认配置的线程池构建器，每次构建的线程池使用独立的队列。
+     *
+     * @param corePoolSize    核心池大小
+     * @param maximumPoolSize 最大池大小
+     * @param keepAliveTime   线程保持活跃时间，单位毫秒
+     * @return 线程池构建器
+     */
+    private static BizThreadPoolExecutor.Builder builder(int corePoolSize, int maximumPoolSize, long keepAliveTime) {
+        return BizThreadPoolExecutor.builder()
+                .name(THREAD_NAME_PREFIX)
+                .corePoolSize(Math.max(corePoolSize, 1))
+                .maximumPoolSize(maximumPoolSize)
+                .keepAliveTime(keepAliveTime, MILLISECONDS);
+    }
+
+    /**
+     * 当前运行环境是否支持虚拟线程（Java 21 及以上版本）。
+     *
+     * @return 支持返回true
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * 创建适合阻塞I/O任务（OSS上传、HTTP调用、Redis访问等）的执行器，不限制并发数。
+     * <p>Java 21 及以上版本为每个任务启动一个虚拟线程；更低的版本使用有界的缓存线程池替代：
+     * 按需创建线程直到上限，之后任务在队列中排队，空闲线程60秒后回收，队列也满时由提交任务的线程执行。</p>
+     *
+     * @return 执行器
+     * @see #buildVirtualThreadExecutor(String, int)
+     */
+    public static ExecutorService buildVirtualThreadExecutor() {
+        return buildVirtualThreadExecutor(VIRTUAL_THREAD_NAME_PREFIX, 0);
+    }
+
+    /**
+     * 创建适合阻塞I/O任务的执行器，并限制同时执行的任务数，避免大量虚拟线程同时压垮下游资源。
+     * <p>Java 21 及以上版本为每个任务启动一个虚拟线程，超出并发限制的任务在虚拟线程中等待 {@link ConcurrencyLimiter} 的许可，
+     * 返回 {@link LimitedExecutorService}；更低的版本使用最大线程数等于并发限制的缓存线程池替代，
+     * 超出的任务在队列中排队。</p>
+     *
+     * @param name           线程名称前缀
+     * @param maxConcurrency 最大并发数，小于等于0表示不限制
+     * @return 执行器
+     */
+    public static ExecutorService buildVirtualThreadExecutor(String name, int maxConcurrency) {
+        if (VirtualThreads.isSupported()) {
+            ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor(name);
+            return maxConcurrency > 0 ? new LimitedExecutorService(executor, new ConcurrencyLimiter(maxConcurrency)) : executor;
+        }
+        int poolSize = maxConcurrency > 0 ? maxConcurrency : FALLBACK_MAX_SIZE;
+        return BizThreadPoolExecutor.builder()
+                .name(name)
+                .corePoolSize(poolSize)
+                .maximumPoolSize(poolSize)
+                .allowCoreThreadTimeOut(true)
+                .keepAliveTime(ALIVE_TIME, MILLISECONDS)
+                .rejectionPolicy(RejectionPolicy.CALLER_RUNS)
+                .build();
     }
 
     /**
@@ -224,51 +275,4 @@ public final class ExecutorsUtils {
         }
     }
 
-    /**
-     * 自定义线程工厂，用于创建线程池中的线程。
-     */
-    private static class CustomThreadFactory implements ThreadFactory {
-        private final AtomicInteger threadNumber = new AtomicInteger(1);
-        private final ThreadGroup group;
-
-        CustomThreadFactory() {
-            SecurityManager s = System.getSecurityManager();
-            group = (s != null) ? s.getThreadGroup() : Thread.currentThread().getThreadGroup();
-        }
-
-        /**
-         * 创建并返回一个新线程。
-         *
-         * @param r 线程要执行的任务，不能为空
-         * @return 新创建的线程
-         */
-        @Override
-        public Thread newThread(Runnable r) {
-            Thread t = new Thread(group, r, "pool-thread-" + threadNumber.getAndIncrement(), 0);
-            if (t.isDaemon()) {
-                t.setDaemon(false); // 确保线程是非守护线程
-            }
-            if (t.getPriority() != Thread.NORM_PRIORITY) {
-                t.setPriority(Thread.NORM_PRIORITY); // 确保线程优先级正常
-            }
-            return t;
-        }
-    }
-
-    /**
-     * 自定义拒绝策略，用于处理线程池无法接受的新任务。
-     */
-    private static class CustomRejectedExecutionHandler implements RejectedExecutionHandler {
-        /**
-         * 当尝试提交的任务被拒绝时调用。
-         *
-         * @param r        被拒绝的任务，不能为空
-         * @param executor 线程池执行器，不能为空
-         */
-        @Override
-        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            log.warn("Task rejected from thread pool: {}", r.toString());
-        }
-    }
-
 }
@@ -0,0 +1,304 @@
+package com.biz.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带整体截止时间的并行扇出执行器。
+ *
+ * <p>在给定的执行器上并行执行一组任务，并等待它们全部完成，但最多等待到截止时间：</p>
+ * <ul>
+ *     <li>截止时间到达时，取消仍在执行的任务（默认中断执行线程），已完成任务的结果保留在 {@link FanOutResult} 中；</li>
+ *     <li>开启 {@link Builder#cancelOnFailure(boolean)} 时，第一个任务失败后立即取消其余任务并返回；</li>
+ *     <li>设置 {@link Builder#maxConcurrency(int)} 后，同一次调用最多同时执行指定数量的任务，
+ *     其余任务在前面的任务完成后由调用线程依次提交，不会阻塞执行器中的线程；</li>
+ *     <li>任务在执行线程中使用调用线程的 {@link org.slf4j.MDC} 上下文，日志中的追踪Id不会丢失。</li>
+ * </ul>
+ *
+ * <p>执行器的拒绝策略为由调用线程执行（{@link RejectionPolicy#CALLER_RUNS}）时，被拒绝的任务会在调用线程中同步执行，
+ * 此时截止时间无法约束该任务，对截止时间敏感的场景建议使用 {@link RejectionPolicy#FAIL}，被拒绝的任务记为失败。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     FanOut fanOut = FanOut.builder(executor)
+ *         .deadline(300, TimeUnit.MILLISECONDS)
+ *         .maxConcurrency(8)
+ *         .build();
+ *     FanOutResult<Price> result = fanOut.invokeAll(Arrays.asList(
+ *         () -> priceClient.query("A"),
+ *         () -> priceClient.query("B")));
+ *     List<Price> prices = result.getValues();
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see FanOutResult
+ * @see MdcContext
+ * @since 1.5.1
+ */
+public final class FanOut {
+
+    private final Executor executor;
+
+    private final long deadlineNanos;
+
+    private final int maxConcurrency;
+
+    private final boolean cancelOnFailure;
+
+    private final boolean interruptStragglers;
+
+    private FanOut(Builder builder) {
+        this.executor = builder.executor;
+        this.deadlineNanos = builder.deadlineNanos;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.cancelOnFailure = builder.cancelOnFailure;
+        this.interruptStragglers = builder.interruptStragglers;
+    }
+
+    /**
+     * 创建扇出执行器构建器。
+     *
+     * @param executor 执行任务的执行器，不能为空
+     * @return 构建器
+     */
+    public static Builder builder(Executor executor) {
+        return new Builder(executor);
+    }
+
+    /**
+     * 使用默认配置（不限制并发、失败不提前结束）在截止时间内执行一组任务。
+     *
+     * @param executor 执行任务的执行器
+     * @param tasks    任务集合
+     * @param timeout  整体截止时间
+     * @param unit     时间单位
+     * @param <T>      任务结果类型
+     * @return 执行结果
+     * @throws InterruptedException 如果等待过程中调用线程被中断，此时所有未完成的任务都会被取消
+     */
+    public static <T> FanOutResult<T> invokeAll(Executor executor, Collection<? extends Callable<T>> tasks,
+                                                long timeout, TimeUnit unit) throws InterruptedException {
+        return builder(executor).deadline(timeout, unit).build().invokeAll(tasks);
+    }
+
+    /**
+     * 执行一组任务，等待全部完成、截止时间到达或（开启时）第一个任务失败。
+     *
+     * @param tasks 任务集合
+     * @param <T>   任务结果类型
+     * @return 执行结果，顺序与任务集合的迭代顺序一致
+     * @throws InterruptedException 如果等待过程中调用线程被中断，此时所有未完成的任务都会被取消
+     */
+    public <T> FanOutResult<T> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = deadlineNanos == Long.MAX_VALUE ? Long.MAX_VALUE : start + deadlineNanos;
+        int size = tasks.size();
+        List<Callable<T>> callables = new ArrayList<>(tasks);
+        List<FutureTask<T>> futures = new ArrayList<>(size);
+        BlockingQueue<FutureTask<T>> completed = new LinkedBlockingQueue<>();
+
+        int submitted = 0;
+        int finished = 0;
+        boolean deadlineExceeded = false;
+        boolean interrupted = true;
+        try {
+            int initial = Math.min(size, maxConcurrency);
+            while (submitted < initial) {
+                submit(callables.get(submitted++), futures, completed);
+            }
+            while (finished < submitted) {
+                FutureTask<T> done;
+                if (deadline == Long.MAX_VALUE) {
+                    done = completed.take();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    done = remaining > 0 ? completed.poll(remaining, TimeUnit.NANOSECONDS) : completed.poll();
+                }
+                if (done == null) {
+                    deadlineExceeded = true;
+                    break;
+                }
+                finished++;
+                if (cancelOnFailure && isFailed(done)) {
+                    break;
+                }
+                if (submitted < size) {
+                    submit(callables.get(submitted++), futures, completed);
+                }
+            }
+            interrupted = false;
+        } finally {
+            for (FutureTask<T> future : futures) {
+                future.cancel(interruptStragglers || interrupted);
+            }
+        }
+
+        List<FanOutResult.Outcome<T>> outcomes = new ArrayList<>(size);
+        for (FutureTask<T> future : futures) {
+            outcomes.add(outcome(future, deadlineExceeded));
+        }
+        // 因截止时间已过而未提交的任务与被取消的已提交任务一样记为超时
+        FanOutResult.Status unsubmitted = deadlineExceeded ? FanOutResult.Status.TIMED_OUT : FanOutResult.Status.CANCELLED;
+        while (outcomes.size() < size) {
+            outcomes.add(new FanOutResult.Outcome<>(unsubmitted, null, null));
+        }
+        return new FanOutResult<>(outcomes, deadlineExceeded, System.nanoTime() - start);
+    }
+
+    /**
+     * 提交单个任务，任务完成或取消时放入完成队列；被执行器拒绝时记为失败。
+     */
+    private <T> void submit(Callable<T> task, List<FutureTask<T>> futures, BlockingQueue<FutureTask<T>> completed) {
+        Task<T> future = new Task<>(MdcContext.wrap(task), completed);
+        futures.add(future);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            future.fail(e);
+        }
+    }
+
+    private static boolean isFailed(FutureTask<?> future) {
+        if (future.isCancelled()) {
+            return false;
+        }
+        try {
+            future.get();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException | CancellationException e) {
+            return false;
+        }
+    }
+
+    private static <T> FanOutResult.Outcome<T> outcome(FutureTask<T> future, boolean deadlineExceeded) {
+        if (future.isCancelled()) {
+            return new FanOutResult.Outcome<>(
+                    deadlineExceeded ? FanOutResult.Status.TIMED_OUT : FanOutResult.Status.CANCELLED, null, null);
+        }
+        try {
+            return new FanOutResult.Outcome<>(FanOutResult.Status.SUCCESS, future.get(), null);
+        } catch (ExecutionException e) {
+            return new FanOutResult.Outcome<>(FanOutResult.Status.FAILED, null, e.getCause());
+        } catch (InterruptedException e) {
+            // 任务已经结束，get 不会阻塞，这里只是恢复中断状态
+            Thread.currentThread().interrupt();
+            return new FanOutResult.Outcome<>(FanOutResult.Status.CANCELLED, null, null);
+        }
+    }
+
+    /**
+     * 完成或取消时将自己放入完成队列的任务。
+     */
+    private static final class Task<T> extends FutureTask<T> {
+
+        private final BlockingQueue<FutureTask<T>> completed;
+
+        Task(Callable<T> callable, BlockingQueue<FutureTask<T>> completed) {
+            super(callable);
+            this.completed = completed;
+        }
+
+        void fail(Throwable t) {
+            setException(t);
+        }
+
+        @Override
+        protected void done() {
+            completed.offer(this);
+        }
+    }
+
+    /**
+     * {@link FanOut} 构建器。
+     */
+    public static class Builder {
+
+        private final Executor executor;
+        private long deadlineNanos = Long.MAX_VALUE;
+        private int maxConcurrency = Integer.MAX_VALUE;
+        private boolean cancelOnFailure;
+        private boolean interruptStragglers = true;
+
+        private Builder(Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("执行器不能为空");
+            }
+            this.executor = executor;
+        }
+
+        /**
+         * 设置从调用 {@link FanOut#invokeAll(Collection)} 开始计算的整体截止时间，默认不限制。
+         *
+         * @param timeout 截止时间
+         * @param unit    时间单位
+         * @return Builder
+         */
+        public Builder deadline(long timeout, TimeUnit unit) {
+            if (timeout <= 0) {
+                throw new IllegalArgumentException("截止时间必须大于0");
+            }
+            this.deadlineNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * 设置单次调用中同时执行的最大任务数，默认不限制。
+         *
+         * @param maxConcurrency 最大并发数
+         * @return Builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("最大并发数必须大于0");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * 设置第一个任务失败时是否取消其余任务并立即返回，默认为否。
+         *
+         * @param cancelOnFailure 是否在失败时提前结束
+         * @return Builder
+         */
+        public Builder cancelOnFailure(boolean cancelOnFailure) {
+            this.cancelOnFailure = cancelOnFailure;
+            return this;
+        }
+
+        /**
+         * 设置取消未完成任务时是否中断执行线程，默认为是。
+         *
+         * @param interruptStragglers 是否中断执行线程
+         * @return Builder
+         */
+        public Builder interruptStragglers(boolean interruptStragglers) {
+            this.interruptStragglers = interruptStragglers;
+            return this;
+        }
+
+        /**
+         * 构建扇出执行器，构建后的实例不可变，可以在多个线程中复用。
+         *
+         * @return 扇出执行器
+         */
+        public FanOut build() {
+            return new FanOut(this);
+        }
+    }
+
+}
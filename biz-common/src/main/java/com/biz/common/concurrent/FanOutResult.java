@@ -0,0 +1,217 @@
+package com.biz.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link FanOut} 的执行结果，按提交顺序保存每个任务的结果。
+ *
+ * <p>截止时间到达或因失败提前结束时，已完成任务的结果仍然保留，调用方可以使用部分结果降级处理。</p>
+ *
+ * @param <T> 任务结果类型
+ * @author francis
+ * @version 1.5.1
+ * @see FanOut
+ * @since 1.5.1
+ */
+public final class FanOutResult<T> {
+
+    /**
+     * 单个任务的结束状态。
+     */
+    public enum Status {
+        /**
+         * 任务正常完成。
+         */
+        SUCCESS,
+        /**
+         * 任务抛出异常，或被线程池拒绝。
+         */
+        FAILED,
+        /**
+         * 截止时间到达时任务尚未完成，已被取消。
+         */
+        TIMED_OUT,
+        /**
+         * 因其他任务失败而被取消，或尚未开始就结束了。
+         */
+        CANCELLED
+    }
+
+    private final List<Outcome<T>> outcomes;
+
+    private final boolean deadlineExceeded;
+
+    private final long elapsedNanos;
+
+    FanOutResult(List<Outcome<T>> outcomes, boolean deadlineExceeded, long elapsedNanos) {
+        this.outcomes = Collections.unmodifiableList(outcomes);
+        this.deadlineExceeded = deadlineExceeded;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 获取所有任务的结果，顺序与提交顺序一致。
+     *
+     * @return 任务结果列表
+     */
+    public List<Outcome<T>> getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * 获取指定位置任务的结果。
+     *
+     * @param index 任务的提交位置
+     * @return 任务结果
+     */
+    public Outcome<T> get(int index) {
+        return outcomes.get(index);
+    }
+
+    /**
+     * 获取成功任务的返回值，顺序与提交顺序一致。
+     *
+     * @return 成功任务的返回值
+     */
+    public List<T> getValues() {
+        List<T> values = new ArrayList<>(outcomes.size());
+        for (Outcome<T> outcome : outcomes) {
+            if (outcome.status == Status.SUCCESS) {
+                values.add(outcome.value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 获取失败任务抛出的异常。
+     *
+     * @return 异常列表
+     */
+    public List<Throwable> getErrors() {
+        List<Throwable> errors = new ArrayList<>();
+        for (Outcome<T> outcome : outcomes) {
+            if (outcome.status == Status.FAILED) {
+                errors.add(outcome.error);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * 获取指定状态的任务数。
+     *
+     * @param status 任务状态
+     * @return 任务数
+     */
+    public int count(Status status) {
+        int count = 0;
+        for (Outcome<T> outcome : outcomes) {
+            if (outcome.status == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 是否所有任务都成功完成。
+     *
+     * @return 全部成功返回 {@code true}
+     */
+    public boolean isAllSucceeded() {
+        return count(Status.SUCCESS) == outcomes.size();
+    }
+
+    /**
+     * 是否因截止时间到达而结束。
+     *
+     * @return 截止时间到达返回 {@code true}
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    /**
+     * 获取从开始提交到返回结果的耗时，单位为纳秒。
+     *
+     * @return 耗时
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "FanOutResult[tasks = " + outcomes.size()
+                + ", success = " + count(Status.SUCCESS)
+                + ", failed = " + count(Status.FAILED)
+                + ", timedOut = " + count(Status.TIMED_OUT)
+                + ", cancelled = " + count(Status.CANCELLED)
+                + ", deadlineExceeded = " + deadlineExceeded + "]";
+    }
+
+    /**
+     * 单个任务的结果。
+     *
+     * @param <T> 任务结果类型
+     */
+    public static final class Outcome<T> {
+
+        private final Status status;
+
+        private final T value;
+
+        private final Throwable error;
+
+        Outcome(Status status, T value, Throwable error) {
+            this.status = status;
+            this.value = value;
+            this.error = error;
+        }
+
+        /**
+         * 获取任务状态。
+         *
+         * @return 任务状态
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * 获取任务返回值，任务未成功时为 {@code null}。
+         *
+         * @return 任务返回值
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * 获取任务抛出的异常，仅在 {@link Status#FAILED} 时不为 {@code null}。
+         *
+         * @return 任务抛出的异常
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * 任务是否成功完成。
+         *
+         * @return 成功返回 {@code true}
+         */
+        public boolean isSuccess() {
+            return status == Status.SUCCESS;
+        }
+
+        @Override
+        public String toString() {
+            return status == Status.FAILED ? status + "(" + error + ")" : status.toString();
+        }
+    }
+
+}
@@ -0,0 +1,478 @@
+package com.biz.common.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于哈希时间轮的延迟任务调度器。
+ *
+ * <p>所有延迟任务按到期时间散列到环形的时间槽中，由一个 tick 线程每隔固定的刻度推进一格，
+ * 将到期的任务交给工作线程池执行。提交和取消任务只是入队操作，开销与任务数量无关，
+ * 适合会话过期、缓存过期这类数量巨大、大多数会在到期前被取消或重置的超时任务。
+ * 代价是到期时间的精度只能达到一个刻度（默认10毫秒）。</p>
+ *
+ * <p>tick 线程在第一次提交任务时才启动。{@link #shared()} 返回进程内共享的实例，
+ * {@link BizScheduledFuture} 在未指定 {@link java.util.concurrent.ScheduledExecutorService} 时默认使用它，
+ * 因此无论创建多少个定时任务，都只额外占用一个 tick 线程和按需创建的工作线程。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     HashedWheelScheduler.Timeout timeout = HashedWheelScheduler.shared()
+ *         .schedule(() -> System.out.println("expired"), 30, TimeUnit.SECONDS);
+ *     timeout.cancel();
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see BizScheduledFuture
+ * @since 1.5.1
+ */
+@Slf4j
+public final class HashedWheelScheduler {
+
+    /**
+     * 默认的刻度时长，单位为毫秒。
+     */
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    /**
+     * 默认的时间槽数量。
+     */
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    /**
+     * 每个刻度最多从待加入队列转移到时间槽的任务数，避免大量提交时 tick 线程长时间无法推进。
+     */
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_SHUTDOWN = 2;
+
+    private final String name;
+
+    private final long tickDuration;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    private final Executor workerExecutor;
+
+    private final boolean shared;
+
+    private final Thread tickThread;
+
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+
+    private final CountDownLatch startLatch = new CountDownLatch(1);
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    /**
+     * tick 线程的起始时间，由启动 tick 线程的调用方设置。
+     */
+    private volatile long startTime;
+
+    /**
+     * 使用默认刻度和时间槽数量创建调度器。
+     *
+     * @param name           调度器名称，用作 tick 线程的名称
+     * @param workerExecutor 执行到期任务的线程池
+     */
+    public HashedWheelScheduler(String name, Executor workerExecutor) {
+        this(name, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL, workerExecutor);
+    }
+
+    /**
+     * 创建调度器。
+     *
+     * @param name           调度器名称，用作 tick 线程的名称
+     * @param tickDuration   刻度时长，即到期时间的精度
+     * @param unit           刻度时长的时间单位
+     * @param ticksPerWheel  时间槽数量，会向上取整为2的幂
+     * @param workerExecutor 执行到期任务的线程池
+     */
+    public HashedWheelScheduler(String name, long tickDuration, TimeUnit unit, int ticksPerWheel, Executor workerExecutor) {
+        this(name, tickDuration, unit, ticksPerWheel, workerExecutor, false);
+    }
+
+    private HashedWheelScheduler(String name, long tickDuration, TimeUnit unit, int ticksPerWheel,
+                                 Executor workerExecutor, boolean shared) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("刻度时长必须大于0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("时间槽数量必须在1到2^30之间");
+        }
+        if (workerExecutor == null) {
+            throw new IllegalArgumentException("执行到期任务的线程池不能为空");
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.name = name;
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.workerExecutor = workerExecutor;
+        this.shared = shared;
+        this.tickThread = new NamedThreadFactory(name, true).newThread(new TickLoop());
+    }
+
+    /**
+     * 获取进程内共享的调度器。
+     *
+     * <p>共享调度器使用守护线程，到期任务交给一个按需创建、空闲60秒后回收的工作线程池执行，
+     * 线程池忙不过来时由 tick 线程直接执行。共享调度器不能被 {@link #stop()}。</p>
+     *
+     * @return 共享的调度器
+     */
+    public static HashedWheelScheduler shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * 在指定的延迟后执行任务。
+     *
+     * @param task  要执行的任务，不能为空
+     * @param delay 延迟时间，小于等于0时在下一个刻度执行
+     * @param unit  时间单位
+     * @return 可用于取消任务的句柄
+     * @throws IllegalStateException 如果调度器已经停止
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("任务不能为空");
+        }
+        start();
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        if (delay > 0 && deadline < 0) {
+            // 延迟时间过大导致溢出
+            deadline = Long.MAX_VALUE;
+        }
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 获取尚未到期且未取消的任务数量。
+     *
+     * @return 等待中的任务数量
+     */
+    public long pendingTimeouts() {
+        return pendingCount.get();
+    }
+
+    /**
+     * 获取调度器名称。
+     *
+     * @return 调度器名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 停止 tick 线程，所有未到期的任务都不会再执行。工作线程池由调用方负责关闭。
+     *
+     * @throws IllegalStateException 如果是 {@link #shared()} 返回的共享调度器
+     */
+    public void stop() {
+        if (shared) {
+            throw new IllegalStateException("共享的时间轮调度器不能被停止");
+        }
+        if (state.getAndSet(STATE_SHUTDOWN) == STATE_STARTED) {
+            tickThread.interrupt();
+        }
+    }
+
+    /**
+     * 启动 tick 线程，已启动时等待起始时间可见。
+     */
+    private void start() {
+        switch (state.get()) {
+            case STATE_INIT:
+                if (state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+                    startTime = System.nanoTime();
+                    startLatch.countDown();
+                    tickThread.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("时间轮调度器已停止");
+        }
+        boolean interrupted = false;
+        while (startLatch.getCount() != 0) {
+            try {
+                startLatch.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 将到期任务交给工作线程池执行。
+     */
+    private void execute(Runnable task) {
+        try {
+            workerExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    log.error("时间轮调度器 {} 执行到期任务时出现异常：", name, t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("时间轮调度器 {} 的工作线程池拒绝了到期任务", name, e);
+        }
+    }
+
+    /**
+     * tick 线程的主循环。
+     */
+    private final class TickLoop implements Runnable {
+
+        private long tick;
+
+        @Override
+        public void run() {
+            while (state.get() == STATE_STARTED) {
+                if (!waitForNextTick()) {
+                    continue;
+                }
+                removeCancelled();
+                transferPending();
+                wheel[(int) (tick & mask)].expire();
+                tick++;
+            }
+            pendingTimeouts.clear();
+            cancelledTimeouts.clear();
+        }
+
+        /**
+         * 等待到下一个刻度。
+         *
+         * @return 到达下一个刻度返回 {@code true}，调度器停止时返回 {@code false}
+         */
+        private boolean waitForNextTick() {
+            long deadline = tickDuration * (tick + 1);
+            while (true) {
+                long currentTime = System.nanoTime() - startTime;
+                long sleepMillis = (deadline - currentTime + 999_999) / 1_000_000;
+                if (sleepMillis <= 0) {
+                    return true;
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    if (state.get() != STATE_STARTED) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        private void transferPending() {
+            for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+                Timeout timeout = pendingTimeouts.poll();
+                if (timeout == null) {
+                    return;
+                }
+                if (timeout.state == Timeout.STATE_CANCELLED) {
+                    continue;
+                }
+                long calculated = timeout.deadline / tickDuration;
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                long ticks = Math.max(calculated, tick);
+                wheel[(int) (ticks & mask)].add(timeout);
+            }
+        }
+
+        private void removeCancelled() {
+            Timeout timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+    }
+
+    /**
+     * 时间槽，内部是只由 tick 线程访问的双向链表。
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state == Timeout.STATE_CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * 延迟任务的句柄，可用于取消任务或查询任务状态。
+     */
+    public static final class Timeout {
+
+        private static final int STATE_INIT = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelScheduler scheduler;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private volatile int state = STATE_INIT;
+
+        // 以下字段只由 tick 线程访问
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(HashedWheelScheduler scheduler, Runnable task, long deadline) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消任务。已经到期或已经取消的任务不受影响。
+         *
+         * @return 本次调用取消了任务返回 {@code true}
+         */
+        public boolean cancel() {
+            if (!STATE_UPDATER.compareAndSet(this, STATE_INIT, STATE_CANCELLED)) {
+                return false;
+            }
+            scheduler.pendingCount.decrementAndGet();
+            scheduler.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * 任务是否已被取消。
+         *
+         * @return 已取消返回 {@code true}
+         */
+        public boolean isCancelled() {
+            return state == STATE_CANCELLED;
+        }
+
+        /**
+         * 任务是否已经到期并交给工作线程池执行。
+         *
+         * @return 已到期返回 {@code true}
+         */
+        public boolean isExpired() {
+            return state == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, STATE_INIT, STATE_EXPIRED)) {
+                return;
+            }
+            scheduler.pendingCount.decrementAndGet();
+            scheduler.execute(task);
+        }
+    }
+
+    /**
+     * 共享调度器的延迟初始化持有类，第一次调用 {@link #shared()} 时才创建。
+     */
+    private static final class SharedHolder {
+
+        private static final HashedWheelScheduler INSTANCE = new HashedWheelScheduler("biz-wheel-timer",
+                DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL,
+                BizThreadPoolExecutor.builder()
+                        .name("biz-wheel-worker")
+                        .corePoolSize(Runtime.getRuntime().availableProcessors())
+                        .maximumPoolSize(Runtime.getRuntime().availableProcessors())
+                        .allowCoreThreadTimeOut(true)
+                        .daemon(true)
+                        .rejectionPolicy(RejectionPolicy.CALLER_RUNS)
+                        .build(),
+                true);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.biz.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限制同时执行任务数的执行器。
+ *
+ * <p>任务照常提交给被包装的执行器，但在真正执行前需要从 {@link ConcurrencyLimiter} 获取许可，
+ * 因此提交线程不会被阻塞，超出并发限制的任务在各自的执行线程中排队。
+ * 与虚拟线程执行器搭配使用时，排队的任务只占用虚拟线程，不占用平台线程。</p>
+ *
+ * <p>{@link #shutdownNow()} 返回尚未开始执行的原始任务；已经开始执行、正在等待许可的任务的处理方式见
+ * {@link ConcurrencyLimiter#wrap(Runnable)}，{@code submit()} 返回的 {@link java.util.concurrent.Future} 不会永远阻塞。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see ConcurrencyLimiter
+ * @see ExecutorsUtils#buildVirtualThreadExecutor(String, int)
+ * @since 1.5.1
+ */
+public class LimitedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final ConcurrencyLimiter limiter;
+
+    /**
+     * 创建限制并发数的执行器。
+     *
+     * @param delegate 被包装的执行器
+     * @param limiter  并发数限制器
+     */
+    public LimitedExecutorService(ExecutorService delegate, ConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    /**
+     * 获取并发数限制器，可用于查看正在执行和等待的任务数。
+     *
+     * @return 并发数限制器
+     */
+    public ConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        delegate.execute(limiter.wrap(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = delegate.shutdownNow();
+        List<Runnable> tasks = new ArrayList<>(pending.size());
+        for (Runnable task : pending) {
+            tasks.add(ConcurrencyLimiter.unwrap(task));
+        }
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+}
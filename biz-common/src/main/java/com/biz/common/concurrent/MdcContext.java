@@ -0,0 +1,80 @@
+package com.biz.common.concurrent;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 将提交线程的 {@link MDC} 上下文（包括 biz-trace 写入的追踪Id）传递到执行线程的工具类。
+ *
+ * <p>线程池中的线程不会继承提交线程的 {@link MDC}，直接提交的任务打印的日志会丢失追踪Id。
+ * 包装后的任务在执行前设置提交时捕获的上下文，执行后恢复执行线程原有的上下文，不会污染被复用的线程。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     executor.execute(MdcContext.wrap(() -> log.info("带有追踪Id的日志")));
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see FanOut
+ * @since 1.5.1
+ */
+public final class MdcContext {
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private MdcContext() {
+    }
+
+    /**
+     * 包装任务，使其在执行时使用当前线程的 {@link MDC} 上下文。
+     *
+     * @param task 任务
+     * @return 包装后的任务
+     */
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            set(context);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * 包装有返回值的任务，使其在执行时使用当前线程的 {@link MDC} 上下文。
+     *
+     * @param task 任务
+     * @param <T>  结果类型
+     * @return 包装后的任务
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            set(context);
+            try {
+                return task.call();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    private static void set(Map<String, String> context) {
+        if (context == null || context.isEmpty()) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+}
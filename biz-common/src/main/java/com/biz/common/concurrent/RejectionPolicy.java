@@ -0,0 +1,33 @@
+package com.biz.common.concurrent;
+
+/**
+ * 线程池饱和（队列已满且线程数已达上限）或已关闭时，对新提交任务的处理策略。
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see BizThreadPoolExecutor
+ * @since 1.5.1
+ */
+public enum RejectionPolicy {
+
+    /**
+     * 由提交任务的线程直接执行，从而降低提交速度，形成自然的背压；线程池已关闭时任务被丢弃。
+     */
+    CALLER_RUNS,
+
+    /**
+     * 阻塞提交线程，直到队列有空位或等待超时，超时后抛出 {@link java.util.concurrent.RejectedExecutionException}。
+     */
+    BLOCK,
+
+    /**
+     * 丢弃队列中最早的任务，然后重新提交当前任务。
+     */
+    DROP_OLDEST,
+
+    /**
+     * 立即抛出 {@link java.util.concurrent.RejectedExecutionException}。
+     */
+    FAIL
+
+}
@@ -0,0 +1,96 @@
+package com.biz.common.concurrent;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 线程池运行指标的快照。
+ *
+ * <p>由 {@link BizThreadPoolExecutor#getMetrics()} 生成，各项数值在生成时读取，之后不再变化，
+ * 可直接交给日志或监控系统上报。等待时间指任务从提交到开始执行的耗时，运行时间指任务本身的执行耗时，
+ * 均以纳秒为单位。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see BizThreadPoolExecutor
+ * @since 1.5.1
+ */
+@Getter
+@ToString
+@Builder
+@AllArgsConstructor
+public class ThreadPoolMetrics {
+
+    /**
+     * 线程池名称。
+     */
+    private final String name;
+
+    /**
+     * 当前队列中等待执行的任务数。
+     */
+    private final int queueSize;
+
+    /**
+     * 队列剩余容量。
+     */
+    private final int queueRemainingCapacity;
+
+    /**
+     * 正在执行任务的线程数。
+     */
+    private final int activeCount;
+
+    /**
+     * 当前线程数。
+     */
+    private final int poolSize;
+
+    /**
+     * 历史最大线程数。
+     */
+    private final int largestPoolSize;
+
+    /**
+     * 已提交的任务数，包括被拒绝的任务。
+     */
+    private final long submittedCount;
+
+    /**
+     * 已执行完成的任务数。
+     */
+    private final long completedCount;
+
+    /**
+     * 被拒绝策略处理的任务数。
+     */
+    private final long rejectedCount;
+
+    /**
+     * 因 {@link RejectionPolicy#DROP_OLDEST} 被丢弃的任务数。
+     */
+    private final long droppedCount;
+
+    /**
+     * 任务平均等待时间，单位纳秒。
+     */
+    private final long averageWaitNanos;
+
+    /**
+     * 任务最大等待时间，单位纳秒。
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * 任务平均运行时间，单位纳秒。
+     */
+    private final long averageRunNanos;
+
+    /**
+     * 任务最大运行时间，单位纳秒。
+     */
+    private final long maxRunNanos;
+
+}
@@ -0,0 +1,107 @@
+package com.biz.common.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持的探测与创建。
+ *
+ * <p>项目以 Java 8 为编译目标，无法直接引用 Java 21 引入的虚拟线程 API，
+ * 因此在类加载时通过反射查找 {@code Thread.ofVirtual()} 与 {@code Executors.newThreadPerTaskExecutor(ThreadFactory)}，
+ * 运行在 Java 21 及以上版本时可用，否则 {@link #isSupported()} 返回 {@code false}。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see ExecutorsUtils#buildVirtualThreadExecutor()
+ * @since 1.5.1
+ */
+@Slf4j
+final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("当前运行环境不支持虚拟线程，将使用平台线程池");
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前运行环境是否支持虚拟线程。
+     *
+     * @return 支持返回 {@code true}
+     */
+    static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 创建按名称前缀编号的虚拟线程工厂。
+     *
+     * @param prefix 线程名称前缀
+     * @return 虚拟线程工厂
+     * @throws UnsupportedOperationException 如果当前运行环境不支持虚拟线程
+     */
+    static ThreadFactory threadFactory(String prefix) {
+        requireSupported();
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, prefix + "-", 1L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("创建虚拟线程工厂失败", e);
+        }
+    }
+
+    /**
+     * 创建为每个任务启动一个虚拟线程的执行器。
+     *
+     * @param prefix 线程名称前缀
+     * @return 执行器
+     * @throws UnsupportedOperationException 如果当前运行环境不支持虚拟线程
+     */
+    static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = threadFactory(prefix);
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("创建虚拟线程执行器失败", e);
+        }
+    }
+
+    private static void requireSupported() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("当前运行环境不支持虚拟线程，需要 Java 21 及以上版本");
+        }
+    }
+
+}
@@ -0,0 +1,548 @@
+package com.biz.common.copier;
+
+import com.biz.common.reflection.FieldAccessor;
+import com.biz.common.reflection.FieldAccessors;
+import com.biz.common.reflection.ReflectionUtils;
+import com.biz.common.reflection.model.FieldModel;
+import com.biz.common.utils.Common;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 自动按属性名复制对象的 {@link Copier} 实现。
+ *
+ * <p>首次为一对 (源类型, 目标类型) 创建复制器时，会按字段名匹配源类型和目标类型（包括父类）中的字段，
+ * 将所有可复制字段的读写句柄组合为一个 {@link MethodHandle}，并通过 {@link MethodHandle} 绑定目标类型的无参构造方法。
+ * 之后的每次复制只调用这一个组合句柄，不再进行字段查找、类型判断和访问权限检查；
+ * 需要判空或类型转换的字段会通过 {@link FieldAccessor} 完成复制。</p>
+ *
+ * <p>字段的匹配规则：</p>
+ * <ul>
+ *     <li>字段名相同，且目标字段非 {@code static}、非 {@code final}。</li>
+ *     <li>类型相同的基本类型字段直接按基本类型复制，不会装箱。</li>
+ *     <li>目标字段类型可以接收源字段类型（考虑装箱和拆箱）时直接复制；源值为 {@code null} 而目标为基本类型时跳过。</li>
+ *     <li>类型不兼容时，查找通过 {@link Builder#converter(Class, Class, Function)} 注册的转换器，找不到则跳过该字段。</li>
+ * </ul>
+ *
+ * <p>复制是浅复制，引用类型的字段直接复制引用。</p>
+ *
+ * <pre>{@code
+ * // 使用缓存的默认复制器
+ * BVo b = BeanCopier.of(AVo.class, BVo.class).copy(a);
+ *
+ * // 注册类型转换器
+ * BeanCopier<AVo, BVo> copier = BeanCopier.builder(AVo.class, BVo.class)
+ *         .converter(Date.class, String.class, date -> DateTimeUtils.dateToStr(date))
+ *         .ignore("password")
+ *         .build();
+ *
+ * // 批量复制，超过阈值时在 ForkJoinPool 中并行复制
+ * List<BVo> list = copier.copyAll(sourceList);
+ * }</pre>
+ *
+ * @param <P> 源对象类型
+ * @param <T> 目标对象类型
+ * @author francis
+ * @version 1.5.1
+ * @see Copier
+ * @see FieldAccessors
+ * @since 1.5.1
+ */
+@Slf4j
+public final class BeanCopier<P, T> implements Copier<P, T> {
+
+    /**
+     * 默认的并行复制阈值，集合元素数量超过该值时才并行复制。
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    /**
+     * 并行复制时每个子任务处理的最小元素数量。
+     */
+    private static final int MIN_CHUNK_SIZE = 1_024;
+
+    /**
+     * 默认配置复制器的缓存，外层以源类型为键，内层以目标类型为键。
+     * <p>复制器保存在目标类型自己的 {@link ClassValue} 中，源类型只持有内层的 {@link ClassValue}，
+     * 不会强引用目标类型，目标类型所在的类加载器（例如重新部署后的应用）可以被正常卸载。</p>
+     */
+    private static final ClassValue<ClassValue<BeanCopier<?, ?>>> CACHE =
+            new ClassValue<ClassValue<BeanCopier<?, ?>>>() {
+                @Override
+                protected ClassValue<BeanCopier<?, ?>> computeValue(Class<?> sourceClass) {
+                    return new ClassValue<BeanCopier<?, ?>>() {
+                        @Override
+                        protected BeanCopier<?, ?> computeValue(Class<?> targetClass) {
+                            return builder(sourceClass, targetClass).build();
+                        }
+                    };
+                }
+            };
+
+    /**
+     * 单个字段复制句柄的类型：{@code (Object source, Object target)void}。
+     */
+    private static final MethodType STEP_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandle NO_OP;
+
+    private static final MethodHandle BI_CONSUMER_ACCEPT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NO_OP = lookup.findStatic(BeanCopier.class, "noOp", STEP_TYPE);
+            BI_CONSUMER_ACCEPT = lookup.findVirtual(BiConsumer.class, "accept", STEP_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<P> sourceClass;
+    private final Class<T> targetClass;
+    private final MethodHandle constructor;
+    private final MethodHandle copyHandle;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    private BeanCopier(Builder<P, T> builder) {
+        this.sourceClass = builder.sourceClass;
+        this.targetClass = builder.targetClass;
+        this.constructor = findConstructor(targetClass);
+        this.copyHandle = buildCopyHandle(builder);
+        this.parallelThreshold = builder.parallelThreshold;
+        this.pool = builder.pool;
+    }
+
+    /**
+     * 获取缓存的默认配置复制器。
+     *
+     * @param sourceClass 源对象类型
+     * @param targetClass 目标对象类型
+     * @param <P>         源对象类型
+     * @param <T>         目标对象类型
+     * @return 复制器
+     */
+    public static <P, T> BeanCopier<P, T> of(Class<P> sourceClass, Class<T> targetClass) {
+        return Common.to(CACHE.get(sourceClass).get(targetClass));
+    }
+
+    /**
+     * 获取一个构建器，用于创建自定义配置的复制器。
+     * <p>通过构建器创建的复制器不会被缓存，调用方应自行保存并复用。</p>
+     *
+     * @param sourceClass 源对象类型
+     * @param targetClass 目标对象类型
+     * @param <P>         源对象类型
+     * @param <T>         目标对象类型
+     * @return 构建器
+     */
+    public static <P, T> Builder<P, T> builder(Class<P> sourceClass, Class<T> targetClass) {
+        return new Builder<>(sourceClass, targetClass);
+    }
+
+    /**
+     * 创建新的目标对象，并将源对象的属性复制到其中。
+     *
+     * @param p 源对象，不能为空
+     * @return 复制后的新目标对象
+     * @throws AbstractCopier.CopyException 如果无法创建目标对象实例
+     */
+    @Override
+    public T copy(P p) {
+        return copy(p, newInstance());
+    }
+
+    /**
+     * 将源对象的属性复制到已有的目标对象中。
+     *
+     * @param p 源对象，不能为空
+     * @param t 目标对象，不能为空
+     * @return 复制后的目标对象
+     */
+    @Override
+    public T copy(P p, T t) {
+        try {
+            copyHandle.invokeExact((Object) p, (Object) t);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AbstractCopier.CopyException("Failed to copy " + sourceClass.getName() + " to " + targetClass.getName(), e);
+        }
+        return t;
+    }
+
+    /**
+     * 批量复制对象，结果列表的顺序与源集合的迭代顺序一致。
+     * <p>元素数量超过并行阈值时，会拆分为多个子任务在 {@link ForkJoinPool} 中并行复制；
+     * 源集合中的 {@code null} 元素对应结果中的 {@code null}。</p>
+     *
+     * @param sources 源对象集合
+     * @return 复制后的目标对象列表
+     */
+    @Override
+    public List<T> copyAll(Collection<? extends P> sources) {
+        int size = sources.size();
+        if (size < parallelThreshold) {
+            return Copier.super.copyAll(sources);
+        }
+        Object[] source = sources.toArray();
+        Object[] target = new Object[size];
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+        pool.invoke(new CopyTask(source, target, 0, size, chunkSize));
+        return Common.to(new ArrayList<>(Arrays.asList(target)));
+    }
+
+    /**
+     * 获取源对象类型。
+     *
+     * @return 源对象类型
+     */
+    public Class<P> getSourceClass() {
+        return sourceClass;
+    }
+
+    /**
+     * 获取目标对象类型。
+     *
+     * @return 目标对象类型
+     */
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 通过无参构造方法创建目标对象。
+     */
+    private T newInstance() {
+        try {
+            return Common.to((Object) constructor.invokeExact());
+        } catch (Throwable e) {
+            throw new AbstractCopier.CopyException("Failed to create instance of " + targetClass.getName(), e);
+        }
+    }
+
+    /**
+     * 按索引区间拆分的批量复制任务。
+     */
+    private final class CopyTask extends RecursiveAction {
+
+        private final Object[] source;
+        private final Object[] target;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        CopyTask(Object[] source, Object[] target, int from, int to, int chunkSize) {
+            this.source = source;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    P p = Common.to(source[i]);
+                    target[i] = p == null ? null : copy(p);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CopyTask(source, target, from, middle, chunkSize),
+                    new CopyTask(source, target, middle, to, chunkSize));
+        }
+    }
+
+    /**
+     * 查找目标类型的无参构造方法。
+     */
+    private static MethodHandle findConstructor(Class<?> targetClass) {
+        try {
+            Constructor<?> declared = targetClass.getDeclaredConstructor();
+            declared.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(declared)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new AbstractCopier.CopyException("No accessible no-arg constructor in " + targetClass.getName(), e);
+        }
+    }
+
+    /**
+     * 按字段名匹配源类型和目标类型的字段，将所有字段的复制组合为一个 {@code (Object, Object)void} 的句柄。
+     * <p>组合后的句柄在被多次调用后会由 JVM 针对该实例进行特化，整体执行接近手写的逐字段赋值。</p>
+     */
+    private static <P, T> MethodHandle buildCopyHandle(Builder<P, T> builder) {
+        Map<String, Field> sourceFields = collectFields(builder.sourceClass);
+        MethodHandle chain = NO_OP;
+        for (Field targetField : collectFields(builder.targetClass).values()) {
+            if (Modifier.isFinal(targetField.getModifiers()) || builder.ignored.contains(targetField.getName())) {
+                continue;
+            }
+            Field sourceField = sourceFields.get(targetField.getName());
+            if (sourceField == null) {
+                continue;
+            }
+            MethodHandle step = buildStep(sourceField, targetField, builder.converters);
+            if (step == null) {
+                log.debug("Skip copying field {}: no way to convert {} to {}",
+                        targetField.getName(), sourceField.getType().getName(), targetField.getType().getName());
+                continue;
+            }
+            // 先执行当前字段的复制，再执行之前组合好的步骤
+            chain = MethodHandles.foldArguments(chain, step);
+        }
+        return chain;
+    }
+
+    /**
+     * 为一对同名字段生成 {@code (Object, Object)void} 的复制句柄，无法复制时返回 {@code null}。
+     */
+    private static MethodHandle buildStep(Field sourceField, Field targetField,
+                                          Map<ConverterKey, Function<Object, Object>> converters) {
+        Class<?> sourceType = sourceField.getType();
+        Class<?> targetType = targetField.getType();
+
+        boolean assignable = wrap(targetType).isAssignableFrom(wrap(sourceType));
+        // 源为引用类型、目标为基本类型时需要跳过 null，不能直接组合句柄
+        if (assignable && !(targetType.isPrimitive() && !sourceType.isPrimitive())) {
+            MethodHandle directStep = directStep(sourceField, targetField);
+            if (directStep != null) {
+                return directStep;
+            }
+        }
+
+        FieldAccessor getter = FieldAccessors.of(sourceField);
+        FieldAccessor setter = FieldAccessors.of(targetField);
+        boolean primitiveTarget = targetType.isPrimitive();
+        BiConsumer<Object, Object> step;
+        if (assignable) {
+            step = (p, t) -> {
+                Object value = getter.get(p);
+                if (value != null || !primitiveTarget) {
+                    setter.set(t, value);
+                }
+            };
+        } else {
+            Function<Object, Object> converter = converters.get(new ConverterKey(wrap(sourceType), wrap(targetType)));
+            if (converter == null) {
+                return null;
+            }
+            step = (p, t) -> {
+                Object value = getter.get(p);
+                Object converted = value == null ? null : converter.apply(value);
+                if (converted != null || !primitiveTarget) {
+                    setter.set(t, converted);
+                }
+            };
+        }
+        return BI_CONSUMER_ACCEPT.bindTo(step);
+    }
+
+    /**
+     * 直接组合源字段的读句柄与目标字段的写句柄，生成 {@code (Object, Object)void} 的复制句柄。
+     * <p>字段无法通过 {@link MethodHandle} 访问时返回 {@code null}。</p>
+     */
+    private static MethodHandle directStep(Field sourceField, Field targetField) {
+        try {
+            sourceField.setAccessible(true);
+            targetField.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Class<?> targetType = targetField.getType();
+            // (Object)targetType
+            MethodHandle getter = lookup.unreflectGetter(sourceField)
+                    .asType(MethodType.methodType(targetType, Object.class));
+            // (Object, targetType)void
+            MethodHandle setter = lookup.unreflectSetter(targetField)
+                    .asType(MethodType.methodType(void.class, Object.class, targetType));
+            // (Object t, Object p)void
+            MethodHandle copy = MethodHandles.filterArguments(setter, 1, getter);
+            // (Object p, Object t)void
+            return MethodHandles.permuteArguments(copy, STEP_TYPE, 1, 0);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 空操作，作为复制句柄链的起点。
+     */
+    @SuppressWarnings("unused")
+    private static void noOp(Object p, Object t) {
+    }
+
+    /**
+     * 收集类及其父类中声明的非静态、非合成字段，子类字段优先。
+     */
+    private static Map<String, Field> collectFields(Class<?> clazz) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (FieldModel model : ReflectionUtils.getFields(current)) {
+                Field field = model.getField();
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                fields.putIfAbsent(field.getName(), field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 获取基本类型对应的包装类型，非基本类型原样返回。
+     */
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        if (type == char.class) {
+            return Character.class;
+        }
+        return Void.class;
+    }
+
+    /**
+     * 转换器的键，由源类型和目标类型组成。
+     */
+    private static final class ConverterKey {
+        private final Class<?> source;
+        private final Class<?> target;
+
+        ConverterKey(Class<?> source, Class<?> target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConverterKey)) {
+                return false;
+            }
+            ConverterKey that = (ConverterKey) o;
+            return source == that.source && target == that.target;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * source.hashCode() + target.hashCode();
+        }
+    }
+
+    /**
+     * {@link BeanCopier} 的构建器。
+     *
+     * @param <P> 源对象类型
+     * @param <T> 目标对象类型
+     */
+    public static final class Builder<P, T> {
+
+        private final Class<P> sourceClass;
+        private final Class<T> targetClass;
+        private final Map<ConverterKey, Function<Object, Object>> converters = new HashMap<>();
+        private final Set<String> ignored = new HashSet<>();
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        private Builder(Class<P> sourceClass, Class<T> targetClass) {
+            this.sourceClass = Objects.requireNonNull(sourceClass, "sourceClass cannot be null");
+            this.targetClass = Objects.requireNonNull(targetClass, "targetClass cannot be null");
+        }
+
+        /**
+         * 注册类型转换器，用于复制类型不兼容的同名字段。
+         * <p>基本类型按其包装类型匹配；源值为 {@code null} 时不会调用转换器。</p>
+         *
+         * @param from      源字段类型
+         * @param to        目标字段类型
+         * @param converter 转换函数
+         * @param <S>       源字段类型
+         * @param <D>       目标字段类型
+         * @return 当前构建器
+         */
+        public <S, D> Builder<P, T> converter(Class<S> from, Class<D> to, Function<? super S, ? extends D> converter) {
+            Objects.requireNonNull(converter, "converter cannot be null");
+            converters.put(new ConverterKey(wrap(from), wrap(to)), value -> converter.apply(Common.to(value)));
+            return this;
+        }
+
+        /**
+         * 忽略目标类型中的指定字段。
+         *
+         * @param fieldNames 字段名
+         * @return 当前构建器
+         */
+        public Builder<P, T> ignore(String... fieldNames) {
+            ignored.addAll(Arrays.asList(fieldNames));
+            return this;
+        }
+
+        /**
+         * 设置并行复制的阈值，{@link #copyAll(Collection)} 的元素数量达到该值时并行复制。
+         *
+         * @param parallelThreshold 并行复制阈值
+         * @return 当前构建器
+         */
+        public Builder<P, T> parallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = Math.max(parallelThreshold, 1);
+            return this;
+        }
+
+        /**
+         * 设置并行复制使用的 {@link ForkJoinPool}，默认为 {@link ForkJoinPool#commonPool()}。
+         *
+         * @param pool 线程池
+         * @return 当前构建器
+         */
+        public Builder<P, T> pool(ForkJoinPool pool) {
+            this.pool = Objects.requireNonNull(pool, "pool cannot be null");
+            return this;
+        }
+
+        /**
+         * 构建复制器。
+         *
+         * @return 复制器
+         */
+        public BeanCopier<P, T> build() {
+            return new BeanCopier<>(this);
+        }
+    }
+
+}
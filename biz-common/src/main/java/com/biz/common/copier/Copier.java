@@ -1,5 +1,9 @@
 package com.biz.common.copier;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 一个实现了 {@code Copier} 接口的类，提供了基于反射的默认实现。
  * <p>注意：由于 Java 的类型擦除，运行时需要确保 {@code P} 和 {@code T} 是兼容的。</p>
@@ -30,7 +34,8 @@ package com.biz.common.copier;
  * @param <P> 源对象类型
  * @param <T> 目标对象类型
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
+ * @see BeanCopier
  * @see java.lang.reflect.Field
  * @see java.lang.reflect.Method
  * @since 1.0.1
@@ -59,4 +64,21 @@ public interface Copier<P, T> {
      * @see java.lang.reflect.Method
      */
     T copy(P p, T t);
+
+    /**
+     * 批量复制对象。
+     * <p>按源集合的迭代顺序依次调用 {@link #copy(Object)}，结果列表按源集合大小预先分配容量；
+     * 源集合中的 {@code null} 元素对应结果中的 {@code null}。</p>
+     *
+     * @param sources 源对象集合，不能为空
+     * @return 复制后的新对象列表
+     * @since 1.5.1
+     */
+    default List<T> copyAll(Collection<? extends P> sources) {
+        List<T> result = new ArrayList<>(sources.size());
+        for (P p : sources) {
+            result.add(p == null ? null : copy(p));
+        }
+        return result;
+    }
 }
@@ -2,6 +2,8 @@ package com.biz.common.date;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * 时间转换工具类，提供线程安全的日期格式化。
@@ -16,7 +18,7 @@ import java.text.SimpleDateFormat;
  * <p>注意：此方法假定调用者将使用相同的格式字符串来获取 {@link DateFormat} 实例。如果需要支持多种格式，应相应调整实现。</p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  * @see java.text.DateFormat
  * @see java.text.SimpleDateFormat
@@ -35,6 +37,16 @@ public final class BizDateFormat {
         }
     };
 
+    /**
+     * 每个线程最多缓存的格式数量。
+     */
+    private static final int MAX_FORMATS_PER_THREAD = 32;
+
+    /**
+     * 每个线程按格式字符串缓存的 {@link DateFormat} 实例，同一线程内相同格式不再重复创建。
+     */
+    private static final ThreadLocal<Map<String, DateFormat>> DATE_FORMATS_THREAD_LOCAL = ThreadLocal.withInitial(HashMap::new);
+
     /**
      * 获取线程安全的 {@link DateFormat} 实例。
      * <p>注意：此方法假定调用者将使用相同的格式字符串来获取 {@link DateFormat} 实例。如果需要支持多种格式，应相应调整实现。</p>
@@ -47,20 +59,22 @@ public final class BizDateFormat {
 
     /**
      * 为特定格式字符串初始化并获取线程安全的 {@link DateFormat} 实例。
-     * <p>此方法解决了多线程环境下 {@link SimpleDateFormat} 的非线程安全问题，通过 {@link ThreadLocal} 隔离每个线程的 {@link DateFormat} 实例。</p>
+     * <p>此方法解决了多线程环境下 {@link SimpleDateFormat} 的非线程安全问题，通过 {@link ThreadLocal} 隔离每个线程的 {@link DateFormat} 实例。
+     * 同一线程内相同格式返回同一个实例，调用方不应修改其时区、宽松模式等设置。</p>
+     * <p>仅需格式化或解析时，推荐使用 {@link DateTimeFormatterRegistry} 中线程间共享的 {@link java.time.format.DateTimeFormatter}。</p>
      *
      * @param format 日期格式字符串，如 "yyyy-MM-dd HH:mm:ss"
      * @return 线程安全的 {@link DateFormat} 实例，针对特定格式字符串
      */
     public static DateFormat getDateFormat(String format) {
-        // 使用 ThreadLocal 来确保每个线程和每个格式有一个独立的 DateFormat 实例
-        ThreadLocal<DateFormat> formatThreadLocal = new ThreadLocal<DateFormat>() {
-            @Override
-            protected DateFormat initialValue() {
-                return new SimpleDateFormat(format);
+        Map<String, DateFormat> formats = DATE_FORMATS_THREAD_LOCAL.get();
+        DateFormat dateFormat = formats.get(format);
+        if (dateFormat == null) {
+            dateFormat = new SimpleDateFormat(format);
+            if (formats.size() < MAX_FORMATS_PER_THREAD) {
+                formats.put(format, dateFormat);
             }
-        };
-
-        return formatThreadLocal.get();
+        }
+        return dateFormat;
     }
 }
@@ -0,0 +1,161 @@
+package com.biz.common.date;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按时钟刻度缓存格式化结果的时间格式化器。
+ *
+ * <p>日志、审计等场景每秒会成千上万次地格式化"当前时间"，而在同一秒（或同一毫秒）内结果完全相同。
+ * 该类为每个格式保存最近一个刻度的格式化结果，只有当时间跨入新的刻度时才重新格式化，
+ * 其余调用直接返回缓存的字符串。</p>
+ *
+ * <p>缓存的刻度与字符串保存在同一个不可变对象中，通过 volatile 字段整体发布，读取无锁；
+ * 多个线程同时跨入新刻度时可能重复格式化，但结果一致，不影响正确性。</p>
+ *
+ * <p>刻度粒度默认根据格式推断：格式中含有毫秒等秒以下的字段（{@code S}、{@code n}、{@code N}、{@code A}）时按毫秒，
+ * 否则按秒；也可以通过 {@link #of(String, ChronoUnit)} 显式指定。
+ * 格式化按系统默认时区进行，默认时区变更后，缓存的字符串最多再保留一个刻度。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     String now = CachedDateTimeFormatter.of("yyyy-MM-dd HH:mm:ss").now();
+ *     String text = CachedDateTimeFormatter.of("yyyy-MM-dd HH:mm:ss.SSS").format(System.currentTimeMillis());
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see DateTimeFormatterRegistry
+ * @since 1.5.1
+ */
+public final class CachedDateTimeFormatter {
+
+    /**
+     * 最多缓存的格式化器数量，超出后新的格式每次调用时临时创建格式化器。
+     */
+    private static final int MAX_SIZE = 64;
+
+    /**
+     * 以格式字符串为键、按推断粒度创建的格式化器。
+     */
+    private static final ConcurrentMap<String, CachedDateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private final DateTimeFormatter formatter;
+
+    /**
+     * 每个刻度的毫秒数，秒粒度为1000，毫秒粒度为1。
+     */
+    private final long tickMillis;
+
+    /**
+     * 最近一个刻度的格式化结果。
+     */
+    private volatile Tick current;
+
+    private CachedDateTimeFormatter(String pattern, ChronoUnit unit) {
+        if (unit == ChronoUnit.SECONDS) {
+            this.tickMillis = 1000L;
+        } else if (unit == ChronoUnit.MILLIS) {
+            this.tickMillis = 1L;
+        } else {
+            throw new IllegalArgumentException("刻度粒度只支持秒或毫秒：" + unit);
+        }
+        this.formatter = DateTimeFormatterRegistry.get(pattern);
+    }
+
+    /**
+     * 获取指定格式的格式化器，刻度粒度根据格式推断。
+     *
+     * @param pattern 日期格式字符串，如 "yyyy-MM-dd HH:mm:ss"
+     * @return 格式化器
+     * @throws IllegalArgumentException 如果格式字符串不合法
+     */
+    public static CachedDateTimeFormatter of(String pattern) {
+        CachedDateTimeFormatter cached = FORMATTERS.get(pattern);
+        if (cached == null) {
+            cached = new CachedDateTimeFormatter(pattern, inferUnit(pattern));
+            if (FORMATTERS.size() < MAX_SIZE) {
+                CachedDateTimeFormatter previous = FORMATTERS.putIfAbsent(pattern, cached);
+                if (previous != null) {
+                    cached = previous;
+                }
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * 创建指定格式和刻度粒度的格式化器，返回的实例不会被共享，应由调用方自行持有。
+     *
+     * @param pattern 日期格式字符串
+     * @param unit    刻度粒度，只支持 {@link ChronoUnit#SECONDS} 和 {@link ChronoUnit#MILLIS}
+     * @return 格式化器
+     * @throws IllegalArgumentException 如果格式字符串不合法或粒度不受支持
+     */
+    public static CachedDateTimeFormatter of(String pattern, ChronoUnit unit) {
+        return new CachedDateTimeFormatter(pattern, unit);
+    }
+
+    /**
+     * 格式化当前时间。
+     *
+     * @return 当前时间的字符串表示
+     */
+    public String now() {
+        return format(System.currentTimeMillis());
+    }
+
+    /**
+     * 格式化指定时间戳，时间戳与缓存处于同一刻度时直接返回缓存的字符串。
+     * <p>只有比缓存更新的刻度才会替换缓存，格式化历史时间戳不会影响"当前时间"的命中。</p>
+     *
+     * @param timeMillis 时间戳
+     * @return 格式化后的字符串
+     */
+    public String format(long timeMillis) {
+        long tick = Math.floorDiv(timeMillis, tickMillis);
+        Tick cached = current;
+        if (cached != null && cached.tick == tick) {
+            return cached.text;
+        }
+        String text = formatter.format(Instant.ofEpochMilli(tick * tickMillis).atZone(ZoneId.systemDefault()));
+        if (cached == null || tick > cached.tick) {
+            current = new Tick(tick, text);
+        }
+        return text;
+    }
+
+    /**
+     * 根据格式中是否含有秒以下的字段推断刻度粒度，单引号内的文本不参与判断。
+     */
+    private static ChronoUnit inferUnit(String pattern) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && (c == 'S' || c == 'n' || c == 'N' || c == 'A')) {
+                return ChronoUnit.MILLIS;
+            }
+        }
+        return ChronoUnit.SECONDS;
+    }
+
+    /**
+     * 一个刻度及其格式化结果。
+     */
+    private static final class Tick {
+        private final long tick;
+        private final String text;
+
+        Tick(long tick, String text) {
+            this.tick = tick;
+            this.text = text;
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.biz.common.date;
+
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 以格式字符串为键的 {@link DateTimeFormatter} 注册表。
+ *
+ * <p>{@link DateTimeFormatter} 不可变且线程安全，同一个格式字符串只需解析一次即可在所有线程间共享，
+ * 避免了每次格式化或解析都创建 {@link java.text.SimpleDateFormat} 并重新解析格式字符串的开销。</p>
+ *
+ * <p>格式字符串沿用 {@link java.text.SimpleDateFormat} 的含义，例如 {@code S} 表示毫秒、{@code u} 表示星期几，
+ * 并使用 {@link java.time.format.ResolverStyle#STRICT} 校验日期，转换规则见 {@link SimpleDatePattern}。
+ * 格式化与解析使用不同的格式化器：格式化时数字字段按字母数量补零，解析时接受未补零的数字。</p>
+ *
+ * <p>注册表最多缓存 {@value #MAX_SIZE} 个格式，超出后新的格式不再缓存，每次调用时临时创建，
+ * 防止格式字符串来源不受控时缓存无限增长。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     String now = LocalDateTime.now().format(DateTimeFormatterRegistry.get("yyyy-MM-dd HH:mm:ss"));
+ *     TemporalAccessor parsed = DateTimeFormatterRegistry.getParser("yyyy-MM-dd").parse("2024-1-5");
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see DateTimeFormatter
+ * @see com.biz.common.date.datetime.DateTimeUtils
+ * @since 1.5.1
+ */
+public final class DateTimeFormatterRegistry {
+
+    /**
+     * 最多缓存的格式数量。
+     */
+    public static final int MAX_SIZE = 256;
+
+    /**
+     * 格式字符串与对应格式化器的映射。
+     */
+    private static final ConcurrentMap<String, Formatters> FORMATTERS = new ConcurrentHashMap<>();
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private DateTimeFormatterRegistry() {
+    }
+
+    /**
+     * 获取指定格式字符串对应的用于格式化的 {@link DateTimeFormatter}。
+     *
+     * @param pattern 日期格式字符串，如 "yyyy-MM-dd HH:mm:ss"
+     * @return 用于格式化的 {@link DateTimeFormatter}
+     * @throws IllegalArgumentException 如果格式字符串不合法
+     */
+    public static DateTimeFormatter get(String pattern) {
+        return formatters(pattern).formatter;
+    }
+
+    /**
+     * 获取指定格式字符串对应的用于解析的 {@link DateTimeFormatter}。
+     *
+     * @param pattern 日期格式字符串，如 "yyyy-MM-dd HH:mm:ss"
+     * @return 用于解析的 {@link DateTimeFormatter}
+     * @throws IllegalArgumentException 如果格式字符串不合法
+     */
+    public static DateTimeFormatter getParser(String pattern) {
+        return formatters(pattern).parser;
+    }
+
+    /**
+     * 获取当前已缓存的格式数量。
+     *
+     * @return 已缓存的格式数量
+     */
+    public static int size() {
+        return FORMATTERS.size();
+    }
+
+    private static Formatters formatters(String pattern) {
+        Formatters formatters = FORMATTERS.get(pattern);
+        if (formatters == null) {
+            formatters = new Formatters(SimpleDatePattern.toFormatter(pattern, false), SimpleDatePattern.toFormatter(pattern, true));
+            if (FORMATTERS.size() < MAX_SIZE) {
+                Formatters previous = FORMATTERS.putIfAbsent(pattern, formatters);
+                if (previous != null) {
+                    formatters = previous;
+                }
+            }
+        }
+        return formatters;
+    }
+
+    /**
+     * 同一个格式的格式化器与解析器。
+     */
+    private static final class Formatters {
+        private final DateTimeFormatter formatter;
+        private final DateTimeFormatter parser;
+
+        Formatters(DateTimeFormatter formatter, DateTimeFormatter parser) {
+            this.formatter = formatter;
+            this.parser = parser;
+        }
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.biz.common.date;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.util.Arrays;
+
+/**
+ * 将 {@link java.text.SimpleDateFormat} 格式字符串转换为语义一致的 {@link DateTimeFormatter}。
+ *
+ * <p>{@link DateTimeFormatter#ofPattern(String)} 与 {@link java.text.SimpleDateFormat} 的格式字母含义并不完全相同，
+ * 直接使用会悄悄改变结果，因此按以下规则逐个字段转换：</p>
+ * <ul>
+ *     <li>{@code y} 按公历年份（即 {@link DateTimeFormatter} 的 {@code u}）处理，配合 {@link ResolverStyle#STRICT} 校验日期，{@code 2024-02-30} 解析失败，不会被调整为2月29日。</li>
+ *     <li>{@code S} 表示毫秒数，而不是秒的小数部分：{@code .S} 格式化123毫秒得到 {@code .123}。
+ *     毫秒按普通数字字段处理，因此在 Java 8 上 {@code yyyyMMddHHmmssSSS} 这类相邻的格式也能正常解析。</li>
+ *     <li>{@code u} 表示星期几的数字（1 表示星期一，7 表示星期日），而不是年份。</li>
+ *     <li>{@code F} 表示当月第几个星期几，{@code k}、{@code K}、{@code h} 与 {@link java.text.SimpleDateFormat} 一致。</li>
+ *     <li>文本字段的字母数量按 {@link java.text.SimpleDateFormat} 的规则归一，例如 {@code aa}、{@code EEEEE}。</li>
+ *     <li>单引号以外的非字母字符都按原样输出，包括 {@code [}、{@code ]}、{@code #} 等 {@link DateTimeFormatter} 的保留字符。</li>
+ * </ul>
+ *
+ * <p>格式化时数字字段按字母数量补零；解析时，后面紧跟另一个数字字段的字段按字母数量定长读取，
+ * 其余数字字段接受任意位数，因此 {@code yyyy-MM-dd} 可以解析 {@code 2024-1-5}，{@code HH:mm:ss} 可以解析 {@code 9:05:00}。
+ * 其余字母按 {@link DateTimeFormatter} 的规则处理。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see DateTimeFormatterRegistry
+ * @since 1.5.1
+ */
+final class SimpleDatePattern {
+
+    /**
+     * 两位年份的基准年份，与 {@link DateTimeFormatter#ofPattern(String)} 一致，解析结果在2000年到2099年之间。
+     */
+    private static final int TWO_DIGIT_YEAR_BASE = 2000;
+
+    /**
+     * 数字字段的最大位数。
+     */
+    private static final int MAX_WIDTH = 19;
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private SimpleDatePattern() {
+    }
+
+    /**
+     * 将格式字符串转换为 {@link DateTimeFormatter}。
+     *
+     * @param pattern 与 {@link java.text.SimpleDateFormat} 相同的格式字符串
+     * @param parsing true 表示用于解析，数字字段接受任意位数；false 表示用于格式化，数字字段按字母数量补零
+     * @return 使用 {@link ResolverStyle#STRICT} 的格式化器
+     * @throws IllegalArgumentException 如果格式字符串不合法
+     */
+    static DateTimeFormatter toFormatter(String pattern, boolean parsing) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (isLetter(c)) {
+                int end = runEnd(pattern, i);
+                boolean nextNumeric = end < length && isLetter(pattern.charAt(end))
+                        && isNumeric(pattern.charAt(end), runEnd(pattern, end) - end);
+                appendField(builder, c, end - i, parsing, nextNumeric);
+                i = end;
+            } else if (c == '\'') {
+                i = appendQuoted(builder, pattern, i);
+            } else {
+                builder.appendLiteral(c);
+                i++;
+            }
+        }
+        return builder.toFormatter().withResolverStyle(ResolverStyle.STRICT);
+    }
+
+    /**
+     * 添加一个格式字段。
+     *
+     * @param letter      格式字母
+     * @param count       字母数量
+     * @param parsing     是否用于解析
+     * @param nextNumeric 后面是否紧跟另一个数字字段
+     */
+    private static void appendField(DateTimeFormatterBuilder builder, char letter, int count, boolean parsing, boolean nextNumeric) {
+        if (letter == 'y' && count == 2) {
+            builder.appendValueReduced(ChronoField.YEAR, 2, parsing && !nextNumeric ? 4 : 2, TWO_DIGIT_YEAR_BASE);
+            return;
+        }
+        ChronoField field = isNumeric(letter, count) ? numericField(letter) : null;
+        if (field != null) {
+            SignStyle signStyle = letter == 'y' ? SignStyle.NORMAL : SignStyle.NOT_NEGATIVE;
+            if (!parsing) {
+                builder.appendValue(field, count, Math.max(count, MAX_WIDTH), signStyle);
+            } else if (nextNumeric) {
+                builder.appendValue(field, count);
+            } else {
+                builder.appendValue(field, 1, MAX_WIDTH, signStyle);
+            }
+            return;
+        }
+        switch (letter) {
+            case 'M':
+            case 'L':
+                builder.appendPattern(count >= 4 ? "MMMM" : "MMM");
+                break;
+            case 'E':
+                builder.appendPattern(count >= 4 ? "EEEE" : "E");
+                break;
+            case 'z':
+                builder.appendPattern(count >= 4 ? "zzzz" : "z");
+                break;
+            case 'a':
+            case 'G':
+            case 'Z':
+                builder.appendPattern(String.valueOf(letter));
+                break;
+            default:
+                builder.appendPattern(repeat(letter, count));
+                break;
+        }
+    }
+
+    /**
+     * 添加单引号括起的文本，两个连续的单引号表示一个单引号。
+     *
+     * @return 单引号文本之后的位置
+     */
+    private static int appendQuoted(DateTimeFormatterBuilder builder, String pattern, int start) {
+        int length = pattern.length();
+        if (start + 1 < length && pattern.charAt(start + 1) == '\'') {
+            builder.appendLiteral('\'');
+            return start + 2;
+        }
+        StringBuilder literal = new StringBuilder();
+        int i = start + 1;
+        while (true) {
+            if (i >= length) {
+                throw new IllegalArgumentException("格式中的单引号没有闭合：" + pattern);
+            }
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i += 2;
+                    continue;
+                }
+                break;
+            }
+            literal.append(c);
+            i++;
+        }
+        builder.appendLiteral(literal.toString());
+        return i + 1;
+    }
+
+    /**
+     * 获取数字格式字母对应的字段，非数字字母返回 null。
+     */
+    private static ChronoField numericField(char letter) {
+        switch (letter) {
+            case 'y':
+                return ChronoField.YEAR;
+            case 'M':
+            case 'L':
+                return ChronoField.MONTH_OF_YEAR;
+            case 'd':
+                return ChronoField.DAY_OF_MONTH;
+            case 'D':
+                return ChronoField.DAY_OF_YEAR;
+            case 'F':
+                return ChronoField.ALIGNED_WEEK_OF_MONTH;
+            case 'u':
+                return ChronoField.DAY_OF_WEEK;
+            case 'H':
+                return ChronoField.HOUR_OF_DAY;
+            case 'k':
+                return ChronoField.CLOCK_HOUR_OF_DAY;
+            case 'K':
+                return ChronoField.HOUR_OF_AMPM;
+            case 'h':
+                return ChronoField.CLOCK_HOUR_OF_AMPM;
+            case 'm':
+                return ChronoField.MINUTE_OF_HOUR;
+            case 's':
+                return ChronoField.SECOND_OF_MINUTE;
+            case 'S':
+                return ChronoField.MILLI_OF_SECOND;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 判断格式字段是否为数字字段，{@code w}、{@code W}、{@code Y} 虽然按 {@link DateTimeFormatter} 的规则处理，但同样是数字。
+     */
+    private static boolean isNumeric(char letter, int count) {
+        if (letter == 'M' || letter == 'L') {
+            return count <= 2;
+        }
+        return numericField(letter) != null || letter == 'w' || letter == 'W' || letter == 'Y';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * 获取从指定位置开始的相同字母的结束位置。
+     */
+    private static int runEnd(String pattern, int start) {
+        char c = pattern.charAt(start);
+        int end = start + 1;
+        while (end < pattern.length() && pattern.charAt(end) == c) {
+            end++;
+        }
+        return end;
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+}
@@ -1,24 +1,38 @@
 package com.biz.common.date.datetime;
 
-import com.biz.common.date.BizDateFormat;
+import com.biz.common.date.CachedDateTimeFormatter;
 import com.biz.common.date.DateConstant;
+import com.biz.common.date.DateTimeFormatterRegistry;
 import com.biz.common.date.calendar.CalendarUtils;
 import com.biz.common.utils.Common;
 
 import java.text.ParseException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
 import java.util.Calendar;
 import java.util.Date;
 
 /**
  * 提供日期和时间相关的实用方法。
  * <p>该类封装了对 {@link Calendar} 和 {@link Date} 的常用操作，并提供了一些日期时间格式化和解析的便捷方法。</p>
+ * <p>格式化和解析使用 {@link DateTimeFormatterRegistry} 中缓存的不可变 {@link java.time.format.DateTimeFormatter}，
+ * 按系统默认时区转换，不再为每次调用创建 {@link java.text.SimpleDateFormat}。
+ * 格式字母与 {@link java.text.SimpleDateFormat} 含义相同；解析时数字字段可以不补零，但日期必须真实存在，且不允许有未解析的多余字符。</p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  * @see java.util.Calendar
  * @see java.util.Date
- * @see java.text.SimpleDateFormat
+ * @see DateTimeFormatterRegistry
  */
 public final class DateTimeUtils {
 
@@ -40,7 +54,7 @@ public final class DateTimeUtils {
      * @return 指定格式的日期字符串
      */
     public static String calendarToStr(Calendar cal, String format) {
-        return BizDateFormat.getDateFormat(Common.isBlank(format) ? DateConstant.DEFAULT_DATETIME : format).format(cal.getTime());
+        return format(cal.getTimeInMillis(), Common.isBlank(format) ? DateConstant.DEFAULT_DATETIME : format);
     }
 
     /**
@@ -50,7 +64,7 @@ public final class DateTimeUtils {
      * @return 默认格式的日期字符串
      */
     public static String dateToStr(Date date) {
-        return BizDateFormat.getDateFormat(DateConstant.DEFAULT_DATETIME).format(date);
+        return format(date.getTime(), DateConstant.DEFAULT_DATETIME);
     }
 
     /**
@@ -61,7 +75,7 @@ public final class DateTimeUtils {
      * @return 指定格式的日期字符串
      */
     public static String dateToStr(Date date, String format) {
-        return BizDateFormat.getDateFormat(format).format(date);
+        return format(date.getTime(), format);
     }
 
     /**
@@ -72,7 +86,7 @@ public final class DateTimeUtils {
      * @throws ParseException 如果解析失败
      */
     public static Date strToDate(String date) throws ParseException {
-        return BizDateFormat.getDateFormat(DateConstant.DEFAULT_DATETIME).parse(date);
+        return parse(date, DateConstant.DEFAULT_DATETIME);
     }
 
     /**
@@ -84,28 +98,30 @@ public final class DateTimeUtils {
      * @throws ParseException 如果解析失败
      */
     public static Date strToDate(String date, String parse) throws ParseException {
-        return BizDateFormat.getDateFormat(parse).parse(date);
+        return parse(date, parse);
     }
 
     /**
      * 将时间戳转换为默认格式的日期字符串（yyyy-MM-dd HH:mm:ss）。
+     * <p>与最近一次格式化的时间戳处于同一秒时直接返回缓存的字符串，见 {@link CachedDateTimeFormatter}。</p>
      *
      * @param timeMills 时间戳
      * @return 默认格式的日期字符串
      */
     public static String longToDateStr(long timeMills) {
-        return BizDateFormat.getDateFormat(DateConstant.DEFAULT_DATETIME).format(getCalendar(timeMills).getTime());
+        return CachedDateTimeFormatter.of(DateConstant.DEFAULT_DATETIME).format(timeMills);
     }
 
     /**
      * 将时间戳转换为指定格式的日期字符串。
+     * <p>与最近一次格式化的时间戳处于同一刻度时直接返回缓存的字符串，见 {@link CachedDateTimeFormatter}。</p>
      *
      * @param timeMills 时间戳
      * @param parse     日期格式，不能为空
      * @return 指定格式的日期字符串
      */
     public static String longToDateStr(long timeMills, String parse) {
-        return BizDateFormat.getDateFormat(parse).format(getCalendar(timeMills).getTime());
+        return CachedDateTimeFormatter.of(parse).format(timeMills);
     }
 
     /**
@@ -210,4 +226,73 @@ public final class DateTimeUtils {
         return CalendarUtils.getLastOfMonth();
     }
 
+    /**
+     * 使用系统默认时区将时间戳格式化为指定格式的字符串。
+     *
+     * @param timeMills 时间戳
+     * @param pattern   日期格式
+     * @return 格式化后的字符串
+     */
+    private static String format(long timeMills, String pattern) {
+        return DateTimeFormatterRegistry.get(pattern).format(Instant.ofEpochMilli(timeMills).atZone(ZoneId.systemDefault()));
+    }
+
+    /**
+     * 使用系统默认时区按指定格式解析日期字符串。
+     * <p>与 {@link java.text.SimpleDateFormat} 保持一致，格式中未包含的字段使用默认值：
+     * 年份为1970，月、日为1，时、分、秒为0。</p>
+     * <p>数字字段接受未补零的输入，例如 {@code 2024-1-5}；不存在的日期（如 {@code 2024-02-30}）解析失败。</p>
+     *
+     * @param text    日期字符串
+     * @param pattern 日期格式
+     * @return 解析后的 {@link Date} 对象
+     * @throws ParseException 如果解析失败
+     */
+    private static Date parse(String text, String pattern) throws ParseException {
+        TemporalAccessor parsed;
+        try {
+            parsed = DateTimeFormatterRegistry.getParser(pattern).parse(text);
+        } catch (DateTimeParseException e) {
+            ParseException parseException = new ParseException(e.getMessage(), e.getErrorIndex());
+            parseException.initCause(e);
+            throw parseException;
+        }
+
+        try {
+            if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+                return Date.from(Instant.from(parsed));
+            }
+            LocalDate date = parsed.query(TemporalQueries.localDate());
+            if (date == null) {
+                date = LocalDate.of(
+                        getOrDefault(parsed, ChronoField.YEAR, 1970),
+                        getOrDefault(parsed, ChronoField.MONTH_OF_YEAR, 1),
+                        getOrDefault(parsed, ChronoField.DAY_OF_MONTH, 1));
+            }
+            LocalTime time = parsed.query(TemporalQueries.localTime());
+            if (time == null) {
+                int hour = parsed.isSupported(ChronoField.HOUR_OF_DAY)
+                        ? parsed.get(ChronoField.HOUR_OF_DAY)
+                        : getOrDefault(parsed, ChronoField.HOUR_OF_AMPM, 0);
+                time = LocalTime.of(hour,
+                        getOrDefault(parsed, ChronoField.MINUTE_OF_HOUR, 0),
+                        getOrDefault(parsed, ChronoField.SECOND_OF_MINUTE, 0),
+                        getOrDefault(parsed, ChronoField.NANO_OF_SECOND, 0));
+            }
+            ZoneId zone = parsed.query(TemporalQueries.zone());
+            return Date.from(LocalDateTime.of(date, time).atZone(zone == null ? ZoneId.systemDefault() : zone).toInstant());
+        } catch (DateTimeException e) {
+            ParseException parseException = new ParseException(e.getMessage(), 0);
+            parseException.initCause(e);
+            throw parseException;
+        }
+    }
+
+    /**
+     * 获取解析结果中的字段值，字段不存在时返回默认值。
+     */
+    private static int getOrDefault(TemporalAccessor parsed, ChronoField field, int defaultValue) {
+        return parsed.isSupported(field) ? parsed.get(field) : defaultValue;
+    }
+
 }
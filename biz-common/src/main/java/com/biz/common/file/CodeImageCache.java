@@ -0,0 +1,115 @@
+package com.biz.common.file;
+
+import com.biz.common.concurrent.BatchProcessor;
+import com.biz.common.concurrent.BatchResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 条形码和二维码图片的生成缓存，供 {@link com.biz.common.barcode.BarCodeUtils} 和 {@link com.biz.common.qrcode.QrCodeUtils} 共用。
+ *
+ * <p>单个生成的图片按内容缓存最近的 {@code cacheSize} 个，按访问顺序淘汰；批量生成在给定的执行器上分块并行，不经过缓存。
+ * 返回的数组可能被缓存共享，调用方需要修改时应自行复制。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @since 1.5.1
+ */
+public final class CodeImageCache {
+
+    /**
+     * 批量生成时每个分块的图片数量
+     */
+    private static final int BATCH_CHUNK_SIZE = 64;
+
+    private final String name;
+
+    private final Function<String, byte[]> renderer;
+
+    private final Map<String, byte[]> cache;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 创建生成缓存。
+     *
+     * @param name      图片名称，用于异常信息，例如 "二维码"
+     * @param cacheSize 缓存的最近生成的图片数量
+     * @param renderer  根据内容生成图片的方法，可以在多个线程中同时调用
+     */
+    public CodeImageCache(String name, int cacheSize, Function<String, byte[]> renderer) {
+        this.name = name;
+        this.renderer = renderer;
+        this.cache = new LinkedHashMap<String, byte[]>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 生成图片，优先返回缓存的结果。
+     *
+     * @param content 内容
+     * @return 图片，可能被缓存共享，调用方不能修改
+     */
+    public byte[] render(String content) {
+        lock.lock();
+        try {
+            byte[] image = cache.get(content);
+            if (image != null) {
+                return image;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        byte[] image = renderer.apply(content);
+        lock.lock();
+        try {
+            cache.put(content, image);
+        } finally {
+            lock.unlock();
+        }
+        return image;
+    }
+
+    /**
+     * 在给定的执行器上并行生成一批图片，不经过缓存。
+     *
+     * @param contents 内容列表
+     * @param executor 执行器，不能为空
+     * @return 图片，与内容列表的顺序一致
+     * @throws IllegalStateException 如果某项生成失败，此时不再生成剩余的内容
+     * @throws InterruptedException  如果等待过程中调用线程被中断
+     */
+    public List<byte[]> renderAll(List<String> contents, Executor executor) throws InterruptedException {
+        BatchResult<List<byte[]>> result = BatchProcessor.builder(executor)
+                .chunkSize(BATCH_CHUNK_SIZE)
+                .stopOnFailure(true)
+                .build()
+                .process(contents, chunk -> {
+                    List<byte[]> images = new ArrayList<>(chunk.size());
+                    for (String content : chunk) {
+                        images.add(renderer.apply(content));
+                    }
+                    return images;
+                });
+        if (!result.isAllSucceeded()) {
+            throw new IllegalStateException("批量生成" + name + "失败", result.getFailures().get(0).getError());
+        }
+        List<byte[]> images = new ArrayList<>(contents.size());
+        for (List<byte[]> chunk : result.getValues()) {
+            images.addAll(chunk);
+        }
+        return images;
+    }
+
+}
@@ -7,7 +7,13 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -21,17 +27,42 @@ import java.util.Base64;
  *     FileUtils.base64ToFile("output.txt", fileDTO.getContext(), fileDTO.getType());
  * }</pre>
  *
+ * <p>{@link #fileToBase64(File)} 和 {@link #base64ToFile(String, String, String)} 在内存中保存整个文件及其编码，只适合小文件。
+ * 大文件使用流式的 {@link #fileToBase64(Path, OutputStream)}、{@link #fileToBase64(Path, WritableByteChannel)}、
+ * {@link #base64ToFile(InputStream, Path)} 以及 {@link #encodeBase64(InputStream, OutputStream)}、
+ * {@link #decodeBase64(InputStream, OutputStream)}，无论文件多大都只占用固定大小的缓冲区。</p>
+ *
+ * <pre>{@code
+ *     try (OutputStream out = Files.newOutputStream(Paths.get("video.b64"))) {
+ *         FileUtils.fileToBase64(Paths.get("video.mp4"), out);
+ *     }
+ *     try (InputStream in = Files.newInputStream(Paths.get("video.b64"))) {
+ *         FileUtils.base64ToFile(in, Paths.get("copy.mp4"));
+ *     }
+ * }</pre>
+ *
  * <p>注意：该工具类不可实例化。</p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 @Slf4j
 public final class FileUtils {
 
+    /**
+     * 流式编码时每次读取的字节数，是3的倍数，保证只有最后一块会产生填充字符
+     */
+    private static final int ENCODE_CHUNK_SIZE = 48 * 1024;
+
+    /**
+     * 流式解码时每次读取的字符数，是4的倍数
+     */
+    private static final int DECODE_CHUNK_SIZE = 64 * 1024;
+
     /**
      * 将文件转换为 Base64 编码字符串。
+     * <p>整个文件和编码结果都保存在内存中，大文件请使用 {@link #fileToBase64(Path, OutputStream)}。</p>
      *
      * @param file 要转换的文件，不能为空
      * @return 包含文件类型和 Base64 编码内容的 {@link FileDTO} 对象，如果文件不存在则返回 null
@@ -42,11 +73,8 @@ public final class FileUtils {
         }
         String context = null;
         try {
-            FileInputStream inputFile = new FileInputStream(file);
-            byte[] buffer = new byte[(int) file.length()];
-            inputFile.read(buffer);
-            inputFile.close();
-            context = Base64.getEncoder().encodeToString(buffer).replaceAll("\r|\n", "");
+            // 基本编码器的输出不包含换行符
+            context = Base64.getEncoder().encodeToString(Files.readAllBytes(file.toPath()));
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
                 log.error("fileToBase64 error ", e);
@@ -61,6 +89,7 @@ public final class FileUtils {
 
     /**
      * 将 Base64 编码字符串转换为文件并保存到指定路径。
+     * <p>解码结果保存在内存中，大文件请使用 {@link #base64ToFile(InputStream, Path)}。</p>
      *
      * @param filePath    文件存储路径，不能为空
      * @param fileContext 文件的 Base64 编码字符串，不能为空
@@ -83,6 +112,199 @@ public final class FileUtils {
         }
     }
 
+    /**
+     * 将文件以 Base64 编码流式写入输出流，不关闭输出流。
+     *
+     * @param source 要编码的文件，不能为空
+     * @param out    输出流，不能为空
+     * @return 读取的文件字节数
+     * @throws IOException 读取文件或写入输出流失败时抛出
+     */
+    public static long fileToBase64(Path source, OutputStream out) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            return encodeBase64(in, out);
+        }
+    }
+
+    /**
+     * 通过 {@link FileChannel} 读取文件，将 Base64 编码写入通道，不关闭通道。
+     * <p>编码结果经由直接缓冲区写入通道，目标是文件或 Socket 通道时避免了 JDK 内部的额外复制。</p>
+     *
+     * @param source 要编码的文件，不能为空
+     * @param target 目标通道，不能为空
+     * @return 读取的文件字节数
+     * @throws IOException 读取文件或写入通道失败时抛出
+     */
+    public static long fileToBase64(Path source, WritableByteChannel target) throws IOException {
+        Base64.Encoder encoder = Base64.getEncoder();
+        ByteBuffer chunk = ByteBuffer.allocate(ENCODE_CHUNK_SIZE);
+        byte[] encoded = new byte[ENCODE_CHUNK_SIZE / 3 * 4];
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length);
+        long total = 0;
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            boolean eof = false;
+            while (!eof) {
+                chunk.clear();
+                while (chunk.hasRemaining()) {
+                    if (channel.read(chunk) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                int length = chunk.position();
+                if (length == 0) {
+                    break;
+                }
+                byte[] src = length == ENCODE_CHUNK_SIZE ? chunk.array() : Arrays.copyOf(chunk.array(), length);
+                writeFully(target, encoded, encoder.encode(src, encoded), direct);
+                total += length;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 将 Base64 编码的输入流解码后写入文件，文件已存在时覆盖，不关闭输入流。
+     * <p>按块读取并解码，解码结果经由直接缓冲区写入 {@link FileChannel}，只占用固定大小的缓冲区。
+     * 输入应为不换行的 Base64 编码（与 {@link #fileToBase64(Path, OutputStream)} 的输出一致），末尾的换行符会被忽略。</p>
+     *
+     * @param base64 Base64 编码的输入流，不能为空
+     * @param target 目标文件，父目录不存在时自动创建
+     * @return 写入文件的字节数
+     * @throws IOException 读取输入流或写入文件失败时抛出
+     * @throws IllegalArgumentException 输入不是合法的 Base64 编码时抛出
+     */
+    public static long base64ToFile(InputStream base64, Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] chunk = new byte[DECODE_CHUNK_SIZE];
+        byte[] decoded = new byte[DECODE_CHUNK_SIZE / 4 * 3];
+        ByteBuffer direct = ByteBuffer.allocateDirect(decoded.length);
+        long total = 0;
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int length;
+            while ((length = readFully(base64, chunk)) > 0) {
+                int size = decodeChunk(decoder, chunk, length, decoded);
+                writeFully(channel, decoded, size, direct);
+                total += size;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 将输入流以 Base64 编码流式写入输出流，不关闭输入流和输出流。
+     *
+     * @param in  输入流，不能为空
+     * @param out 输出流，不能为空
+     * @return 读取的字节数
+     * @throws IOException 读取或写入失败时抛出
+     */
+    public static long encodeBase64(InputStream in, OutputStream out) throws IOException {
+        Base64.Encoder encoder = Base64.getEncoder();
+        byte[] chunk = new byte[ENCODE_CHUNK_SIZE];
+        byte[] encoded = new byte[ENCODE_CHUNK_SIZE / 3 * 4];
+        long total = 0;
+        int length;
+        while ((length = readFully(in, chunk)) > 0) {
+            byte[] src = length == ENCODE_CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, length);
+            out.write(encoded, 0, encoder.encode(src, encoded));
+            total += length;
+        }
+        out.flush();
+        return total;
+    }
+
+    /**
+     * 将 Base64 编码的输入流解码后流式写入输出流，不关闭输入流和输出流。
+     * <p>输入应为不换行的 Base64 编码，末尾的换行符会被忽略。</p>
+     *
+     * @param base64 Base64 编码的输入流，不能为空
+     * @param out    输出流，不能为空
+     * @return 写入的字节数
+     * @throws IOException 读取或写入失败时抛出
+     * @throws IllegalArgumentException 输入不是合法的 Base64 编码时抛出
+     */
+    public static long decodeBase64(InputStream base64, OutputStream out) throws IOException {
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] chunk = new byte[DECODE_CHUNK_SIZE];
+        byte[] decoded = new byte[DECODE_CHUNK_SIZE / 4 * 3];
+        long total = 0;
+        int length;
+        while ((length = readFully(base64, chunk)) > 0) {
+            int size = decodeChunk(decoder, chunk, length, decoded);
+            out.write(decoded, 0, size);
+            total += size;
+        }
+        out.flush();
+        return total;
+    }
+
+    /**
+     * 解码一块 Base64 字符。只有最后一块会不满，它可能带有填充字符和文件末尾的换行符，换行符被忽略。
+     *
+     * @param decoder 解码器
+     * @param chunk   Base64 字符
+     * @param length  字符数
+     * @param decoded 解码结果
+     * @return 解码得到的字节数
+     */
+    private static int decodeChunk(Base64.Decoder decoder, byte[] chunk, int length, byte[] decoded) {
+        if (length == chunk.length) {
+            return decoder.decode(chunk, decoded);
+        }
+        while (length > 0 && (chunk[length - 1] == '\n' || chunk[length - 1] == '\r')) {
+            length--;
+        }
+        return length == 0 ? 0 : decoder.decode(Arrays.copyOf(chunk, length), decoded);
+    }
+
+    /**
+     * 从输入流读取数据直到填满缓冲区或到达流末尾。
+     *
+     * @param in     输入流
+     * @param buffer 缓冲区
+     * @return 读取的字节数，到达流末尾且没有读到数据时返回0
+     * @throws IOException 读取失败时抛出
+     */
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * 经由直接缓冲区将字节数组的前 {@code length} 个字节全部写入通道。
+     *
+     * @param channel 通道
+     * @param bytes   字节数组
+     * @param length  要写入的字节数
+     * @param direct  直接缓冲区
+     * @throws IOException 写入失败时抛出
+     */
+    private static void writeFully(WritableByteChannel channel, byte[] bytes, int length, ByteBuffer direct) throws IOException {
+        for (int offset = 0; offset < length; ) {
+            int size = Math.min(direct.capacity(), length - offset);
+            direct.clear();
+            direct.put(bytes, offset, size);
+            direct.flip();
+            while (direct.hasRemaining()) {
+                channel.write(direct);
+            }
+            offset += size;
+        }
+    }
+
     /**
      * 根据给定的 {@link File} 对象创建目录和文件。
      * 如果目录和文件已经存在则不进行创建操作。
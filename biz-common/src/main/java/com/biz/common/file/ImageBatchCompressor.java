@@ -0,0 +1,381 @@
+package com.biz.common.file;
+
+import com.biz.common.concurrent.MdcContext;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 图片批量压缩器。
+ *
+ * <p>在给定的执行器上并行调用 {@link ImageCompressor#compressImage(String, String, int)} 的压缩逻辑，
+ * 每张图片写入目标目录下的同名文件。调用线程在提交每张图片前先读取它的文件头估算解码后占用的内存，
+ * 同时压缩中的图片数不超过 {@link Builder#maxConcurrency(int)}，它们解码后的总内存不超过 {@link Builder#maxDecodedBytes(long)}，
+ * 达到上限时调用线程等待已有图片完成后再提交，因此大图片不会因为同时解码而耗尽堆内存；单张图片超过内存上限时单独压缩。</p>
+ *
+ * <p>某张图片失败不影响其余图片，失败原因记录在对应的 {@link Result} 中。
+ * 多张源图片（例如来自不同目录的同名文件）对应同一个目标文件时，只压缩第一张，
+ * 其余图片不会覆盖它，而是以 {@link FileAlreadyExistsException} 失败。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     ImageBatchCompressor compressor = ImageBatchCompressor.builder(executor)
+ *         .maxSizeKB(500)
+ *         .maxConcurrency(4)
+ *         .maxDecodedBytes(512L * 1024 * 1024)
+ *         .build();
+ *     List<ImageBatchCompressor.Result> results = compressor.compressDirectory(Paths.get("upload"), Paths.get("thumb"));
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see ImageCompressor
+ * @since 1.5.1
+ */
+@Slf4j
+public final class ImageBatchCompressor {
+
+    /**
+     * 每个像素估算占用的字节数：解码后的 4 字节整型像素，加上最大与原图相同大小的缩放副本
+     */
+    private static final int BYTES_PER_PIXEL = 8;
+
+    private final Executor executor;
+
+    private final int maxSizeKB;
+
+    private final boolean fillToLimit;
+
+    private final int maxConcurrency;
+
+    private final int maxDecodedKB;
+
+    private ImageBatchCompressor(Builder builder) {
+        this.executor = builder.executor;
+        this.maxSizeKB = builder.maxSizeKB;
+        this.fillToLimit = builder.fillToLimit;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.maxDecodedKB = (int) Math.min(Integer.MAX_VALUE, Math.max(1, builder.maxDecodedBytes / 1024));
+    }
+
+    /**
+     * 创建批量压缩器构建器。
+     *
+     * @param executor 压缩图片的执行器，不能为空
+     * @return 构建器
+     */
+    public static Builder builder(Executor executor) {
+        return new Builder(executor);
+    }
+
+    /**
+     * 压缩目录下的所有图片（不包含子目录），按文件名顺序处理。
+     *
+     * @param sourceDir 源目录，不能为空
+     * @param targetDir 目标目录，不存在时自动创建
+     * @return 每张图片的压缩结果，按文件名排列
+     * @throws IOException          如果读取源目录或创建目标目录失败
+     * @throws InterruptedException 如果等待过程中调用线程被中断，已提交的图片会继续压缩
+     */
+    public List<Result> compressDirectory(Path sourceDir, Path targetDir) throws IOException, InterruptedException {
+        List<Path> sources = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(sourceDir)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path) && isImage(path)) {
+                    sources.add(path);
+                }
+            }
+        }
+        Collections.sort(sources);
+        return compress(sources, targetDir);
+    }
+
+    /**
+     * 压缩给定的图片。
+     *
+     * @param sources   源图片列表，不能为空
+     * @param targetDir 目标目录，不存在时自动创建
+     * @return 每张图片的压缩结果，与源图片列表的顺序一致；目标文件与前面的图片相同的图片以 {@link FileAlreadyExistsException} 失败
+     * @throws IOException          如果创建目标目录失败
+     * @throws InterruptedException 如果等待过程中调用线程被中断，已提交的图片会继续压缩
+     */
+    public List<Result> compress(List<Path> sources, Path targetDir) throws IOException, InterruptedException {
+        Files.createDirectories(targetDir);
+        Semaphore slots = new Semaphore(maxConcurrency);
+        Semaphore memory = new Semaphore(maxDecodedKB);
+        Result[] results = new Result[sources.size()];
+        Map<Path, Path> claimed = new HashMap<>();
+
+        for (int i = 0; i < results.length; i++) {
+            Path source = sources.get(i);
+            Path target = targetDir.resolve(source.getFileName());
+            Path owner = claimed.putIfAbsent(target.toAbsolutePath().normalize(), source);
+            if (owner != null) {
+                results[i] = new Result(source, target, -1, -1, 0,
+                        new FileAlreadyExistsException(target.toString(), source.toString(), "目标文件已被 " + owner + " 使用"));
+                continue;
+            }
+            int permits = decodedKB(source);
+            slots.acquire();
+            try {
+                memory.acquire(permits);
+            } catch (InterruptedException e) {
+                slots.release();
+                throw e;
+            }
+            int index = i;
+            Runnable task = MdcContext.wrap(() -> {
+                try {
+                    results[index] = compress(source, target);
+                } finally {
+                    memory.release(permits);
+                    slots.release();
+                }
+            });
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                results[index] = new Result(source, target, -1, -1, 0, e);
+                memory.release(permits);
+                slots.release();
+            }
+        }
+        // 取回全部许可即表示所有已提交的图片都已完成
+        slots.acquire(maxConcurrency);
+        slots.release(maxConcurrency);
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private Result compress(Path source, Path target) {
+        long start = System.nanoTime();
+        long sourceSize = -1;
+        try {
+            sourceSize = Files.size(source);
+            ImageCompressor.handle(source.toFile(), target.toFile(), maxSizeKB, fillToLimit);
+            return new Result(source, target, sourceSize, Files.size(target), System.nanoTime() - start, null);
+        } catch (Throwable t) {
+            log.warn("压缩图片 {} 失败：{}", source, t.toString());
+            return new Result(source, target, sourceSize, -1, System.nanoTime() - start, t);
+        }
+    }
+
+    /**
+     * 估算图片解码后占用的内存，单位为KB，不超过内存上限。无法读取文件头时按1KB计算，由压缩时报告错误。
+     */
+    private int decodedKB(Path source) {
+        long pixels;
+        try {
+            pixels = ImageCompressor.pixelCount(source.toFile());
+        } catch (IOException e) {
+            pixels = -1;
+        }
+        if (pixels <= 0) {
+            return 1;
+        }
+        return (int) Math.min(maxDecodedKB, Math.max(1, pixels * BYTES_PER_PIXEL / 1024));
+    }
+
+    private static boolean isImage(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 && ImageIO.getImageReadersBySuffix(name.substring(dot + 1).toLowerCase(Locale.ROOT)).hasNext();
+    }
+
+    /**
+     * 单张图片的压缩结果。
+     */
+    public static final class Result {
+
+        private final Path source;
+
+        private final Path target;
+
+        private final long sourceSize;
+
+        private final long targetSize;
+
+        private final long elapsedNanos;
+
+        private final Throwable error;
+
+        Result(Path source, Path target, long sourceSize, long targetSize, long elapsedNanos, Throwable error) {
+            this.source = source;
+            this.target = target;
+            this.sourceSize = sourceSize;
+            this.targetSize = targetSize;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+
+        /**
+         * 获取源图片路径。
+         *
+         * @return 源图片路径
+         */
+        public Path getSource() {
+            return source;
+        }
+
+        /**
+         * 获取目标图片路径。
+         *
+         * @return 目标图片路径
+         */
+        public Path getTarget() {
+            return target;
+        }
+
+        /**
+         * 获取源图片大小，无法读取时为 {@code -1}。
+         *
+         * @return 字节数
+         */
+        public long getSourceSize() {
+            return sourceSize;
+        }
+
+        /**
+         * 获取压缩后的图片大小，失败时为 {@code -1}。
+         *
+         * @return 字节数
+         */
+        public long getTargetSize() {
+            return targetSize;
+        }
+
+        /**
+         * 获取压缩耗时，不包含排队等待的时间。
+         *
+         * @return 纳秒数
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 获取压缩时抛出的异常，成功时为 {@code null}。
+         *
+         * @return 异常
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * 是否压缩成功。
+         *
+         * @return 成功返回 {@code true}
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "Result[source = " + source
+                    + ", sourceSize = " + sourceSize
+                    + ", targetSize = " + targetSize
+                    + ", elapsedMillis = " + elapsedNanos / 1_000_000
+                    + (error == null ? "" : ", error = " + error) + "]";
+        }
+    }
+
+    /**
+     * {@link ImageBatchCompressor} 构建器。
+     */
+    public static class Builder {
+
+        private final Executor executor;
+        private int maxSizeKB = ImageCompressor.MAX_SIZE_KB;
+        private boolean fillToLimit;
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+        private long maxDecodedBytes = Runtime.getRuntime().maxMemory() / 4;
+
+        private Builder(Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("执行器不能为空");
+            }
+            this.executor = executor;
+        }
+
+        /**
+         * 设置每张图片的最大大小（KB），默认为1024。
+         *
+         * @param maxSizeKB 最大大小
+         * @return Builder
+         */
+        public Builder maxSizeKB(int maxSizeKB) {
+            if (maxSizeKB <= 0) {
+                throw new IllegalArgumentException("最大大小必须大于0");
+            }
+            this.maxSizeKB = maxSizeKB;
+            return this;
+        }
+
+        /**
+         * 设置是否尽量填满最大大小，默认为 {@code false}，即得到第一个不超过最大大小的结果就写入。
+         *
+         * @param fillToLimit 是否尽量填满最大大小
+         * @return Builder
+         * @see ImageCompressor#compressImage(String, String, int, boolean)
+         */
+        public Builder fillToLimit(boolean fillToLimit) {
+            this.fillToLimit = fillToLimit;
+            return this;
+        }
+
+        /**
+         * 设置同时压缩的最大图片数，默认为可用处理器数量。
+         *
+         * @param maxConcurrency 最大图片数
+         * @return Builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("最大并发数必须大于0");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * 设置同时压缩的图片解码后占用的最大总内存，默认为最大堆内存的四分之一。
+         *
+         * @param maxDecodedBytes 最大字节数
+         * @return Builder
+         */
+        public Builder maxDecodedBytes(long maxDecodedBytes) {
+            if (maxDecodedBytes <= 0) {
+                throw new IllegalArgumentException("最大内存必须大于0");
+            }
+            this.maxDecodedBytes = maxDecodedBytes;
+            return this;
+        }
+
+        /**
+         * 构建批量压缩器，构建后的实例不可变，可以在多个线程中复用。
+         *
+         * @return 批量压缩器
+         */
+        public ImageBatchCompressor build() {
+            return new ImageBatchCompressor(this);
+        }
+    }
+
+}
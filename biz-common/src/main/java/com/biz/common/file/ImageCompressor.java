@@ -3,9 +3,17 @@ package com.biz.common.file;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
 
 /**
  * 图像压缩工具类
@@ -19,8 +27,16 @@ import java.nio.file.Files;
  *
  * <p>该类提供了多种方法来处理图像文件，包括压缩、格式转换和裁剪功能。</p>
  *
+ * <p>按最大大小压缩时图片只解码一次，在内存中编码并比较大小，最后只写一次目标文件：
+ * JPEG 先保持原始尺寸，依次尝试 {@value #DEFAULT_QUALITY} 和 {@value #MIN_QUALITY} 的质量；
+ * 仍然超出或其他格式则以 {@value #DEFAULT_QUALITY} 的质量按编码大小估算缩放比例。
+ * 默认得到第一个不超过最大大小的结果即返回；{@link #compressImage(String, String, int, boolean)} 开启尽量填满后，
+ * 会继续二分查找满足大小的最高质量或最大缩放比例，结果更接近最大大小，但需要多次编码，耗时更长。
+ * 批量压缩见 {@link ImageBatchCompressor}。</p>
+ *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
+ * @see ImageBatchCompressor
  * @since 1.0.1
  */
 @Slf4j
@@ -29,7 +45,47 @@ public class ImageCompressor {
     /**
      * 文件默认最大大小 1024KB
      */
-    private static final int MAX_SIZE_KB = 1024;
+    static final int MAX_SIZE_KB = 1024;
+
+    /**
+     * 默认输出质量
+     */
+    private static final double DEFAULT_QUALITY = 0.85;
+
+    /**
+     * 保持原始尺寸时允许降低到的最低质量
+     */
+    private static final double MIN_QUALITY = 0.7;
+
+    /**
+     * 原始大小不超过最大大小的该倍数时，才尝试保持原始尺寸
+     */
+    private static final double QUALITY_SEARCH_RATIO = 1.5;
+
+    /**
+     * 尽量填满时，查找质量的最大编码次数
+     */
+    private static final int QUALITY_SEARCH_STEPS = 3;
+
+    /**
+     * 尽量填满时，查找缩放比例的最大编码次数（找到满足大小的结果之前不受限制）
+     */
+    private static final int SCALE_SEARCH_STEPS = 4;
+
+    /**
+     * 尽量填满时，编码结果达到最大大小的该比例即停止查找
+     */
+    private static final double FILL_RATIO = 0.9;
+
+    /**
+     * 估算缩放比例时瞄准的大小占最大大小的比例，略小于1以减少超出后重试的次数
+     */
+    private static final double TARGET_RATIO = 0.95;
+
+    /**
+     * 缩放比例的上下界之差小于上界的该比例时停止查找
+     */
+    private static final double SCALE_TOLERANCE = 0.03;
 
     /**
      * 压缩图片并保持宽高比。
@@ -55,7 +111,7 @@ public class ImageCompressor {
      * @throws IOException 如果压缩过程发生 I/O 错误
      */
     public static void compressImage(String sourcePath, String destPath) throws IOException {
-        handle(new File(sourcePath), new File(destPath), MAX_SIZE_KB);
+        handle(new File(sourcePath), new File(destPath), MAX_SIZE_KB, false);
     }
 
     /**
@@ -67,7 +123,20 @@ public class ImageCompressor {
      * @throws IOException 如果压缩过程发生 I/O 错误
      */
     public static void compressImage(String sourcePath, String destPath, int maxSizeKB) throws IOException {
-        handle(new File(sourcePath), new File(destPath), maxSizeKB);
+        handle(new File(sourcePath), new File(destPath), maxSizeKB, false);
+    }
+
+    /**
+     * 根据指定的最大大小压缩图片，可选择尽量填满最大大小。
+     *
+     * @param sourcePath  源图片路径，不能为空
+     * @param destPath    目标图片路径，不能为空
+     * @param maxSizeKB   图片的最大大小（KB），必须为正整数
+     * @param fillToLimit 为 {@code true} 时继续查找更接近最大大小（质量更高或尺寸更大）的结果，编码次数更多
+     * @throws IOException 如果压缩过程发生 I/O 错误
+     */
+    public static void compressImage(String sourcePath, String destPath, int maxSizeKB, boolean fillToLimit) throws IOException {
+        handle(new File(sourcePath), new File(destPath), maxSizeKB, fillToLimit);
     }
 
     /**
@@ -107,34 +176,174 @@ public class ImageCompressor {
      *
      * @param inputFile  输入图片文件，不能为空
      * @param outputFile 输出图片文件，不能为空
-     * @param maxSizeKB  最大大小（KB），必须为正整数
+     * @param maxSizeKB   最大大小（KB），必须为正整数
+     * @param fillToLimit 是否尽量填满最大大小
      * @throws IOException 如果压缩过程发生 I/O 错误
      */
-    private static void handle(File inputFile, File outputFile, int maxSizeKB) throws IOException {
+    static void handle(File inputFile, File outputFile, int maxSizeKB, boolean fillToLimit) throws IOException {
         long inputFileSize = Files.size(inputFile.toPath());
+        long maxBytes = maxSizeKB * 1024L;
 
-        if (inputFileSize <= maxSizeKB * 1024L) {
-            Files.copy(inputFile.toPath(), outputFile.toPath());
+        if (inputFileSize <= maxBytes) {
+            Files.copy(inputFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
             return;
         }
 
-        double scale = Math.sqrt((double) (maxSizeKB * 1024) / inputFileSize);
+        BufferedImage image = Thumbnails.of(inputFile).scale(1.0).asBufferedImage();
+        byte[] bytes = compress(image, outputFormat(inputFile, outputFile), inputFileSize, maxBytes, fillToLimit);
+        Files.write(outputFile.toPath(), bytes);
+    }
+
+    /**
+     * 读取图片的像素数，只解析文件头，不解码图片。
+     *
+     * @param file 图片文件
+     * @return 像素数，无法识别时返回 {@code -1}
+     * @throws IOException 如果读取过程发生 I/O 错误
+     */
+    static long pixelCount(File file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return -1;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return (long) reader.getWidth(0) * reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 在内存中查找不超过最大大小的编码结果。
+     *
+     * <p>编码大小近似与像素数成正比，每次按实际编码大小估算下一次的缩放比例 {@code scale * sqrt(maxBytes / size)}，
+     * 并限制在已知满足和已知超出的比例之间。默认第一个满足的结果即返回，通常一两次编码即可完成；
+     * 尽量填满时结果达到最大大小的 {@value #FILL_RATIO} 倍才停止。</p>
+     *
+     * @param image         已解码的图片
+     * @param format        输出格式
+     * @param inputFileSize 原始文件大小
+     * @param maxBytes      最大字节数
+     * @param fillToLimit   是否尽量填满最大大小
+     * @return 编码后的图片
+     * @throws IOException 如果编码过程发生 I/O 错误
+     */
+    private static byte[] compress(BufferedImage image, String format, long inputFileSize, long maxBytes,
+                                   boolean fillToLimit) throws IOException {
+        // 原文件超出太多时，降低质量或保持原始尺寸都不可能满足，直接按原文件大小估算缩放比例
+        long size = inputFileSize;
+        if (inputFileSize <= maxBytes * QUALITY_SEARCH_RATIO) {
+            byte[] full = encode(image, 1.0, DEFAULT_QUALITY, format);
+            if (full.length <= maxBytes) {
+                return full;
+            }
+            size = full.length;
+            if (isJpeg(format) && full.length <= maxBytes * QUALITY_SEARCH_RATIO) {
+                byte[] best = searchQuality(image, format, maxBytes, fillToLimit);
+                if (best != null) {
+                    return best;
+                }
+            }
+        }
+
+        byte[] best = null;
+        double low = 0;
+        double high = 1.0;
+        double scale = 1.0;
+        for (int i = 0; best == null || (fillToLimit && i < SCALE_SEARCH_STEPS); i++) {
+            scale *= Math.sqrt((double) maxBytes * TARGET_RATIO / size);
+            if (scale <= low || scale >= high) {
+                scale = low == 0 ? high / 2 : (low + high) / 2;
+            }
+            if (Math.min(image.getWidth(), image.getHeight()) * scale < 1) {
+                throw new IllegalStateException("无法将图片压缩到 " + maxBytes / 1024 + "KB 以内");
+            }
+            byte[] bytes = encode(image, scale, DEFAULT_QUALITY, format);
+            size = bytes.length;
+            if (size > maxBytes) {
+                high = scale;
+            } else {
+                best = bytes;
+                low = scale;
+                if (!fillToLimit || size >= maxBytes * FILL_RATIO) {
+                    break;
+                }
+            }
+            if (best != null && high - low <= high * SCALE_TOLERANCE) {
+                break;
+            }
+        }
+        return best;
+    }
 
-        Thumbnails.of(inputFile)
+    /**
+     * 保持原始尺寸，以 {@value #MIN_QUALITY} 的质量编码；尽量填满时继续在 {@value #MIN_QUALITY} 到 {@value #DEFAULT_QUALITY}
+     * 之间查找满足大小的最高质量。
+     *
+     * @return 编码后的图片，最低质量仍然超出时返回 {@code null}
+     */
+    private static byte[] searchQuality(BufferedImage image, String format, long maxBytes, boolean fillToLimit) throws IOException {
+        byte[] best = null;
+        double low = MIN_QUALITY;
+        double high = DEFAULT_QUALITY;
+        for (int i = 0; i < QUALITY_SEARCH_STEPS; i++) {
+            double quality = best == null ? MIN_QUALITY : (low + high) / 2;
+            byte[] bytes = encode(image, 1.0, quality, format);
+            if (bytes.length > maxBytes) {
+                if (best == null) {
+                    return null;
+                }
+                high = quality;
+            } else {
+                best = bytes;
+                low = quality;
+                if (!fillToLimit || bytes.length >= maxBytes * FILL_RATIO) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private static byte[] encode(BufferedImage image, double scale, double quality, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Thumbnails.of(image)
                 .scale(scale)
-                .outputQuality(0.85)
-                .toFile(outputFile);
-
-        long outputFileSize = Files.size(outputFile.toPath());
-
-        while (outputFileSize > maxSizeKB * 1024L) {
-            scale *= 0.9;
-            Thumbnails.of(outputFile)
-                    .scale(scale)
-                    .outputQuality(0.85)
-                    .toFile(outputFile);
-            outputFileSize = Files.size(outputFile.toPath());
+                .outputQuality(quality)
+                .outputFormat(format)
+                .toOutputStream(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 确定输出格式：优先使用目标文件的扩展名，其次使用源文件的实际格式。
+     *
+     * @param inputFile  输入图片文件
+     * @param outputFile 输出图片文件
+     * @return 输出格式
+     * @throws IOException 如果读取源文件格式时发生 I/O 错误
+     */
+    private static String outputFormat(File inputFile, File outputFile) throws IOException {
+        String name = outputFile.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0 && ImageIO.getImageWritersBySuffix(name.substring(dot + 1)).hasNext()) {
+            return name.substring(dot + 1).toLowerCase(Locale.ROOT);
         }
+        try (ImageInputStream in = ImageIO.createImageInputStream(inputFile)) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers != null && readers.hasNext()) {
+                return readers.next().getFormatName().toLowerCase(Locale.ROOT);
+            }
+        }
+        throw new IllegalArgumentException("无法确定图片的输出格式：" + outputFile);
+    }
+
+    private static boolean isJpeg(String format) {
+        return "jpg".equals(format) || "jpeg".equals(format);
     }
 
 }
@@ -0,0 +1,187 @@
+package com.biz.common.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对冲请求策略。
+ *
+ * <p>请求发出后，如果在目标主机最近请求延迟的某个百分位数（默认 p95）内还没有返回，就再发送一次相同的请求，
+ * 先返回的响应作为结果，其余仍在执行的请求被中止。这样只对约 5% 最慢的请求多发一次，就能显著降低尾延迟。</p>
+ *
+ * <p>等待时间限制在 {@code [minDelay, maxDelay]} 之间；目标主机的样本数不足 {@code minSamples} 时使用 {@code maxDelay}。
+ * 对冲会重复发送请求，因此只能用于幂等的请求方法（GET、HEAD、OPTIONS、PUT、DELETE）。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     HedgePolicy hedge = HedgePolicy.builder().percentile(0.95).maxDelay(200, TimeUnit.MILLISECONDS).build();
+ *     String body = HttpRequestHelper.get("http://example.com/api").hedge(hedge).build().execute();
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see HttpRequestHelper.Builder#hedge(HedgePolicy)
+ * @see HostLatency
+ * @since 1.5.1
+ */
+public final class HedgePolicy {
+
+    private final double percentile;
+
+    private final long minDelayNanos;
+
+    private final long maxDelayNanos;
+
+    private final int minSamples;
+
+    private final int maxHedges;
+
+    private HedgePolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelayNanos;
+        this.maxDelayNanos = builder.maxDelayNanos;
+        this.minSamples = builder.minSamples;
+        this.maxHedges = builder.maxHedges;
+    }
+
+    /**
+     * 创建策略构建器。
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 根据目标主机的延迟指标计算发送对冲请求前的等待时间。
+     *
+     * @param latency 目标主机的延迟指标
+     * @return 等待时间，单位纳秒
+     */
+    long delayNanos(HostLatency latency) {
+        if (latency.getSampleCount() < minSamples) {
+            return maxDelayNanos;
+        }
+        long delay = latency.getPercentileNanos(percentile);
+        return Math.min(Math.max(delay, minDelayNanos), maxDelayNanos);
+    }
+
+    /**
+     * 获取每次请求最多发送的对冲请求数。
+     *
+     * @return 对冲请求数
+     */
+    public int getMaxHedges() {
+        return maxHedges;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgePolicy[percentile = " + percentile
+                + ", minDelay = " + TimeUnit.NANOSECONDS.toMillis(minDelayNanos) + "ms"
+                + ", maxDelay = " + TimeUnit.NANOSECONDS.toMillis(maxDelayNanos) + "ms"
+                + ", minSamples = " + minSamples
+                + ", maxHedges = " + maxHedges + "]";
+    }
+
+    /**
+     * {@link HedgePolicy} 构建器。
+     */
+    public static class Builder {
+
+        private double percentile = 0.95;
+        private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(5);
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(1);
+        private int minSamples = 20;
+        private int maxHedges = 1;
+
+        private Builder() {
+        }
+
+        /**
+         * 设置决定等待时间的延迟百分位，默认为0.95。
+         *
+         * @param percentile 百分位，取值范围 (0, 1]
+         * @return Builder
+         */
+        public Builder percentile(double percentile) {
+            if (percentile <= 0 || percentile > 1) {
+                throw new IllegalArgumentException("百分位的取值范围为 (0, 1]");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * 设置最短等待时间，默认为5毫秒。
+         *
+         * @param delay 等待时间
+         * @param unit  时间单位
+         * @return Builder
+         */
+        public Builder minDelay(long delay, TimeUnit unit) {
+            if (delay < 0) {
+                throw new IllegalArgumentException("等待时间不能小于0");
+            }
+            this.minDelayNanos = unit.toNanos(delay);
+            return this;
+        }
+
+        /**
+         * 设置最长等待时间，默认为1秒；样本数不足时使用该值。
+         *
+         * @param delay 等待时间
+         * @param unit  时间单位
+         * @return Builder
+         */
+        public Builder maxDelay(long delay, TimeUnit unit) {
+            if (delay <= 0) {
+                throw new IllegalArgumentException("等待时间必须大于0");
+            }
+            this.maxDelayNanos = unit.toNanos(delay);
+            return this;
+        }
+
+        /**
+         * 设置使用百分位数前要求的最少样本数，默认为20。
+         *
+         * @param minSamples 最少样本数
+         * @return Builder
+         */
+        public Builder minSamples(int minSamples) {
+            if (minSamples < 1 || minSamples > HostLatency.WINDOW_SIZE) {
+                throw new IllegalArgumentException("最少样本数的取值范围为 [1, " + HostLatency.WINDOW_SIZE + "]");
+            }
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        /**
+         * 设置每次请求最多发送的对冲请求数，默认为1。
+         *
+         * @param maxHedges 对冲请求数
+         * @return Builder
+         */
+        public Builder maxHedges(int maxHedges) {
+            if (maxHedges < 1) {
+                throw new IllegalArgumentException("对冲请求数必须大于0");
+            }
+            this.maxHedges = maxHedges;
+            return this;
+        }
+
+        /**
+         * 构建策略。
+         *
+         * @return 策略
+         */
+        public HedgePolicy build() {
+            if (minDelayNanos > maxDelayNanos) {
+                throw new IllegalArgumentException("最短等待时间不能大于最长等待时间");
+            }
+            return new HedgePolicy(this);
+        }
+    }
+
+}
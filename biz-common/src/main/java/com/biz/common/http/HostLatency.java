@@ -0,0 +1,185 @@
+package com.biz.common.http;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个目标主机的请求延迟和对冲、重试指标。
+ *
+ * <p>延迟保存在固定大小的环形窗口中，只反映最近 {@value #WINDOW_SIZE} 次成功请求，百分位数在读取时对窗口排序计算。
+ * {@link HedgePolicy} 使用这里的百分位数决定发送对冲请求前等待的时间。</p>
+ *
+ * <p>通过 {@link PooledHttpClient#getHostLatency(String)} 或 {@link PooledHttpClient#getHostLatencies()} 获取。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see PooledHttpClient
+ * @see HedgePolicy
+ * @since 1.5.1
+ */
+public final class HostLatency {
+
+    /**
+     * 延迟采样窗口大小
+     */
+    static final int WINDOW_SIZE = 512;
+
+    private final String host;
+
+    private final long[] window = new long[WINDOW_SIZE];
+
+    private int windowIndex;
+
+    private long sampleCount;
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final LongAdder failureCount = new LongAdder();
+
+    private final LongAdder hedgeCount = new LongAdder();
+
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    private final LongAdder retryCount = new LongAdder();
+
+    HostLatency(String host) {
+        this.host = host;
+    }
+
+    /**
+     * 记录一次成功请求的耗时。
+     *
+     * @param nanos 耗时，单位纳秒
+     */
+    void record(long nanos) {
+        requestCount.increment();
+        synchronized (window) {
+            window[windowIndex] = nanos;
+            windowIndex = (windowIndex + 1) % WINDOW_SIZE;
+            sampleCount++;
+        }
+    }
+
+    void recordFailure() {
+        requestCount.increment();
+        failureCount.increment();
+    }
+
+    void recordHedge() {
+        hedgeCount.increment();
+    }
+
+    void recordHedgeWin() {
+        hedgeWinCount.increment();
+    }
+
+    void recordRetry() {
+        retryCount.increment();
+    }
+
+    /**
+     * 获取主机名称，格式为 {@code host:port}。
+     *
+     * @return 主机名称
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * 获取采样窗口中的样本数。
+     *
+     * @return 样本数，最大为窗口大小
+     */
+    public int getSampleCount() {
+        synchronized (window) {
+            return (int) Math.min(sampleCount, WINDOW_SIZE);
+        }
+    }
+
+    /**
+     * 计算采样窗口中延迟的百分位数。
+     *
+     * @param percentile 百分位，取值范围 (0, 1]，例如 0.95
+     * @return 延迟，单位纳秒；没有样本时返回 -1
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("百分位的取值范围为 (0, 1]");
+        }
+        long[] samples;
+        synchronized (window) {
+            samples = Arrays.copyOf(window, (int) Math.min(sampleCount, WINDOW_SIZE));
+        }
+        if (samples.length == 0) {
+            return -1;
+        }
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(percentile * samples.length) - 1;
+        return samples[Math.max(index, 0)];
+    }
+
+    /**
+     * 获取请求总数（包括失败的请求和对冲请求）。
+     *
+     * @return 请求总数
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * 获取失败的请求数。
+     *
+     * @return 失败的请求数
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * 获取发送的对冲请求数。
+     *
+     * @return 对冲请求数
+     */
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    /**
+     * 获取对冲请求先于原请求返回的次数。
+     *
+     * @return 对冲请求胜出的次数
+     */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    /**
+     * 获取重试次数。
+     *
+     * @return 重试次数
+     */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "HostLatency[host = " + host
+                + ", requests = " + getRequestCount()
+                + ", failures = " + getFailureCount()
+                + ", p50 = " + toMillis(getPercentileNanos(0.5)) + "ms"
+                + ", p95 = " + toMillis(getPercentileNanos(0.95)) + "ms"
+                + ", p99 = " + toMillis(getPercentileNanos(0.99)) + "ms"
+                + ", hedges = " + getHedgeCount()
+                + ", hedgeWins = " + getHedgeWinCount()
+                + ", retries = " + getRetryCount() + "]";
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+}
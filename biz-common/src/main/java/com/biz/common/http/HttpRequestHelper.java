@@ -1,11 +1,27 @@
 package com.biz.common.http;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Http Request 工具类，提供创建和执行HTTP请求的能力。
@@ -23,18 +39,34 @@ import java.util.Map;
  *
  * <p>该类通过静态方法提供了多种HTTP请求方法的Builder实例，并允许设置请求头、表单参数和请求体。</p>
  *
+ * <p>请求通过 {@link PooledHttpClient} 发送，默认使用 {@link PooledHttpClient#shared()}，连接按主机复用并有超时控制。
+ * 除了同步的 {@link #execute()}，还可以使用 {@link #executeAsync()} 异步执行，或使用 {@link #executeTo(OutputStream)}
+ * 和 {@link #executeTo(Path)} 将响应体直接写入输出流或文件，不在内存中缓存整个响应。</p>
+ *
+ * <p>{@link #execute()} 和 {@link #executeAsync()} 可以通过 {@link Builder#hedge(HedgePolicy)} 开启对冲请求，
+ * 通过 {@link Builder#retry(RetryPolicy)} 开启失败重试，两者同时开启时每次重试都是一次完整的对冲请求。
+ * 两者都会重复发送请求，因此只能用于幂等的请求方法，POST 和 PATCH 请求开启时 {@link Builder#build()} 会抛出异常。</p>
+ *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 @Slf4j
 public final class HttpRequestHelper {
 
+    /**
+     * 流式写出响应体时使用的缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+
     private final String uri;
     private final HttpMethod method;
     private HttpHeaders headers;
     private Map<String, Object> formParams;
     private Object body;
+    private PooledHttpClient client;
+    private HedgePolicy hedgePolicy;
+    private RetryPolicy retryPolicy;
 
     /**
      * 私有构造器，防止直接实例化。
@@ -96,24 +128,268 @@ public final class HttpRequestHelper {
      * @throws HttpRequestException 如果请求执行失败，抛出此异常
      */
     public String execute() throws HttpRequestException {
-        RestTemplate restTemplate = new RestTemplate();
-        HttpEntity<?> entity;
-
-        if (!formParams.isEmpty() && headers.getContentType() == MediaType.APPLICATION_FORM_URLENCODED) {
-            entity = new HttpEntity<>(formParams, headers);
-        } else {
-            entity = new HttpEntity<>(body, headers);
+        try {
+            HostLatency latency = client.hostLatency(hostOf(uri));
+            return retryPolicy == null ? exchangeOnce(latency) : exchangeWithRetry(latency);
+        } catch (InterruptedException e) {
+            // 等待对冲请求或重试退避时被中断，恢复中断状态后再包装，调用方仍能感知中断
+            Thread.currentThread().interrupt();
+            throw new HttpRequestException("Interrupted while executing HTTP request", e);
+        } catch (Exception e) {
+            log.error("Error occurred while sending request: ", e);
+            throw new HttpRequestException("Failed to execute HTTP request", e);
         }
+    }
+
+    /**
+     * 在 {@link PooledHttpClient#getExecutor()} 上异步执行HTTP请求。
+     *
+     * <p>请求失败时返回的 {@link CompletableFuture} 以 {@link HttpRequestException} 异常完成。</p>
+     *
+     * @return 响应体字符串内容的 {@link CompletableFuture}
+     */
+    public CompletableFuture<String> executeAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return execute();
+            } catch (HttpRequestException e) {
+                throw new CompletionException(e);
+            }
+        }, client.getExecutor());
+    }
 
+    /**
+     * 执行HTTP请求，并将响应体以流的方式写入输出流，不在内存中缓存整个响应。
+     *
+     * <p>该方法不会关闭输出流。</p>
+     *
+     * @param out 输出流，不能为空
+     * @return 写入的字节数
+     * @throws HttpRequestException 如果请求执行失败或写入输出流失败，抛出此异常
+     */
+    public long executeTo(OutputStream out) throws HttpRequestException {
+        RestTemplate restTemplate = client.getRestTemplate();
         try {
-            ResponseEntity<String> response = restTemplate.exchange(uri, method, entity, String.class);
-            return response.getBody();
+            Long written = restTemplate.execute(uri, method, restTemplate.httpEntityCallback(entity()),
+                    response -> copy(response.getBody(), out));
+            return written == null ? 0L : written;
         } catch (Exception e) {
             log.error("Error occurred while sending request: ", e);
             throw new HttpRequestException("Failed to execute HTTP request", e);
         }
     }
 
+    /**
+     * 执行HTTP请求，并将响应体以流的方式写入文件，文件已存在时覆盖。
+     *
+     * @param file 目标文件，不能为空
+     * @return 写入的字节数
+     * @throws HttpRequestException 如果请求执行失败或写入文件失败，抛出此异常
+     */
+    public long executeTo(Path file) throws HttpRequestException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return executeTo(out);
+        } catch (IOException e) {
+            log.error("Error occurred while writing response to {}: ", file, e);
+            throw new HttpRequestException("Failed to write HTTP response to " + file, e);
+        }
+    }
+
+    /**
+     * 按重试策略执行请求，可重试的失败在等待一段时间后重新请求，直到成功、达到最大尝试次数或重试预算耗尽。
+     *
+     * @param latency 目标主机的延迟指标
+     * @return 响应体
+     * @throws Exception 最后一次请求的异常，或等待过程中线程被中断
+     */
+    private String exchangeWithRetry(HostLatency latency) throws Exception {
+        retryPolicy.onRequest();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return exchangeOnce(latency);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (attempt >= retryPolicy.getMaxAttempts() || !retryPolicy.isRetryable(e) || !retryPolicy.tryAcquireRetry()) {
+                    throw e;
+                }
+                long backoff = retryPolicy.backoffNanos(attempt);
+                log.warn("Request to {} failed ({}), retrying in {} ms", uri, e.toString(), TimeUnit.NANOSECONDS.toMillis(backoff));
+                latency.recordRetry();
+                TimeUnit.NANOSECONDS.sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * 执行一次请求，开启对冲时按对冲策略执行。
+     *
+     * @param latency 目标主机的延迟指标
+     * @return 响应体
+     * @throws Exception 请求的异常，或等待过程中线程被中断
+     */
+    private String exchangeOnce(HostLatency latency) throws Exception {
+        if (hedgePolicy == null) {
+            return exchange(latency);
+        }
+        return exchangeHedged(latency);
+    }
+
+    /**
+     * 发送原请求，超过对冲等待时间仍未返回时再发送对冲请求，返回最先成功的响应并中止其余请求。
+     * 所有请求都失败时抛出最后一个异常。
+     *
+     * @param latency 目标主机的延迟指标
+     * @return 响应体
+     * @throws Exception 最后一个失败请求的异常，或等待过程中线程被中断
+     */
+    private String exchangeHedged(HostLatency latency) throws Exception {
+        long delay = hedgePolicy.delayNanos(latency);
+        BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+        List<Attempt> attempts = new ArrayList<>(hedgePolicy.getMaxHedges() + 1);
+        try {
+            attempts.add(launch(attempts.size(), latency, completed));
+            int pending = 1;
+            Throwable lastError = null;
+            while (pending > 0) {
+                Attempt done = attempts.size() <= hedgePolicy.getMaxHedges()
+                        ? completed.poll(delay, TimeUnit.NANOSECONDS)
+                        : completed.take();
+                if (done == null) {
+                    // 超过等待时间仍未返回，发送对冲请求
+                    latency.recordHedge();
+                    attempts.add(launch(attempts.size(), latency, completed));
+                    pending++;
+                    continue;
+                }
+                pending--;
+                if (done.error == null) {
+                    if (done.index > 0) {
+                        latency.recordHedgeWin();
+                    }
+                    return done.body;
+                }
+                lastError = done.error;
+            }
+            if (lastError instanceof Error) {
+                throw (Error) lastError;
+            }
+            throw (Exception) lastError;
+        } finally {
+            for (Attempt attempt : attempts) {
+                attempt.cancel();
+            }
+        }
+    }
+
+    /**
+     * 在客户端的对冲执行器上发出一次请求，完成后放入 {@code completed}。
+     *
+     * @param index     请求序号，0为原请求
+     * @param latency   目标主机的延迟指标
+     * @param completed 已完成请求的队列
+     * @return 请求
+     */
+    private Attempt launch(int index, HostLatency latency, BlockingQueue<Attempt> completed) {
+        Attempt attempt = new Attempt(index);
+        client.getHedgeExecutor().execute(() -> {
+            try {
+                if (attempt.cancelled) {
+                    attempt.error = new CancellationException();
+                    return;
+                }
+                attempt.body = PooledHttpClient.withRequestListener(attempt::bind, () -> exchange(latency, attempt));
+            } catch (Throwable e) {
+                attempt.error = e;
+            } finally {
+                attempt.done = true;
+                completed.add(attempt);
+            }
+        });
+        return attempt;
+    }
+
+    /**
+     * 发出请求并记录目标主机的延迟。
+     *
+     * @param latency 目标主机的延迟指标
+     * @return 响应体
+     */
+    private String exchange(HostLatency latency) {
+        return exchange(latency, null);
+    }
+
+    /**
+     * 发出请求并记录目标主机的延迟。被中止的请求不计入失败数，到中止时的耗时仍作为一个样本记录，
+     * 否则慢请求总被中止，窗口中只剩下快的请求，百分位数会越来越小。
+     *
+     * @param latency 目标主机的延迟指标
+     * @param attempt 对冲请求，不是对冲请求时为 {@code null}
+     * @return 响应体
+     */
+    private String exchange(HostLatency latency, Attempt attempt) {
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<String> response = client.getRestTemplate().exchange(uri, method, entity(), String.class);
+            latency.record(System.nanoTime() - start);
+            return response.getBody();
+        } catch (RuntimeException e) {
+            if (attempt != null && attempt.cancelled) {
+                latency.record(System.nanoTime() - start);
+            } else {
+                latency.recordFailure();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 获取URI中的主机和端口，未指定端口时使用协议的默认端口。
+     *
+     * @param uri URI
+     * @return {@code host:port}
+     */
+    private static String hostOf(String uri) {
+        UriComponents components = UriComponentsBuilder.fromUriString(uri).build();
+        int port = components.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(components.getScheme()) ? 443 : 80;
+        }
+        return components.getHost() + ":" + port;
+    }
+
+    /**
+     * 将输入流复制到输出流，返回复制的字节数。
+     *
+     * @param in  输入流
+     * @param out 输出流
+     * @return 复制的字节数
+     * @throws IOException 读写失败时抛出
+     */
+    private static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        out.flush();
+        return total;
+    }
+
+    /**
+     * 根据请求头、表单参数和请求体创建请求实体。
+     *
+     * @return 请求实体
+     */
+    private HttpEntity<?> entity() {
+        if (!formParams.isEmpty() && headers.getContentType() == MediaType.APPLICATION_FORM_URLENCODED) {
+            return new HttpEntity<>(formParams, headers);
+        }
+        return new HttpEntity<>(body, headers);
+    }
+
     /**
      * Builder类用于构建HttpRequestHelper实例，提供链式调用设置请求属性的方法。
      */
@@ -123,6 +399,9 @@ public final class HttpRequestHelper {
         private HttpHeaders headers;
         private Map<String, Object> formParams;
         private Object body;
+        private PooledHttpClient client;
+        private HedgePolicy hedgePolicy;
+        private RetryPolicy retryPolicy;
 
         /**
          * 构造函数初始化Builder实例。
@@ -183,24 +462,117 @@ public final class HttpRequestHelper {
             return this;
         }
 
+        /**
+         * 设置发送请求使用的客户端，默认为 {@link PooledHttpClient#shared()}。
+         *
+         * @param client 客户端，不能为空
+         * @return Builder实例
+         */
+        public Builder client(PooledHttpClient client) {
+            this.client = client;
+            return this;
+        }
+
+        /**
+         * 开启对冲请求，作用于 {@link #execute()} 和 {@link #executeAsync()}。只能用于幂等的请求方法。
+         *
+         * @param hedgePolicy 对冲策略
+         * @return Builder实例
+         */
+        public Builder hedge(HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        /**
+         * 开启失败重试，作用于 {@link #execute()} 和 {@link #executeAsync()}。只能用于幂等的请求方法。
+         * 同一个下游服务应复用同一个策略实例以共享重试预算。
+         *
+         * @param retryPolicy 重试策略
+         * @return Builder实例
+         */
+        public Builder retry(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
         /**
          * 构建HttpRequestHelper实例。
          *
          * @return HttpRequestHelper实例
+         * @throws IllegalArgumentException 如果对非幂等的请求方法开启了对冲请求或失败重试
          */
         public HttpRequestHelper build() {
+            boolean idempotent = method != HttpMethod.POST && method != HttpMethod.PATCH;
+            if (hedgePolicy != null && !idempotent) {
+                throw new IllegalArgumentException("对冲请求只能用于幂等的请求方法，当前为 " + method);
+            }
+            if (retryPolicy != null && !idempotent) {
+                throw new IllegalArgumentException("失败重试只能用于幂等的请求方法，当前为 " + method);
+            }
             HttpRequestHelper helper = new HttpRequestHelper(uri, method);
             helper.headers = headers;
             helper.formParams = formParams;
             helper.body = body;
+            helper.client = client != null ? client : PooledHttpClient.shared();
+            helper.hedgePolicy = hedgePolicy;
+            helper.retryPolicy = retryPolicy;
             return helper;
         }
     }
 
+    /**
+     * 对冲请求中的一次请求。
+     */
+    private static final class Attempt {
+
+        private final int index;
+
+        private volatile HttpUriRequest request;
+
+        private volatile boolean cancelled;
+
+        private volatile boolean done;
+
+        private String body;
+
+        private Throwable error;
+
+        private Attempt(int index) {
+            this.index = index;
+        }
+
+        /**
+         * 关联底层请求，请求已被取消时立即中止。
+         *
+         * @param request 底层请求
+         */
+        private void bind(HttpUriRequest request) {
+            this.request = request;
+            if (cancelled) {
+                request.abort();
+            }
+        }
+
+        /**
+         * 取消未完成的请求，中止底层请求并关闭其连接。
+         */
+        private void cancel() {
+            if (done) {
+                return;
+            }
+            cancelled = true;
+            HttpUriRequest current = request;
+            if (current != null) {
+                current.abort();
+            }
+        }
+    }
+
     /**
      * HttpRequestException用于表示HTTP请求过程中发生的异常。
      */
-    private static class HttpRequestException extends Exception {
+    public static class HttpRequestException extends Exception {
         /**
          * 构造函数初始化异常实例。
          *
@@ -0,0 +1,394 @@
+package com.biz.common.http;
+
+import com.biz.common.concurrent.ExecutorsUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 基于连接池的共享 HTTP 客户端。
+ *
+ * <p>封装了 Apache HttpClient 的 {@link PoolingHttpClientConnectionManager} 和基于它的 {@link RestTemplate}：
+ * 连接按目标主机复用并保持长连接，每个主机和总的连接数都有上限，连接、读取和从连接池获取连接都有超时，
+ * 空闲超过 {@code keepAlive} 的连接由后台线程回收。</p>
+ *
+ * <p>{@link HttpRequestHelper} 默认使用 {@link #shared()} 返回的共享实例，也可以通过
+ * {@link HttpRequestHelper.Builder#client(PooledHttpClient)} 为某类请求指定单独配置的客户端。
+ * 异步请求在 {@link ExecutorsUtils#buildVirtualThreadExecutor(String, int)} 创建的执行器上执行，
+ * 并发数与连接池总连接数一致。</p>
+ *
+ * <p>客户端按目标主机记录请求延迟和对冲、重试次数（{@link HostLatency}），{@link HedgePolicy} 据此决定对冲请求的发送时机。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     PooledHttpClient client = PooledHttpClient.builder()
+ *         .maxPerRoute(20)
+ *         .readTimeout(3, TimeUnit.SECONDS)
+ *         .build();
+ *     String body = HttpRequestHelper.get("http://example.com/api").client(client).build().execute();
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see HttpRequestHelper
+ * @since 1.5.1
+ */
+@Slf4j
+public final class PooledHttpClient implements AutoCloseable {
+
+    /**
+     * 当前线程发出请求时的回调，用于获取底层请求以便中止
+     */
+    private static final ThreadLocal<Consumer<HttpUriRequest>> REQUEST_LISTENER = new ThreadLocal<>();
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final CloseableHttpClient httpClient;
+
+    private final RestTemplate restTemplate;
+
+    private final ExecutorService executor;
+
+    /**
+     * 执行对冲请求的执行器，与 {@link #executor} 分开，避免异步请求占满并发数后等待自己发出的对冲请求
+     */
+    private final ExecutorService hedgeExecutor;
+
+    private final Map<String, HostLatency> hostLatencies = new ConcurrentHashMap<>();
+
+    private PooledHttpClient(Builder builder) {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(builder.maxTotal);
+        connectionManager.setDefaultMaxPerRoute(builder.maxPerRoute);
+        // 复用空闲超过2秒的连接前先检查连接是否已被服务端关闭
+        connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) builder.connectTimeoutMillis)
+                .setSocketTimeout((int) builder.readTimeoutMillis)
+                .setConnectionRequestTimeout((int) builder.connectionRequestTimeoutMillis)
+                .build();
+        long keepAliveMillis = builder.keepAliveMillis;
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? Math.min(duration, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.restTemplate = new RestTemplate(new ListenableRequestFactory(httpClient));
+        this.executor = ExecutorsUtils.buildVirtualThreadExecutor(builder.name, builder.maxTotal);
+        this.hedgeExecutor = ExecutorsUtils.buildVirtualThreadExecutor(builder.name + "-hedge", 0);
+    }
+
+    /**
+     * 获取进程内共享的客户端，第一次调用时创建，使用 {@link Builder} 的默认配置。
+     *
+     * @return 共享的客户端
+     */
+    public static PooledHttpClient shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * 创建客户端构建器。
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取基于连接池的 {@link RestTemplate}，可在多个线程中共享使用。
+     *
+     * @return {@link RestTemplate}
+     */
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    /**
+     * 获取执行异步请求的执行器。
+     *
+     * @return 执行器
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * 获取执行对冲请求的执行器。
+     *
+     * @return 执行器
+     */
+    ExecutorService getHedgeExecutor() {
+        return hedgeExecutor;
+    }
+
+    /**
+     * 获取目标主机的延迟指标，没有请求过该主机时返回 {@code null}。
+     *
+     * @param host 主机，格式为 {@code host:port}
+     * @return 延迟指标
+     */
+    public HostLatency getHostLatency(String host) {
+        return hostLatencies.get(host);
+    }
+
+    /**
+     * 获取所有请求过的目标主机的延迟指标。
+     *
+     * @return 主机（{@code host:port}）到延迟指标的只读映射
+     */
+    public Map<String, HostLatency> getHostLatencies() {
+        return Collections.unmodifiableMap(hostLatencies);
+    }
+
+    /**
+     * 获取目标主机的延迟指标，不存在时创建。
+     *
+     * @param host 主机，格式为 {@code host:port}
+     * @return 延迟指标
+     */
+    HostLatency hostLatency(String host) {
+        return hostLatencies.computeIfAbsent(host, HostLatency::new);
+    }
+
+    /**
+     * 在当前线程中执行请求，并在底层请求创建后回调 {@code listener}，调用方可以借此中止正在执行的请求。
+     *
+     * @param listener 底层请求的回调
+     * @param action   要执行的请求
+     * @param <T>      结果类型
+     * @return 请求结果
+     */
+    static <T> T withRequestListener(Consumer<HttpUriRequest> listener, Supplier<T> action) {
+        REQUEST_LISTENER.set(listener);
+        try {
+            return action.get();
+        } finally {
+            REQUEST_LISTENER.remove();
+        }
+    }
+
+    /**
+     * 获取连接池中正在使用的连接数。
+     *
+     * @return 正在使用的连接数
+     */
+    public int getLeasedConnections() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    /**
+     * 获取连接池中空闲的长连接数。
+     *
+     * @return 空闲连接数
+     */
+    public int getAvailableConnections() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    /**
+     * 获取正在等待连接的请求数。
+     *
+     * @return 等待连接的请求数
+     */
+    public int getPendingConnections() {
+        return connectionManager.getTotalStats().getPending();
+    }
+
+    /**
+     * 关闭客户端，释放所有连接并关闭异步执行器。共享实例不应被关闭。
+     */
+    @Override
+    public void close() {
+        if (this == SharedHolder.INSTANCE) {
+            throw new IllegalStateException("共享的 HTTP 客户端不能被关闭");
+        }
+        executor.shutdown();
+        hedgeExecutor.shutdown();
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            log.warn("关闭 HTTP 客户端时出现异常：", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return "PooledHttpClient[leased = " + stats.getLeased()
+                + ", available = " + stats.getAvailable()
+                + ", pending = " + stats.getPending()
+                + ", max = " + stats.getMax() + "]";
+    }
+
+    /**
+     * {@link PooledHttpClient} 构建器。
+     */
+    public static class Builder {
+
+        private String name = "http-client";
+        private int maxTotal = 200;
+        private int maxPerRoute = 50;
+        private long connectTimeoutMillis = 5_000;
+        private long readTimeoutMillis = 30_000;
+        private long connectionRequestTimeoutMillis = 5_000;
+        private long keepAliveMillis = 30_000;
+
+        private Builder() {
+        }
+
+        /**
+         * 设置名称，用作异步执行线程的名称前缀，默认为 "http-client"。
+         *
+         * @param name 名称
+         * @return Builder
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * 设置连接池的总连接数上限，默认为200。
+         *
+         * @param maxTotal 总连接数上限
+         * @return Builder
+         */
+        public Builder maxTotal(int maxTotal) {
+            if (maxTotal <= 0) {
+                throw new IllegalArgumentException("总连接数上限必须大于0");
+            }
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * 设置每个目标主机的连接数上限，默认为50。
+         *
+         * @param maxPerRoute 每个主机的连接数上限
+         * @return Builder
+         */
+        public Builder maxPerRoute(int maxPerRoute) {
+            if (maxPerRoute <= 0) {
+                throw new IllegalArgumentException("每个主机的连接数上限必须大于0");
+            }
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * 设置建立连接的超时时间，默认为5秒。
+         *
+         * @param timeout 超时时间
+         * @param unit    时间单位
+         * @return Builder
+         */
+        public Builder connectTimeout(long timeout, TimeUnit unit) {
+            this.connectTimeoutMillis = toMillis(timeout, unit);
+            return this;
+        }
+
+        /**
+         * 设置读取响应的超时时间（两次读到数据之间的最长间隔），默认为30秒。
+         *
+         * @param timeout 超时时间
+         * @param unit    时间单位
+         * @return Builder
+         */
+        public Builder readTimeout(long timeout, TimeUnit unit) {
+            this.readTimeoutMillis = toMillis(timeout, unit);
+            return this;
+        }
+
+        /**
+         * 设置从连接池获取连接的超时时间，默认为5秒。
+         *
+         * @param timeout 超时时间
+         * @param unit    时间单位
+         * @return Builder
+         */
+        public Builder connectionRequestTimeout(long timeout, TimeUnit unit) {
+            this.connectionRequestTimeoutMillis = toMillis(timeout, unit);
+            return this;
+        }
+
+        /**
+         * 设置长连接的最长保持时间，默认为30秒；服务端通过 Keep-Alive 响应头指定了更短的时间时以服务端为准。
+         *
+         * @param keepAlive 保持时间
+         * @param unit      时间单位
+         * @return Builder
+         */
+        public Builder keepAlive(long keepAlive, TimeUnit unit) {
+            this.keepAliveMillis = toMillis(keepAlive, unit);
+            return this;
+        }
+
+        /**
+         * 构建客户端。
+         *
+         * @return 客户端
+         */
+        public PooledHttpClient build() {
+            return new PooledHttpClient(this);
+        }
+
+        private static long toMillis(long timeout, TimeUnit unit) {
+            long millis = unit.toMillis(timeout);
+            if (millis <= 0 || millis > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("超时时间必须大于0且不超过 Integer.MAX_VALUE 毫秒");
+            }
+            return millis;
+        }
+    }
+
+    /**
+     * 发出请求前把底层请求交给 {@link #withRequestListener(Consumer, Supplier)} 注册的回调。
+     */
+    private static final class ListenableRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private ListenableRequestFactory(CloseableHttpClient httpClient) {
+            super(httpClient);
+        }
+
+        @Override
+        protected void postProcessHttpRequest(HttpUriRequest request) {
+            Consumer<HttpUriRequest> listener = REQUEST_LISTENER.get();
+            if (listener != null) {
+                listener.accept(request);
+            }
+        }
+    }
+
+    /**
+     * 共享客户端的延迟初始化持有类。
+     */
+    private static final class SharedHolder {
+        private static final PooledHttpClient INSTANCE = new Builder().build();
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.biz.common.http;
+
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 请求重试策略。
+ *
+ * <p>连接或读取失败（{@link ResourceAccessException}）、服务端错误（5xx）和限流（429）时重试，
+ * 其余错误直接返回给调用方。第 n 次重试前等待 {@code min(maxBackoff, initialBackoff * 2^(n-1))} 的一半加上同样范围内的随机时间，
+ * 避免大量客户端在同一时刻重试。</p>
+ *
+ * <p>策略自带重试预算：每个请求向预算中存入 {@code budgetRatio} 个令牌，每次重试消耗一个，令牌数不超过 {@code maxBudget}。
+ * 下游整体故障时重试量因此被限制在正常请求量的 {@code budgetRatio} 倍以内，不会因重试放大故障。
+ * 预算由使用同一个策略实例的所有请求共享，因此同一个下游服务应复用同一个策略实例。</p>
+ *
+ * <p>读取超时、5xx 等错误发生时服务端可能已经处理了请求，重试会重复发送，因此只能用于幂等的请求，
+ * {@link HttpRequestHelper.Builder#build()} 拒绝为 POST 和 PATCH 请求开启重试。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     RetryPolicy retry = RetryPolicy.builder().maxAttempts(3).initialBackoff(50, TimeUnit.MILLISECONDS).build();
+ *     String body = HttpRequestHelper.get("http://example.com/api").retry(retry).build().execute();
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see HttpRequestHelper.Builder#retry(RetryPolicy)
+ * @since 1.5.1
+ */
+public final class RetryPolicy {
+
+    /**
+     * 预算以千分之一令牌为单位计数
+     */
+    private static final long TOKEN = 1000;
+
+    private final int maxAttempts;
+
+    private final long initialBackoffNanos;
+
+    private final long maxBackoffNanos;
+
+    private final long depositPerRequest;
+
+    private final long maxBudget;
+
+    private final AtomicLong budget;
+
+    private final LongAdder budgetExhaustedCount = new LongAdder();
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffNanos = builder.initialBackoffNanos;
+        this.maxBackoffNanos = builder.maxBackoffNanos;
+        this.depositPerRequest = Math.round(builder.budgetRatio * TOKEN);
+        this.maxBudget = builder.maxBudget * TOKEN;
+        this.budget = new AtomicLong(maxBudget);
+    }
+
+    /**
+     * 创建策略构建器。
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取最大尝试次数（包括第一次请求）。
+     *
+     * @return 最大尝试次数
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 获取当前剩余的重试预算。
+     *
+     * @return 剩余可重试次数
+     */
+    public double getRemainingBudget() {
+        return (double) budget.get() / TOKEN;
+    }
+
+    /**
+     * 获取因预算耗尽而放弃重试的次数。
+     *
+     * @return 放弃重试的次数
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhaustedCount.sum();
+    }
+
+    /**
+     * 判断异常是否可以重试。
+     *
+     * @param e 请求抛出的异常
+     * @return 可以重试返回 {@code true}
+     */
+    boolean isRetryable(Throwable e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpStatusCodeException) {
+            int status = ((HttpStatusCodeException) e).getRawStatusCode();
+            return status == 429 || status >= 500;
+        }
+        return false;
+    }
+
+    /**
+     * 记录一次请求，向重试预算中存入令牌。
+     */
+    void onRequest() {
+        budget.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(current + deposit, maxBudget));
+    }
+
+    /**
+     * 从重试预算中取出一次重试的令牌。
+     *
+     * @return 预算充足返回 {@code true}
+     */
+    boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) {
+                budgetExhaustedCount.increment();
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * 计算第 {@code retry} 次重试前的等待时间。
+     *
+     * @param retry 重试序号，从1开始
+     * @return 等待时间，单位纳秒
+     */
+    long backoffNanos(int retry) {
+        long backoff = initialBackoffNanos << Math.min(retry - 1, 30);
+        if (backoff <= 0 || backoff > maxBackoffNanos) {
+            backoff = maxBackoffNanos;
+        }
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy[maxAttempts = " + maxAttempts
+                + ", initialBackoff = " + TimeUnit.NANOSECONDS.toMillis(initialBackoffNanos) + "ms"
+                + ", maxBackoff = " + TimeUnit.NANOSECONDS.toMillis(maxBackoffNanos) + "ms"
+                + ", remainingBudget = " + getRemainingBudget()
+                + ", budgetExhausted = " + getBudgetExhaustedCount() + "]";
+    }
+
+    /**
+     * {@link RetryPolicy} 构建器。
+     */
+    public static class Builder {
+
+        private int maxAttempts = 3;
+        private long initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(50);
+        private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(2);
+        private double budgetRatio = 0.1;
+        private long maxBudget = 10;
+
+        private Builder() {
+        }
+
+        /**
+         * 设置最大尝试次数（包括第一次请求），默认为3。
+         *
+         * @param maxAttempts 最大尝试次数
+         * @return Builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("最大尝试次数必须大于0");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * 设置第一次重试前的等待时间，之后每次翻倍，默认为50毫秒。
+         *
+         * @param backoff 等待时间
+         * @param unit    时间单位
+         * @return Builder
+         */
+        public Builder initialBackoff(long backoff, TimeUnit unit) {
+            if (backoff <= 0) {
+                throw new IllegalArgumentException("等待时间必须大于0");
+            }
+            this.initialBackoffNanos = unit.toNanos(backoff);
+            return this;
+        }
+
+        /**
+         * 设置重试前的最长等待时间，默认为2秒。
+         *
+         * @param backoff 等待时间
+         * @param unit    时间单位
+         * @return Builder
+         */
+        public Builder maxBackoff(long backoff, TimeUnit unit) {
+            if (backoff <= 0) {
+                throw new IllegalArgumentException("等待时间必须大于0");
+            }
+            this.maxBackoffNanos = unit.toNanos(backoff);
+            return this;
+        }
+
+        /**
+         * 设置重试预算。
+         *
+         * @param ratio     每个请求存入的令牌数，即重试量与请求量的最大比例，默认为0.1
+         * @param maxBudget 预算上限，也是初始预算，默认为10
+         * @return Builder
+         */
+        public Builder budget(double ratio, long maxBudget) {
+            if (ratio < 0 || maxBudget < 0) {
+                throw new IllegalArgumentException("重试预算不能小于0");
+            }
+            this.budgetRatio = ratio;
+            this.maxBudget = maxBudget;
+            return this;
+        }
+
+        /**
+         * 构建策略。
+         *
+         * @return 策略
+         */
+        public RetryPolicy build() {
+            if (initialBackoffNanos > maxBackoffNanos) {
+                throw new IllegalArgumentException("第一次重试的等待时间不能大于最长等待时间");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.biz.common.id;
+
+import java.util.Arrays;
+
+/**
+ * ID 编解码工具类，将 {@code long} 类型的ID编码为定长、可排序的短字符串。
+ *
+ * <p>提供两种编码方式：</p>
+ * <ul>
+ *     <li>Base62：字符集为 {@code 0-9A-Za-z}，定长 {@value #BASE62_LENGTH} 位。</li>
+ *     <li>Crockford Base32：字符集为 {@code 0-9A-Z}（去除 I、L、O、U），定长 {@value #BASE32_LENGTH} 位，不区分大小写。</li>
+ * </ul>
+ *
+ * <p>两种字符集都按照 ASCII 顺序排列，且编码结果左侧补零到固定长度，
+ * 因此编码后字符串的字典序与原始ID（按无符号数比较）的大小顺序一致，适合直接作为有序主键或对象名称使用。</p>
+ *
+ * <p>所有编码方法都可以直接写入调用方预先分配的 {@code char[]}，避免中间对象的创建。</p>
+ *
+ * <pre>{@code
+ * long id = SnowflakeGenerator.shared(SnowflakeGenerator.DEFAULT_MACHINE_ID).generate();
+ * String base62 = IdCodec.encodeBase62(id);
+ * long decoded = IdCodec.decodeBase62(base62);
+ *
+ * char[] buffer = new char[IdCodec.BASE32_LENGTH];
+ * IdCodec.encodeBase32(id, buffer, 0);
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @since 1.5.1
+ */
+public final class IdCodec {
+
+    /**
+     * Base62 编码后的固定长度，62^11 大于 2^64，足以容纳任意无符号 {@code long}。
+     */
+    public static final int BASE62_LENGTH = 11;
+
+    /**
+     * Crockford Base32 编码后的固定长度，13 * 5 = 65 位，足以容纳任意无符号 {@code long}。
+     */
+    public static final int BASE32_LENGTH = 13;
+
+    /**
+     * Base62 字符集，按 ASCII 顺序排列以保证编码结果可排序。
+     */
+    private static final char[] BASE62_DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * Crockford Base32 字符集，按 ASCII 顺序排列以保证编码结果可排序。
+     */
+    private static final char[] BASE32_DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /**
+     * 字符到 Base62 数值的反查表，非法字符为 -1。
+     */
+    private static final byte[] BASE62_LOOKUP = new byte[128];
+
+    /**
+     * 字符到 Crockford Base32 数值的反查表，非法字符为 -1。
+     */
+    private static final byte[] BASE32_LOOKUP = new byte[128];
+
+    static {
+        Arrays.fill(BASE62_LOOKUP, (byte) -1);
+        Arrays.fill(BASE32_LOOKUP, (byte) -1);
+        for (int i = 0; i < BASE62_DIGITS.length; i++) {
+            BASE62_LOOKUP[BASE62_DIGITS[i]] = (byte) i;
+        }
+        for (int i = 0; i < BASE32_DIGITS.length; i++) {
+            BASE32_LOOKUP[BASE32_DIGITS[i]] = (byte) i;
+            BASE32_LOOKUP[Character.toLowerCase(BASE32_DIGITS[i])] = (byte) i;
+        }
+        // Crockford 规范中易混淆字符的别名
+        BASE32_LOOKUP['O'] = BASE32_LOOKUP['o'] = 0;
+        BASE32_LOOKUP['I'] = BASE32_LOOKUP['i'] = 1;
+        BASE32_LOOKUP['L'] = BASE32_LOOKUP['l'] = 1;
+    }
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private IdCodec() {
+    }
+
+    /**
+     * 将ID编码为定长的 Base62 字符串。
+     *
+     * @param id 待编码的ID，按无符号数处理
+     * @return 长度为 {@value #BASE62_LENGTH} 的 Base62 字符串
+     */
+    public static String encodeBase62(long id) {
+        char[] buffer = new char[BASE62_LENGTH];
+        encodeBase62(id, buffer, 0);
+        return new String(buffer);
+    }
+
+    /**
+     * 将ID以 Base62 编码写入指定的字符数组。
+     *
+     * @param id     待编码的ID，按无符号数处理
+     * @param dst    目标字符数组，从 {@code offset} 开始至少需要 {@value #BASE62_LENGTH} 个位置
+     * @param offset 写入的起始位置
+     * @return 写入结束后的下一个位置
+     */
+    public static int encodeBase62(long id, char[] dst, int offset) {
+        checkBounds(dst, offset, BASE62_LENGTH);
+        int pos = offset + BASE62_LENGTH - 1;
+        long value = id;
+        if (value < 0) {
+            // 负数按无符号数处理，先做一次无符号除法使剩余部分落入正数范围
+            dst[pos--] = BASE62_DIGITS[(int) Long.remainderUnsigned(value, 62)];
+            value = Long.divideUnsigned(value, 62);
+        }
+        while (pos >= offset) {
+            dst[pos--] = BASE62_DIGITS[(int) (value % 62)];
+            value /= 62;
+        }
+        return offset + BASE62_LENGTH;
+    }
+
+    /**
+     * 解码 Base62 字符串为ID。
+     *
+     * @param str 长度为 {@value #BASE62_LENGTH} 的 Base62 字符串
+     * @return 解码后的ID
+     * @throws IllegalArgumentException 如果字符串长度不正确、包含非法字符或超出 {@code long} 范围
+     */
+    public static long decodeBase62(CharSequence str) {
+        checkLength(str, BASE62_LENGTH);
+        long value = 0;
+        for (int i = 0; i < BASE62_LENGTH; i++) {
+            int digit = digit(BASE62_LOOKUP, str.charAt(i));
+            // 最后一位之前值不可能溢出，最后一位需要按无符号数检查溢出
+            if (i == BASE62_LENGTH - 1 && Long.compareUnsigned(value, Long.divideUnsigned(-1L - digit, 62)) > 0) {
+                throw new IllegalArgumentException("Base62 值超出 long 范围: " + str);
+            }
+            value = value * 62 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * 将ID编码为定长的 Crockford Base32 字符串。
+     *
+     * @param id 待编码的ID，按无符号数处理
+     * @return 长度为 {@value #BASE32_LENGTH} 的大写 Crockford Base32 字符串
+     */
+    public static String encodeBase32(long id) {
+        char[] buffer = new char[BASE32_LENGTH];
+        encodeBase32(id, buffer, 0);
+        return new String(buffer);
+    }
+
+    /**
+     * 将ID以 Crockford Base32 编码写入指定的字符数组。
+     *
+     * @param id     待编码的ID，按无符号数处理
+     * @param dst    目标字符数组，从 {@code offset} 开始至少需要 {@value #BASE32_LENGTH} 个位置
+     * @param offset 写入的起始位置
+     * @return 写入结束后的下一个位置
+     */
+    public static int encodeBase32(long id, char[] dst, int offset) {
+        checkBounds(dst, offset, BASE32_LENGTH);
+        long value = id;
+        for (int pos = offset + BASE32_LENGTH - 1; pos >= offset; pos--) {
+            dst[pos] = BASE32_DIGITS[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+        return offset + BASE32_LENGTH;
+    }
+
+    /**
+     * 解码 Crockford Base32 字符串为ID，不区分大小写，并兼容 O/I/L 等易混淆字符。
+     *
+     * @param str 长度为 {@value #BASE32_LENGTH} 的 Crockford Base32 字符串
+     * @return 解码后的ID
+     * @throws IllegalArgumentException 如果字符串长度不正确、包含非法字符或超出 {@code long} 范围
+     */
+    public static long decodeBase32(CharSequence str) {
+        checkLength(str, BASE32_LENGTH);
+        int first = digit(BASE32_LOOKUP, str.charAt(0));
+        // 后 12 位共 60 bit，首位只能使用最低 4 bit
+        if (first > 0xF) {
+            throw new IllegalArgumentException("Base32 值超出 long 范围: " + str);
+        }
+        long value = first;
+        for (int i = 1; i < BASE32_LENGTH; i++) {
+            value = (value << 5) | digit(BASE32_LOOKUP, str.charAt(i));
+        }
+        return value;
+    }
+
+    /**
+     * 查表获取字符对应的数值。
+     *
+     * @param lookup 反查表
+     * @param c      字符
+     * @return 字符对应的数值
+     * @throws IllegalArgumentException 如果字符不在字符集中
+     */
+    private static int digit(byte[] lookup, char c) {
+        int digit = c < lookup.length ? lookup[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException("非法的编码字符: " + c);
+        }
+        return digit;
+    }
+
+    /**
+     * 校验目标数组的剩余空间。
+     */
+    private static void checkBounds(char[] dst, int offset, int length) {
+        if (offset < 0 || dst.length - offset < length) {
+            throw new IndexOutOfBoundsException("目标数组空间不足, offset: " + offset + ", 需要长度: " + length);
+        }
+    }
+
+    /**
+     * 校验待解码字符串的长度。
+     */
+    private static void checkLength(CharSequence str, int length) {
+        if (str == null || str.length() != length) {
+            throw new IllegalArgumentException("编码字符串长度必须为 " + length);
+        }
+    }
+
+}
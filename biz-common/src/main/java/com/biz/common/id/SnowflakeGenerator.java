@@ -1,5 +1,6 @@
 package com.biz.common.id;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -22,6 +23,9 @@ import java.util.concurrent.locks.ReentrantLock;
  * {@code
  * SnowflakeGenerator generator = new SnowflakeGenerator(SnowflakeGenerator.DEFAULT_MACHINE_ID);
  * long id = generator.generate();
+ *
+ * // 推荐：获取进程内共享的生成器，避免多个实例生成重复ID
+ * long sharedId = SnowflakeGenerator.shared(SnowflakeGenerator.DEFAULT_MACHINE_ID).generate();
  * }
  * </pre>
  *
@@ -41,6 +45,8 @@ public class SnowflakeGenerator {
     private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
     // 机器ID的最大值
     private static final int MAX_MACHINE_ID = (1 << MACHINE_ID_BITS) - 1;
+    // 进程内共享的生成器注册表，按机器ID索引，懒加载
+    private static final AtomicReferenceArray<SnowflakeGenerator> SHARED_GENERATORS = new AtomicReferenceArray<>(MAX_MACHINE_ID + 1);
 
     // 基于基准时间的偏移量
     private final long twepoch = EPOCH;
@@ -73,6 +79,29 @@ public class SnowflakeGenerator {
         this.machineId = machineId;
     }
 
+    /**
+     * 获取进程内共享的、指定机器ID的生成器实例。
+     *
+     * <p>同一进程内相同机器ID的多个生成器实例会各自维护序列号，在同一毫秒内可能生成重复的ID，
+     * 因此除非有特殊需要，应优先通过此方法获取生成器，而不是直接 {@code new SnowflakeGenerator(machineId)}。</p>
+     *
+     * @param machineId 机器ID，必须在0到{@link #MAX_MACHINE_ID}之间
+     * @return 共享的生成器实例
+     * @throws IllegalArgumentException 如果机器ID超出允许范围，则抛出该异常
+     * @since 1.5.1
+     */
+    public static SnowflakeGenerator shared(int machineId) {
+        if (isMachineIdNotValid(machineId)) {
+            throw new IllegalArgumentException("Invalid machine ID");
+        }
+        SnowflakeGenerator generator = SHARED_GENERATORS.get(machineId);
+        if (generator == null) {
+            SHARED_GENERATORS.compareAndSet(machineId, null, new SnowflakeGenerator(machineId));
+            generator = SHARED_GENERATORS.get(machineId);
+        }
+        return generator;
+    }
+
     /**
      * 生成全局唯一的ID。
      *
@@ -14,15 +14,23 @@ package com.biz.common.id;
  * // 使用默认机器ID生成雪花ID
  * String defaultId = SnowflakeHelper.createDefault();
  *
+ * // 生成定长、可排序的短ID（Base62 11位 / Crockford Base32 13位）
+ * String shortId = helper.createBase62();
+ * String defaultShortId = SnowflakeHelper.createDefaultBase62();
+ *
  * // 使用构建器模式创建SnowflakeHelper
  * SnowflakeHelper customHelper = SnowflakeHelper.builder().machineId(2).build();
  * }
  * </pre>
  *
+ * <p>同一机器ID的 {@link SnowflakeHelper} 实例共享进程内同一个 {@link SnowflakeGenerator}（见 {@link SnowflakeGenerator#shared(int)}），
+ * 因此在多线程、多实例下也不会生成重复的ID。</p>
+ *
  * <p>该类还提供了构建器模式，通过 {@link SnowflakeBuilder} 可以逐步配置并创建 {@link SnowflakeHelper} 实例。</p>
  *
  * @see SnowflakeGenerator
  * @see SnowflakeBuilder
+ * @see IdCodec
  *
  * @author francis
  * @version 1.0.1
@@ -43,7 +51,7 @@ public class SnowflakeHelper {
         if (SnowflakeGenerator.isMachineIdNotValid(machineId)) {
             throw new IllegalArgumentException("机器ID不在合法范围内");
         }
-        this.generator = new SnowflakeGenerator(machineId);
+        this.generator = SnowflakeGenerator.shared(machineId);
     }
 
     /**
@@ -60,6 +68,30 @@ public class SnowflakeHelper {
         }
     }
 
+    /**
+     * 生成一个唯一的雪花ID，并以定长11位的 Base62 字符串形式返回。
+     * <p>返回的字符串字典序与ID大小顺序一致。</p>
+     *
+     * @return 生成的雪花ID的 Base62 字符串表示。
+     * @see IdCodec#encodeBase62(long)
+     * @since 1.5.1
+     */
+    public String createBase62() {
+        return IdCodec.encodeBase62(generate(generator));
+    }
+
+    /**
+     * 生成一个唯一的雪花ID，并以定长13位的 Crockford Base32 字符串形式返回。
+     * <p>返回的字符串字典序与ID大小顺序一致，且不区分大小写。</p>
+     *
+     * @return 生成的雪花ID的 Crockford Base32 字符串表示。
+     * @see IdCodec#encodeBase32(long)
+     * @since 1.5.1
+     */
+    public String createBase32() {
+        return IdCodec.encodeBase32(generate(generator));
+    }
+
     /**
      * 生成一个默认的雪花ID，并以字符串形式返回。
      * 默认的机器ID由 {@link SnowflakeGenerator} 的默认设置决定。
@@ -68,13 +100,56 @@ public class SnowflakeHelper {
      */
     public static String createDefault() {
         try {
-            return String.valueOf(new SnowflakeGenerator(SnowflakeGenerator.DEFAULT_MACHINE_ID).generate());
+            return String.valueOf(DefaultGeneratorHolder.INSTANCE.generate());
         } catch (Exception e) {
             // 异常处理逻辑，与`create`方法类似
             throw new RuntimeException("生成默认雪花ID时发生异常", e);
         }
     }
 
+    /**
+     * 生成一个默认的雪花ID，并以定长11位的 Base62 字符串形式返回。
+     *
+     * @return 生成的默认雪花ID的 Base62 字符串表示。
+     * @see IdCodec#encodeBase62(long)
+     * @since 1.5.1
+     */
+    public static String createDefaultBase62() {
+        return IdCodec.encodeBase62(generate(DefaultGeneratorHolder.INSTANCE));
+    }
+
+    /**
+     * 生成一个默认的雪花ID，并以定长13位的 Crockford Base32 字符串形式返回。
+     *
+     * @return 生成的默认雪花ID的 Crockford Base32 字符串表示。
+     * @see IdCodec#encodeBase32(long)
+     * @since 1.5.1
+     */
+    public static String createDefaultBase32() {
+        return IdCodec.encodeBase32(generate(DefaultGeneratorHolder.INSTANCE));
+    }
+
+    /**
+     * 使用指定的生成器生成雪花ID，并统一包装异常。
+     *
+     * @param generator 雪花ID生成器
+     * @return 生成的雪花ID
+     */
+    private static long generate(SnowflakeGenerator generator) {
+        try {
+            return generator.generate();
+        } catch (Exception e) {
+            throw new RuntimeException("生成雪花ID时发生异常", e);
+        }
+    }
+
+    /**
+     * 默认机器ID对应的共享生成器，懒加载。
+     */
+    private static class DefaultGeneratorHolder {
+        static final SnowflakeGenerator INSTANCE = SnowflakeGenerator.shared(SnowflakeGenerator.DEFAULT_MACHINE_ID);
+    }
+
     /**
      * 提供一个构建器模式，用于逐步配置和创建 {@link SnowflakeHelper} 实例。
      *
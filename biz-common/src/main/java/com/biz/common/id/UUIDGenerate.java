@@ -1,32 +1,232 @@
 package com.biz.common.id;
 
+import java.security.SecureRandom;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * UUID 生成工具类。
- * <p>该类提供了一个静态方法用于生成唯一的UUID字符串。</p>
+ * <p>该类提供了多种UUID的生成方式，以及不依赖 {@link UUID#toString()} 的快速格式化方法：</p>
+ * <ul>
+ *     <li>{@link #generate()}：与 {@link UUID#randomUUID()} 完全一致的随机UUID（版本4）。</li>
+ *     <li>{@link #generateSecure()}：基于线程私有 {@link SecureRandom} 的随机UUID（版本4），
+ *     适用于会话ID、令牌等安全敏感场景，避免多线程争用同一个 {@link SecureRandom}。</li>
+ *     <li>{@link #generateFast()}：基于 {@link ThreadLocalRandom} 的随机UUID（版本4），
+ *     <b>不具备密码学安全性</b>，仅适用于不需要保密的内部标识符（如日志ID等）。
+ *     公开访问的文件对象名等可被外部看到的标识符可能被枚举，应使用 {@link #generateSecure()}。</li>
+ *     <li>{@link #generateV7()}：按时间有序的UUID（版本7），适合作为数据库主键以减少索引页分裂。</li>
+ * </ul>
  *
  * <pre>
  * 示例使用：
  * {@code
  * String uuid = UUIDGenerate.generate();
+ * String token = UUIDGenerate.generateSecure();
+ * String logId = UUIDGenerate.generateFast();
+ * String primaryKey = UUIDGenerate.generateV7();
  * }
  * </pre>
  *
  * <p>该类是不可实例化的，因为它只包含静态方法。</p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 public final class UUIDGenerate {
 
+    /**
+     * 标准UUID字符串的长度。
+     */
+    public static final int UUID_STRING_LENGTH = 36;
+
+    /**
+     * 小写十六进制字符表。
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * 线程私有的 {@link SecureRandom}，避免多线程争用同一个实例。
+     */
+    private static final ThreadLocal<SecureRandom> SECURE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    /**
+     * UUIDv7 的单调状态，高位为毫秒时间戳，低 12 位为同一毫秒内的计数器。
+     */
+    private static final AtomicLong V7_STATE = new AtomicLong();
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private UUIDGenerate() {
+    }
+
     /**
      * 生成一个唯一的UUID字符串。
      *
      * @return 生成的UUID字符串
      */
     public static String generate() {
-        return UUID.randomUUID().toString();
+        return toString(UUID.randomUUID());
+    }
+
+    /**
+     * 使用线程私有的 {@link SecureRandom} 生成一个随机UUID（版本4）字符串。
+     * <p>适用于会话ID、令牌等需要不可预测性的场景。</p>
+     *
+     * @return 生成的UUID字符串
+     * @since 1.5.1
+     */
+    public static String generateSecure() {
+        return toString(secureRandomUUID());
+    }
+
+    /**
+     * 使用 {@link ThreadLocalRandom} 生成一个随机UUID（版本4）字符串。
+     * <p><b>注意：</b>生成结果可被预测，不可用于任何安全敏感的场景。</p>
+     *
+     * @return 生成的UUID字符串
+     * @since 1.5.1
+     */
+    public static String generateFast() {
+        return toString(fastRandomUUID());
+    }
+
+    /**
+     * 生成一个按时间有序的UUID（版本7）字符串。
+     *
+     * @return 生成的UUID字符串
+     * @since 1.5.1
+     */
+    public static String generateV7() {
+        return toString(timeOrderedUUID());
+    }
+
+    /**
+     * 使用线程私有的 {@link SecureRandom} 生成一个随机UUID（版本4）。
+     *
+     * @return 生成的UUID
+     * @since 1.5.1
+     */
+    public static UUID secureRandomUUID() {
+        byte[] bytes = new byte[16];
+        SECURE_RANDOM.get().nextBytes(bytes);
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (bytes[i] & 0xFF);
+            lsb = (lsb << 8) | (bytes[i + 8] & 0xFF);
+        }
+        return versioned(msb, lsb, 4);
+    }
+
+    /**
+     * 使用 {@link ThreadLocalRandom} 生成一个随机UUID（版本4）。
+     * <p><b>注意：</b>生成结果可被预测，不可用于任何安全敏感的场景。</p>
+     *
+     * @return 生成的UUID
+     * @since 1.5.1
+     */
+    public static UUID fastRandomUUID() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return versioned(random.nextLong(), random.nextLong(), 4);
+    }
+
+    /**
+     * 生成一个按时间有序的UUID（版本7）。
+     *
+     * <p>结构遵循 RFC 9562：高 48 位为 Unix 毫秒时间戳，随后 12 位（rand_a）在本进程内作为同一毫秒的递增计数器，
+     * 低 62 位为随机数。同一进程内生成的UUID严格递增；同一毫秒内超过 4096 个时会借用下一毫秒的时间戳。</p>
+     *
+     * @return 生成的UUID
+     * @since 1.5.1
+     */
+    public static UUID timeOrderedUUID() {
+        long now = System.currentTimeMillis() << 12;
+        long state;
+        long next;
+        do {
+            state = V7_STATE.get();
+            next = Math.max(now, state + 1);
+        } while (!V7_STATE.compareAndSet(state, next));
+
+        // next 的高 48 位为时间戳，低 12 位为计数器，正好对应 unix_ts_ms + ver + rand_a 的布局
+        long msb = ((next >>> 12) << 16) | (0x7L << 12) | (next & 0xFFF);
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * 将UUID格式化为标准的36位小写字符串，结果与 {@link UUID#toString()} 一致。
+     *
+     * @param uuid UUID
+     * @return 格式化后的UUID字符串
+     * @since 1.5.1
+     */
+    public static String toString(UUID uuid) {
+        char[] buffer = new char[UUID_STRING_LENGTH];
+        toChars(uuid, buffer, 0);
+        return new String(buffer);
+    }
+
+    /**
+     * 将UUID格式化为不带连字符的32位小写字符串。
+     *
+     * @param uuid UUID
+     * @return 格式化后的UUID字符串
+     * @since 1.5.1
+     */
+    public static String toCompactString(UUID uuid) {
+        char[] buffer = new char[32];
+        writeHex(uuid.getMostSignificantBits(), buffer, 0, 16);
+        writeHex(uuid.getLeastSignificantBits(), buffer, 16, 16);
+        return new String(buffer);
+    }
+
+    /**
+     * 将UUID以标准格式写入指定的字符数组。
+     *
+     * @param uuid   UUID
+     * @param dst    目标字符数组，从 {@code offset} 开始至少需要 {@value #UUID_STRING_LENGTH} 个位置
+     * @param offset 写入的起始位置
+     * @return 写入结束后的下一个位置
+     * @since 1.5.1
+     */
+    public static int toChars(UUID uuid, char[] dst, int offset) {
+        if (offset < 0 || dst.length - offset < UUID_STRING_LENGTH) {
+            throw new IndexOutOfBoundsException("目标数组空间不足, offset: " + offset);
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        writeHex(msb >>> 32, dst, offset, 8);
+        dst[offset + 8] = '-';
+        writeHex(msb >>> 16, dst, offset + 9, 4);
+        dst[offset + 13] = '-';
+        writeHex(msb, dst, offset + 14, 4);
+        dst[offset + 18] = '-';
+        writeHex(lsb >>> 48, dst, offset + 19, 4);
+        dst[offset + 23] = '-';
+        writeHex(lsb, dst, offset + 24, 12);
+        return offset + UUID_STRING_LENGTH;
+    }
+
+    /**
+     * 将数值的低 {@code digits * 4} 位以十六进制写入字符数组。
+     */
+    private static void writeHex(long value, char[] dst, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            dst[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * 设置UUID的版本号与 IETF 变体位。
+     */
+    private static UUID versioned(long msb, long lsb, int version) {
+        msb = (msb & ~0xF000L) | ((long) version << 12);
+        lsb = (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
     }
 }
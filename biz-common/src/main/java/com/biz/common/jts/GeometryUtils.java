@@ -22,21 +22,26 @@ import java.util.List;
  * double[] center = GeometryUtils.center(geom);
  * }</pre>
  *
+ * <p>需要在大量多边形中反复查询点所在的多边形、相交或最近的多边形时，使用 {@link SpatialIndex} 一次性建立索引。</p>
+ *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
+ * @see SpatialIndex
  * @since 1.0.1
  */
 public final class GeometryUtils {
 
     /**
      * WKTReader实例，用于解析WKT字符串到Geometry对象。
-     * 将其实例化为类级变量以避免重复创建，提升性能。
+     * WKTReader不是线程安全的，每个线程缓存一个实例，既避免重复创建，又可以在多个线程中同时解析。
      */
-    private static final WKTReader WKT_READER = new WKTReader();
+    private static final ThreadLocal<WKTReader> WKT_READER = ThreadLocal.withInitial(WKTReader::new);
 
     /**
      * 将给定的几何字符串转换为Geometry对象。
      *
+     * <p>该方法是线程安全的。</p>
+     *
      * @param str WKT（Well-Known Text）格式的几何字符串。
      * @return 对应的Geometry对象，如果输入为空或格式不正确则返回null。
      * @throws ParseException 如果WKT字符串无法解析，则抛出此异常。
@@ -46,7 +51,7 @@ public final class GeometryUtils {
         if (Common.isBlank(str)) {
             return null;
         }
-        return WKT_READER.read(str);
+        return WKT_READER.get().read(str);
     }
 
     /**
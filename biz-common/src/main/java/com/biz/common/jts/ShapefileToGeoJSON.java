@@ -4,34 +4,50 @@ import com.biz.common.concurrent.ExecutorsUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.geotools.data.shapefile.ShapefileDataStore;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.geojson.feature.FeatureJSON;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Shapefile 转换为 GeoJSON 的工具类。
- * <p>该类提供了递归遍历目录下的 .shp 文件，并将其转换为 .geojson 文件的功能。</p>
+ * <p>该类提供了递归遍历目录下的 .shp 文件，并将其转换为同目录下同名的 .geojson 文件的功能。</p>
  *
  * <h2>示例代码：</h2>
  * <pre>{@code
  * File directory = new File("/path/to/directory");
  * ShapefileToGeoJSON.traverseDirectory(directory);
+ *
+ * List<ShapefileToGeoJSON.Result> results = ShapefileToGeoJSON.convert(Paths.get("/path/to/directory"), executor);
  * }</pre>
  *
+ * <p>目录只遍历一次，所有 .shp 文件在调用方提供的执行器上并行转换；未提供执行器时每次调用创建一个线程数等于处理器数量的线程池，
+ * 转换完成后关闭，因此可以重复调用，也可以同时在多个线程中调用。
+ * 每个文件逐个读取要素并通过缓冲区写出，不会把整个要素集合放入内存；转换失败的文件会被删除，原因记录在对应的 {@link Result} 中。</p>
+ *
  * <p>注意：该类依赖于 GeoTools 库和自定义的 ExecutorsUtils 工具类。</p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  **/
 @Slf4j
@@ -40,50 +56,87 @@ public class ShapefileToGeoJSON {
     private static final String CHARSET = "GBK";
     private static final String SHP = ".shp";
     private static final String GEO_JSON = ".geojson";
-    private static final ExecutorService EXECUTOR_SERVICE = ExecutorsUtils.buildScheduledExecutorService();
+
+    /**
+     * 写出 GeoJSON 文件的缓冲区大小
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
 
     /**
      * 递归遍历目录下所有的.shp文件，并将其转换为 .geojson 文件。
      *
      * @param directory 需要遍历的文件夹
      * @throws IOException 如果遍历过程中发生 I/O 错误
+     * @see #convert(Path)
      */
     public static void traverseDirectory(File directory) throws IOException {
-        // 获取文件夹下的所有文件和文件夹
-        List<File> files;
-        try (Stream<Path> paths = Files.list(directory.toPath())) {
-            files = paths.map(Path::toFile).collect(Collectors.toList());
-        } catch (IOException e) {
-            log.warn("Error listing files", e);
-            return;
+        try {
+            List<Result> results = convert(directory.toPath());
+            long failed = results.stream().filter(result -> !result.isSuccess()).count();
+            log.info("Converted {} Shapefiles under {}, {} failed", results.size(), directory, failed);
+        } catch (InterruptedException e) {
+            log.error("The conversion process is interrupted", e);
+            Thread.currentThread().interrupt(); // 恢复中断状态
         }
+    }
 
-        files.stream()
-                .filter(File::isDirectory)
-                .forEach(file -> EXECUTOR_SERVICE.submit(() -> {
-                    try {
-                        traverseDirectory(file);
-                    } catch (IOException e) {
-                        log.error("Error traversing directory", e);
-                    }
-                }));
+    /**
+     * 使用本次调用专用的线程池，转换目录（包括子目录）下所有的 .shp 文件。
+     *
+     * @param directory 需要遍历的文件夹
+     * @return 每个文件的转换结果，按文件路径排列
+     * @throws IOException          如果遍历目录时发生 I/O 错误
+     * @throws InterruptedException 如果等待过程中调用线程被中断
+     */
+    public static List<Result> convert(Path directory) throws IOException, InterruptedException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = ExecutorsUtils.buildThreadPoolExecutor(parallelism, parallelism);
+        try {
+            return convert(directory, executor);
+        } finally {
+            ExecutorsUtils.shutdownThreadPool(executor);
+        }
+    }
 
-        files.stream()
-                .filter(file -> file.getName().toLowerCase().endsWith(SHP))
-                .forEach(file -> EXECUTOR_SERVICE.submit(() -> convertShpToGeoJSON(file)));
+    /**
+     * 在给定的执行器上并行转换目录（包括子目录）下所有的 .shp 文件，执行器由调用方管理，不会被关闭。
+     *
+     * @param directory 需要遍历的文件夹
+     * @param executor  执行转换的执行器
+     * @return 每个文件的转换结果，按文件路径排列
+     * @throws IOException          如果遍历目录时发生 I/O 错误
+     * @throws InterruptedException 如果等待过程中调用线程被中断，已提交的文件会继续转换
+     */
+    public static List<Result> convert(Path directory, Executor executor) throws IOException, InterruptedException {
+        List<Path> shapefiles;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            shapefiles = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(SHP))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
 
-        EXECUTOR_SERVICE.shutdown();
+        List<CompletableFuture<Result>> futures = new ArrayList<>(shapefiles.size());
+        for (Path shapefile : shapefiles) {
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> convertFile(shapefile), executor));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.completedFuture(
+                        new Result(shapefile, geoJsonPath(shapefile), -1, 0, e)));
+            }
+        }
 
-        try {
-            // 等待所有任务完成或超时
-            boolean terminated = EXECUTOR_SERVICE.awaitTermination(1, TimeUnit.HOURS);
-            if (!terminated) {
-                log.warn("ExecutorService did not terminate within the specified time.");
+        List<Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                // convertFile 不会抛出异常
+                throw new IllegalStateException(e.getCause());
             }
-        } catch (InterruptedException e) {
-            log.error("The conversion process is interrupted", e);
-            Thread.currentThread().interrupt(); // 恢复中断状态
         }
+        return Collections.unmodifiableList(results);
     }
 
     /**
@@ -92,29 +145,151 @@ public class ShapefileToGeoJSON {
      * @param shpFile 需要转换的 .shp 文件
      */
     public static void convertShpToGeoJSON(File shpFile) {
-        String shpFilePath = shpFile.getAbsolutePath();
-        String geoJsonFilePath = shpFilePath.substring(0, shpFilePath.lastIndexOf(".")) + GEO_JSON;
+        convertFile(shpFile.toPath());
+    }
+
+    private static Result convertFile(Path shapefile) {
+        long start = System.nanoTime();
+        Path target = geoJsonPath(shapefile);
+        try {
+            long features = writeGeoJSON(shapefile, target);
+            return new Result(shapefile, target, features, System.nanoTime() - start, null);
+        } catch (Exception e) {
+            log.error("Failed to convert Shapefile to GeoJSON: {}", shapefile, e);
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException deleteException) {
+                e.addSuppressed(deleteException);
+            }
+            return new Result(shapefile, target, -1, System.nanoTime() - start, e);
+        }
+    }
 
+    /**
+     * 逐个读取要素写入 GeoJSON 文件，输出与 {@link FeatureJSON#writeFeatureCollection} 的格式相同，编码为 UTF-8。
+     *
+     * @param shapefile .shp 文件
+     * @param target    .geojson 文件
+     * @return 写入的要素数量
+     * @throws IOException 如果读写过程中发生 I/O 错误
+     */
+    private static long writeGeoJSON(Path shapefile, Path target) throws IOException {
+        // 获取 SHP 文件的数据存储
+        ShapefileDataStore dataStore = new ShapefileDataStore(shapefile.toUri().toURL());
         try {
-            // 获取 SHP 文件的数据存储
-            ShapefileDataStore dataStore = new ShapefileDataStore(shpFile.toURI().toURL());
             // 处理中文乱码
             dataStore.setCharset(Charset.forName(CHARSET));
-
-            // 获取特征集合
             SimpleFeatureCollection featureCollection = dataStore.getFeatureSource().getFeatures();
-
-            // 创建 FeatureJSON 对象
             FeatureJSON featureJSON = new FeatureJSON();
-            try (FileWriter writer = new FileWriter(geoJsonFilePath)) {
-                // 将特征集合写入 GeoJSON 文件
-                featureJSON.writeFeatureCollection(featureCollection, writer);
-            }
 
+            long count = 0;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(target), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+                 SimpleFeatureIterator features = featureCollection.features()) {
+                writer.write("{\"type\":\"FeatureCollection\",\"features\":[");
+                while (features.hasNext()) {
+                    if (count++ > 0) {
+                        writer.write(',');
+                    }
+                    // toString 不会像 writeFeature 那样在每个要素之后 flush
+                    writer.write(featureJSON.toString(features.next()));
+                }
+                writer.write("]}");
+            }
+            return count;
+        } finally {
             // 释放数据存储资源
             dataStore.dispose();
-        } catch (IOException e) {
-            log.error("Failed to convert Shapefile to GeoJSON", e);
+        }
+    }
+
+    private static Path geoJsonPath(Path shapefile) {
+        String name = shapefile.getFileName().toString();
+        return shapefile.resolveSibling(name.substring(0, name.lastIndexOf('.')) + GEO_JSON);
+    }
+
+    /**
+     * 单个 Shapefile 的转换结果。
+     */
+    public static final class Result {
+
+        private final Path source;
+
+        private final Path target;
+
+        private final long featureCount;
+
+        private final long elapsedNanos;
+
+        private final Throwable error;
+
+        Result(Path source, Path target, long featureCount, long elapsedNanos, Throwable error) {
+            this.source = source;
+            this.target = target;
+            this.featureCount = featureCount;
+            this.elapsedNanos = elapsedNanos;
+            this.error = error;
+        }
+
+        /**
+         * 获取 .shp 文件路径。
+         *
+         * @return .shp 文件路径
+         */
+        public Path getSource() {
+            return source;
+        }
+
+        /**
+         * 获取 .geojson 文件路径。
+         *
+         * @return .geojson 文件路径
+         */
+        public Path getTarget() {
+            return target;
+        }
+
+        /**
+         * 获取写入的要素数量，失败时为 {@code -1}。
+         *
+         * @return 要素数量
+         */
+        public long getFeatureCount() {
+            return featureCount;
+        }
+
+        /**
+         * 获取转换耗时，不包含排队等待的时间。
+         *
+         * @return 纳秒数
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * 获取转换时抛出的异常，成功时为 {@code null}。
+         *
+         * @return 异常
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * 是否转换成功。
+         *
+         * @return 成功返回 {@code true}
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "Result[source = " + source
+                    + ", featureCount = " + featureCount
+                    + ", elapsedMillis = " + elapsedNanos / 1_000_000
+                    + (error == null ? "" : ", error = " + error) + "]";
         }
     }
 }
@@ -0,0 +1,266 @@
+package com.biz.common.jts;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.ItemBoundable;
+import org.locationtech.jts.index.strtree.ItemDistance;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 内存中的空间索引，用于在大量多边形中快速查找包含某个点、与某个几何对象相交或距离最近的多边形（例如电子围栏匹配）。
+ *
+ * <p>所有几何对象在构建时一次性批量装入 {@link STRtree}，查询时先按外包矩形筛选候选对象，
+ * 再用构建时创建的 {@link PreparedGeometry} 做精确判断，避免对每个多边形做线性扫描。
+ * 构建后的索引不可变，可以在多个线程中同时查询。</p>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ * SpatialIndex<Long> fences = SpatialIndex.<Long>builder()
+ *         .addAllWkt(fenceWktById)
+ *         .build();
+ * List<Long> hits = fences.containing(116.397, 39.908);
+ * List<Long> nearest = fences.nearest(116.397, 39.908, 3);
+ * }</pre>
+ *
+ * @param <T> 与几何对象关联的值的类型，例如围栏 ID
+ * @author francis
+ * @version 1.5.1
+ * @see GeometryUtils#geometryStrToGeometry(String)
+ * @since 1.5.1
+ */
+public final class SpatialIndex<T> {
+
+    /**
+     * 按几何对象之间的距离比较索引项，查询项可以是索引项或几何对象。
+     */
+    private static final ItemDistance ITEM_DISTANCE = new ItemDistance() {
+        @Override
+        public double distance(ItemBoundable item1, ItemBoundable item2) {
+            return geometryOf(item1.getItem()).distance(geometryOf(item2.getItem()));
+        }
+    };
+
+    private final STRtree tree;
+
+    private final int size;
+
+    private SpatialIndex(List<Entry<T>> entries, int nodeCapacity) {
+        this.tree = new STRtree(nodeCapacity);
+        for (Entry<T> entry : entries) {
+            tree.insert(entry.geometry.getEnvelopeInternal(), entry);
+        }
+        // 构建后树结构不再变化，查询不需要加锁
+        tree.build();
+        this.size = entries.size();
+    }
+
+    /**
+     * 创建空间索引构建器。
+     *
+     * @param <T> 与几何对象关联的值的类型
+     * @return 构建器
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 查找覆盖指定点的几何对象，点在多边形边界上也视为覆盖。
+     *
+     * @param x 经度或横坐标
+     * @param y 纬度或纵坐标
+     * @return 覆盖该点的几何对象关联的值，没有时返回空列表
+     */
+    public List<T> containing(double x, double y) {
+        Coordinate coordinate = new Coordinate(x, y);
+        Point point = JTSUtils.GEOMETRY_FACTORY.createPoint(coordinate);
+        List<T> result = new ArrayList<>(2);
+        tree.query(new Envelope(coordinate), item -> {
+            Entry<T> entry = entry(item);
+            if (entry.prepared.covers(point)) {
+                result.add(entry.value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 查找与指定几何对象相交的几何对象。
+     *
+     * @param geometry 几何对象，不能为空
+     * @return 相交的几何对象关联的值，没有时返回空列表
+     */
+    public List<T> intersecting(Geometry geometry) {
+        List<T> result = new ArrayList<>();
+        tree.query(geometry.getEnvelopeInternal(), item -> {
+            Entry<T> entry = entry(item);
+            if (entry.prepared.intersects(geometry)) {
+                result.add(entry.value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 查找与指定点距离最近的 {@code k} 个几何对象，点位于多边形内部时距离为0。
+     *
+     * @param x 经度或横坐标
+     * @param y 纬度或纵坐标
+     * @param k 数量，必须大于0
+     * @return 几何对象关联的值，按距离从近到远排列，索引中的对象不足 {@code k} 个时返回全部
+     */
+    public List<T> nearest(double x, double y, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("数量必须大于0");
+        }
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        Coordinate coordinate = new Coordinate(x, y);
+        Point point = JTSUtils.GEOMETRY_FACTORY.createPoint(coordinate);
+        Object[] items = tree.nearestNeighbour(new Envelope(coordinate), point, ITEM_DISTANCE, Math.min(k, size));
+
+        // STRtree 返回的结果没有按距离排序
+        List<Entry<T>> entries = new ArrayList<>(items.length);
+        for (Object item : items) {
+            entries.add(entry(item));
+        }
+        entries.sort(Comparator.comparingDouble(entry -> entry.geometry.distance(point)));
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            result.add(entry.value);
+        }
+        return result;
+    }
+
+    /**
+     * 获取索引中的几何对象数量。
+     *
+     * @return 几何对象数量
+     */
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T> entry(Object item) {
+        return (Entry<T>) item;
+    }
+
+    private static Geometry geometryOf(Object item) {
+        return item instanceof Entry ? ((Entry<?>) item).geometry : (Geometry) item;
+    }
+
+    /**
+     * 索引项：关联的值、几何对象以及预处理后的几何对象。
+     */
+    private static final class Entry<T> {
+
+        private final T value;
+
+        private final Geometry geometry;
+
+        private final PreparedGeometry prepared;
+
+        private Entry(T value, Geometry geometry) {
+            this.value = value;
+            this.geometry = geometry;
+            this.prepared = PreparedGeometryFactory.prepare(geometry);
+        }
+    }
+
+    /**
+     * {@link SpatialIndex} 构建器，不是线程安全的。
+     *
+     * @param <T> 与几何对象关联的值的类型
+     */
+    public static class Builder<T> {
+
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private int nodeCapacity = 10;
+
+        private Builder() {
+        }
+
+        /**
+         * 添加一个几何对象。
+         *
+         * @param value    关联的值
+         * @param geometry 几何对象，不能为空
+         * @return Builder
+         */
+        public Builder<T> add(T value, Geometry geometry) {
+            if (geometry == null) {
+                throw new IllegalArgumentException("几何对象不能为空");
+            }
+            entries.add(new Entry<>(value, geometry));
+            return this;
+        }
+
+        /**
+         * 添加一个 WKT 格式的几何对象。
+         *
+         * @param value 关联的值
+         * @param wkt   WKT 格式的几何字符串，不能为空
+         * @return Builder
+         */
+        public Builder<T> addWkt(T value, String wkt) {
+            return add(value, GeometryUtils.geometryStrToGeometry(wkt));
+        }
+
+        /**
+         * 批量添加 WKT 格式的几何对象，解析和预处理在 {@link java.util.concurrent.ForkJoinPool#commonPool()} 中并行执行。
+         *
+         * @param wktByValue 关联的值到 WKT 格式的几何字符串的映射，字符串不能为空
+         * @return Builder
+         */
+        public Builder<T> addAllWkt(Map<? extends T, String> wktByValue) {
+            List<Entry<T>> parsed = wktByValue.entrySet().parallelStream()
+                    .map(e -> {
+                        Geometry geometry = GeometryUtils.geometryStrToGeometry(e.getValue());
+                        if (geometry == null) {
+                            throw new IllegalArgumentException("几何对象不能为空：" + e.getKey());
+                        }
+                        return new Entry<T>(e.getKey(), geometry);
+                    })
+                    .collect(Collectors.toList());
+            entries.addAll(parsed);
+            return this;
+        }
+
+        /**
+         * 设置 STRtree 每个节点的最大子节点数，默认为10。
+         *
+         * @param nodeCapacity 最大子节点数，必须大于1
+         * @return Builder
+         */
+        public Builder<T> nodeCapacity(int nodeCapacity) {
+            if (nodeCapacity <= 1) {
+                throw new IllegalArgumentException("节点容量必须大于1");
+            }
+            this.nodeCapacity = nodeCapacity;
+            return this;
+        }
+
+        /**
+         * 构建空间索引，构建后的实例不可变，可以在多个线程中同时查询。
+         *
+         * @return 空间索引
+         */
+        public SpatialIndex<T> build() {
+            return new SpatialIndex<>(new ArrayList<>(entries), nodeCapacity);
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.biz.common.jwt;
+
+import com.biz.common.utils.Common;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+
+import java.util.Date;
+
+/**
+ * JWT 单次解析的结果。
+ *
+ * <p>由 {@link JwtUtils#decode(String, String, io.jsonwebtoken.SignatureAlgorithm)} 返回，
+ * 一次解析同时给出声明内容与状态，调用方无需再分别调用校验、取主题、取声明等方法重复解析同一个 Token。</p>
+ *
+ * <p>结果有三种状态：</p>
+ * <ul>
+ *     <li>有效：签名校验通过且未过期，{@link #isValid()} 返回 {@code true}。</li>
+ *     <li>已过期：签名校验通过但已超过 {@code exp}，{@link #isExpired()} 返回 {@code true}，
+ *     此时 {@link #getClaims()} 仍可读取到声明内容。</li>
+ *     <li>无效：Token 为空、格式错误或签名校验失败，{@link #isVerified()} 返回 {@code false}，声明为 {@code null}。</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * JwtDecodeResult result = JwtUtils.decode(token, secret, SignatureAlgorithm.HS256);
+ * if (result.isValid()) {
+ *     String userId = result.get("userId");
+ * }
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see JwtUtils
+ * @since 1.5.1
+ */
+public final class JwtDecodeResult {
+
+    /**
+     * 无效 Token 的解析结果，所有无效 Token 共用同一个实例。
+     */
+    private static final JwtDecodeResult INVALID = new JwtDecodeResult(null, null, false, false);
+
+    private final JwsHeader<?> header;
+
+    private final Claims claims;
+
+    private final boolean verified;
+
+    private final boolean expired;
+
+    private JwtDecodeResult(JwsHeader<?> header, Claims claims, boolean verified, boolean expired) {
+        this.header = header;
+        this.claims = claims;
+        this.verified = verified;
+        this.expired = expired;
+    }
+
+    /**
+     * 创建有效 Token 的解析结果。
+     *
+     * @param header JWS 头部
+     * @param claims 声明内容
+     * @return 解析结果
+     */
+    static JwtDecodeResult valid(JwsHeader<?> header, Claims claims) {
+        return new JwtDecodeResult(header, claims, true, false);
+    }
+
+    /**
+     * 创建签名校验通过但已过期的 Token 的解析结果。
+     *
+     * @param header JWS 头部
+     * @param claims 声明内容
+     * @return 解析结果
+     */
+    static JwtDecodeResult expired(JwsHeader<?> header, Claims claims) {
+        return new JwtDecodeResult(header, claims, true, true);
+    }
+
+    /**
+     * 获取无效 Token 的解析结果。
+     *
+     * @return 解析结果
+     */
+    static JwtDecodeResult invalid() {
+        return INVALID;
+    }
+
+    /**
+     * Token 的签名是否校验通过，已过期的 Token 同样视为校验通过。
+     *
+     * @return 签名校验通过返回 {@code true}
+     */
+    public boolean isVerified() {
+        return verified;
+    }
+
+    /**
+     * Token 是否已过期，仅在签名校验通过时才可能返回 {@code true}。
+     *
+     * @return 已过期返回 {@code true}
+     */
+    public boolean isExpired() {
+        return expired;
+    }
+
+    /**
+     * Token 是否有效，即签名校验通过且未过期。
+     *
+     * @return 有效返回 {@code true}
+     */
+    public boolean isValid() {
+        return verified && !expired;
+    }
+
+    /**
+     * 获取 JWS 头部。
+     *
+     * @return JWS 头部，无效 Token 返回 {@code null}
+     */
+    public JwsHeader<?> getHeader() {
+        return header;
+    }
+
+    /**
+     * 获取声明内容，已过期的 Token 同样可以获取。
+     *
+     * @return 声明内容，无效 Token 返回 {@code null}
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * 获取主题(sub)。
+     *
+     * @return 主题，无效 Token 返回 {@code null}
+     */
+    public String getSubject() {
+        return claims == null ? null : claims.getSubject();
+    }
+
+    /**
+     * 获取过期时间(exp)。
+     *
+     * @return 过期时间，无效 Token 或未设置过期时间时返回 {@code null}
+     */
+    public Date getExpiration() {
+        return claims == null ? null : claims.getExpiration();
+    }
+
+    /**
+     * 获取声明中指定键的值。
+     *
+     * @param <T> 值的类型
+     * @param key 键
+     * @return 键对应的值，无效 Token 或键不存在时返回 {@code null}
+     */
+    public <T> T get(String key) {
+        if (claims == null) {
+            return null;
+        }
+        Object value = claims.get(key);
+        return value == null ? null : Common.to(value);
+    }
+
+}
@@ -2,7 +2,6 @@ package com.biz.common.jwt;
 
 import com.biz.common.utils.Common;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.SignatureAlgorithm;
 
 /**
@@ -17,15 +16,24 @@ import io.jsonwebtoken.SignatureAlgorithm;
  *     .signatureAlgorithm(SignatureAlgorithm.HS256)
  *     .build();
  *
- * boolean isExpired = decryptHelper.isExpired();
- * String subject = decryptHelper.getSubject();
- * Object value = decryptHelper.getByKey("key");
+ * if (decryptHelper.isValid()) {
+ *     String subject = decryptHelper.getSubject();
+ *     Object value = decryptHelper.getByKey("key");
+ * } else if (decryptHelper.isExpired()) {
+ *     // 签名正确但已过期
+ * }
  * }</pre>
  *
+ * <p>构造时通过 {@link JwtUtils#decode(String, String, SignatureAlgorithm)} 只解析一次 Token。
+ * 已过期或校验失败的 Token 不提供 Subject 和声明内容。</p>
+ *
+ * <p>{@link #isExpired()} 只在签名校验通过且已过期时返回 {@code true}，签名错误或格式错误的 Token 返回 {@code false}，
+ * 因此不能用 {@code !isExpired()} 判断 Token 可用，应使用 {@link #isValid()}。</p>
+ *
  * <p>该类依赖于 {@link JwtUtils} 和 {@link Common} 类提供的工具方法。</p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 public class JwtDecryptHelper {
@@ -39,14 +47,17 @@ public class JwtDecryptHelper {
     // Token
     private final String token;
 
-    // 是否已过期
+    // 是否签名校验通过且未过期
+    private final boolean valid;
+
+    // 是否签名校验通过且已过期
     private final boolean isExpired;
 
     // Token 中的 Subject 信息
     private final Object subject;
 
-    // Jws<Claims> 对象
-    private final Jws<Claims> jwsClaims;
+    // Token 中的声明内容，仅在 Token 有效时存在
+    private final Claims claims;
 
     /**
      * 构造函数，初始化 JwtDecryptHelper 对象。
@@ -60,15 +71,29 @@ public class JwtDecryptHelper {
         this.secret = Common.isBlank(secret) ? JwtUtils.DEFAULT_SECRET : secret;
         this.signatureAlgorithm = signatureAlgorithm == null ? JwtUtils.DEFAULT_SIGNATURE_ALGORITHM : signatureAlgorithm;
 
-        this.subject = JwtUtils.getSub(token, this.secret, this.signatureAlgorithm);
-        this.isExpired = JwtUtils.checkToken(this.token, this.secret, this.signatureAlgorithm);
-        this.jwsClaims = JwtUtils.getClaimsJws(this.token, this.secret, this.signatureAlgorithm);
+        JwtDecodeResult result = JwtUtils.decode(this.token, this.secret, this.signatureAlgorithm);
+        this.valid = result.isValid();
+        this.isExpired = result.isExpired();
+        this.claims = this.valid ? result.getClaims() : null;
+        this.subject = this.claims == null ? null : this.claims.getSubject();
+    }
+
+    /**
+     * 检查 Token 是否有效。
+     *
+     * @return 签名校验通过且未过期时返回 true；Token 为空、格式错误、签名错误或已过期时返回 false
+     * @since 1.5.1
+     */
+    public boolean isValid() {
+        return valid;
     }
 
     /**
      * 检查 Token 是否过期。
      *
-     * @return 是否过期
+     * <p>签名错误或格式错误的 Token 无法确认过期时间，同样返回 false，判断 Token 是否可用请使用 {@link #isValid()}。</p>
+     *
+     * @return 签名校验通过且已过期时返回 true，其他情况返回 false
      */
     public boolean isExpired() {
         return isExpired;
@@ -92,14 +117,10 @@ public class JwtDecryptHelper {
      * @return 键对应的值
      */
     public <T> T getByKey(String key) {
-        if (jwsClaims == null) {
+        if (claims == null) {
             throw new IllegalArgumentException("jwsClaims is null");
         }
-        Claims body = jwsClaims.getBody();
-        if (body == null) {
-            return null;
-        }
-        Object value = body.get(key);
+        Object value = claims.get(key);
         if (value == null) {
             return null;
         }
@@ -17,9 +17,10 @@ import javax.servlet.http.HttpServletRequest;
  *     .signatureAlgorithm(SignatureAlgorithm.HS256)
  *     .build();
  *
- * if (helper.isToken()) {
+ * if (helper.isToken() && helper.isValid()) {
  *     String subject = helper.getSub();
- *     boolean isExpired = helper.isExpire();
+ * } else if (helper.isExpire()) {
+ *     // 签名正确但已过期，提示重新登录
  * }
  * }</pre>
  *
@@ -53,10 +54,23 @@ public final class JwtSecurityHelper {
                 .build();
     }
 
+    /**
+     * 检查 Token 是否有效。
+     *
+     * @return 如果 Token 签名校验通过且未过期，返回 true；Token 不存在、格式错误、签名错误或已过期时返回 false。
+     * @since 1.5.1
+     */
+    public boolean isValid() {
+        return JWT_TOKEN_DECRYPT_HELPER.isValid();
+    }
+
     /**
      * 检查 Token 是否过期。
      *
-     * @return 如果 Token 已过期，返回 true；否则返回 false。
+     * <p>只有签名校验通过的 Token 才能确认是否过期，伪造或格式错误的 Token 同样返回 false，
+     * 因此不能用 {@code !isExpire()} 判断 Token 可用，应使用 {@link #isValid()}。</p>
+     *
+     * @return 如果 Token 签名校验通过且已过期，返回 true；否则返回 false。
      */
     public boolean isExpire() {
         return JWT_TOKEN_DECRYPT_HELPER.isExpired();
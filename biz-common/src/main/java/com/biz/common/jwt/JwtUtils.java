@@ -10,22 +10,27 @@ import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
  * JWT (JSON Web Token) 工具类
  * <p>提供创建、验证和解析JWT的功能。该类使用HS256算法进行加密，默认密钥使用Base64编码，默认有效期为1天。</p>
  * <p>支持自定义密钥、有效期和加密算法。所有的方法都是静态的，不需要实例化。</p>
+ * <p>验签使用的 {@link JwtParser} 按签名Key缓存复用，需要同时获取声明和过期状态时，
+ * 使用 {@link #decode(String, String, SignatureAlgorithm)} 只解析一次。</p>
  *
  * <h2>示例代码：</h2>
  * <pre>{@code
  * String token = JwtUtils.createToken("user", "john_doe");
  * boolean isValid = JwtUtils.checkToken(token);
  * Object userData = JwtUtils.getData(token, "user");
+ * JwtDecodeResult result = JwtUtils.decode(token);
  * }</pre>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 @Slf4j
@@ -46,6 +51,39 @@ public final class JwtUtils {
      */
     public static final SignatureAlgorithm DEFAULT_SIGNATURE_ALGORITHM = SignatureAlgorithm.HS256;
 
+    /**
+     * 最多缓存的JwtParser数量，超出后新的Key每次解析时临时创建JwtParser。
+     */
+    private static final int MAX_CACHED_PARSERS = 64;
+
+    /**
+     * 以签名Key为键的JwtParser缓存，JwtParser构建后不可变，可以在多线程间共享。
+     */
+    private static final ConcurrentMap<Key, JwtParser> PARSER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 已验签Token缓存，默认为null表示不启用。
+     */
+    private static volatile JwtVerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * 设置已验签Token缓存，启用后重复解析同一个Token时不再重新验签，传入null则关闭缓存。
+     *
+     * @param cache 已验签Token缓存
+     */
+    public static void setVerifiedTokenCache(JwtVerifiedTokenCache cache) {
+        verifiedTokenCache = cache;
+    }
+
+    /**
+     * 获取当前使用的已验签Token缓存。
+     *
+     * @return 已验签Token缓存，未启用时返回null
+     */
+    public static JwtVerifiedTokenCache getVerifiedTokenCache() {
+        return verifiedTokenCache;
+    }
+
     /**
      * 使用默认配置创建JWT Token。
      *
@@ -248,6 +286,54 @@ public final class JwtUtils {
         return claimsJws;
     }
 
+    /**
+     * 使用默认密钥和算法解析JWT，一次解析同时获取声明和过期状态。
+     *
+     * @param token JWT令牌
+     * @return 解析结果，不会返回null
+     */
+    public static JwtDecodeResult decode(String token) {
+        return decode(token, DEFAULT_SECRET, DEFAULT_SIGNATURE_ALGORITHM);
+    }
+
+    /**
+     * 使用指定密钥和默认算法解析JWT，一次解析同时获取声明和过期状态。
+     *
+     * @param token  JWT令牌
+     * @param secret 加密密钥
+     * @return 解析结果，不会返回null
+     */
+    public static JwtDecodeResult decode(String token, String secret) {
+        return decode(token, secret, DEFAULT_SIGNATURE_ALGORITHM);
+    }
+
+    /**
+     * 解析JWT，一次解析同时获取声明和过期状态。
+     * <p>签名校验先于过期检查进行，因此已过期的Token只有在签名正确时才会返回声明内容。</p>
+     *
+     * @param token              JWT令牌
+     * @param secret             加密密钥
+     * @param signatureAlgorithm 签名算法
+     * @return 解析结果，不会返回null
+     */
+    public static JwtDecodeResult decode(String token, String secret, SignatureAlgorithm signatureAlgorithm) {
+        if (Common.isBlank(token)) {
+            return JwtDecodeResult.invalid();
+        }
+        try {
+            Jws<Claims> claimsJws = parse(token, KeyUtils.getKeyFromSecret(secret, signatureAlgorithm));
+            return JwtDecodeResult.valid(claimsJws.getHeader(), claimsJws.getBody());
+        } catch (ExpiredJwtException e) {
+            Header<?> header = e.getHeader();
+            return JwtDecodeResult.expired(header instanceof JwsHeader ? (JwsHeader<?>) header : null, e.getClaims());
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("解析 Jwt 时出现错误 ", e);
+            }
+        }
+        return JwtDecodeResult.invalid();
+    }
+
     /**
      * 创建JWT令牌。
      *
@@ -367,10 +453,7 @@ public final class JwtUtils {
      */
     private static Jws<Claims> parseClaimsJws(String token, String secret) {
         try {
-            JwtParser build = Jwts.parserBuilder()
-                    .setSigningKey(KeyUtils.getKeyFromSecret(secret))
-                    .build();
-            return build.parseClaimsJws(token);
+            return parse(token, KeyUtils.getKeyFromSecret(secret));
 
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
@@ -390,10 +473,7 @@ public final class JwtUtils {
      */
     private static Jws<Claims> parseClaimsJws(String token, SignatureAlgorithm signatureAlgorithm) {
         try {
-            JwtParser build = Jwts.parserBuilder()
-                    .setSigningKey(KeyUtils.getKeyFromSecret(signatureAlgorithm))
-                    .build();
-            return build.parseClaimsJws(token);
+            return parse(token, KeyUtils.getKeyFromSecret(signatureAlgorithm));
 
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
@@ -414,10 +494,7 @@ public final class JwtUtils {
      */
     private static Jws<Claims> parseClaimsJws(String token, String secret, SignatureAlgorithm signatureAlgorithm) {
         try {
-            JwtParser build = Jwts.parserBuilder()
-                    .setSigningKey(KeyUtils.getKeyFromSecret(secret, signatureAlgorithm))
-                    .build();
-            return build.parseClaimsJws(token);
+            return parse(token, KeyUtils.getKeyFromSecret(secret, signatureAlgorithm));
 
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
@@ -428,4 +505,42 @@ public final class JwtUtils {
         return null;
     }
 
+    /**
+     * 使用指定签名Key验签并解析JWT，启用了已验签Token缓存时优先从缓存中获取。
+     *
+     * @param token JWT令牌
+     * @param key   签名Key
+     * @return 解析后的JWT声明
+     * @throws JwtException 如果JWT无效或已过期
+     */
+    private static Jws<Claims> parse(String token, Key key) {
+        JwtVerifiedTokenCache cache = verifiedTokenCache;
+        if (cache == null) {
+            return getParser(key).parseClaimsJws(token);
+        }
+        return cache.parse(token, key, getParser(key));
+    }
+
+    /**
+     * 获取指定签名Key对应的JwtParser，优先从缓存中获取。
+     *
+     * @param key 签名Key
+     * @return JwtParser
+     */
+    private static JwtParser getParser(Key key) {
+        JwtParser parser = PARSER_CACHE.get(key);
+        if (parser == null) {
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .build();
+            if (PARSER_CACHE.size() < MAX_CACHED_PARSERS) {
+                JwtParser previous = PARSER_CACHE.putIfAbsent(key, parser);
+                if (previous != null) {
+                    parser = previous;
+                }
+            }
+        }
+        return parser;
+    }
+
 }
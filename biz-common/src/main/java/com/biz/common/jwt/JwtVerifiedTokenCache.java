@@ -0,0 +1,313 @@
+package com.biz.common.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.impl.DefaultJws;
+import io.jsonwebtoken.impl.DefaultJwsHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已验签 Token 缓存。
+ *
+ * <p>同一个 Token 往往会在多次请求中重复使用，每次都重新进行签名校验和声明的 JSON 解析代价较高。
+ * 启用该缓存后，验签成功的 Token 会以 (签名Key, Token 的 SHA-256 摘要) 为键缓存其解析结果，
+ * 再次解析同一个 Token 时只需计算一次摘要并查表。</p>
+ *
+ * <p>为避免内存被大量随机 Token 撑满：</p>
+ * <ul>
+ *     <li>只有签名校验通过且未过期的 Token 才会被缓存，校验失败的 Token 不会进入缓存；</li>
+ *     <li>缓存只保存摘要而不保存 Token 原文，条目数量不超过 {@code maxSize}，
+ *     缓存已满时淘汰最久未使用的条目，放入和淘汰的代价与条目数量无关，大量不同的 Token 不会让每次请求变慢；</li>
+ *     <li>条目的失效时间取 Token 的 {@code exp} 与 {@code maxTtl} 中较早的一个，
+ *     过期的条目在命中时移除，之后由解析器重新校验并抛出过期异常。</li>
+ * </ul>
+ *
+ * <p>条目保存在按访问顺序排列的 {@link LinkedHashMap} 中，读写都在 {@link ReentrantLock} 保护下进行，
+ * 锁内只有查表和插入，签名校验在锁外完成。</p>
+ *
+ * <p>缓存默认关闭，通过 {@link JwtUtils#setVerifiedTokenCache(JwtVerifiedTokenCache)} 启用。
+ * {@link Claims} 和 {@link JwsHeader} 都是可修改的 {@link Map}，缓存保存的是验签结果的副本，每次返回的也是新的副本，
+ * 调用方修改返回的声明不会影响之后的命中结果（副本为浅拷贝，声明中嵌套的集合对象仍然共享）。</p>
+ *
+ * <pre>{@code
+ * JwtUtils.setVerifiedTokenCache(new JwtVerifiedTokenCache(10_000, 5 * 60 * 1000L));
+ * ...
+ * double hitRate = JwtUtils.getVerifiedTokenCache().getHitRate();
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see JwtUtils
+ * @since 1.5.1
+ */
+public final class JwtVerifiedTokenCache {
+
+    /**
+     * 默认最大缓存条目数。
+     */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    /**
+     * 默认条目最长存活时间，单位为毫秒，默认为5分钟。
+     */
+    public static final long DEFAULT_MAX_TTL = 5 * 60 * 1000L;
+
+    /**
+     * 每个线程复用的 SHA-256 摘要实例。
+     */
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前环境不支持 SHA-256 算法", e);
+        }
+    });
+
+    private final int maxSize;
+
+    private final long maxTtl;
+
+    /**
+     * 按访问顺序排列的条目，超过 {@code maxSize} 时淘汰最久未使用的条目，由 {@link #lock} 保护。
+     */
+    private final Map<TokenKey, CacheEntry> entries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 使用默认配置创建缓存。
+     */
+    public JwtVerifiedTokenCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_TTL);
+    }
+
+    /**
+     * 创建缓存。
+     *
+     * @param maxSize 最大缓存条目数
+     * @param maxTtl  条目最长存活时间，单位为毫秒，Token 未设置 {@code exp} 时以此为准
+     */
+    public JwtVerifiedTokenCache(int maxSize, long maxTtl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("最大缓存条目数必须大于0");
+        }
+        if (maxTtl <= 0) {
+            throw new IllegalArgumentException("条目最长存活时间必须大于0");
+        }
+        this.maxSize = maxSize;
+        this.maxTtl = maxTtl;
+        this.entries = new LinkedHashMap<TokenKey, CacheEntry>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TokenKey, CacheEntry> eldest) {
+                if (size() > JwtVerifiedTokenCache.this.maxSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 解析 Token，命中缓存时直接返回缓存的结果，否则使用解析器验签并在成功后放入缓存。
+     *
+     * @param token      JWT令牌
+     * @param signingKey 签名Key
+     * @param parser     使用该签名Key构建的解析器
+     * @return 解析后的JWT声明，每次调用返回新的副本
+     * @throws io.jsonwebtoken.JwtException 如果 Token 无效或已过期
+     */
+    Jws<Claims> parse(String token, Key signingKey, JwtParser parser) {
+        TokenKey tokenKey = new TokenKey(signingKey, digest(token));
+        long now = System.currentTimeMillis();
+        CacheEntry entry;
+        lock.lock();
+        try {
+            entry = entries.get(tokenKey);
+            if (entry != null && now >= entry.expireAt) {
+                entries.remove(tokenKey);
+                evictionCount.increment();
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (entry != null) {
+            hitCount.increment();
+            return copyOf(entry.claimsJws);
+        }
+        missCount.increment();
+
+        Jws<Claims> claimsJws = parser.parseClaimsJws(token);
+        long expireAt = now + maxTtl;
+        Date expiration = claimsJws.getBody().getExpiration();
+        if (expiration != null) {
+            expireAt = Math.min(expireAt, expiration.getTime());
+        }
+        if (now < expireAt) {
+            admit(tokenKey, new CacheEntry(copyOf(claimsJws), expireAt));
+        }
+        return claimsJws;
+    }
+
+    /**
+     * 将验签通过的条目放入缓存，缓存已满时淘汰最久未使用的条目。
+     */
+    private void admit(TokenKey tokenKey, CacheEntry entry) {
+        lock.lock();
+        try {
+            entries.put(tokenKey, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 复制头部和声明，使缓存中的结果与返回给调用方的结果互不影响。
+     */
+    private static Jws<Claims> copyOf(Jws<Claims> claimsJws) {
+        JwsHeader<?> header = claimsJws.getHeader();
+        return new DefaultJws<>(header == null ? null : new DefaultJwsHeader(new LinkedHashMap<>(header)),
+                new DefaultClaims(new LinkedHashMap<>(claimsJws.getBody())), claimsJws.getSignature());
+    }
+
+    /**
+     * 计算 Token 的 SHA-256 摘要。
+     */
+    private static byte[] digest(String token) {
+        MessageDigest messageDigest = SHA_256.get();
+        messageDigest.reset();
+        return messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 清空缓存，统计数据不受影响。
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取当前缓存的条目数，可能包含尚未清理的过期条目。
+     *
+     * @return 条目数
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取命中次数。
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 获取未命中次数。
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 获取因缓存已满或过期而被淘汰的条目数。
+     *
+     * @return 淘汰的条目数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 获取命中率。
+     *
+     * @return 命中率，尚未有任何请求时返回 0
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
+    /**
+     * 缓存的键，由签名Key与 Token 的摘要组成，同一个 Token 换用其他Key校验时不会命中。
+     */
+    private static final class TokenKey {
+        private final Key signingKey;
+        private final byte[] digest;
+        private final int hash;
+
+        TokenKey(Key signingKey, byte[] digest) {
+            this.signingKey = signingKey;
+            this.digest = digest;
+            this.hash = 31 * signingKey.hashCode() + Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TokenKey)) {
+                return false;
+            }
+            TokenKey that = (TokenKey) o;
+            return hash == that.hash
+                    && Arrays.equals(digest, that.digest)
+                    && (signingKey == that.signingKey || signingKey.equals(that.signingKey));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 缓存条目。
+     */
+    private static final class CacheEntry {
+        private final Jws<Claims> claimsJws;
+        private final long expireAt;
+
+        CacheEntry(Jws<Claims> claimsJws, long expireAt) {
+            this.claimsJws = claimsJws;
+            this.expireAt = expireAt;
+        }
+    }
+
+}
@@ -6,6 +6,9 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.Key;
 import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * KeyUtils类提供用于生成JWT密钥Key的工具方法。
@@ -17,14 +20,27 @@ import java.util.Base64;
  * Key keyFromAlgorithm = KeyUtils.getKeyFromSecret(SignatureAlgorithm.HS256);
  * }</pre>
  *
+ * <p>根据密钥字符串生成的Key会按 (密钥, 算法) 缓存，最多缓存 {@value #MAX_CACHED_KEYS} 个，
+ * 避免每次签名或验签都重新进行Base64编码和创建 {@link SecretKeySpec}。</p>
+ *
  * <p>该类依赖于 {@link JwtUtils} 和 {@link Common} 类提供的工具方法。</p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 1.0.1
  */
 public final class KeyUtils {
 
+    /**
+     * 最多缓存的Key数量，超出后新的密钥不再缓存，防止密钥来源不受控时缓存无限增长。
+     */
+    private static final int MAX_CACHED_KEYS = 64;
+
+    /**
+     * 以 (密钥字符串, 签名算法) 为键的Key缓存。
+     */
+    private static final ConcurrentMap<SecretCacheKey, Key> KEY_CACHE = new ConcurrentHashMap<>();
+
     /**
      * 根据密钥对象生成Key。
      *
@@ -63,8 +79,21 @@ public final class KeyUtils {
      * @return 生成的Key对象。
      */
     public static Key getKeyFromSecret(String secret, SignatureAlgorithm signatureAlgorithm) {
-        byte[] keyBytes = Base64.getEncoder().encode(Common.isBlank(secret) ? JwtUtils.DEFAULT_SECRET.getBytes() : secret.getBytes());
-        return new SecretKeySpec(keyBytes, signatureAlgorithm == null ? JwtUtils.DEFAULT_SIGNATURE_ALGORITHM.getJcaName() : signatureAlgorithm.getJcaName());
+        String actualSecret = Common.isBlank(secret) ? JwtUtils.DEFAULT_SECRET : secret;
+        SignatureAlgorithm actualAlgorithm = signatureAlgorithm == null ? JwtUtils.DEFAULT_SIGNATURE_ALGORITHM : signatureAlgorithm;
+        SecretCacheKey cacheKey = new SecretCacheKey(actualSecret, actualAlgorithm);
+        Key key = KEY_CACHE.get(cacheKey);
+        if (key == null) {
+            byte[] keyBytes = Base64.getEncoder().encode(actualSecret.getBytes());
+            key = new SecretKeySpec(keyBytes, actualAlgorithm.getJcaName());
+            if (KEY_CACHE.size() < MAX_CACHED_KEYS) {
+                Key previous = KEY_CACHE.putIfAbsent(cacheKey, key);
+                if (previous != null) {
+                    key = previous;
+                }
+            }
+        }
+        return key;
     }
 
     /**
@@ -77,4 +106,34 @@ public final class KeyUtils {
     public static Key getKeyFromSecret(Key secret, SignatureAlgorithm signatureAlgorithm) {
         return new SecretKeySpec(secret.getEncoded(), signatureAlgorithm == null ? JwtUtils.DEFAULT_SIGNATURE_ALGORITHM.getJcaName() : signatureAlgorithm.getJcaName());
     }
+
+    /**
+     * Key缓存的键，由密钥字符串和签名算法组成。
+     */
+    private static final class SecretCacheKey {
+        private final String secret;
+        private final SignatureAlgorithm signatureAlgorithm;
+
+        SecretCacheKey(String secret, SignatureAlgorithm signatureAlgorithm) {
+            this.secret = secret;
+            this.signatureAlgorithm = signatureAlgorithm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SecretCacheKey)) {
+                return false;
+            }
+            SecretCacheKey that = (SecretCacheKey) o;
+            return signatureAlgorithm == that.signatureAlgorithm && secret.equals(that.secret);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(secret, signatureAlgorithm);
+        }
+    }
 }
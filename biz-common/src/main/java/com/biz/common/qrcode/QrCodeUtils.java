@@ -1,16 +1,25 @@
 package com.biz.common.qrcode;
 
+import com.biz.common.file.CodeImageCache;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
-import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.nio.file.Path;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * 二维码生成工具类，提供生成二维码图片的方法。
@@ -26,9 +35,21 @@ import java.util.HashMap;
  *     }
  * }
  * </pre>
+ *
+ * <p>需要直接返回给客户端时使用 {@link #toByteArray(String)} 或 {@link #writeTo(String, OutputStream)} 在内存中生成，
+ * 结果与 {@link #generateQrCode(String, String)} 写入文件的内容完全相同。编码器和编码参数在所有调用之间共享，
+ * 最近生成的 {@value #CACHE_SIZE} 个二维码缓存在内存中，重复生成同一内容时直接返回缓存的图片。
+ * 批量打印标签时使用 {@link #toByteArrays(List, Executor)} 并行生成，批量生成不经过缓存。</p>
+ *
+ * <pre>{@code
+ *     byte[] png = QrCodeUtils.toByteArray("https://example.com/order/1");
+ *     List<byte[]> labels = QrCodeUtils.toByteArrays(contents, executor);
+ * }
+ * </pre>
+ *
  * @author francis
  * @since 1.0.1
- * @version 1.0.1
+ * @version 1.5.1
  */
 @Slf4j
 public final class QrCodeUtils {
@@ -53,6 +74,34 @@ public final class QrCodeUtils {
      */
     private static final String CHARACTER = "utf-8";
 
+    /**
+     * 缓存的最近生成的二维码数量。
+     */
+    private static final int CACHE_SIZE = 128;
+
+    /**
+     * 二维码编码器，不保存状态，可以在多个线程中共享。
+     */
+    private static final QRCodeWriter WRITER = new QRCodeWriter();
+
+    /**
+     * 编码提示类型和值，包括字符集、纠错级别和边距。
+     */
+    private static final Map<EncodeHintType, Object> HINTS;
+
+    static {
+        Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.CHARACTER_SET, CHARACTER);
+        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
+        hints.put(EncodeHintType.MARGIN, 2);
+        HINTS = Collections.unmodifiableMap(hints);
+    }
+
+    /**
+     * 最近生成的二维码，按访问顺序淘汰。
+     */
+    private static final CodeImageCache CACHE = new CodeImageCache("二维码", CACHE_SIZE, QrCodeUtils::render);
+
     /**
      * 生成二维码图片并保存到指定路径。
      *
@@ -60,9 +109,9 @@ public final class QrCodeUtils {
      * @param path 保存二维码图片的路径，必须是有效的路径，且路径所在的文件夹必须存在。
      * @return boolean 生成成功返回true，失败返回false。
      * @throws IllegalArgumentException 如果二维码内容为空，或路径无效。
-     * @see com.google.zxing.MultiFormatWriter
+     * @see com.google.zxing.qrcode.QRCodeWriter
      * @see com.google.zxing.client.j2se.MatrixToImageWriter
-     * @see java.nio.file.Path
+     * @see #toByteArray(String)
      */
     public static boolean generateQrCode(String content, String path) {
         // 输入验证
@@ -75,22 +124,77 @@ public final class QrCodeUtils {
             return false;
         }
 
-        // 设置编码提示类型和值，包括字符集、纠错级别和边距
-        HashMap<EncodeHintType, Object> hints = new HashMap<>();
-        hints.put(EncodeHintType.CHARACTER_SET, CHARACTER);
-        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
-        hints.put(EncodeHintType.MARGIN, 2);
-
         try {
-            // 使用MultiFormatWriter编码内容为BitMatrix
-            BitMatrix bitMatrix = new MultiFormatWriter().encode(content, BarcodeFormat.QR_CODE, WIDTH, HEIGHT, hints);
-            // 将BitMatrix写入到指定路径的图片文件
-            Path file = new File(path).toPath();
-            MatrixToImageWriter.writeToPath(bitMatrix, DEFAULT_IMAGE_FORMAT, file);
+            Files.write(new File(path).toPath(), CACHE.render(content));
             return true;
         } catch (Exception e) {
             log.error("生成二维码失败, 内容: {}, 路径: {}", content, path, e);
             return false;
         }
     }
+
+    /**
+     * 在内存中生成二维码图片。
+     *
+     * @param content 二维码内容，不能为空或仅包含空白字符。
+     * @return PNG 格式的图片，每次调用返回新的数组。
+     * @throws IllegalArgumentException 如果二维码内容为空。
+     * @throws IllegalStateException    如果编码失败，例如内容超出二维码的容量。
+     */
+    public static byte[] toByteArray(String content) {
+        checkContent(content);
+        return CACHE.render(content).clone();
+    }
+
+    /**
+     * 生成二维码图片并写入输出流，不会关闭输出流。
+     *
+     * @param content      二维码内容，不能为空或仅包含空白字符。
+     * @param outputStream 输出流，不能为空。
+     * @throws IOException              如果写入输出流失败。
+     * @throws IllegalArgumentException 如果二维码内容为空。
+     * @throws IllegalStateException    如果编码失败，例如内容超出二维码的容量。
+     */
+    public static void writeTo(String content, OutputStream outputStream) throws IOException {
+        checkContent(content);
+        outputStream.write(CACHE.render(content));
+    }
+
+    /**
+     * 在给定的执行器上并行生成一批二维码图片，用于批量打印标签。
+     *
+     * @param contents 二维码内容列表，每项都不能为空或仅包含空白字符。
+     * @param executor 执行器，不能为空。
+     * @return PNG 格式的图片，与内容列表的顺序一致。
+     * @throws IllegalArgumentException 如果某项二维码内容为空。
+     * @throws IllegalStateException    如果某项编码失败，此时不再生成剩余的内容。
+     * @throws InterruptedException     如果等待过程中调用线程被中断。
+     */
+    public static List<byte[]> toByteArrays(List<String> contents, Executor executor) throws InterruptedException {
+        for (String content : contents) {
+            checkContent(content);
+        }
+        return CACHE.renderAll(contents, executor);
+    }
+
+    private static void checkContent(String content) {
+        if (content == null || content.trim().isEmpty()) {
+            throw new IllegalArgumentException("二维码内容不能为空");
+        }
+    }
+
+    /**
+     * 生成二维码图片，不经过缓存。
+     */
+    private static byte[] render(String content) {
+        try {
+            BitMatrix bitMatrix = WRITER.encode(content, BarcodeFormat.QR_CODE, WIDTH, HEIGHT, HINTS);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(2048);
+            MatrixToImageWriter.writeToStream(bitMatrix, DEFAULT_IMAGE_FORMAT, outputStream);
+            return outputStream.toByteArray();
+        } catch (WriterException | IOException e) {
+            throw new IllegalStateException("生成二维码失败", e);
+        }
+    }
+
 }
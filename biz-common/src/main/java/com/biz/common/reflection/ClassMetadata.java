@@ -0,0 +1,251 @@
+package com.biz.common.reflection;
+
+import com.biz.common.reflection.model.ConstructorMethodModel;
+import com.biz.common.reflection.model.FieldModel;
+import com.biz.common.reflection.model.MethodModel;
+import com.biz.common.reflection.model.ParameterTypeModel;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 类的反射元数据缓存。
+ *
+ * <p>基于 {@link ClassValue} 为每个类保存一份字段、方法、构造方法和注解的模型集合以及字段访问器，
+ * 各部分在首次访问时才计算，之后直接返回同一份不可修改的集合。</p>
+ *
+ * <p>{@link ClassValue} 将缓存值挂在对应的 {@link Class} 对象上，类卸载时缓存随之回收，
+ * 不会因为热部署等场景下的类加载器替换而造成内存泄漏。</p>
+ *
+ * <p>元数据的计算是幂等的，并发访问时可能重复计算，但所有线程最终看到的结果一致，因此不加锁。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see ReflectionUtils
+ * @since 1.5.1
+ */
+final class ClassMetadata {
+
+    /**
+     * 以类为键的元数据缓存。
+     */
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final Class<?> clazz;
+
+    private volatile Set<FieldModel> declaredFields;
+    private volatile Set<FieldModel> publicFields;
+    private volatile Set<MethodModel> declaredMethods;
+    private volatile Set<MethodModel> publicMethods;
+    private volatile Set<ConstructorMethodModel> constructors;
+    private volatile Set<String> annotationNames;
+
+    /**
+     * 字段访问器缓存，键为字段名。
+     */
+    private final ConcurrentMap<String, FieldAccessor> accessors = new ConcurrentHashMap<>();
+
+    private ClassMetadata(Class<?> clazz) {
+        this.clazz = clazz;
+    }
+
+    /**
+     * 获取指定类的元数据。
+     *
+     * @param clazz 类
+     * @return 类的元数据
+     */
+    static ClassMetadata of(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 获取类声明的所有字段模型。
+     *
+     * @return 不可修改的字段模型集合
+     */
+    Set<FieldModel> declaredFields() {
+        Set<FieldModel> result = declaredFields;
+        if (result == null) {
+            declaredFields = result = buildFieldModelSet(clazz.getDeclaredFields());
+        }
+        return result;
+    }
+
+    /**
+     * 获取类的所有公共字段模型。
+     *
+     * @return 不可修改的字段模型集合
+     */
+    Set<FieldModel> publicFields() {
+        Set<FieldModel> result = publicFields;
+        if (result == null) {
+            publicFields = result = buildFieldModelSet(clazz.getFields());
+        }
+        return result;
+    }
+
+    /**
+     * 获取类声明的所有方法模型。
+     *
+     * @return 不可修改的方法模型集合
+     */
+    Set<MethodModel> declaredMethods() {
+        Set<MethodModel> result = declaredMethods;
+        if (result == null) {
+            declaredMethods = result = buildMethodModelSet(clazz.getDeclaredMethods());
+        }
+        return result;
+    }
+
+    /**
+     * 获取类的所有公共方法模型。
+     *
+     * @return 不可修改的方法模型集合
+     */
+    Set<MethodModel> publicMethods() {
+        Set<MethodModel> result = publicMethods;
+        if (result == null) {
+            publicMethods = result = buildMethodModelSet(clazz.getMethods());
+        }
+        return result;
+    }
+
+    /**
+     * 获取类声明的所有构造方法模型。
+     *
+     * @return 不可修改的构造方法模型集合
+     */
+    Set<ConstructorMethodModel> constructors() {
+        Set<ConstructorMethodModel> result = constructors;
+        if (result == null) {
+            Set<ConstructorMethodModel> set = new HashSet<>();
+            for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+                set.add(ConstructorMethodModel.builder()
+                        .modifier(Modifier.toString(constructor.getModifiers()))
+                        .name(clazz.getSimpleName())
+                        .parameterTypeModels(buildParameterTypeModelSet(constructor.getParameterTypes()))
+                        .build());
+            }
+            constructors = result = Collections.unmodifiableSet(set);
+        }
+        return result;
+    }
+
+    /**
+     * 获取类上所有注解的名称。
+     *
+     * @return 不可修改的注解名称集合
+     */
+    Set<String> annotationNames() {
+        Set<String> result = annotationNames;
+        if (result == null) {
+            Set<String> set = new HashSet<>();
+            for (Annotation annotation : clazz.getAnnotations()) {
+                set.add(annotation.annotationType().getSimpleName());
+            }
+            annotationNames = result = Collections.unmodifiableSet(set);
+        }
+        return result;
+    }
+
+    /**
+     * 获取类中声明的字段的访问器。
+     *
+     * @param field 当前类中声明的字段
+     * @return 字段访问器
+     */
+    FieldAccessor accessor(Field field) {
+        FieldAccessor accessor = accessors.get(field.getName());
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(field.getName(), name -> FieldAccessors.create(field));
+        }
+        return accessor;
+    }
+
+    /**
+     * 根据字段名获取类中声明的字段的访问器。
+     *
+     * @param name 字段名
+     * @return 字段访问器
+     * @throws NoSuchFieldException 如果类中没有声明该字段
+     */
+    FieldAccessor accessor(String name) throws NoSuchFieldException {
+        FieldAccessor accessor = accessors.get(name);
+        if (accessor == null) {
+            accessor = accessor(clazz.getDeclaredField(name));
+        }
+        return accessor;
+    }
+
+    /**
+     * 构建方法参数实体对象模型。
+     *
+     * @param parameterTypes 参数类型数组
+     * @return 不可修改的方法参数实体对象模型集合
+     */
+    private static Set<ParameterTypeModel> buildParameterTypeModelSet(Class<?>[] parameterTypes) {
+        Set<ParameterTypeModel> set = new HashSet<>();
+        for (Class<?> parameterType : parameterTypes) {
+            set.add(ParameterTypeModel.builder()
+                    .name(parameterType.getSimpleName())
+                    .build());
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * 根据类的字段信息构建字段模型集合。
+     *
+     * @param fields 类的字段数组
+     * @return 不可修改的字段模型集合
+     */
+    private static Set<FieldModel> buildFieldModelSet(Field[] fields) {
+        Set<FieldModel> set = new HashSet<>();
+        for (Field field : fields) {
+            // 不检查java权限控制
+            field.setAccessible(true);
+            set.add(FieldModel.builder()
+                    .modifier(Modifier.toString(field.getModifiers()))
+                    .typeName(field.getType().getSimpleName())
+                    .name(field.getName())
+                    .annotations(field.getAnnotations())
+                    .field(field)
+                    .build());
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * 根据类的方法信息构建方法模型集合。
+     *
+     * @param methods 类的方法数组
+     * @return 不可修改的方法模型集合
+     */
+    private static Set<MethodModel> buildMethodModelSet(Method[] methods) {
+        Set<MethodModel> set = new HashSet<>();
+        for (Method method : methods) {
+            set.add(MethodModel.builder()
+                    .modifier(Modifier.toString(method.getModifiers()))
+                    .name(method.getName())
+                    .returnType(method.getReturnType().getSimpleName())
+                    .parameterTypeModels(buildParameterTypeModelSet(method.getParameterTypes()))
+                    .build());
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+}
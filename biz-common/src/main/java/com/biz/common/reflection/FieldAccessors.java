@@ -0,0 +1,383 @@
+package com.biz.common.reflection;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@link FieldAccessor} 的工厂类。
+ *
+ * <p>访问器基于 {@link MethodHandle} 实现：对字段执行一次 {@code setAccessible(true)} 后，
+ * 通过 {@link MethodHandles.Lookup#unreflectGetter(Field)} 与 {@link MethodHandles.Lookup#unreflectSetter(Field)}
+ * 生成读写句柄，并预先适配为通用类型和各基本类型的专用句柄，之后每次读写都不再进行访问权限检查和装箱。
+ * 该方式在 Java 8 及以上版本均可使用；当句柄无法创建时（例如 {@code static final} 字段或模块访问受限），
+ * 会退化为基于 {@link Field#get(Object)} 与 {@link Field#set(Object, Object)} 的反射实现。</p>
+ *
+ * <p>访问器按类缓存（见 {@link ClassMetadata}），同一个字段只会创建一次。</p>
+ *
+ * <pre>{@code
+ * FieldAccessor accessor = FieldAccessors.of(field);
+ * Object value = accessor.get(target);
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see FieldAccessor
+ * @since 1.5.1
+ */
+@Slf4j
+public final class FieldAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GENERIC_GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType GENERIC_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 私有构造方法，防止实例化。
+     */
+    private FieldAccessors() {
+    }
+
+    /**
+     * 获取指定字段的访问器。
+     *
+     * @param field 字段
+     * @return 字段访问器
+     */
+    public static FieldAccessor of(Field field) {
+        return ClassMetadata.of(field.getDeclaringClass()).accessor(field);
+    }
+
+    /**
+     * 获取指定类中声明的字段的访问器。
+     *
+     * @param clazz 声明字段的类
+     * @param name  字段名
+     * @return 字段访问器
+     * @throws NoSuchFieldException 如果类中没有声明该字段
+     */
+    public static FieldAccessor of(Class<?> clazz, String name) throws NoSuchFieldException {
+        return ClassMetadata.of(clazz).accessor(name);
+    }
+
+    /**
+     * 为字段创建访问器，优先使用 {@link MethodHandle} 实现。
+     *
+     * @param field 字段
+     * @return 新创建的字段访问器
+     */
+    static FieldAccessor create(Field field) {
+        try {
+            field.setAccessible(true);
+            return new MethodHandleFieldAccessor(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("无法为字段 {} 创建 MethodHandle 访问器，使用反射实现", field, e);
+            return new ReflectionFieldAccessor(field);
+        }
+    }
+
+    /**
+     * 将调用句柄时抛出的异常转换为运行时异常。
+     */
+    private static RuntimeException rethrow(Field field, Throwable e) {
+        if (e instanceof ClassCastException) {
+            return new IllegalArgumentException("字段 " + field + " 的值类型不匹配", e);
+        }
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new RuntimeException("访问字段 " + field + " 时出现异常", e);
+    }
+
+    /**
+     * 基于 {@link MethodHandle} 的字段访问器。
+     */
+    private static final class MethodHandleFieldAccessor implements FieldAccessor {
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle intGetter;
+        private final MethodHandle intSetter;
+        private final MethodHandle longGetter;
+        private final MethodHandle longSetter;
+        private final MethodHandle doubleGetter;
+        private final MethodHandle doubleSetter;
+        private final MethodHandle booleanGetter;
+        private final MethodHandle booleanSetter;
+
+        MethodHandleFieldAccessor(Field field) throws IllegalAccessException {
+            this.field = field;
+            boolean isStatic = Modifier.isStatic(field.getModifiers());
+
+            MethodHandle rawGetter = LOOKUP.unreflectGetter(field);
+            if (isStatic) {
+                rawGetter = MethodHandles.dropArguments(rawGetter, 0, Object.class);
+            }
+            MethodHandle rawSetter = null;
+            if (!(isStatic && Modifier.isFinal(field.getModifiers()))) {
+                rawSetter = LOOKUP.unreflectSetter(field);
+                if (isStatic) {
+                    rawSetter = MethodHandles.dropArguments(rawSetter, 0, Object.class);
+                }
+            }
+
+            this.getter = rawGetter.asType(GENERIC_GETTER);
+            this.setter = adapt(rawSetter, GENERIC_SETTER);
+            this.intGetter = adapt(rawGetter, MethodType.methodType(int.class, Object.class));
+            this.intSetter = adapt(rawSetter, MethodType.methodType(void.class, Object.class, int.class));
+            this.longGetter = adapt(rawGetter, MethodType.methodType(long.class, Object.class));
+            this.longSetter = adapt(rawSetter, MethodType.methodType(void.class, Object.class, long.class));
+            this.doubleGetter = adapt(rawGetter, MethodType.methodType(double.class, Object.class));
+            this.doubleSetter = adapt(rawSetter, MethodType.methodType(void.class, Object.class, double.class));
+            this.booleanGetter = adapt(rawGetter, MethodType.methodType(boolean.class, Object.class));
+            this.booleanSetter = adapt(rawSetter, MethodType.methodType(void.class, Object.class, boolean.class));
+        }
+
+        /**
+         * 将句柄适配为指定类型，字段类型无法转换为目标类型时返回 {@code null}。
+         */
+        private static MethodHandle adapt(MethodHandle handle, MethodType type) {
+            if (handle == null) {
+                return null;
+            }
+            try {
+                return handle.asType(type);
+            } catch (WrongMethodTypeException e) {
+                return null;
+            }
+        }
+
+        private MethodHandle require(MethodHandle handle, String type) {
+            if (handle == null) {
+                throw new IllegalArgumentException("字段 " + field + " 不支持以 " + type + " 类型访问");
+            }
+            return handle;
+        }
+
+        @Override
+        public Field getField() {
+            return field;
+        }
+
+        @Override
+        public Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+            MethodHandle handle = require(setter, "Object");
+            if (value == null && field.getType().isPrimitive()) {
+                // 与 Field#set 一致，句柄拆箱 null 时会抛出 NullPointerException
+                throw new IllegalArgumentException("不能将 null 写入基本类型字段 " + field);
+            }
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public int getInt(Object target) {
+            MethodHandle handle = require(intGetter, "int");
+            try {
+                return (int) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setInt(Object target, int value) {
+            MethodHandle handle = require(intSetter, "int");
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public long getLong(Object target) {
+            MethodHandle handle = require(longGetter, "long");
+            try {
+                return (long) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setLong(Object target, long value) {
+            MethodHandle handle = require(longSetter, "long");
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public double getDouble(Object target) {
+            MethodHandle handle = require(doubleGetter, "double");
+            try {
+                return (double) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setDouble(Object target, double value) {
+            MethodHandle handle = require(doubleSetter, "double");
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(Object target) {
+            MethodHandle handle = require(booleanGetter, "boolean");
+            try {
+                return (boolean) handle.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object target, boolean value) {
+            MethodHandle handle = require(booleanSetter, "boolean");
+            try {
+                handle.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw rethrow(field, e);
+            }
+        }
+    }
+
+    /**
+     * 基于反射的字段访问器，在无法创建 {@link MethodHandle} 时使用。
+     */
+    private static final class ReflectionFieldAccessor implements FieldAccessor {
+
+        private final Field field;
+
+        ReflectionFieldAccessor(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Field getField() {
+            return field;
+        }
+
+        @Override
+        public Object get(Object target) {
+            try {
+                return field.get(target);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+            try {
+                field.set(target, value);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public int getInt(Object target) {
+            try {
+                return field.getInt(target);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setInt(Object target, int value) {
+            try {
+                field.setInt(target, value);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public long getLong(Object target) {
+            try {
+                return field.getLong(target);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setLong(Object target, long value) {
+            try {
+                field.setLong(target, value);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public double getDouble(Object target) {
+            try {
+                return field.getDouble(target);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setDouble(Object target, double value) {
+            try {
+                field.setDouble(target, value);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(Object target) {
+            try {
+                return field.getBoolean(target);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+
+        @Override
+        public void setBoolean(Object target, boolean value) {
+            try {
+                field.setBoolean(target, value);
+            } catch (IllegalAccessException e) {
+                throw rethrow(field, e);
+            }
+        }
+    }
+
+}
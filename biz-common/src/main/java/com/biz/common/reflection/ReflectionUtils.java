@@ -3,7 +3,6 @@ package com.biz.common.reflection;
 import com.biz.common.reflection.model.ConstructorMethodModel;
 import com.biz.common.reflection.model.FieldModel;
 import com.biz.common.reflection.model.MethodModel;
-import com.biz.common.reflection.model.ParameterTypeModel;
 import com.biz.common.utils.Common;
 
 import java.lang.annotation.Annotation;
@@ -23,9 +22,12 @@ import java.util.*;
  * System.out.println(fields);
  * }</pre>
  *
+ * <p>字段、方法、构造方法和注解名称等元数据按类缓存（见 {@link ClassMetadata}），每个类只计算一次，
+ * 返回的集合不可修改，集合中的模型对象在调用方之间共享，请勿修改。</p>
+ *
  * @author francis
  * @since 1.0.1
- * @version 1.0.1
+ * @version 1.5.1
  */
 public class ReflectionUtils {
 
@@ -176,72 +178,60 @@ public class ReflectionUtils {
      * 获取类的所有字段。
      *
      * @param clazz 待检查的类
-     * @return 类的所有字段的集合
+     * @return 类的所有字段的集合（缓存的不可修改集合）
      */
     public static Set<FieldModel> getFields(Class<?> clazz) {
-        return buildFieldModelSet(clazz.getDeclaredFields());
+        return ClassMetadata.of(clazz).declaredFields();
     }
 
     /**
      * 获取类的所有公共字段。
      *
      * @param clazz 待检查的类
-     * @return 类的所有公共字段的集合
+     * @return 类的所有公共字段的集合（缓存的不可修改集合）
      */
     public static Set<FieldModel> getPublicFields(Class<?> clazz) {
-        return buildFieldModelSet(clazz.getFields());
+        return ClassMetadata.of(clazz).publicFields();
     }
 
     /**
      * 获取类的所有构造方法。
      *
      * @param clazz 待检查的类
-     * @return 类的所有构造方法的集合
+     * @return 类的所有构造方法的集合（缓存的不可修改集合）
      */
     public static Set<ConstructorMethodModel> getConstructors(Class<?> clazz) {
-        Set<ConstructorMethodModel> set = new HashSet<>();
-        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
-            set.add(ConstructorMethodModel.builder()
-                    .modifier(Modifier.toString(constructor.getModifiers()))
-                    .name(clazz.getSimpleName())
-                    .parameterTypeModels(buildParameterTypeModelSet(constructor.getParameterTypes()))
-                    .build());
-        }
-        return set;
+        return ClassMetadata.of(clazz).constructors();
     }
 
     /**
      * 获取类的所有方法。
      *
      * @param clazz 待检查的类
-     * @return 类的所有方法的集合
+     * @return 类的所有方法的集合（缓存的不可修改集合）
      */
     public static Set<MethodModel> getMethods(Class<?> clazz) {
-        return buildMethodModelSet(clazz.getDeclaredMethods());
+        return ClassMetadata.of(clazz).declaredMethods();
     }
 
     /**
      * 获取类的所有公共方法。
      *
      * @param clazz 待检查的类
-     * @return 类的所有公共方法的集合
+     * @return 类的所有公共方法的集合（缓存的不可修改集合）
      */
     public static Set<MethodModel> getPublicMethods(Class<?> clazz) {
-        return buildMethodModelSet(clazz.getMethods());
+        return ClassMetadata.of(clazz).publicMethods();
     }
 
     /**
      * 获取类上所有注解的名称。
      *
      * @param clazz 待检查的类
-     * @return 类上所有注解名称的集合
+     * @return 类上所有注解名称的集合（缓存的不可修改集合）
      */
     public static Set<String> getAnnotationNames(Class<?> clazz) {
-        Set<String> set = new HashSet<>();
-        for (Annotation annotation : clazz.getAnnotations()) {
-            set.add(annotation.annotationType().getSimpleName());
-        }
-        return set;
+        return ClassMetadata.of(clazz).annotationNames();
     }
 
     /**
@@ -409,7 +399,7 @@ public class ReflectionUtils {
 
     /**
      * 根据传入的属性名字符串，修改对应的属性值。
-     * 通过反射机制获取类的指定字段并设置其值。
+     * 通过缓存的 {@link FieldAccessor} 设置类的指定字段的值。
      *
      * @param clazz 类的Class对象
      * @param name  属性名
@@ -422,15 +412,12 @@ public class ReflectionUtils {
      */
     public static void setField(Class<?> clazz, String name, Object obj, Object value)
             throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException {
-        Field field = clazz.getDeclaredField(name);
-        // 不检查java权限控制
-        field.setAccessible(true);
-        field.set(obj, value);
+        FieldAccessors.of(clazz, name).set(obj, value);
     }
 
     /**
      * 取属性字段中的值。
-     * 通过反射机制获取类的指定字段的值。
+     * 通过缓存的 {@link FieldAccessor} 获取类的指定字段的值。
      *
      * @param field 属性字段对象
      * @param value 属性字段所属的实例对象
@@ -438,8 +425,7 @@ public class ReflectionUtils {
      * @throws IllegalAccessException 如果访问字段值被限制
      */
     public static Object getByFieldValue(Field field, Object value) throws IllegalAccessException {
-        field.setAccessible(true);
-        return field.get(value);
+        return FieldAccessors.of(field).get(value);
     }
 
     /**
@@ -488,64 +474,4 @@ public class ReflectionUtils {
         return clazz.getPackage();
     }
 
-    /**
-     * 构建方法参数实体对象模型。
-     * 根据参数类型数组构建一个方法参数实体对象模型的集合。
-     *
-     * @param parameterTypes 参数类型数组
-     * @return 方法参数实体对象模型的集合
-     */
-    private static Set<ParameterTypeModel> buildParameterTypeModelSet(Class<?>[] parameterTypes) {
-        Set<ParameterTypeModel> set = new HashSet<>();
-        for (Class<?> parameterType : parameterTypes) {
-            set.add(ParameterTypeModel.builder()
-                    .name(parameterType.getSimpleName())
-                    .build());
-        }
-        return set;
-    }
-
-    /**
-     * 根据类的字段信息构建字段模型集合。
-     * 字段模型包含了字段的修饰符、类型、名称、注解等信息。
-     *
-     * @param fields 类的字段数组
-     * @return 字段模型的集合
-     */
-    private static Set<FieldModel> buildFieldModelSet(Field[] fields) {
-        Set<FieldModel> set = new HashSet<>();
-        for (Field field : fields) {
-            // 不检查java权限控制
-            field.setAccessible(true);
-            set.add(FieldModel.builder()
-                    .modifier(Modifier.toString(field.getModifiers()))
-                    .typeName(field.getType().getSimpleName())
-                    .name(field.getName())
-                    .annotations(field.getAnnotations())
-                    .field(field)
-                    .build());
-        }
-        return set;
-    }
-
-    /**
-     * 根据类的方法信息构建方法模型集合。
-     * 方法模型包含了方法的修饰符、名称、返回类型、参数类型等信息。
-     *
-     * @param methods 类的方法数组
-     * @return 方法模型的集合
-     */
-    private static Set<MethodModel> buildMethodModelSet(Method[] methods) {
-        Set<MethodModel> set = new HashSet<>();
-        for (Method method : methods) {
-            set.add(MethodModel.builder()
-                    .modifier(Modifier.toString(method.getModifiers()))
-                    .name(method.getName())
-                    .returnType(method.getReturnType().getSimpleName())
-                    .parameterTypeModels(buildParameterTypeModelSet(method.getParameterTypes()))
-                    .build());
-        }
-        return set;
-    }
-
 }
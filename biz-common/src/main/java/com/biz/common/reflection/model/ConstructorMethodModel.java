@@ -13,12 +13,14 @@ import java.util.Set;
  *
  * <p>例如，通过该模型可以获取构造器的修饰符、名称，以及构造器所接受的参数类型集合。</p>
  *
+ * <p>{@link com.biz.common.reflection.ReflectionUtils} 返回的模型会被缓存并在调用方之间共享，不能修改：
+ * 修改会影响其他调用方，并且会破坏所在集合的哈希结构。setter 方法仅为兼容保留，已标记为过时。</p>
+ *
  * @author francis
  * @since 1.0.1
- * @version 1.0.1
+ * @version 1.5.1
  * @see ParameterTypeModel
  */
-@Setter
 @Getter
 @ToString
 @Builder
@@ -43,4 +45,37 @@ public class ConstructorMethodModel implements Serializable {
      */
     private Set<ParameterTypeModel> parameterTypeModels;
 
+    /**
+     * 设置构造器的修饰符。
+     *
+     * @param modifier 构造器的修饰符
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setModifier(String modifier) {
+        this.modifier = modifier;
+    }
+
+    /**
+     * 设置构造器的名称。
+     *
+     * @param name 构造器的名称
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 设置构造器参数的类型集合。
+     *
+     * @param parameterTypeModels 构造器参数的类型集合
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setParameterTypeModels(Set<ParameterTypeModel> parameterTypeModels) {
+        this.parameterTypeModels = parameterTypeModels;
+    }
+
 }
@@ -14,14 +14,16 @@ import java.lang.reflect.Field;
  *
  * <p>例如，通过该模型可以获取字段的名称、修饰符、类型名称以及该字段上的注解数组。</p>
  *
+ * <p>{@link com.biz.common.reflection.ReflectionUtils} 返回的模型会被缓存并在调用方之间共享，不能修改：
+ * 修改会影响其他调用方，并且会破坏所在集合的哈希结构。setter 方法仅为兼容保留，已标记为过时。</p>
+ *
  *
  * @author francis
  * @since 1.0.1
- * @version 1.0.1
+ * @version 1.5.1
  * @see java.lang.reflect.Field
  * @see java.lang.annotation.Annotation
  */
-@Setter
 @Getter
 @ToString
 @Builder
@@ -55,4 +57,59 @@ public class FieldModel implements Serializable {
      */
     private Field field;
 
+    /**
+     * 设置字段的名称。
+     *
+     * @param name 字段的名称
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 设置字段的修饰符。
+     *
+     * @param modifier 字段的修饰符
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setModifier(String modifier) {
+        this.modifier = modifier;
+    }
+
+    /**
+     * 设置字段的数据类型名称。
+     *
+     * @param typeName 字段的数据类型名称
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setTypeName(String typeName) {
+        this.typeName = typeName;
+    }
+
+    /**
+     * 设置字段上声明的注解数组。
+     *
+     * @param annotations 字段上声明的注解数组
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setAnnotations(Annotation[] annotations) {
+        this.annotations = annotations;
+    }
+
+    /**
+     * 设置字段对应的原始Field对象。
+     *
+     * @param field 字段对应的原始Field对象
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setField(Field field) {
+        this.field = field;
+    }
+
 }
@@ -13,12 +13,14 @@ import java.util.Set;
  *
  * <p>例如，通过该模型可以获取方法的修饰符、名称、返回值类型，以及方法的参数类型集合。</p>
  *
+ * <p>{@link com.biz.common.reflection.ReflectionUtils} 返回的模型会被缓存并在调用方之间共享，不能修改：
+ * 修改会影响其他调用方，并且会破坏所在集合的哈希结构。setter 方法仅为兼容保留，已标记为过时。</p>
+ *
  * @author francis
  * @since 1.0.1
- * @version 1.0.1
+ * @version 1.5.1
  * @see ParameterTypeModel
  */
-@Setter
 @Getter
 @ToString
 @Builder
@@ -48,4 +50,48 @@ public class MethodModel implements Serializable {
      */
     private Set<ParameterTypeModel> parameterTypeModels;
 
+    /**
+     * 设置方法的修饰符。
+     *
+     * @param modifier 方法的修饰符
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setModifier(String modifier) {
+        this.modifier = modifier;
+    }
+
+    /**
+     * 设置方法的名称。
+     *
+     * @param name 方法的名称
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 设置方法的返回值类型名称。
+     *
+     * @param returnType 方法的返回值类型名称
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setReturnType(String returnType) {
+        this.returnType = returnType;
+    }
+
+    /**
+     * 设置方法的参数类型集合。
+     *
+     * @param parameterTypeModels 方法的参数类型集合
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setParameterTypeModels(Set<ParameterTypeModel> parameterTypeModels) {
+        this.parameterTypeModels = parameterTypeModels;
+    }
+
 }
@@ -12,11 +12,13 @@ import java.io.Serializable;
  *
  * <p>例如，通过该模型可以获取方法参数的名称，并结合其他模型进行更复杂的反射操作。</p>
  *
+ * <p>{@link com.biz.common.reflection.ReflectionUtils} 返回的模型会被缓存并在调用方之间共享，不能修改：
+ * 修改会影响其他调用方，并且会破坏所在集合的哈希结构。setter 方法仅为兼容保留，已标记为过时。</p>
+ *
  * @author francis
  * @since 1.0.1
- * @version 1.0.1
+ * @version 1.5.1
  */
-@Setter
 @Getter
 @ToString
 @Builder
@@ -30,4 +32,15 @@ public class ParameterTypeModel implements Serializable {
      */
     private String name;
 
+    /**
+     * 设置方法参数的名称。
+     *
+     * @param name 方法参数的名称
+     * @deprecated 原因见类说明，请通过 {@link #builder()} 创建新的实例，将在后续版本中移除
+     */
+    @Deprecated
+    public void setName(String name) {
+        this.name = name;
+    }
+
 }
@@ -0,0 +1,453 @@
+package com.biz.common.transactional;
+
+import com.biz.common.concurrent.NamedThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 组提交事务执行器。
+ *
+ * <p>{@link TransactionalRunner} 为每个代码块开启一个事务，写审计日志、更新计数器这类高频小写入会为每一行付出一次提交（刷盘）的代价。
+ * 该类将提交的代码块放入队列，由一个提交线程攒够 {@code maxBatchSize} 个或等待 {@code maxDelay} 后，
+ * 通过被包装的 {@link TransactionalRunner} 在同一个事务中依次执行，然后分别完成每个调用方的 {@link CompletableFuture}。</p>
+ *
+ * <p>同一批中某个代码块抛出异常时整个事务回滚，随后该代码块在独立的事务中单独重试，以确定它自身的结果，
+ * 其余代码块再次合并为一个事务执行，因此一个失败的代码块不会影响同批其他调用方。
+ * 异常发生在提交阶段、无法确定是哪个代码块导致时，逐个在独立的事务中重试。</p>
+ *
+ * <p>注意：</p>
+ * <ul>
+ *     <li>代码块在提交线程中执行，不在调用方线程的事务和线程上下文中；</li>
+ *     <li>回滚后代码块可能被再次执行，代码块应只包含数据库写入，不应有发送消息等不可回滚的副作用；</li>
+ *     <li>本类实现了 {@link TransactionalRunner}，{@link #run(Runnable)} 和 {@link #apply(Supplier)} 会阻塞等待所在批次提交完成，
+ *     可直接替换原有的 {@link TransactionalRunner} 使用。</li>
+ * </ul>
+ *
+ * <h2>示例代码：</h2>
+ * <pre>{@code
+ *     GroupCommitRunner groupCommitRunner = GroupCommitRunner.builder(transactionalRunner)
+ *         .maxBatchSize(100)
+ *         .maxDelay(5, TimeUnit.MILLISECONDS)
+ *         .build();
+ *     CompletableFuture<Void> future = groupCommitRunner.submit(() -> auditMapper.insert(audit));
+ * }
+ * </pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see TransactionalRunner
+ * @since 1.5.1
+ */
+@Slf4j
+public final class GroupCommitRunner implements TransactionalRunner, AutoCloseable {
+
+    /**
+     * 队列为空时提交线程、队列已满时提交方检查是否已关闭的间隔，单位为毫秒。
+     */
+    private static final long CLOSE_CHECK_MILLIS = 100;
+
+    private final TransactionalRunner delegate;
+
+    private final int maxBatchSize;
+
+    private final long maxDelayNanos;
+
+    private final BlockingQueue<Unit<?>> queue;
+
+    private final Thread committer;
+
+    private volatile boolean closed;
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder unitCount = new LongAdder();
+    private final LongAdder rollbackCount = new LongAdder();
+    private final LongAdder failedUnitCount = new LongAdder();
+
+    private GroupCommitRunner(Builder builder) {
+        this.delegate = builder.delegate;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxDelayNanos = builder.maxDelayNanos;
+        this.queue = new LinkedBlockingQueue<>(builder.queueCapacity);
+        this.committer = new NamedThreadFactory(builder.name, true).newThread(this::commitLoop);
+        this.committer.start();
+    }
+
+    /**
+     * 创建组提交事务执行器构建器。
+     *
+     * @param delegate 实际开启事务的 {@link TransactionalRunner}，不能为空
+     * @return 构建器
+     */
+    public static Builder builder(TransactionalRunner delegate) {
+        return new Builder(delegate);
+    }
+
+    /**
+     * 提交有返回值的代码块，队列已满时阻塞等待。
+     *
+     * @param supplier 代码块
+     * @param <T>      结果类型
+     * @return 代码块所在事务提交后完成的 {@link CompletableFuture}
+     * @throws RejectedExecutionException 如果执行器已关闭，或等待队列空位时线程被中断
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("代码块不能为空");
+        }
+        if (closed) {
+            throw new RejectedExecutionException("组提交事务执行器已关闭");
+        }
+        Unit<T> unit = new Unit<>(supplier);
+        try {
+            // 定时醒来检查是否已关闭，避免关闭后提交线程不再取出代码块时一直阻塞
+            while (!queue.offer(unit, CLOSE_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    throw new RejectedExecutionException("组提交事务执行器已关闭");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("等待组提交队列空位时线程被中断", e);
+        }
+        // 放入队列前执行器可能已经关闭，提交线程最后一次取出代码块之后放入的代码块不会被处理；
+        // 移除失败说明代码块已被提交线程或 close() 取出，由它们完成对应的 Future
+        if (closed && queue.remove(unit)) {
+            throw new RejectedExecutionException("组提交事务执行器已关闭");
+        }
+        return unit.future;
+    }
+
+    /**
+     * 提交无返回值的代码块，队列已满时阻塞等待。
+     *
+     * @param runnable 代码块
+     * @return 代码块所在事务提交后完成的 {@link CompletableFuture}
+     * @throws RejectedExecutionException 如果执行器已关闭，或等待队列空位时线程被中断
+     */
+    public CompletableFuture<Void> submit(Runnable runnable) {
+        if (runnable == null) {
+            throw new IllegalArgumentException("代码块不能为空");
+        }
+        return submit(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 提交代码块并等待所在事务提交。
+     *
+     * @param runnable 代码块
+     */
+    @Override
+    public void run(Runnable runnable) {
+        await(submit(runnable));
+    }
+
+    /**
+     * 提交代码块并等待所在事务提交，返回代码块的结果。
+     *
+     * @param supplier 代码块
+     * @param <TR>     结果类型
+     * @return 代码块的结果
+     */
+    @Override
+    public <TR> TR apply(Supplier<TR> supplier) {
+        return await(submit(supplier));
+    }
+
+    /**
+     * 获取已开启的事务数（包括回滚的事务和单独重试的事务）。
+     *
+     * @return 事务数
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * 获取已处理的代码块数。
+     *
+     * @return 代码块数
+     */
+    public long getUnitCount() {
+        return unitCount.sum();
+    }
+
+    /**
+     * 获取因代码块失败导致整批回滚的次数。
+     *
+     * @return 回滚次数
+     */
+    public long getRollbackCount() {
+        return rollbackCount.sum();
+    }
+
+    /**
+     * 获取单独重试后仍然失败的代码块数。
+     *
+     * @return 失败的代码块数
+     */
+    public long getFailedUnitCount() {
+        return failedUnitCount.sum();
+    }
+
+    /**
+     * 关闭执行器，不再接受新的代码块，等待队列中已有的代码块全部提交后返回。
+     * 与关闭同时提交、在提交线程结束后才进入队列的代码块以 {@link RejectedExecutionException} 结束。
+     *
+     * @throws InterruptedException 如果等待过程中线程被中断
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        committer.join();
+        rejectPending();
+    }
+
+    @Override
+    public String toString() {
+        return "GroupCommitRunner[batches = " + getBatchCount()
+                + ", units = " + getUnitCount()
+                + ", rollbacks = " + getRollbackCount()
+                + ", failedUnits = " + getFailedUnitCount()
+                + ", queued = " + queue.size() + "]";
+    }
+
+    /**
+     * 提交线程的主循环：取出第一个代码块后，在 {@code maxDelay} 内继续收集，直到达到 {@code maxBatchSize}。
+     */
+    private void commitLoop() {
+        List<Unit<?>> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                // 定时醒来检查是否已关闭，不通过中断唤醒，避免打断正在执行的事务
+                Unit<?> first = closed ? queue.poll() : queue.poll(CLOSE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Unit<?> next = remaining > 0 && !closed
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                log.warn("组提交线程被中断，继续提交已收集的代码块");
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+        rejectPending();
+    }
+
+    /**
+     * 以 {@link RejectedExecutionException} 结束队列中剩余的代码块。
+     */
+    private void rejectPending() {
+        Unit<?> unit;
+        while ((unit = queue.poll()) != null) {
+            unit.future.completeExceptionally(new RejectedExecutionException("组提交事务执行器已关闭"));
+        }
+    }
+
+    /**
+     * 在一个事务中执行一批代码块；有代码块失败时将其单独重试，其余代码块再次合并提交。
+     */
+    private void commit(List<Unit<?>> batch) {
+        unitCount.add(batch.size());
+        List<Unit<?>> remaining = new ArrayList<>(batch);
+        while (!remaining.isEmpty()) {
+            if (remaining.size() == 1) {
+                runAlone(remaining.get(0));
+                return;
+            }
+            int[] failedIndex = {-1};
+            try {
+                batchCount.increment();
+                delegate.run(() -> {
+                    for (int i = 0; i < remaining.size(); i++) {
+                        try {
+                            remaining.get(i).execute();
+                        } catch (RuntimeException | Error e) {
+                            failedIndex[0] = i;
+                            throw e;
+                        }
+                    }
+                });
+                for (Unit<?> unit : remaining) {
+                    unit.complete();
+                }
+                return;
+            } catch (Throwable t) {
+                rollbackCount.increment();
+                if (failedIndex[0] < 0) {
+                    // 无法确定是哪个代码块导致失败（例如提交时违反约束），逐个单独重试
+                    for (Unit<?> unit : remaining) {
+                        runAlone(unit);
+                    }
+                    return;
+                }
+                runAlone(remaining.remove(failedIndex[0]));
+            }
+        }
+    }
+
+    /**
+     * 在独立的事务中执行单个代码块，并以其结果完成对应的 {@link CompletableFuture}。
+     */
+    private void runAlone(Unit<?> unit) {
+        try {
+            batchCount.increment();
+            delegate.run(unit::execute);
+            unit.complete();
+        } catch (Throwable t) {
+            failedUnitCount.increment();
+            unit.future.completeExceptionally(t);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("等待组提交完成时线程被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * 待提交的代码块。执行结果在事务提交后才交给调用方，回滚后重新执行会覆盖之前的结果。
+     */
+    private static final class Unit<T> {
+
+        private final Supplier<T> supplier;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private T result;
+
+        Unit(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        void execute() {
+            result = supplier.get();
+        }
+
+        void complete() {
+            future.complete(result);
+        }
+    }
+
+    /**
+     * {@link GroupCommitRunner} 构建器。
+     */
+    public static class Builder {
+
+        private final TransactionalRunner delegate;
+        private String name = "group-commit";
+        private int maxBatchSize = 64;
+        private long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(5);
+        private int queueCapacity = 10_000;
+
+        private Builder(TransactionalRunner delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("TransactionalRunner 不能为空");
+            }
+            this.delegate = delegate;
+        }
+
+        /**
+         * 设置名称，用作提交线程的名称前缀，默认为 "group-commit"。
+         *
+         * @param name 名称
+         * @return Builder
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * 设置每个事务最多包含的代码块数，默认为64。
+         *
+         * @param maxBatchSize 每批最大代码块数
+         * @return Builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("每批最大代码块数必须大于0");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * 设置一批中第一个代码块最多等待多久就提交，默认为5毫秒。
+         *
+         * @param maxDelay 最长等待时间
+         * @param unit     时间单位
+         * @return Builder
+         */
+        public Builder maxDelay(long maxDelay, TimeUnit unit) {
+            if (maxDelay < 0) {
+                throw new IllegalArgumentException("最长等待时间不能小于0");
+            }
+            this.maxDelayNanos = unit.toNanos(maxDelay);
+            return this;
+        }
+
+        /**
+         * 设置等待提交的队列容量，默认为10000，队列满时提交方阻塞。
+         *
+         * @param queueCapacity 队列容量
+         * @return Builder
+         */
+        public Builder queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("队列容量必须大于0");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * 构建并启动组提交事务执行器。
+         *
+         * @return 组提交事务执行器
+         */
+        public GroupCommitRunner build() {
+            return new GroupCommitRunner(this);
+        }
+    }
+
+}
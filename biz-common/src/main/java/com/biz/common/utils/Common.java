@@ -1,6 +1,7 @@
 package com.biz.common.utils;
 
-import com.biz.common.date.datetime.DateTimeUtils;
+import com.biz.common.date.CachedDateTimeFormatter;
+import com.biz.common.date.DateConstant;
 import com.biz.common.random.PhoneNumberUtils;
 import com.biz.common.random.RandomUtils;
 
@@ -78,22 +79,23 @@ public final class Common {
 
     /**
      * 获取当前时间的字符串表示。
-     * 格式为"yyyy-MM-dd HH:mm:ss"。
+     * 格式为"yyyy-MM-dd HH:mm:ss"，同一秒内的调用返回缓存的字符串。
      *
      * @return 当前时间的字符串表示
      */
     public static String now() {
-        return DateTimeUtils.longToDateStr(System.currentTimeMillis());
+        return CachedDateTimeFormatter.of(DateConstant.DEFAULT_DATETIME).now();
     }
 
     /**
      * 获取当前时间的字符串表示，根据指定格式。
+     * 同一刻度（格式含毫秒时为同一毫秒，否则为同一秒）内的调用返回缓存的字符串。
      *
      * @param format 时间格式
      * @return 按指定格式格式化后的当前时间字符串
      */
     public static String now(String format) {
-        return DateTimeUtils.longToDateStr(System.currentTimeMillis(), format);
+        return CachedDateTimeFormatter.of(format).now();
     }
 
     /**
@@ -0,0 +1,82 @@
+package com.biz.common.utils;
+
+import java.util.zip.Checksum;
+
+/**
+ * CRC32C（Castagnoli）校验和的纯 Java 实现，使用 slicing-by-8 查表法每次处理8个字节。
+ *
+ * <p>Java 9 及以上版本的 {@code java.util.zip.CRC32C} 使用 CPU 指令计算，速度更快；
+ * {@link HashAlgorithm#CRC32C} 优先使用它，只在 Java 8 上使用该类。</p>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see HashAlgorithm#CRC32C
+ * @since 1.5.1
+ */
+final class Crc32c implements Checksum {
+
+    /**
+     * CRC32C 多项式的反转表示
+     */
+    private static final int POLYNOMIAL = 0x82F63B78;
+
+    private static final int[][] TABLES = new int[8][256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+            }
+            TABLES[0][i] = crc;
+        }
+        for (int i = 0; i < 256; i++) {
+            for (int t = 1; t < 8; t++) {
+                int previous = TABLES[t - 1][i];
+                TABLES[t][i] = (previous >>> 8) ^ TABLES[0][previous & 0xFF];
+            }
+        }
+    }
+
+    private int crc = 0xFFFFFFFF;
+
+    @Override
+    public void update(int b) {
+        crc = (crc >>> 8) ^ TABLES[0][(crc ^ b) & 0xFF];
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        int[] t0 = TABLES[0];
+        int[] t1 = TABLES[1];
+        int[] t2 = TABLES[2];
+        int[] t3 = TABLES[3];
+        int[] t4 = TABLES[4];
+        int[] t5 = TABLES[5];
+        int[] t6 = TABLES[6];
+        int[] t7 = TABLES[7];
+        int value = crc;
+        int end = off + len;
+        for (; off + 8 <= end; off += 8) {
+            int low = value ^ ((b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8 | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24);
+            int high = (b[off + 4] & 0xFF) | (b[off + 5] & 0xFF) << 8 | (b[off + 6] & 0xFF) << 16 | (b[off + 7] & 0xFF) << 24;
+            value = t7[low & 0xFF] ^ t6[(low >>> 8) & 0xFF] ^ t5[(low >>> 16) & 0xFF] ^ t4[low >>> 24]
+                    ^ t3[high & 0xFF] ^ t2[(high >>> 8) & 0xFF] ^ t1[(high >>> 16) & 0xFF] ^ t0[high >>> 24];
+        }
+        for (; off < end; off++) {
+            value = (value >>> 8) ^ t0[(value ^ b[off]) & 0xFF];
+        }
+        crc = value;
+    }
+
+    @Override
+    public long getValue() {
+        return ~crc & 0xFFFFFFFFL;
+    }
+
+    @Override
+    public void reset() {
+        crc = 0xFFFFFFFF;
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.biz.common.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 文件哈希工具类，支持 MD5、SHA-256、CRC32C、xxHash64 等算法（见 {@link HashAlgorithm}）。
+ *
+ * <p>文件通过 {@link FileChannel} 读取：小文件使用 1MB 的缓冲区按位置读取，大于 {@value #MAP_THRESHOLD} 字节的文件
+ * 按 {@value #MAP_REGION_SIZE} 字节的区域映射到内存（{@link FileChannel#map}），省去从内核缓冲区到用户空间的复制和大量系统调用。</p>
+ *
+ * <p>{@link #chunkedHash(Path, HashAlgorithm, long, Executor)} 将文件切分为固定大小的块并行计算每块的哈希，
+ * 再对所有块哈希按顺序拼接后的数据计算一次哈希作为整个文件的哈希（两层哈希树，与 S3 分片上传的 ETag 类似）。
+ * 它与 {@link #hash(Path, HashAlgorithm)} 的结果不同，只能和同样块大小的分块哈希比较；块哈希可用于断点续传时定位损坏的分块。</p>
+ *
+ * <pre>{@code
+ * String sha256 = FileHashUtils.hash(Paths.get("backup.tar"), HashAlgorithm.SHA_256);
+ * String dedupeKey = FileHashUtils.hash(Paths.get("video.mp4"), HashAlgorithm.XXH64);
+ *
+ * FileHashUtils.ChunkedHash tree = FileHashUtils.chunkedHash(Paths.get("huge.iso"), HashAlgorithm.SHA_256,
+ *         64 * 1024 * 1024, executor);
+ * String root = tree.getRoot();
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see HashAlgorithm
+ * @see MD5Utils#computeFileMD5(java.io.File)
+ * @since 1.5.1
+ */
+public final class FileHashUtils {
+
+    /**
+     * 超过该大小的文件映射到内存中读取
+     */
+    private static final long MAP_THRESHOLD = 4L * 1024 * 1024;
+
+    /**
+     * 每次映射的区域大小
+     */
+    private static final long MAP_REGION_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * 不映射时使用的读取缓冲区大小
+     */
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * 私有构造方法，防止实例化
+     */
+    private FileHashUtils() {
+    }
+
+    /**
+     * 计算文件的哈希值。
+     *
+     * @param file      文件，不能为空
+     * @param algorithm 哈希算法，不能为空
+     * @return 小写十六进制字符串形式的哈希值
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static String hash(Path file, HashAlgorithm algorithm) throws IOException {
+        return HexUtils.encodeHex(digest(file, algorithm));
+    }
+
+    /**
+     * 计算文件的哈希值。
+     *
+     * @param file      文件，不能为空
+     * @param algorithm 哈希算法，不能为空
+     * @return 哈希值
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static byte[] digest(Path file, HashAlgorithm algorithm) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            HashAlgorithm.Hasher hasher = algorithm.newHasher();
+            update(hasher, channel, 0, channel.size());
+            return hasher.digest();
+        }
+    }
+
+    /**
+     * 使用 {@link ForkJoinPool#commonPool()} 并行计算文件的分块哈希。
+     *
+     * @param file      文件，不能为空
+     * @param algorithm 哈希算法，不能为空
+     * @param chunkSize 块大小，必须大于0
+     * @return 分块哈希
+     * @throws IOException 读取文件失败时抛出
+     * @see #chunkedHash(Path, HashAlgorithm, long, Executor)
+     */
+    public static ChunkedHash chunkedHash(Path file, HashAlgorithm algorithm, long chunkSize) throws IOException {
+        return chunkedHash(file, algorithm, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在指定的执行器上并行计算文件的分块哈希。
+     *
+     * <p>每个块由一个任务读取和计算，各任务共享同一个 {@link FileChannel}（按位置读取和映射是线程安全的）。
+     * 整个文件的哈希为所有块哈希按顺序拼接后的哈希；空文件视为一个空块。</p>
+     *
+     * @param file      文件，不能为空
+     * @param algorithm 哈希算法，不能为空
+     * @param chunkSize 块大小，必须大于0
+     * @param executor  执行器，不能为空
+     * @return 分块哈希
+     * @throws IOException 读取文件失败时抛出
+     */
+    public static ChunkedHash chunkedHash(Path file, HashAlgorithm algorithm, long chunkSize, Executor executor) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("块大小必须大于0");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunkCount = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+            List<CompletableFuture<byte[]>> futures = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                long position = i * chunkSize;
+                long length = Math.min(chunkSize, size - position);
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    HashAlgorithm.Hasher hasher = algorithm.newHasher();
+                    try {
+                        update(hasher, channel, position, length);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return hasher.digest();
+                }, executor));
+            }
+
+            HashAlgorithm.Hasher root = algorithm.newHasher();
+            List<String> chunks = new ArrayList<>(chunkCount);
+            for (CompletableFuture<byte[]> future : futures) {
+                byte[] digest = join(future);
+                root.update(ByteBuffer.wrap(digest));
+                chunks.add(HexUtils.encodeHex(digest));
+            }
+            return new ChunkedHash(algorithm, chunkSize, size, HexUtils.encodeHex(root.digest()), chunks);
+        }
+    }
+
+    /**
+     * 将文件中 {@code [position, position + length)} 范围的数据加入哈希计算。
+     *
+     * @param hasher   哈希计算器
+     * @param channel  文件通道
+     * @param position 起始位置
+     * @param length   长度
+     * @throws IOException 读取文件失败时抛出
+     */
+    private static void update(HashAlgorithm.Hasher hasher, FileChannel channel, long position, long length) throws IOException {
+        long end = position + length;
+        if (length > MAP_THRESHOLD) {
+            for (long offset = position; offset < end; offset += MAP_REGION_SIZE) {
+                hasher.update(channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(MAP_REGION_SIZE, end - offset)));
+            }
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(READ_BUFFER_SIZE, Math.max(length, 1)));
+        for (long offset = position; offset < end; ) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - offset));
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("文件在计算哈希的过程中被截断");
+            }
+            buffer.flip();
+            hasher.update(buffer);
+            offset += read;
+        }
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 分块哈希的结果。
+     */
+    public static final class ChunkedHash {
+
+        private final HashAlgorithm algorithm;
+
+        private final long chunkSize;
+
+        private final long fileSize;
+
+        private final String root;
+
+        private final List<String> chunks;
+
+        private ChunkedHash(HashAlgorithm algorithm, long chunkSize, long fileSize, String root, List<String> chunks) {
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+            this.fileSize = fileSize;
+            this.root = root;
+            this.chunks = Collections.unmodifiableList(chunks);
+        }
+
+        /**
+         * 获取哈希算法。
+         *
+         * @return 哈希算法
+         */
+        public HashAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * 获取块大小。
+         *
+         * @return 块大小
+         */
+        public long getChunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * 获取文件大小。
+         *
+         * @return 文件大小
+         */
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        /**
+         * 获取整个文件的哈希，即所有块哈希按顺序拼接后的哈希。
+         *
+         * @return 小写十六进制字符串形式的哈希值
+         */
+        public String getRoot() {
+            return root;
+        }
+
+        /**
+         * 获取每个块的哈希。
+         *
+         * @return 按块顺序排列的小写十六进制字符串形式的哈希值
+         */
+        public List<String> getChunks() {
+            return chunks;
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkedHash[algorithm = " + algorithm
+                    + ", chunkSize = " + chunkSize
+                    + ", fileSize = " + fileSize
+                    + ", chunks = " + chunks.size()
+                    + ", root = " + root + "]";
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.biz.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * {@link FileHashUtils} 支持的哈希算法。
+ *
+ * <ul>
+ *     <li>{@link #MD5}、{@link #SHA_1}、{@link #SHA_256}：基于 {@link MessageDigest} 的加密哈希，SHA-256 用于防篡改校验。</li>
+ *     <li>{@link #CRC32}、{@link #CRC32C}：32位校验和，用于检测传输和存储错误，结果为大端序的4个字节。</li>
+ *     <li>{@link #XXH64}：64位非加密哈希，速度最快，用于文件去重，结果为大端序的8个字节。</li>
+ * </ul>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see FileHashUtils
+ * @since 1.5.1
+ */
+@Slf4j
+public enum HashAlgorithm {
+
+    MD5 {
+        @Override
+        Hasher newHasher() {
+            return new DigestHasher(messageDigest("MD5"));
+        }
+    },
+
+    SHA_1 {
+        @Override
+        Hasher newHasher() {
+            return new DigestHasher(messageDigest("SHA-1"));
+        }
+    },
+
+    SHA_256 {
+        @Override
+        Hasher newHasher() {
+            return new DigestHasher(messageDigest("SHA-256"));
+        }
+    },
+
+    CRC32 {
+        @Override
+        Hasher newHasher() {
+            return new ChecksumHasher(new CRC32(), 4);
+        }
+    },
+
+    CRC32C {
+        @Override
+        Hasher newHasher() {
+            return new ChecksumHasher(newCrc32c(), 4);
+        }
+    },
+
+    XXH64 {
+        @Override
+        Hasher newHasher() {
+            XxHash64 hash = new XxHash64();
+            return new ChecksumHasher(hash, 8) {
+                @Override
+                public void update(ByteBuffer buffer) {
+                    hash.update(buffer);
+                }
+            };
+        }
+    };
+
+    /**
+     * Java 9 引入的 {@code java.util.zip.CRC32C} 的构造器，Java 8 上为 {@code null}
+     */
+    private static final Constructor<?> JDK_CRC32C;
+
+    static {
+        Constructor<?> constructor = null;
+        try {
+            constructor = Class.forName("java.util.zip.CRC32C").getConstructor();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("当前运行环境没有 java.util.zip.CRC32C，将使用纯 Java 实现");
+        }
+        JDK_CRC32C = constructor;
+    }
+
+    /**
+     * 创建该算法的哈希计算器。
+     *
+     * @return 哈希计算器
+     */
+    abstract Hasher newHasher();
+
+    private static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("无法获取 " + algorithm + " MessageDigest 实例", e);
+        }
+    }
+
+    private static Checksum newCrc32c() {
+        if (JDK_CRC32C != null) {
+            try {
+                return (Checksum) JDK_CRC32C.newInstance();
+            } catch (ReflectiveOperationException e) {
+                log.debug("创建 java.util.zip.CRC32C 失败，将使用纯 Java 实现", e);
+            }
+        }
+        return new Crc32c();
+    }
+
+    /**
+     * 哈希计算器，不是线程安全的。
+     */
+    interface Hasher {
+
+        /**
+         * 将缓冲区中剩余的数据加入计算，之后缓冲区的 position 等于 limit。
+         *
+         * @param buffer 数据
+         */
+        void update(ByteBuffer buffer);
+
+        /**
+         * 完成计算并返回哈希值。
+         *
+         * @return 哈希值
+         */
+        byte[] digest();
+    }
+
+    /**
+     * 基于 {@link MessageDigest} 的哈希计算器。
+     */
+    private static final class DigestHasher implements Hasher {
+
+        private final MessageDigest digest;
+
+        private DigestHasher(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            digest.update(buffer);
+        }
+
+        @Override
+        public byte[] digest() {
+            return digest.digest();
+        }
+    }
+
+    /**
+     * 基于 {@link Checksum} 的哈希计算器。Java 8 的 {@link Checksum} 只接受字节数组，直接缓冲区中的数据经由临时数组复制。
+     */
+    private static class ChecksumHasher implements Hasher {
+
+        private final Checksum checksum;
+
+        private final int length;
+
+        private byte[] scratch;
+
+        private ChecksumHasher(Checksum checksum, int length) {
+            this.checksum = checksum;
+            this.length = length;
+        }
+
+        @Override
+        public void update(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+                return;
+            }
+            if (scratch == null) {
+                scratch = new byte[64 * 1024];
+            }
+            while (buffer.hasRemaining()) {
+                int size = Math.min(scratch.length, buffer.remaining());
+                buffer.get(scratch, 0, size);
+                checksum.update(scratch, 0, size);
+            }
+        }
+
+        @Override
+        public byte[] digest() {
+            long value = checksum.getValue();
+            byte[] bytes = new byte[length];
+            for (int i = length - 1; i >= 0; i--) {
+                bytes[i] = (byte) value;
+                value >>>= 8;
+            }
+            return bytes;
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.biz.common.utils;
+
+/**
+ * 十六进制编码工具类。
+ *
+ * <p>通过查表将每个字节转换为两个字符，直接写入预先分配好长度的 {@code char[]}，
+ * 不像 {@code Integer.toHexString} 或 {@code String.format("%02x")} 那样为每个字节创建临时字符串。
+ * 提供小写和大写两种形式，需要大写结果时不必再调用 {@link String#toUpperCase()}。</p>
+ *
+ * <pre>{@code
+ * String lower = HexUtils.encodeHex(digest);        // "9e107d9d372bb6826bd81d3542a419d6"
+ * String upper = HexUtils.encodeHexUpper(digest);   // "9E107D9D372BB6826BD81D3542A419D6"
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see MessageDigestUtils
+ * @since 1.5.1
+ */
+public final class HexUtils {
+
+    private static final char[] LOWER_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final char[] UPPER_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * 私有构造方法，防止实例化
+     */
+    private HexUtils() {
+    }
+
+    /**
+     * 将字节数组编码为小写十六进制字符串。
+     *
+     * @param bytes 字节数组，不能为空
+     * @return 小写十六进制字符串
+     */
+    public static String encodeHex(byte[] bytes) {
+        return encodeHex(bytes, false);
+    }
+
+    /**
+     * 将字节数组编码为大写十六进制字符串。
+     *
+     * @param bytes 字节数组，不能为空
+     * @return 大写十六进制字符串
+     */
+    public static String encodeHexUpper(byte[] bytes) {
+        return encodeHex(bytes, true);
+    }
+
+    /**
+     * 将字节数组编码为十六进制字符串。
+     *
+     * @param bytes     字节数组，不能为空
+     * @param upperCase 是否使用大写字母
+     * @return 十六进制字符串
+     */
+    public static String encodeHex(byte[] bytes, boolean upperCase) {
+        char[] chars = new char[bytes.length << 1];
+        encodeHex(bytes, chars, 0, upperCase);
+        return new String(chars);
+    }
+
+    /**
+     * 将字节数组编码为十六进制字符，写入 {@code out} 从 {@code offset} 开始的位置，调用方可以复用缓冲区。
+     *
+     * @param bytes     字节数组，不能为空
+     * @param out       目标字符数组，从 {@code offset} 开始至少有 {@code bytes.length * 2} 个位置
+     * @param offset    写入的起始位置
+     * @param upperCase 是否使用大写字母
+     * @return 写入的字符数
+     * @throws IllegalArgumentException 如果目标字符数组的空间不足
+     */
+    public static int encodeHex(byte[] bytes, char[] out, int offset, boolean upperCase) {
+        int length = bytes.length << 1;
+        if (offset < 0 || out.length - offset < length) {
+            throw new IllegalArgumentException("目标字符数组的空间不足");
+        }
+        char[] digits = upperCase ? UPPER_DIGITS : LOWER_DIGITS;
+        for (byte b : bytes) {
+            out[offset++] = digits[(b >>> 4) & 0x0F];
+            out[offset++] = digits[b & 0x0F];
+        }
+        return length;
+    }
+
+}
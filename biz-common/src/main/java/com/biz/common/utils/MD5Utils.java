@@ -2,16 +2,13 @@ package com.biz.common.utils;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 /**
  * MD5工具类，提供字符串和文件的MD5加密计算功能。
  * <p>
  * 该类封装了常用的MD5加密操作，包括对字符串和文件进行MD5哈希值的计算。
  * 结果均以32位小写十六进制字符串形式表示，适用于数据完整性校验和数据签名等场景。
+ * 字符串摘要使用线程内复用的 {@link MessageDigestUtils#md5()} 实例，并通过 {@link HexUtils} 查表编码。
  * </p>
  *
  * <pre>{@code
@@ -27,15 +24,11 @@ import java.security.NoSuchAlgorithmException;
  *
  * @author francis
  * @since 1.0.1
- * @version 1.0.1
+ * @version 1.5.1
+ * @see FileHashUtils
  */
 public class MD5Utils {
 
-    /**
-     * MD5算法标识
-     */
-    private static final String MD5 = "MD5";
-
     /**
      * 计算字符串的MD5哈希值。
      * <p>
@@ -47,13 +40,17 @@ public class MD5Utils {
      * @return 字符串的MD5哈希值，以32位小写十六进制字符串形式表示。
      */
     public static String computeMD5(String inputText) {
-        try {
-            MessageDigest md = MessageDigest.getInstance(MD5);
-            byte[] messageDigest = md.digest(inputText.getBytes());
-            return bytesToHex(messageDigest);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 加密过程中出现异常，无法获取MD5 MessageDigest实例", e);
-        }
+        return HexUtils.encodeHex(MessageDigestUtils.md5().digest(inputText.getBytes()));
+    }
+
+    /**
+     * 计算字符串的MD5哈希值，以32位大写十六进制字符串形式表示。
+     *
+     * @param inputText 待加密的字符串。
+     * @return 字符串的MD5哈希值，以32位大写十六进制字符串形式表示。
+     */
+    public static String computeUpperCaseMD5(String inputText) {
+        return HexUtils.encodeHexUpper(MessageDigestUtils.md5().digest(inputText.getBytes()));
     }
 
     /**
@@ -61,46 +58,18 @@ public class MD5Utils {
      * <p>
      * 该方法接受一个文件对象作为输入，并计算其MD5哈希值。
      * 适用于文件完整性校验，返回值为32位小写十六进制字符串形式的哈希值。
+     * 文件通过 {@link FileHashUtils} 读取，大文件映射到内存中计算；需要其他算法或并行计算分块哈希时直接使用 {@link FileHashUtils}。
      * </p>
      *
      * @param file 待计算哈希值的文件。
      * @return 文件的MD5哈希值，以32位小写十六进制字符串形式表示。
      */
     public static String computeFileMD5(File file) {
-        try (InputStream fis = Files.newInputStream(file.toPath())) {
-            MessageDigest md = MessageDigest.getInstance(MD5);
-            byte[] buffer = new byte[8192]; // 增大缓冲区大小
-            int bytesRead;
-            while ((bytesRead = fis.read(buffer)) != -1) {
-                md.update(buffer, 0, bytesRead);
-            }
-            byte[] messageDigest = md.digest();
-            return bytesToHex(messageDigest);
-        } catch (NoSuchAlgorithmException | IOException e) {
+        try {
+            return FileHashUtils.hash(file.toPath(), HashAlgorithm.MD5);
+        } catch (IOException e) {
             throw new RuntimeException("MD5 加密过程中出现异常", e);
         }
     }
 
-    /**
-     * 将字节数组转换为十六进制字符串。
-     * <p>
-     * 该方法将给定的字节数组转换为对应的十六进制字符串表示形式，
-     * 主要用于MD5哈希值的转换。
-     * </p>
-     *
-     * @param bytes 待转换的字节数组。
-     * @return 转换后的十六进制字符串。
-     */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
-    }
-
 }
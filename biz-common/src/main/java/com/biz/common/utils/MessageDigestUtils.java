@@ -0,0 +1,80 @@
+package com.biz.common.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 线程内复用的 {@link MessageDigest} 实例。
+ *
+ * <p>{@link MessageDigest#getInstance(String)} 每次都要查找安全提供者并创建新实例，对短字符串求摘要时它的开销比摘要计算本身还大。
+ * 该类为每个线程缓存一个 MD5、SHA-1、SHA-256 实例，取出时先重置，因此上一次计算中途抛出异常也不会影响本次结果。</p>
+ *
+ * <p>返回的实例只能在当前线程中使用，且不能在计算完成前再次获取同一算法的实例（例如在计算过程中嵌套调用）。
+ * 需要长时间持有或跨线程使用时，请自行调用 {@link MessageDigest#getInstance(String)}。</p>
+ *
+ * <pre>{@code
+ * byte[] digest = MessageDigestUtils.sha256().digest(bytes);
+ * String hex = HexUtils.encodeHex(digest);
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see HexUtils
+ * @since 1.5.1
+ */
+public final class MessageDigestUtils {
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> newInstance("MD5"));
+
+    private static final ThreadLocal<MessageDigest> SHA_1 = ThreadLocal.withInitial(() -> newInstance("SHA-1"));
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> newInstance("SHA-256"));
+
+    /**
+     * 私有构造方法，防止实例化
+     */
+    private MessageDigestUtils() {
+    }
+
+    /**
+     * 获取当前线程的 MD5 实例。
+     *
+     * @return 已重置的 MD5 实例
+     */
+    public static MessageDigest md5() {
+        return reset(MD5);
+    }
+
+    /**
+     * 获取当前线程的 SHA-1 实例。
+     *
+     * @return 已重置的 SHA-1 实例
+     */
+    public static MessageDigest sha1() {
+        return reset(SHA_1);
+    }
+
+    /**
+     * 获取当前线程的 SHA-256 实例。
+     *
+     * @return 已重置的 SHA-256 实例
+     */
+    public static MessageDigest sha256() {
+        return reset(SHA_256);
+    }
+
+    private static MessageDigest reset(ThreadLocal<MessageDigest> holder) {
+        MessageDigest digest = holder.get();
+        digest.reset();
+        return digest;
+    }
+
+    private static MessageDigest newInstance(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("无法获取 " + algorithm + " MessageDigest 实例", e);
+        }
+    }
+
+}
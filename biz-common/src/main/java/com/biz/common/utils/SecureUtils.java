@@ -51,7 +51,7 @@ public final class SecureUtils {
      * @return 如果字符串与MD5摘要（大写）匹配，则返回true，否则返回false。
      */
     public static boolean matchByUpperCaseMD5(String input, String md5) {
-        return MD5Utils.computeMD5(input).toUpperCase().equals(md5);
+        return MD5Utils.computeUpperCaseMD5(input).equals(md5);
     }
 
 }
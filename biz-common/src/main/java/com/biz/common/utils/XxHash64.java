@@ -0,0 +1,246 @@
+package com.biz.common.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Checksum;
+
+/**
+ * xxHash64 非加密哈希算法的流式实现。
+ *
+ * <p>xxHash64 的速度远高于 MD5 和 SHA-256，64位的结果在数据量不大时碰撞概率很低，适合文件去重、缓存键等
+ * 不需要抵御恶意构造的场景；需要防篡改时仍应使用 SHA-256。结果与官方实现（XXH64）一致。</p>
+ *
+ * <p>该类不是线程安全的。</p>
+ *
+ * <pre>{@code
+ * XxHash64 hash = new XxHash64();
+ * hash.update(bytes, 0, bytes.length);
+ * long value = hash.getValue();
+ *
+ * long quick = XxHash64.hash("Hello, World!");
+ * }</pre>
+ *
+ * @author francis
+ * @version 1.5.1
+ * @see FileHashUtils
+ * @since 1.5.1
+ */
+public final class XxHash64 implements Checksum {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    /**
+     * 每次处理的数据块大小
+     */
+    private static final int STRIPE = 32;
+
+    private final long seed;
+
+    private final byte[] memory = new byte[STRIPE];
+
+    private int memorySize;
+
+    private long totalLength;
+
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+
+    /**
+     * 创建种子为0的哈希。
+     */
+    public XxHash64() {
+        this(0);
+    }
+
+    /**
+     * 创建指定种子的哈希。
+     *
+     * @param seed 种子
+     */
+    public XxHash64(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /**
+     * 计算字节数组的哈希值。
+     *
+     * @param bytes 字节数组
+     * @return 哈希值
+     */
+    public static long hash(byte[] bytes) {
+        XxHash64 hash = new XxHash64();
+        hash.update(bytes, 0, bytes.length);
+        return hash.getValue();
+    }
+
+    /**
+     * 计算字符串 UTF-8 编码的哈希值。
+     *
+     * @param text 字符串
+     * @return 哈希值
+     */
+    public static long hash(String text) {
+        return hash(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void update(int b) {
+        update(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        totalLength += len;
+        if (memorySize + len < STRIPE) {
+            System.arraycopy(b, off, memory, memorySize, len);
+            memorySize += len;
+            return;
+        }
+        if (memorySize > 0) {
+            int fill = STRIPE - memorySize;
+            System.arraycopy(b, off, memory, memorySize, fill);
+            processStripe(memory, 0);
+            off += fill;
+            len -= fill;
+            memorySize = 0;
+        }
+        int end = off + len;
+        for (; off + STRIPE <= end; off += STRIPE) {
+            processStripe(b, off);
+        }
+        memorySize = end - off;
+        System.arraycopy(b, off, memory, 0, memorySize);
+    }
+
+    /**
+     * 将缓冲区中剩余的数据加入计算，之后缓冲区的 position 等于 limit。
+     * <p>直接缓冲区（包括内存映射的文件）按小端序直接读取 long，不经过字节数组复制。</p>
+     *
+     * @param buffer 数据
+     */
+    public void update(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+        int len = buffer.remaining();
+        totalLength += len;
+        if (memorySize + len < STRIPE) {
+            buffer.get(memory, memorySize, len);
+            memorySize += len;
+            return;
+        }
+        if (memorySize > 0) {
+            buffer.get(memory, memorySize, STRIPE - memorySize);
+            processStripe(memory, 0);
+            memorySize = 0;
+        }
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int position = buffer.position();
+        int end = buffer.limit();
+        for (; position + STRIPE <= end; position += STRIPE) {
+            v1 = round(v1, buffer.getLong(position));
+            v2 = round(v2, buffer.getLong(position + 8));
+            v3 = round(v3, buffer.getLong(position + 16));
+            v4 = round(v4, buffer.getLong(position + 24));
+        }
+        buffer.order(order);
+        buffer.position(position);
+        memorySize = end - position;
+        buffer.get(memory, 0, memorySize);
+    }
+
+    @Override
+    public long getValue() {
+        long h;
+        if (totalLength >= STRIPE) {
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound(h, v1);
+            h = mergeRound(h, v2);
+            h = mergeRound(h, v3);
+            h = mergeRound(h, v4);
+        } else {
+            h = seed + PRIME5;
+        }
+        h += totalLength;
+
+        int p = 0;
+        for (; p + 8 <= memorySize; p += 8) {
+            h ^= round(0, getLong(memory, p));
+            h = Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+        }
+        if (p + 4 <= memorySize) {
+            h ^= (getInt(memory, p) & 0xFFFFFFFFL) * PRIME1;
+            h = Long.rotateLeft(h, 23) * PRIME2 + PRIME3;
+            p += 4;
+        }
+        for (; p < memorySize; p++) {
+            h ^= (memory[p] & 0xFFL) * PRIME5;
+            h = Long.rotateLeft(h, 11) * PRIME1;
+        }
+
+        h ^= h >>> 33;
+        h *= PRIME2;
+        h ^= h >>> 29;
+        h *= PRIME3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    @Override
+    public void reset() {
+        v1 = seed + PRIME1 + PRIME2;
+        v2 = seed + PRIME2;
+        v3 = seed;
+        v4 = seed - PRIME1;
+        memorySize = 0;
+        totalLength = 0;
+    }
+
+    private void processStripe(byte[] b, int off) {
+        v1 = round(v1, getLong(b, off));
+        v2 = round(v2, getLong(b, off + 8));
+        v3 = round(v3, getLong(b, off + 16));
+        v4 = round(v4, getLong(b, off + 24));
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * PRIME2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME1;
+    }
+
+    private static long mergeRound(long acc, long value) {
+        acc ^= round(0, value);
+        return acc * PRIME1 + PRIME4;
+    }
+
+    private static long getLong(byte[] b, int i) {
+        return (b[i] & 0xFFL)
+                | (b[i + 1] & 0xFFL) << 8
+                | (b[i + 2] & 0xFFL) << 16
+                | (b[i + 3] & 0xFFL) << 24
+                | (b[i + 4] & 0xFFL) << 32
+                | (b[i + 5] & 0xFFL) << 40
+                | (b[i + 6] & 0xFFL) << 48
+                | (b[i + 7] & 0xFFL) << 56;
+    }
+
+    private static int getInt(byte[] b, int i) {
+        return (b[i] & 0xFF)
+                | (b[i + 1] & 0xFF) << 8
+                | (b[i + 2] & 0xFF) << 16
+                | (b[i + 3] & 0xFF) << 24;
+    }
+
+}
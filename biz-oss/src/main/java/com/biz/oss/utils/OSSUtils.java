@@ -84,8 +84,8 @@ public class OSSUtils {
      */
     private static String createObjectName(String fileName, String fileType) {
         return DateTimeUtils.longToDateStr(System.currentTimeMillis(), DATE_TIME) + "/"
-                + UUIDGenerate.generate() + "/"
-                + Optional.ofNullable(fileName).orElse(UUIDGenerate.generate())
+                + UUIDGenerate.generateSecure() + "/"
+                + Optional.ofNullable(fileName).orElse(UUIDGenerate.generateSecure())
                 + fileType;
     }
 }
@@ -1,17 +1,18 @@
 package com.biz.security.authentication.encryption;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import com.biz.common.utils.HexUtils;
+import com.biz.common.utils.MessageDigestUtils;
 
 /**
  * 使用 SHA-256 算法实现密码加密和验证的类。
  *
  * <p>
  * 此类实现了 {@link PasswordEncryptor} 接口，提供对密码的加密和验证功能。
+ * 摘要使用线程内复用的 {@link MessageDigestUtils#sha256()} 实例计算，并通过 {@link HexUtils} 编码为小写十六进制字符串。
  * </p>
  *
  * @author francis
- * @version 1.0.1
+ * @version 1.5.1
  * @since 2024-09-20
  */
 public class SHA256PasswordEncryptor implements PasswordEncryptor {
@@ -24,17 +25,7 @@ public class SHA256PasswordEncryptor implements PasswordEncryptor {
      */
     @Override
     public String encrypt(String rawPassword) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(rawPassword.getBytes());
-            StringBuilder sb = new StringBuilder();
-            for (byte b : digest) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256加密失败", e);
-        }
+        return HexUtils.encodeHex(MessageDigestUtils.sha256().digest(rawPassword.getBytes()));
     }
 
     /**
@@ -42,7 +42,7 @@ public class AbstractSessionManage implements SessionManage, InitializingBean {
 
     @Override
     public String createSession(BizAccount<?> account) {
-        String id = UUIDGenerate.generate();
+        String id = UUIDGenerate.generateSecure();
         SESSION_MAP.containsKeyAndPut(id, Common.to(account.getId()));
         return id;
     }
@@ -0,0 +1,79 @@
+package com.demo.test;
+
+import com.biz.common.concurrent.AdaptivePoolSizer;
+import com.biz.common.concurrent.BizThreadPoolExecutor;
+import com.biz.common.concurrent.ExecutorsUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试 {@link AdaptivePoolSizer} 在阻塞I/O负载下扩容、负载消失后缩容。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class AdaptivePoolSizerTest {
+
+    @Test
+    void testGrowUnderIoLoadAndShrinkWhenIdle() throws Exception {
+        BizThreadPoolExecutor executor = BizThreadPoolExecutor.builder()
+                .name("adaptive")
+                .corePoolSize(2)
+                .maximumPoolSize(2)
+                .queueCapacity(10_000)
+                .build();
+        AdaptivePoolSizer sizer = AdaptivePoolSizer.builder(executor)
+                .minCorePoolSize(2)
+                .maxCorePoolSize(32)
+                .targetQueueDelay(20, TimeUnit.MILLISECONDS)
+                .sampleInterval(100, TimeUnit.MILLISECONDS)
+                .step(4)
+                .stableSamples(2)
+                .build()
+                .start();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int i = 0; i < 2_000; i++) {
+                futures.add(executor.submit(() -> sleep(10)));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            log.info("2000 blocking tasks finished in {} ms, {}",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), sizer);
+            Assertions.assertTrue(sizer.getGrowCount() > 0);
+            int grown = executor.getCorePoolSize();
+            Assertions.assertTrue(grown > 2);
+            Assertions.assertTrue(grown <= 32);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (executor.getCorePoolSize() > 2 && System.nanoTime() < deadline) {
+                sleep(100);
+            }
+            log.info("after idle: {}", sizer);
+            Assertions.assertEquals(2, executor.getCorePoolSize());
+            Assertions.assertTrue(sizer.getShrinkCount() > 0);
+        } finally {
+            sizer.stop();
+            ExecutorsUtils.shutdownThreadPool(executor);
+        }
+        Assertions.assertFalse(sizer.isRunning());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.demo.test;
+
+import com.biz.common.concurrent.BatchProcessor;
+import com.biz.common.concurrent.BatchResult;
+import com.biz.common.concurrent.BizThreadPoolExecutor;
+import com.biz.common.concurrent.ExecutorsUtils;
+import com.biz.common.transactional.TransactionalRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 测试 {@link BatchProcessor} 的分块、并发上限、失败汇总和事务集成。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class BatchProcessorTest {
+
+    private static final int ROWS = 100_000;
+
+    private BizThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = BizThreadPoolExecutor.builder().name("batch").corePoolSize(8).maximumPoolSize(8).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ExecutorsUtils.shutdownThreadPool(executor);
+    }
+
+    @Test
+    void testChunksWithBoundedInFlight() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        BatchProcessor processor = BatchProcessor.builder(executor).chunkSize(1_000).maxInFlightChunks(3).build();
+
+        BatchResult<Long> result = processor.process(IntStream.range(0, ROWS).boxed(), chunk -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                return chunk.stream().mapToLong(Integer::longValue).sum();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        log.info("{} in {} ms, peak in-flight chunks {}",
+                result, TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()), peak.get());
+
+        Assertions.assertTrue(result.isAllSucceeded());
+        Assertions.assertEquals(100, result.getChunks().size());
+        Assertions.assertEquals(ROWS, result.getTotalItems());
+        Assertions.assertEquals((long) ROWS * (ROWS - 1) / 2, result.getValues().stream().mapToLong(Long::longValue).sum());
+        Assertions.assertEquals(99_000, result.getChunks().get(99).getOffset());
+        Assertions.assertTrue(peak.get() <= 3);
+    }
+
+    @Test
+    void testFailuresAreCollected() throws Exception {
+        BatchProcessor processor = BatchProcessor.builder(executor).chunkSize(10).build();
+        BatchResult<Void> result = processor.run(IntStream.range(0, 100).boxed()::iterator, chunk -> {
+            if (chunk.contains(42)) {
+                throw new IllegalArgumentException("bad row 42");
+            }
+        });
+
+        Assertions.assertFalse(result.isAllSucceeded());
+        Assertions.assertEquals(100, result.getTotalItems());
+        Assertions.assertEquals(10, result.getFailedItems());
+        List<BatchResult.Chunk<Void>> failures = result.getFailures();
+        Assertions.assertEquals(1, failures.size());
+        Assertions.assertEquals(4, failures.get(0).getIndex());
+        Assertions.assertTrue(failures.get(0).getError() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testStopOnFailure() throws Exception {
+        AtomicInteger processed = new AtomicInteger();
+        BatchProcessor processor = BatchProcessor.builder(executor)
+                .chunkSize(10)
+                .maxInFlightChunks(1)
+                .stopOnFailure(true)
+                .build();
+        BatchResult<Void> result = processor.run(IntStream.range(0, 1_000).boxed()::iterator, chunk -> {
+            processed.incrementAndGet();
+            if (chunk.contains(25)) {
+                throw new IllegalStateException("stop");
+            }
+        });
+
+        Assertions.assertTrue(result.isStopped());
+        Assertions.assertEquals(3, processed.get());
+        Assertions.assertEquals(30, result.getTotalItems());
+    }
+
+    @Test
+    void testEachChunkRunsInTransaction() throws Exception {
+        CountingTransactionalRunner runner = new CountingTransactionalRunner();
+        BatchProcessor processor = BatchProcessor.builder(executor)
+                .chunkSize(250)
+                .transactionalRunner(runner)
+                .build();
+        BatchResult<Integer> result = processor.process(IntStream.range(0, 1_000).boxed()::iterator, List::size);
+
+        Assertions.assertTrue(result.isAllSucceeded());
+        Assertions.assertEquals(4, runner.transactions.get());
+    }
+
+    /**
+     * 记录事务次数的 {@link TransactionalRunner}。
+     */
+    private static class CountingTransactionalRunner implements TransactionalRunner {
+
+        private final AtomicInteger transactions = new AtomicInteger();
+
+        @Override
+        public void run(Runnable runnable) {
+            transactions.incrementAndGet();
+            runnable.run();
+        }
+
+        @Override
+        public <TR> TR apply(Supplier<TR> supplier) {
+            transactions.incrementAndGet();
+            return supplier.get();
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.demo.test;
+
+import com.biz.common.copier.BeanCopier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 测试 {@link BeanCopier} 按字段名复制、null 与基本类型的处理、类型转换器、并行批量复制，以及缓存不会阻止目标类型被卸载。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class BeanCopierTest {
+
+    @Test
+    void testCopyByName() {
+        Order order = order(1);
+        OrderVo vo = BeanCopier.of(Order.class, OrderVo.class).copy(order);
+
+        Assertions.assertEquals(1L, vo.id);
+        // 包装类型复制到基本类型、基本类型复制到包装类型
+        Assertions.assertEquals(3, vo.quantity);
+        Assertions.assertEquals(Integer.valueOf(2), vo.count);
+        // 父类中的字段
+        Assertions.assertEquals("remark-1", vo.remark);
+        Assertions.assertEquals("secret", vo.password);
+        // 类型不兼容且没有转换器时跳过
+        Assertions.assertNull(vo.createdAt);
+        Assertions.assertNull(vo.amount);
+
+        Assertions.assertSame(BeanCopier.of(Order.class, OrderVo.class), BeanCopier.of(Order.class, OrderVo.class));
+    }
+
+    @Test
+    void testNullToPrimitiveIsSkipped() {
+        Order order = order(1);
+        order.quantity = null;
+        order.remark = null;
+
+        OrderVo existing = new OrderVo();
+        existing.quantity = 9;
+        existing.remark = "kept";
+        OrderVo vo = BeanCopier.of(Order.class, OrderVo.class).copy(order, existing);
+
+        Assertions.assertSame(existing, vo);
+        // null 不能写入基本类型字段，保留原值；引用类型字段照常写入 null
+        Assertions.assertEquals(9, vo.quantity);
+        Assertions.assertNull(vo.remark);
+        Assertions.assertEquals(1L, vo.id);
+    }
+
+    @Test
+    void testConverterAndIgnore() {
+        BeanCopier<Order, OrderVo> copier = BeanCopier.builder(Order.class, OrderVo.class)
+                .converter(Date.class, String.class, date -> String.valueOf(date.getTime()))
+                .converter(BigDecimal.class, String.class, BigDecimal::toPlainString)
+                .ignore("password")
+                .build();
+
+        Order order = order(1);
+        OrderVo vo = copier.copy(order);
+        Assertions.assertEquals(String.valueOf(order.createdAt.getTime()), vo.createdAt);
+        Assertions.assertEquals("10.50", vo.amount);
+        Assertions.assertNull(vo.password);
+
+        // 源值为 null 时不调用转换器
+        order.createdAt = null;
+        Assertions.assertNull(copier.copy(order).createdAt);
+
+        // 通过构建器创建的复制器不会替换缓存的默认复制器
+        Assertions.assertNull(BeanCopier.of(Order.class, OrderVo.class).copy(order(1)).amount);
+    }
+
+    @Test
+    void testCopyAllInParallel() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            orders.add(i % 1000 == 0 ? null : order(i));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BeanCopier<Order, OrderVo> parallel = BeanCopier.builder(Order.class, OrderVo.class)
+                    .parallelThreshold(10_000)
+                    .pool(pool)
+                    .build();
+            BeanCopier<Order, OrderVo> sequential = BeanCopier.builder(Order.class, OrderVo.class)
+                    .parallelThreshold(Integer.MAX_VALUE)
+                    .build();
+
+            List<OrderVo> expected = sequential.copyAll(orders);
+            List<OrderVo> actual = parallel.copyAll(orders);
+            Assertions.assertEquals(orders.size(), actual.size());
+            for (int i = 0; i < orders.size(); i++) {
+                if (orders.get(i) == null) {
+                    Assertions.assertNull(actual.get(i));
+                    continue;
+                }
+                Assertions.assertEquals(i, actual.get(i).id);
+                Assertions.assertEquals(expected.get(i).remark, actual.get(i).remark);
+                Assertions.assertEquals(expected.get(i).quantity, actual.get(i).quantity);
+            }
+
+            Assertions.assertTrue(parallel.copyAll(Arrays.asList(order(1), null)).contains(null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testCacheDoesNotPinTargetClassLoader() throws Exception {
+        WeakReference<ClassLoader> loader = copyWithIsolatedTarget();
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assertions.assertNull(loader.get(), "目标类型的类加载器仍被缓存引用");
+    }
+
+    /**
+     * 在独立的类加载器中加载目标类型并复制一次，返回该类加载器的弱引用。
+     */
+    private static WeakReference<ClassLoader> copyWithIsolatedTarget() throws Exception {
+        URL classes = BeanCopierTest.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, null)) {
+            Class<?> targetClass = loader.loadClass(IsolatedVo.class.getName());
+            Assertions.assertNotSame(IsolatedVo.class, targetClass);
+
+            Object copy = BeanCopier.of(Order.class, targetClass).copy(order(7));
+            java.lang.reflect.Field id = targetClass.getDeclaredField("id");
+            id.setAccessible(true);
+            Assertions.assertEquals(7L, id.getLong(copy));
+            return new WeakReference<>(loader);
+        }
+    }
+
+    private static Order order(int i) {
+        Order order = new Order();
+        order.id = i;
+        order.count = 2;
+        order.quantity = 3;
+        order.remark = "remark-" + i;
+        order.password = "secret";
+        order.createdAt = new Date(1_700_000_000_000L + i);
+        order.amount = new BigDecimal("10.50");
+        return order;
+    }
+
+    public static class Order {
+        private long id;
+        private int count;
+        private Integer quantity;
+        private String remark;
+        private String password;
+        private Date createdAt;
+        private BigDecimal amount;
+    }
+
+    public static class BaseVo {
+        String remark;
+    }
+
+    public static class OrderVo extends BaseVo {
+        private long id;
+        private Integer count;
+        private int quantity;
+        private String password;
+        private String createdAt;
+        private String amount;
+    }
+
+    public static class IsolatedVo {
+        private long id;
+        private String remark;
+    }
+
+}
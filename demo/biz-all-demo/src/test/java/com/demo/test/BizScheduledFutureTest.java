@@ -0,0 +1,95 @@
+package com.demo.test;
+
+import com.biz.common.concurrent.BizScheduledFuture;
+import com.biz.common.concurrent.HashedWheelScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试 {@link BizScheduledFuture} 默认使用共享时间轮调度器时的行为。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class BizScheduledFutureTest {
+
+    private static final int FUTURES = 100_000;
+
+    @Test
+    void testCreatingFuturesDoesNotCreateThreads() throws Exception {
+        // 先执行一个任务，让共享调度器的 tick 线程和一个工作线程启动
+        CountDownLatch warmUp = new CountDownLatch(1);
+        BizScheduledFuture.builder().runnable(warmUp::countDown).time(0).build().submit();
+        Assertions.assertTrue(warmUp.await(5, TimeUnit.SECONDS));
+
+        long pendingBefore = HashedWheelScheduler.shared().pendingTimeouts();
+
+        long start = System.nanoTime();
+        List<BizScheduledFuture> futures = new ArrayList<>(FUTURES);
+        for (int i = 0; i < FUTURES; i++) {
+            BizScheduledFuture future = BizScheduledFuture.builder()
+                    .runnable(() -> {
+                    })
+                    .time(TimeUnit.MINUTES.toMillis(10))
+                    .build();
+            future.submit();
+            futures.add(future);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long wheelThreads = countWheelThreads();
+        log.info("created {} futures in {} ms, shared wheel threads {}",
+                FUTURES, TimeUnit.NANOSECONDS.toMillis(elapsed), wheelThreads);
+        // 共享调度器只有一个 tick 线程和按CPU核数限定的工作线程，与任务数量无关
+        Assertions.assertTrue(wheelThreads <= 1 + Runtime.getRuntime().availableProcessors());
+        Assertions.assertEquals(pendingBefore + FUTURES, HashedWheelScheduler.shared().pendingTimeouts());
+
+        futures.forEach(BizScheduledFuture::cancel);
+        Assertions.assertEquals(pendingBefore, HashedWheelScheduler.shared().pendingTimeouts());
+    }
+
+    @Test
+    void testResetDiedUsesNewDelay() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        BizScheduledFuture future = BizScheduledFuture.builder()
+                .runnable(latch::countDown)
+                .time(TimeUnit.MINUTES.toMillis(10))
+                .build();
+        future.submit();
+        Assertions.assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        future.resetDied(50);
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        log.info("task ran {} ms after resetDied(50)", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        BizScheduledFuture future = BizScheduledFuture.builder()
+                .runnable(latch::countDown)
+                .time(50)
+                .build();
+        future.submit();
+        future.cancel();
+        Assertions.assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 统计共享调度器的 tick 线程和工作线程数量，线程名称都以 "biz-wheel-" 开头。
+     */
+    private static long countWheelThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("biz-wheel-"))
+                .count();
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.demo.test;
+
+import com.biz.common.barcode.BarCodeUtils;
+import com.biz.common.qrcode.QrCodeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试 {@link QrCodeUtils} 和 {@link BarCodeUtils} 在内存中生成的图片与写入文件的内容一致，并输出批量生成标签的耗时。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class CodeRenderingTest {
+
+    private static final int LABEL_COUNT = 2000;
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("code-rendering");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            Files.deleteIfExists(dir.resolve(i + ".png"));
+        }
+        Files.deleteIfExists(dir.resolve("qr.png"));
+        Files.deleteIfExists(dir.resolve("bar.png"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    void testSameAsFile() throws IOException {
+        String content = "https://example.com/order/20240920-0001?扫码取件";
+        Path qr = dir.resolve("qr.png");
+        Assertions.assertTrue(QrCodeUtils.generateQrCode(content, qr.toString()));
+        Assertions.assertArrayEquals(Files.readAllBytes(qr), QrCodeUtils.toByteArray(content));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        QrCodeUtils.writeTo(content, out);
+        Assertions.assertArrayEquals(Files.readAllBytes(qr), out.toByteArray());
+
+        Path bar = dir.resolve("bar.png");
+        BarCodeUtils.generate("SF1234567890", bar.toString());
+        Assertions.assertArrayEquals(Files.readAllBytes(bar), BarCodeUtils.toByteArray("SF1234567890"));
+
+        // 缓存命中时返回的是副本，修改不影响下一次结果
+        byte[] cached = QrCodeUtils.toByteArray(content);
+        cached[0] = 0;
+        Assertions.assertArrayEquals(Files.readAllBytes(qr), QrCodeUtils.toByteArray(content));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> QrCodeUtils.toByteArray(" "));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BarCodeUtils.toByteArray(null));
+        // Code128 只能编码 ASCII 字符
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BarCodeUtils.toByteArray("SF条码123"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BarCodeUtils.toByteArrays(Arrays.asList("SF1", "SF\u00e92"), Runnable::run));
+    }
+
+    @Test
+    void testBatch() throws Exception {
+        List<String> contents = new ArrayList<>(LABEL_COUNT);
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            contents.add("SF" + (1000000000L + i));
+        }
+
+        // 原来的方式：写入临时文件后再读回
+        long start = System.nanoTime();
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            Path file = dir.resolve(i + ".png");
+            QrCodeUtils.generateQrCode("legacy-" + contents.get(i), file.toString());
+            Files.readAllBytes(file);
+        }
+        report("QR code via temp file", start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            QrCodeUtils.toByteArray("single-" + contents.get(i));
+        }
+        report("QR code in memory", start);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            start = System.nanoTime();
+            List<byte[]> qrCodes = QrCodeUtils.toByteArrays(contents, executor);
+            report("QR code batch", start);
+
+            start = System.nanoTime();
+            List<byte[]> barCodes = BarCodeUtils.toByteArrays(contents, executor);
+            report("barcode batch", start);
+
+            Assertions.assertEquals(LABEL_COUNT, qrCodes.size());
+            Assertions.assertEquals(LABEL_COUNT, barCodes.size());
+            for (int i = 0; i < LABEL_COUNT; i += 97) {
+                Assertions.assertArrayEquals(QrCodeUtils.toByteArray(contents.get(i)), qrCodes.get(i));
+                Assertions.assertArrayEquals(BarCodeUtils.toByteArray(contents.get(i)), barCodes.get(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void report(String name, long start) {
+        long nanos = System.nanoTime() - start;
+        log.info("{}: {} labels in {} ms, {} us/label", name, LABEL_COUNT,
+                TimeUnit.NANOSECONDS.toMillis(nanos), TimeUnit.NANOSECONDS.toMicros(nanos) / LABEL_COUNT);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.demo.test;
+
+import com.biz.common.date.DateConstant;
+import com.biz.common.date.datetime.DateTimeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * 性能测试类，用于对比 DateTimeUtils 改用缓存的 DateTimeFormatter 前后 dateToStr/strToDate 的吞吐量。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class DateTimeUtilsPerformanceTest {
+
+    private static final int WARMUP = 100_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void testSameResultAsSimpleDateFormat() throws ParseException {
+        Date date = new Date(1700000000000L);
+        String text = new SimpleDateFormat(DateConstant.DEFAULT_DATETIME).format(date);
+        Assertions.assertEquals(text, DateTimeUtils.dateToStr(date));
+        Assertions.assertEquals(date, DateTimeUtils.strToDate(text));
+        Assertions.assertEquals(new SimpleDateFormat(DateConstant.DEFAULT_DATE).parse("2024-02-03"),
+                DateTimeUtils.strToDate("2024-02-03", DateConstant.DEFAULT_DATE));
+        Assertions.assertThrows(ParseException.class, () -> DateTimeUtils.strToDate("2024-02-03"));
+    }
+
+    @Test
+    void testDateToStrThroughput() {
+        Date date = new Date();
+        long blackhole = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            blackhole += new SimpleDateFormat(DateConstant.DEFAULT_DATETIME).format(date).length();
+            blackhole += DateTimeUtils.dateToStr(date).length();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += new SimpleDateFormat(DateConstant.DEFAULT_DATETIME).format(date).length();
+        }
+        long before = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += DateTimeUtils.dateToStr(date).length();
+        }
+        long after = System.nanoTime() - start;
+
+        log.info("dateToStr with new SimpleDateFormat: {} ops/s", ITERATIONS * 1_000_000_000L / before);
+        log.info("dateToStr with cached DateTimeFormatter: {} ops/s", ITERATIONS * 1_000_000_000L / after);
+        log.info("blackhole: {}", blackhole);
+    }
+
+    @Test
+    void testStrToDateThroughput() throws ParseException {
+        String text = DateTimeUtils.dateToStr(new Date());
+        long blackhole = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            blackhole += new SimpleDateFormat(DateConstant.DEFAULT_DATETIME).parse(text).getTime();
+            blackhole += DateTimeUtils.strToDate(text).getTime();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += new SimpleDateFormat(DateConstant.DEFAULT_DATETIME).parse(text).getTime();
+        }
+        long before = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += DateTimeUtils.strToDate(text).getTime();
+        }
+        long after = System.nanoTime() - start;
+
+        log.info("strToDate with new SimpleDateFormat: {} ops/s", ITERATIONS * 1_000_000_000L / before);
+        log.info("strToDate with cached DateTimeFormatter: {} ops/s", ITERATIONS * 1_000_000_000L / after);
+        log.info("blackhole: {}", blackhole);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.demo.test;
+
+import com.biz.common.date.datetime.DateTimeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * 测试 {@link DateTimeUtils} 的格式化和解析与 {@link SimpleDateFormat} 的格式字母含义一致：
+ * {@code S} 为毫秒、{@code u} 为星期几、数字字段可以不补零、相邻的数字字段可以解析，并且不存在的日期解析失败。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class DateTimeUtilsTest {
+
+    /**
+     * 2023-11-14 22:13:20.123 UTC，星期二
+     */
+    private static final Date DATE = new Date(1700000000123L);
+
+    @Test
+    void testFormatSameAsSimpleDateFormat() {
+        String[] patterns = {
+                "yyyy-MM-dd HH:mm:ss.S",
+                "yyyy-MM-dd HH:mm:ss.SSS",
+                "yyyyMMddHHmmssSSS",
+                "u",
+                "yy-M-d k:K:h:m:s D F",
+                "yyyy-MM-dd'T'HH:mm:ss.SSSZ",
+                "EEE, d MMM yyyy hh 'o''clock' aa",
+                "EEEE MMMM",
+                "[yyyy]#{MM}",
+        };
+        for (String pattern : patterns) {
+            Assertions.assertEquals(new SimpleDateFormat(pattern).format(DATE), DateTimeUtils.dateToStr(DATE, pattern), pattern);
+        }
+    }
+
+    @Test
+    void testParseSameAsSimpleDateFormat() throws ParseException {
+        String[][] cases = {
+                {"2024-1-5", "yyyy-MM-dd"},
+                {"2024-01-05 9:05:00", "yyyy-MM-dd HH:mm:ss"},
+                {"2024-01-05 09:05:00.5", "yyyy-MM-dd HH:mm:ss.SSS"},
+                {"2024-01-05 09:05:00.123", "yyyy-MM-dd HH:mm:ss.S"},
+                {"20240105090500123", "yyyyMMddHHmmssSSS"},
+                {"20240105", "yyyyMMdd"},
+                {"24-01-05", "yy-MM-dd"},
+                {"2024-01-05T09:05:00.123+0800", "yyyy-MM-dd'T'HH:mm:ss.SSSZ"},
+                {"2024-01-05 9:5:0", "yyyy-MM-dd h:m:s"},
+        };
+        for (String[] c : cases) {
+            Assertions.assertEquals(new SimpleDateFormat(c[1]).parse(c[0]), DateTimeUtils.strToDate(c[0], c[1]), c[1]);
+        }
+    }
+
+    @Test
+    void testParseRejectsInvalidDate() {
+        Assertions.assertThrows(ParseException.class, () -> DateTimeUtils.strToDate("2024-02-30", "yyyy-MM-dd"));
+        Assertions.assertThrows(ParseException.class, () -> DateTimeUtils.strToDate("2023-02-29", "yyyy-MM-dd"));
+        Assertions.assertThrows(ParseException.class, () -> DateTimeUtils.strToDate("2024-13-01", "yyyy-MM-dd"));
+        Assertions.assertThrows(ParseException.class, () -> DateTimeUtils.strToDate("25:00:00", "HH:mm:ss"));
+    }
+
+}
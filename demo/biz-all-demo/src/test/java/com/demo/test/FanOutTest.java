@@ -0,0 +1,149 @@
+package com.demo.test;
+
+import com.biz.common.concurrent.BizThreadPoolExecutor;
+import com.biz.common.concurrent.ExecutorsUtils;
+import com.biz.common.concurrent.FanOut;
+import com.biz.common.concurrent.FanOutResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试 {@link FanOut} 的截止时间、失败提前结束、并发限制和 MDC 传递。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class FanOutTest {
+
+    private BizThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = BizThreadPoolExecutor.builder().name("fan-out").corePoolSize(16).maximumPoolSize(16).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ExecutorsUtils.shutdownThreadPool(executor);
+    }
+
+    @Test
+    void testDeadlineKeepsPartialResults() throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int delay = i < 7 ? 10 : 5_000;
+            int value = i;
+            tasks.add(() -> {
+                Thread.sleep(delay);
+                return value;
+            });
+        }
+        FanOutResult<Integer> result = FanOut.invokeAll(executor, tasks, 300, TimeUnit.MILLISECONDS);
+        log.info("{} in {} ms", result, TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()));
+
+        Assertions.assertTrue(result.isDeadlineExceeded());
+        Assertions.assertEquals(7, result.getValues().size());
+        Assertions.assertEquals(3, result.count(FanOutResult.Status.TIMED_OUT));
+        Assertions.assertTrue(result.getElapsedNanos() < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void testCancelOnFailure() throws Exception {
+        List<Callable<String>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            throw new IllegalStateException("boom");
+        });
+        for (int i = 0; i < 5; i++) {
+            tasks.add(() -> {
+                Thread.sleep(5_000);
+                return "slow";
+            });
+        }
+        FanOutResult<String> result = FanOut.builder(executor)
+                .deadline(10, TimeUnit.SECONDS)
+                .cancelOnFailure(true)
+                .build()
+                .invokeAll(tasks);
+        log.info("{}", result);
+
+        Assertions.assertFalse(result.isDeadlineExceeded());
+        Assertions.assertEquals(FanOutResult.Status.FAILED, result.get(0).getStatus());
+        Assertions.assertTrue(result.get(0).getError() instanceof IllegalStateException);
+        Assertions.assertEquals(5, result.count(FanOutResult.Status.CANCELLED));
+        Assertions.assertTrue(result.getElapsedNanos() < TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void testMaxConcurrency() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int value = i;
+            tasks.add(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return value;
+            });
+        }
+        FanOutResult<Integer> result = FanOut.builder(executor).maxConcurrency(4).build().invokeAll(tasks);
+
+        Assertions.assertTrue(result.isAllSucceeded());
+        Assertions.assertEquals(39, (int) result.get(39).getValue());
+        Assertions.assertTrue(peak.get() <= 4);
+    }
+
+    @Test
+    void testDeadlineWithMaxConcurrency() throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            tasks.add(() -> {
+                Thread.sleep(5_000);
+                return value;
+            });
+        }
+        FanOutResult<Integer> result = FanOut.builder(executor)
+                .deadline(200, TimeUnit.MILLISECONDS)
+                .maxConcurrency(2)
+                .build()
+                .invokeAll(tasks);
+        log.info("{}", result);
+
+        // 截止时间已过而没有提交的任务与已提交未完成的任务一样记为超时
+        Assertions.assertTrue(result.isDeadlineExceeded());
+        Assertions.assertEquals(10, result.count(FanOutResult.Status.TIMED_OUT));
+        Assertions.assertEquals(0, result.count(FanOutResult.Status.CANCELLED));
+    }
+
+    @Test
+    void testMdcPropagation() throws Exception {
+        MDC.put("traceId", "fan-out-trace");
+        try {
+            List<Callable<String>> tasks = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                tasks.add(() -> MDC.get("traceId"));
+            }
+            FanOutResult<String> result = FanOut.invokeAll(executor, tasks, 5, TimeUnit.SECONDS);
+            for (String traceId : result.getValues()) {
+                Assertions.assertEquals("fan-out-trace", traceId);
+            }
+            Assertions.assertEquals(5, result.getValues().size());
+        } finally {
+            MDC.remove("traceId");
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.demo.test;
+
+import com.biz.common.reflection.FieldAccessor;
+import com.biz.common.reflection.FieldAccessors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.function.IntSupplier;
+
+/**
+ * 测试 {@link FieldAccessors} 创建的访问器读写基本类型、包装类型、final 和静态字段的结果与反射一致。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class FieldAccessorTest {
+
+    @Test
+    void testPrimitiveFields() throws Exception {
+        Sample sample = new Sample();
+
+        FieldAccessor count = FieldAccessors.of(Sample.class, "count");
+        count.setInt(sample, 42);
+        Assertions.assertEquals(42, count.getInt(sample));
+        Assertions.assertEquals(42, count.get(sample));
+        // int 可以按 long 和 double 读取，与 Field#getLong 一致
+        Assertions.assertEquals(42L, count.getLong(sample));
+        Assertions.assertEquals(42.0, count.getDouble(sample));
+        count.set(sample, 7);
+        Assertions.assertEquals(7, sample.count);
+
+        FieldAccessor total = FieldAccessors.of(Sample.class, "total");
+        total.setLong(sample, Long.MAX_VALUE);
+        Assertions.assertEquals(Long.MAX_VALUE, total.getLong(sample));
+        Assertions.assertEquals(Long.MAX_VALUE, total.get(sample));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> total.getInt(sample));
+
+        FieldAccessor ratio = FieldAccessors.of(Sample.class, "ratio");
+        ratio.setDouble(sample, 0.25);
+        Assertions.assertEquals(0.25, ratio.getDouble(sample));
+        Assertions.assertEquals(0.25, ratio.get(sample));
+
+        FieldAccessor enabled = FieldAccessors.of(Sample.class, "enabled");
+        enabled.setBoolean(sample, true);
+        Assertions.assertTrue(enabled.getBoolean(sample));
+        Assertions.assertEquals(Boolean.TRUE, enabled.get(sample));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> enabled.getInt(sample));
+
+        // 类型不匹配和 null 写入基本类型字段时与 Field#set 一样抛出 IllegalArgumentException
+        Assertions.assertThrows(IllegalArgumentException.class, () -> count.set(sample, "42"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> count.set(sample, null));
+        Assertions.assertEquals(7, sample.count);
+    }
+
+    @Test
+    void testBoxedAndReferenceFields() throws Exception {
+        Sample sample = new Sample();
+
+        FieldAccessor boxed = FieldAccessors.of(Sample.class, "boxed");
+        Assertions.assertNull(boxed.get(sample));
+        boxed.set(sample, 5);
+        Assertions.assertEquals(Integer.valueOf(5), sample.boxed);
+        Assertions.assertEquals(5, boxed.getInt(sample));
+        boxed.setInt(sample, 6);
+        Assertions.assertEquals(Integer.valueOf(6), boxed.get(sample));
+        boxed.set(sample, null);
+        Assertions.assertNull(sample.boxed);
+
+        FieldAccessor name = FieldAccessors.of(Sample.class, "name");
+        name.set(sample, "francis");
+        Assertions.assertEquals("francis", name.get(sample));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> name.set(sample, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> name.getInt(sample));
+
+        // 同一个字段只创建一次访问器
+        Field field = Sample.class.getDeclaredField("name");
+        Assertions.assertSame(name, FieldAccessors.of(field));
+        Assertions.assertEquals(field, name.getField());
+        Assertions.assertThrows(NoSuchFieldException.class, () -> FieldAccessors.of(Sample.class, "missing"));
+    }
+
+    @Test
+    void testFinalAndStaticFields() throws Exception {
+        Sample sample = new Sample();
+
+        // 实例 final 字段与 Field#set 一样可以在 setAccessible 后写入
+        FieldAccessor id = FieldAccessors.of(Sample.class, "id");
+        Assertions.assertEquals(1L, id.getLong(sample));
+        id.setLong(sample, 2L);
+        Assertions.assertEquals(2L, id.get(sample));
+
+        FieldAccessor counter = FieldAccessors.of(Sample.class, "counter");
+        counter.setInt(null, 3);
+        Assertions.assertEquals(3, counter.getInt(null));
+        Assertions.assertEquals(3, counter.get(sample));
+
+        FieldAccessor constant = FieldAccessors.of(Sample.class, "CONSTANT");
+        Assertions.assertEquals("constant", constant.get(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> constant.set(null, "changed"));
+        Assertions.assertEquals("constant", Sample.CONSTANT);
+    }
+
+    @Test
+    void testReflectionFallback() throws Exception {
+        // Java 15 及以上版本中 lambda 是隐藏类，其 final 字段无法创建写入句柄，访问器退化为反射实现
+        int captured = 99;
+        IntSupplier supplier = () -> captured;
+        Field field = supplier.getClass().getDeclaredFields()[0];
+
+        FieldAccessor accessor = FieldAccessors.of(field);
+        Assertions.assertEquals(99, accessor.getInt(supplier));
+        Assertions.assertEquals(99, accessor.get(supplier));
+        Assertions.assertEquals(99L, accessor.getLong(supplier));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accessor.getBoolean(supplier));
+    }
+
+    private static class Sample {
+
+        private static final String CONSTANT = "constant";
+
+        private static int counter;
+
+        private final long id;
+
+        private int count;
+
+        private long total;
+
+        private double ratio;
+
+        private boolean enabled;
+
+        private Integer boxed;
+
+        private String name;
+
+        private Sample() {
+            // 不使用常量初始化，避免读取时被编译器内联
+            this.id = 1L;
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.demo.test;
+
+import com.biz.common.utils.FileHashUtils;
+import com.biz.common.utils.HashAlgorithm;
+import com.biz.common.utils.MD5Utils;
+import com.biz.common.utils.XxHash64;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试 {@link FileHashUtils} 各算法的正确性、分块哈希，并输出大文件的吞吐量。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class FileHashUtilsTest {
+
+    private static final int LARGE_FILE_MB = 256;
+
+    /**
+     * 大文件只在整个测试类中生成一次。
+     */
+    private static Path large;
+
+    private Path small;
+
+    private byte[] smallContent;
+
+    @BeforeAll
+    static void createLargeFile() throws IOException {
+        Random random = new Random(13);
+        large = Files.createTempFile("file-hash-large", ".bin");
+        byte[] block = new byte[1024 * 1024];
+        try (OutputStream out = Files.newOutputStream(large)) {
+            for (int i = 0; i < LARGE_FILE_MB; i++) {
+                random.nextBytes(block);
+                out.write(block);
+            }
+        }
+    }
+
+    @AfterAll
+    static void deleteLargeFile() throws IOException {
+        Files.deleteIfExists(large);
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smallContent = new byte[3 * 1024 * 1024 + 17];
+        new Random(11).nextBytes(smallContent);
+        small = Files.createTempFile("file-hash-small", ".bin");
+        Files.write(small, smallContent);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(small);
+    }
+
+    @Test
+    void testKnownVectors() {
+        Assertions.assertEquals(0xEF46DB3751D8E999L, XxHash64.hash(new byte[0]));
+        Assertions.assertEquals(0x44BC2CF5AD770999L, XxHash64.hash("abc"));
+        Assertions.assertEquals(0xFBCEA83C8A378BF1L, XxHash64.hash("Nobody inspects the spammish repetition"));
+    }
+
+    @Test
+    void testMatchesMessageDigest() throws Exception {
+        Assertions.assertEquals(hex(MessageDigest.getInstance("MD5").digest(smallContent)), MD5Utils.computeFileMD5(small.toFile()));
+        Assertions.assertEquals(hex(MessageDigest.getInstance("SHA-256").digest(smallContent)), FileHashUtils.hash(small, HashAlgorithm.SHA_256));
+        // 大文件经过内存映射读取，结果与小文件的按位置读取一致
+        Assertions.assertEquals(FileHashUtils.hash(large, HashAlgorithm.MD5), MD5Utils.computeFileMD5(large.toFile()));
+
+        Path crcFile = Files.createTempFile("file-hash-crc", ".txt");
+        try {
+            Files.write(crcFile, "123456789".getBytes(StandardCharsets.US_ASCII));
+            Assertions.assertEquals("e3069283", FileHashUtils.hash(crcFile, HashAlgorithm.CRC32C));
+            Assertions.assertEquals("cbf43926", FileHashUtils.hash(crcFile, HashAlgorithm.CRC32));
+        } finally {
+            Files.deleteIfExists(crcFile);
+        }
+    }
+
+    @Test
+    void testChunkedHash() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long chunkSize = 1024 * 1024;
+            FileHashUtils.ChunkedHash chunked = FileHashUtils.chunkedHash(small, HashAlgorithm.SHA_256, chunkSize, executor);
+            Assertions.assertEquals(4, chunked.getChunks().size());
+            Assertions.assertEquals(smallContent.length, chunked.getFileSize());
+
+            MessageDigest root = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < 4; i++) {
+                int from = (int) (i * chunkSize);
+                int to = (int) Math.min(from + chunkSize, smallContent.length);
+                MessageDigest chunk = MessageDigest.getInstance("SHA-256");
+                chunk.update(smallContent, from, to - from);
+                byte[] digest = chunk.digest();
+                Assertions.assertEquals(hex(digest), chunked.getChunks().get(i));
+                root.update(digest);
+            }
+            Assertions.assertEquals(hex(root.digest()), chunked.getRoot());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testThroughput() throws Exception {
+        long start = System.nanoTime();
+        MessageDigest legacy = MessageDigest.getInstance("MD5");
+        try (InputStream in = Files.newInputStream(large)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                legacy.update(buffer, 0, read);
+            }
+        }
+        report("MD5 (8KB stream)", start);
+        String legacyHex = hex(legacy.digest());
+
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            start = System.nanoTime();
+            String hash = FileHashUtils.hash(large, algorithm);
+            report(algorithm.name(), start);
+            if (algorithm == HashAlgorithm.MD5) {
+                Assertions.assertEquals(legacyHex, hash);
+            }
+        }
+        for (HashAlgorithm algorithm : new HashAlgorithm[]{HashAlgorithm.MD5, HashAlgorithm.SHA_256, HashAlgorithm.XXH64}) {
+            start = System.nanoTime();
+            FileHashUtils.chunkedHash(large, algorithm, 32L * 1024 * 1024);
+            report(algorithm.name() + " chunked", start);
+        }
+    }
+
+    private static void report(String name, long start) {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("{}: {} MB in {} ms, {} MB/s ({} cpus)", name, LARGE_FILE_MB, millis,
+                LARGE_FILE_MB * 1000L / millis, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.demo.test;
+
+import com.biz.common.file.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 测试 {@link FileUtils} 的流式 Base64 编码和解码。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class FileUtilsTest {
+
+    private static final int LARGE_FILE_SIZE = 64 * 1024 * 1024 + 1;
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("file-utils");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testStreamingMatchesInMemoryEncoding() throws IOException {
+        Random random = new Random(42);
+        // 覆盖没有填充、一个和两个填充字符，以及恰好跨越分块边界的长度
+        for (int size : new int[]{0, 1, 2, 3, 49_151, 49_152, 49_153, 1_000_000}) {
+            byte[] content = new byte[size];
+            random.nextBytes(content);
+            Path source = Files.write(directory.resolve("source-" + size + ".bin"), content);
+            String expected = Base64.getEncoder().encodeToString(content);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Assertions.assertEquals(size, FileUtils.fileToBase64(source, out));
+            Assertions.assertEquals(expected, new String(out.toByteArray(), StandardCharsets.US_ASCII));
+
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            Assertions.assertEquals(size, FileUtils.decodeBase64(new ByteArrayInputStream(out.toByteArray()), decoded));
+            Assertions.assertArrayEquals(content, decoded.toByteArray());
+
+            FileUtils.FileDTO dto = FileUtils.fileToBase64(source.toFile());
+            Assertions.assertEquals(expected, dto.getContext());
+            Assertions.assertEquals("bin", dto.getType());
+        }
+    }
+
+    @Test
+    void testLargeFileRoundTripThroughChannels() throws IOException {
+        byte[] block = new byte[1024 * 1024];
+        new Random(7).nextBytes(block);
+        Path source = directory.resolve("large.bin");
+        try (OutputStream out = Files.newOutputStream(source)) {
+            for (int written = 0; written < LARGE_FILE_SIZE; written += block.length) {
+                out.write(block, 0, Math.min(block.length, LARGE_FILE_SIZE - written));
+            }
+        }
+
+        Path encoded = directory.resolve("large.b64");
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(encoded, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            Assertions.assertEquals(LARGE_FILE_SIZE, FileUtils.fileToBase64(source, channel));
+        }
+        long encodeNanos = System.nanoTime() - start;
+        Assertions.assertEquals((LARGE_FILE_SIZE + 2) / 3 * 4, Files.size(encoded));
+        // 文件末尾的换行符会被忽略
+        Files.write(encoded, "\n".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+
+        Path restored = directory.resolve("nested/restored.bin");
+        start = System.nanoTime();
+        try (InputStream in = Files.newInputStream(encoded)) {
+            Assertions.assertEquals(LARGE_FILE_SIZE, FileUtils.base64ToFile(in, restored));
+        }
+        long decodeNanos = System.nanoTime() - start;
+        log.info("{} MB: encode {} ms, decode {} ms", LARGE_FILE_SIZE >> 20,
+                TimeUnit.NANOSECONDS.toMillis(encodeNanos), TimeUnit.NANOSECONDS.toMillis(decodeNanos));
+
+        Assertions.assertEquals(LARGE_FILE_SIZE, Files.size(restored));
+        Assertions.assertTrue(sameContent(source, restored));
+    }
+
+    @Test
+    void testInvalidBase64IsRejected() {
+        Path target = directory.resolve("invalid.bin");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> FileUtils.base64ToFile(new ByteArrayInputStream("not*base64".getBytes(StandardCharsets.US_ASCII)), target));
+    }
+
+    private static boolean sameContent(Path left, Path right) throws IOException {
+        byte[] leftBuffer = new byte[1024 * 1024];
+        byte[] rightBuffer = new byte[1024 * 1024];
+        try (InputStream leftIn = Files.newInputStream(left); InputStream rightIn = Files.newInputStream(right)) {
+            while (true) {
+                int leftRead = readFully(leftIn, leftBuffer);
+                int rightRead = readFully(rightIn, rightBuffer);
+                if (leftRead != rightRead
+                        || !Arrays.equals(Arrays.copyOf(leftBuffer, leftRead), Arrays.copyOf(rightBuffer, rightRead))) {
+                    return false;
+                }
+                if (leftRead < leftBuffer.length) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,267 @@
+package com.demo.test;
+
+import com.biz.common.transactional.GroupCommitRunner;
+import com.biz.common.transactional.TransactionalRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 使用 H2 内嵌数据库测试 {@link GroupCommitRunner} 的组提交、失败隔离，以及与关闭同时提交的代码块都有结果。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class GroupCommitRunnerTest {
+
+    private static final int ROWS = 2_000;
+
+    private Connection connection;
+
+    private JdbcTransactionalRunner transactionalRunner;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:group_commit;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS audit");
+            statement.execute("CREATE TABLE audit (id INT PRIMARY KEY, content VARCHAR(64))");
+        }
+        connection.setAutoCommit(false);
+        transactionalRunner = new JdbcTransactionalRunner(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void testConcurrentWritesAreGroupCommitted() throws Exception {
+        GroupCommitRunner runner = GroupCommitRunner.builder(transactionalRunner)
+                .maxBatchSize(100)
+                .maxDelay(5, TimeUnit.MILLISECONDS)
+                .build();
+        ExecutorService callers = Executors.newFixedThreadPool(32);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                int id = i;
+                futures.add(callers.submit(() -> runner.run(() -> insert(id, "row-" + id))));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            log.info("group commit: {} rows in {} ms, {} transactions, {}", ROWS,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), transactionalRunner.commits, runner);
+        } finally {
+            callers.shutdown();
+            runner.close();
+        }
+        Assertions.assertEquals(ROWS, count());
+        Assertions.assertTrue(transactionalRunner.commits < ROWS / 10);
+    }
+
+    @Test
+    void testFailedUnitIsIsolated() throws Exception {
+        insert(7, "existing");
+        connection.commit();
+
+        GroupCommitRunner runner = GroupCommitRunner.builder(transactionalRunner)
+                .maxBatchSize(50)
+                .maxDelay(50, TimeUnit.MILLISECONDS)
+                .build();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        try {
+            // id 为7的行已存在，插入会违反主键约束
+            for (int i = 0; i < 20; i++) {
+                int id = i;
+                futures.add(runner.submit(() -> insert(id, "row-" + id)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(t -> null).join();
+            log.info("{}", runner);
+        } finally {
+            runner.close();
+        }
+
+        ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> futures.get(7).get());
+        Assertions.assertTrue(error.getCause().getCause() instanceof SQLException);
+        for (int i = 0; i < 20; i++) {
+            if (i != 7) {
+                Assertions.assertEquals(1, (int) futures.get(i).get());
+            }
+        }
+        Assertions.assertEquals(20, count());
+        Assertions.assertEquals(1, runner.getFailedUnitCount());
+        Assertions.assertTrue(runner.getRollbackCount() >= 1);
+    }
+
+    @Test
+    void testSubmitRacingWithClose() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            GroupCommitRunner runner = GroupCommitRunner.builder(transactionalRunner)
+                    .maxBatchSize(16)
+                    .maxDelay(1, TimeUnit.MILLISECONDS)
+                    .build();
+            List<CompletableFuture<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            try {
+                for (int i = 0; i < 8; i++) {
+                    callers.execute(() -> {
+                        try {
+                            while (true) {
+                                futures.add(runner.submit(() -> 1));
+                            }
+                        } catch (RejectedExecutionException e) {
+                            // 执行器已关闭
+                        }
+                    });
+                }
+                Thread.sleep(5);
+                runner.close();
+            } finally {
+                callers.shutdown();
+                Assertions.assertTrue(callers.awaitTermination(10, TimeUnit.SECONDS));
+            }
+
+            // 与关闭同时提交的代码块要么已提交，要么被拒绝，不会一直没有结果
+            int committed = 0;
+            for (CompletableFuture<Integer> future : futures) {
+                try {
+                    committed += future.get(5, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+                }
+            }
+            Assertions.assertEquals(committed, runner.getUnitCount() - runner.getFailedUnitCount());
+        }
+    }
+
+    @Test
+    void testBlockedSubmitIsRejectedOnClose() throws Exception {
+        GroupCommitRunner runner = GroupCommitRunner.builder(transactionalRunner)
+                .maxBatchSize(1)
+                .queueCapacity(1)
+                .build();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // 第一个代码块阻塞提交线程，第二个代码块占满队列
+            CompletableFuture<Integer> first = runner.submit(() -> {
+                entered.countDown();
+                awaitQuietly(release);
+                return 1;
+            });
+            Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Integer> second = runner.submit(() -> 2);
+            Future<?> blocked = callers.submit(() -> runner.submit(() -> 3));
+            Future<?> closing = callers.submit(() -> {
+                runner.close();
+                return null;
+            });
+
+            // 关闭后阻塞在队列上的提交方被拒绝，不需要等提交线程腾出空位
+            ExecutionException error = Assertions.assertThrows(ExecutionException.class, () -> blocked.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(error.getCause() instanceof RejectedExecutionException);
+
+            release.countDown();
+            closing.get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(1, (int) first.get());
+            Assertions.assertEquals(2, (int) second.get());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            runner.close();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int insert(int id, String content) {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO audit (id, content) VALUES (?, ?)")) {
+            statement.setInt(1, id);
+            statement.setString(2, content);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int count() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM audit")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * 基于单个 JDBC 连接的 {@link TransactionalRunner}，模拟 Spring 的 {@code @Transactional}。
+     */
+    private static class JdbcTransactionalRunner implements TransactionalRunner {
+
+        private final Connection connection;
+
+        private int commits;
+
+        JdbcTransactionalRunner(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void run(Runnable runnable) {
+            apply(() -> {
+                runnable.run();
+                return null;
+            });
+        }
+
+        @Override
+        public synchronized <TR> TR apply(Supplier<TR> supplier) {
+            try {
+                TR result = supplier.get();
+                connection.commit();
+                commits++;
+                return result;
+            } catch (RuntimeException | SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+            }
+        }
+    }
+
+}
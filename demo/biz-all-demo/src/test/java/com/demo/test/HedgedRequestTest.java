@@ -0,0 +1,217 @@
+package com.demo.test;
+
+import com.biz.common.http.HedgePolicy;
+import com.biz.common.http.HostLatency;
+import com.biz.common.http.HttpRequestHelper;
+import com.biz.common.http.PooledHttpClient;
+import com.biz.common.http.RetryPolicy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 使用注入了延迟和错误的进程内 HTTP 服务测试 {@link HttpRequestHelper} 的对冲请求、重试，以及等待时被中断的处理。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class HedgedRequestTest {
+
+    private static final long SLOW_MILLIS = 500;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private PooledHttpClient client;
+
+    private String baseUrl;
+
+    private final AtomicInteger slowHits = new AtomicInteger();
+
+    private final AtomicInteger flakyHits = new AtomicInteger();
+
+    private final AtomicInteger downHits = new AtomicInteger();
+
+    private final AtomicInteger missingHits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        // 每10个请求中有1个很慢
+        server.createContext("/slow", exchange -> {
+            sleep(slowHits.incrementAndGet() % 10 == 0 ? SLOW_MILLIS : 2);
+            respond(exchange, 200, "ok");
+        });
+        // 每3个请求中前2个返回503
+        server.createContext("/flaky", exchange ->
+                respond(exchange, flakyHits.incrementAndGet() % 3 == 0 ? 200 : 503, "flaky"));
+        server.createContext("/down", exchange -> {
+            downHits.incrementAndGet();
+            respond(exchange, 503, "down");
+        });
+        server.createContext("/missing", exchange -> {
+            missingHits.incrementAndGet();
+            respond(exchange, 404, "missing");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = PooledHttpClient.builder().readTimeout(5, TimeUnit.SECONDS).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testHedgingCutsTailLatency() throws Exception {
+        HedgePolicy hedge = HedgePolicy.builder()
+                .minSamples(10)
+                .maxDelay(50, TimeUnit.MILLISECONDS)
+                .build();
+        long worst = 0;
+        for (int i = 0; i < 200; i++) {
+            long start = System.nanoTime();
+            Assertions.assertEquals("ok", HttpRequestHelper.get(baseUrl + "/slow").client(client).hedge(hedge).build().execute());
+            worst = Math.max(worst, System.nanoTime() - start);
+        }
+        HostLatency latency = client.getHostLatency("127.0.0.1:" + server.getAddress().getPort());
+        log.info("hedged: worst {} ms, {}", TimeUnit.NANOSECONDS.toMillis(worst), latency);
+
+        // 慢请求被对冲请求取代，最慢的请求也远小于服务端注入的延迟
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(worst) < SLOW_MILLIS - 100);
+        Assertions.assertTrue(latency.getHedgeCount() >= 15);
+        Assertions.assertTrue(latency.getHedgeWinCount() >= 15);
+        // 落后的请求被中止，连接立即归还
+        long deadline = System.currentTimeMillis() + 100;
+        while (client.getLeasedConnections() > 0 && System.currentTimeMillis() < deadline) {
+            sleep(5);
+        }
+        Assertions.assertEquals(0, client.getLeasedConnections());
+    }
+
+    @Test
+    void testHedgingRequiresIdempotentMethod() {
+        HedgePolicy hedge = HedgePolicy.builder().build();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> HttpRequestHelper.post(baseUrl + "/slow").hedge(hedge).build());
+    }
+
+    @Test
+    void testRetryRequiresIdempotentMethod() {
+        RetryPolicy retry = RetryPolicy.builder().build();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> HttpRequestHelper.post(baseUrl + "/flaky").retry(retry).build());
+        Assertions.assertNotNull(HttpRequestHelper.put(baseUrl + "/flaky").retry(retry).build());
+    }
+
+    @Test
+    void testRetryWithBackoff() throws Exception {
+        RetryPolicy retry = RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(1, TimeUnit.MILLISECONDS)
+                .build();
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("flaky", HttpRequestHelper.get(baseUrl + "/flaky").client(client).retry(retry).build().execute());
+        }
+        HostLatency latency = client.getHostLatency("127.0.0.1:" + server.getAddress().getPort());
+        log.info("retry: {}, {}", latency, retry);
+        Assertions.assertEquals(15, flakyHits.get());
+        Assertions.assertEquals(10, latency.getRetryCount());
+
+        // 4xx 不重试
+        Assertions.assertThrows(HttpRequestHelper.HttpRequestException.class,
+                () -> HttpRequestHelper.get(baseUrl + "/missing").client(client).retry(retry).build().execute());
+        Assertions.assertEquals(1, missingHits.get());
+    }
+
+    @Test
+    void testRetryBudgetLimitsRetries() {
+        RetryPolicy retry = RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(1, TimeUnit.MILLISECONDS)
+                .budget(0, 2)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThrows(HttpRequestHelper.HttpRequestException.class,
+                    () -> HttpRequestHelper.get(baseUrl + "/down").client(client).retry(retry).build().execute());
+        }
+        log.info("budget: {}", retry);
+        // 第一个请求用完了2次重试的预算，之后的请求不再重试
+        Assertions.assertEquals(5, downHits.get());
+        Assertions.assertEquals(2, retry.getBudgetExhaustedCount());
+    }
+
+    @Test
+    void testInterruptDuringBackoff() throws Exception {
+        RetryPolicy retry = RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(10, TimeUnit.SECONDS)
+                .maxBackoff(10, TimeUnit.SECONDS)
+                .build();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            try {
+                HttpRequestHelper.get(baseUrl + "/down").client(client).retry(retry).build().execute();
+            } catch (HttpRequestHelper.HttpRequestException e) {
+                error.set(e);
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        caller.start();
+        while (downHits.get() == 0) {
+            sleep(5);
+        }
+        sleep(50);
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(5));
+
+        // 退避等待被中断后立即结束，不再重试，并保留中断状态
+        Assertions.assertFalse(caller.isAlive());
+        Assertions.assertTrue(error.get().getCause() instanceof InterruptedException);
+        Assertions.assertTrue(interrupted.get());
+        Assertions.assertEquals(1, downHits.get());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        } catch (IOException e) {
+            // 对冲请求胜出后客户端中止了落后的请求
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.demo.test;
+
+import com.biz.common.utils.HexUtils;
+import com.biz.common.utils.MD5Utils;
+import com.biz.common.utils.MessageDigestUtils;
+import com.biz.common.utils.SecureUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+
+/**
+ * 测试 {@link HexUtils} 与 {@link MessageDigestUtils} 的正确性，并输出短字符串求摘要的单次耗时。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class HexUtilsTest {
+
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void testEncodeHex() {
+        Random random = new Random(7);
+        for (int length = 0; length < 64; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            String expected = format(bytes);
+            Assertions.assertEquals(expected, HexUtils.encodeHex(bytes));
+            Assertions.assertEquals(expected.toUpperCase(), HexUtils.encodeHexUpper(bytes));
+        }
+
+        char[] out = new char[10];
+        Assertions.assertEquals(4, HexUtils.encodeHex(new byte[]{(byte) 0xAB, 0x01}, out, 3, false));
+        Assertions.assertEquals("ab01", new String(out, 3, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HexUtils.encodeHex(new byte[4], out, 3, true));
+    }
+
+    @Test
+    void testDigest() {
+        Assertions.assertEquals("9e107d9d372bb6826bd81d3542a419d6", MD5Utils.computeMD5("The quick brown fox jumps over the lazy dog"));
+        Assertions.assertEquals("9E107D9D372BB6826BD81D3542A419D6", MD5Utils.computeUpperCaseMD5("The quick brown fox jumps over the lazy dog"));
+        Assertions.assertTrue(SecureUtils.matchByUpperCaseMD5("The quick brown fox jumps over the lazy dog", "9E107D9D372BB6826BD81D3542A419D6"));
+        Assertions.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                HexUtils.encodeHex(MessageDigestUtils.sha256().digest("abc".getBytes(StandardCharsets.UTF_8))));
+
+        // 上一次计算中途留下的数据不影响下一次取出的实例
+        MessageDigestUtils.md5().update("garbage".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals("d41d8cd98f00b204e9800998ecf8427e", HexUtils.encodeHex(MessageDigestUtils.md5().digest()));
+    }
+
+    @Test
+    void testPerformance() throws Exception {
+        String[] inputs = new String[1024];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = "user-" + i + "@example.com";
+        }
+        // 预热
+        legacyMd5(inputs);
+        currentMd5(inputs);
+
+        long start = System.nanoTime();
+        int sink = legacyMd5(inputs);
+        long legacy = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        sink += currentMd5(inputs);
+        long current = System.nanoTime() - start;
+
+        log.info("MD5 hex of short strings: getInstance + Integer.toHexString {} ns/op, reused digest + lookup table {} ns/op ({})",
+                legacy / ITERATIONS, current / ITERATIONS, sink);
+    }
+
+    private static int legacyMd5(String[] inputs) throws Exception {
+        int sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] digest = md.digest(inputs[i & (inputs.length - 1)].getBytes());
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest) {
+                String hex = Integer.toHexString(0xFF & b);
+                if (hex.length() == 1) {
+                    builder.append('0');
+                }
+                builder.append(hex);
+            }
+            sink += builder.length();
+        }
+        return sink;
+    }
+
+    private static int currentMd5(String[] inputs) {
+        int sink = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += MD5Utils.computeMD5(inputs[i & (inputs.length - 1)]).length();
+        }
+        return sink;
+    }
+
+    private static String format(byte[] bytes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.demo.test;
+
+import com.biz.common.http.HttpRequestHelper;
+import com.biz.common.http.PooledHttpClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 使用进程内的 HTTP 服务测试 {@link HttpRequestHelper} 的连接复用、异步执行和流式下载。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class HttpRequestHelperTest {
+
+    private static final int LARGE_BODY_SIZE = 5 * 1024 * 1024;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private PooledHttpClient client;
+
+    private String baseUrl;
+
+    private final Set<Integer> remotePorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.createContext("/hello", exchange -> {
+            remotePorts.add(exchange.getRemoteAddress().getPort());
+            respond(exchange, "hello " + exchange.getRequestMethod());
+        });
+        server.createContext("/large", exchange -> {
+            exchange.sendResponseHeaders(200, LARGE_BODY_SIZE);
+            byte[] chunk = new byte[64 * 1024];
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int written = 0; written < LARGE_BODY_SIZE; written += chunk.length) {
+                    out.write(chunk, 0, Math.min(chunk.length, LARGE_BODY_SIZE - written));
+                }
+            }
+        });
+        server.createContext("/error", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = PooledHttpClient.builder()
+                .maxPerRoute(4)
+                .connectTimeout(1, TimeUnit.SECONDS)
+                .readTimeout(5, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testConnectionsAreReused() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            Assertions.assertEquals("hello GET", HttpRequestHelper.get(baseUrl + "/hello").client(client).build().execute());
+        }
+        log.info("200 sequential requests in {} ms over {} connections, {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), remotePorts.size(), client);
+        Assertions.assertTrue(remotePorts.size() <= 2);
+    }
+
+    @Test
+    void testExecuteAsync() throws Exception {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(HttpRequestHelper.post(baseUrl + "/hello").client(client).body("x").build().executeAsync());
+        }
+        for (CompletableFuture<String> future : futures) {
+            Assertions.assertEquals("hello POST", future.get(10, TimeUnit.SECONDS));
+        }
+        // 每个主机最多4个连接
+        Assertions.assertTrue(remotePorts.size() <= 4);
+
+        CompletableFuture<String> failed = HttpRequestHelper.get(baseUrl + "/error").client(client).build().executeAsync();
+        ExecutionException error = Assertions.assertThrows(ExecutionException.class, failed::get);
+        Assertions.assertTrue(error.getCause() instanceof HttpRequestHelper.HttpRequestException);
+    }
+
+    @Test
+    void testStreamToOutputStreamAndFile() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        long start = System.nanoTime();
+        long written = HttpRequestHelper.get(baseUrl + "/large").client(client).build().executeTo(out);
+        log.info("streamed {} bytes in {} ms", written, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        Assertions.assertEquals(LARGE_BODY_SIZE, written);
+        Assertions.assertEquals(LARGE_BODY_SIZE, out.count);
+
+        Path file = Files.createTempFile("http-request-helper", ".bin");
+        try {
+            Assertions.assertEquals(LARGE_BODY_SIZE, HttpRequestHelper.get(baseUrl + "/large").client(client).build().executeTo(file));
+            Assertions.assertEquals(LARGE_BODY_SIZE, Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * 只统计字节数、不保存内容的输出流。
+     */
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.demo.test;
+
+import com.biz.common.file.ImageBatchCompressor;
+import com.biz.common.file.ImageCompressor;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 测试 {@link ImageCompressor} 按最大大小压缩和 {@link ImageBatchCompressor} 批量压缩（包括目标文件重名），
+ * 并输出与逐次缩放旧实现的单张耗时对比。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class ImageCompressorTest {
+
+    private static final int SAMPLE_COUNT = 6;
+
+    private static final int MAX_SIZE_KB = 200;
+
+    private Path dir;
+
+    private Path sourceDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("image-compressor");
+        sourceDir = Files.createDirectories(dir.resolve("source"));
+        Random random = new Random(5);
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            // 手机照片的质量通常较高，截图和转发过的图片质量较低
+            float quality = i % 2 == 0 ? 0.95f : 0.6f;
+            writeJpeg(photo(1600 + i * 160, 1200 + i * 120, random), quality, sourceDir.resolve("photo-" + i + ".jpg").toFile());
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testCompressToMaxSize() throws IOException {
+        Path source = sourceDir.resolve("photo-0.jpg");
+        Path target = dir.resolve("photo-0.jpg");
+        ImageCompressor.compressImage(source.toString(), target.toString(), MAX_SIZE_KB);
+        Assertions.assertTrue(Files.size(target) <= MAX_SIZE_KB * 1024L);
+        Assertions.assertNotNull(ImageIO.read(target.toFile()));
+
+        // 已经满足大小的图片原样复制，目标文件已存在时覆盖
+        ImageCompressor.compressImage(target.toString(), target.toString() + ".copy.jpg", MAX_SIZE_KB);
+        ImageCompressor.compressImage(target.toString(), target.toString() + ".copy.jpg", MAX_SIZE_KB);
+        Assertions.assertEquals(Files.size(target), Files.size(Paths.get(target + ".copy.jpg")));
+    }
+
+    @Test
+    void testBatch() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // 内存上限只够同时解码两张图片
+            ImageBatchCompressor compressor = ImageBatchCompressor.builder(executor)
+                    .maxSizeKB(MAX_SIZE_KB)
+                    .maxConcurrency(4)
+                    .maxDecodedBytes(2L * 2400 * 1800 * 8)
+                    .build();
+            Files.write(sourceDir.resolve("broken.jpg"), new byte[MAX_SIZE_KB * 2048]);
+
+            long start = System.nanoTime();
+            List<ImageBatchCompressor.Result> results = compressor.compressDirectory(sourceDir, dir.resolve("target"));
+            log.info("batch of {} images: {} ms", results.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            Assertions.assertEquals(SAMPLE_COUNT + 1, results.size());
+            Assertions.assertFalse(results.get(0).isSuccess());
+            for (ImageBatchCompressor.Result result : results.subList(1, results.size())) {
+                log.info("{}", result);
+                Assertions.assertTrue(result.isSuccess());
+                Assertions.assertTrue(result.getTargetSize() <= MAX_SIZE_KB * 1024L);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testTargetNameCollision() throws Exception {
+        // 不同目录下的同名图片不会互相覆盖，后面的图片报告冲突
+        Path otherDir = Files.createDirectories(dir.resolve("other"));
+        Files.copy(sourceDir.resolve("photo-1.jpg"), otherDir.resolve("photo-0.jpg"));
+        Path targetDir = dir.resolve("target");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ImageBatchCompressor compressor = ImageBatchCompressor.builder(executor).maxSizeKB(MAX_SIZE_KB).build();
+            List<ImageBatchCompressor.Result> results = compressor.compress(
+                    Arrays.asList(sourceDir.resolve("photo-0.jpg"), otherDir.resolve("photo-0.jpg"), sourceDir.resolve("photo-2.jpg")),
+                    targetDir);
+
+            Assertions.assertTrue(results.get(0).isSuccess());
+            Assertions.assertTrue(results.get(2).isSuccess());
+            Assertions.assertFalse(results.get(1).isSuccess());
+            Assertions.assertTrue(results.get(1).getError() instanceof FileAlreadyExistsException);
+            Assertions.assertEquals(results.get(0).getTarget(), results.get(1).getTarget());
+            Assertions.assertEquals(results.get(0).getTargetSize(), Files.size(targetDir.resolve("photo-0.jpg")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testFillToLimit() throws IOException {
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            Path source = sourceDir.resolve("photo-" + i + ".jpg");
+            Path first = dir.resolve("first-" + i + ".jpg");
+            Path filled = dir.resolve("filled-" + i + ".jpg");
+            ImageCompressor.compressImage(source.toString(), first.toString(), MAX_SIZE_KB);
+            ImageCompressor.compressImage(source.toString(), filled.toString(), MAX_SIZE_KB, true);
+            log.info("{}: first fit {} KB, filled {} KB", source.getFileName(), Files.size(first) / 1024, Files.size(filled) / 1024);
+            Assertions.assertTrue(Files.size(first) <= MAX_SIZE_KB * 1024L);
+            Assertions.assertTrue(Files.size(filled) <= MAX_SIZE_KB * 1024L);
+        }
+    }
+
+    @Test
+    void testPerformance() throws IOException {
+        long legacyTotal = 0;
+        long currentTotal = 0;
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            File source = sourceDir.resolve("photo-" + i + ".jpg").toFile();
+
+            long start = System.nanoTime();
+            File legacy = dir.resolve("legacy-" + i + ".jpg").toFile();
+            legacyHandle(source, legacy, MAX_SIZE_KB);
+            long legacyNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            File current = dir.resolve("current-" + i + ".jpg").toFile();
+            ImageCompressor.compressImage(source.getPath(), current.getPath(), MAX_SIZE_KB);
+            long currentNanos = System.nanoTime() - start;
+
+            BufferedImage legacyImage = ImageIO.read(legacy);
+            BufferedImage currentImage = ImageIO.read(current);
+            log.info("{} ({} KB): legacy {} ms -> {}x{} {} KB, current {} ms -> {}x{} {} KB", source.getName(),
+                    source.length() / 1024,
+                    TimeUnit.NANOSECONDS.toMillis(legacyNanos), legacyImage.getWidth(), legacyImage.getHeight(), legacy.length() / 1024,
+                    TimeUnit.NANOSECONDS.toMillis(currentNanos), currentImage.getWidth(), currentImage.getHeight(), current.length() / 1024);
+            Assertions.assertTrue(current.length() <= MAX_SIZE_KB * 1024L);
+            legacyTotal += legacyNanos;
+            currentTotal += currentNanos;
+        }
+        log.info("average per image: legacy {} ms, current {} ms",
+                TimeUnit.NANOSECONDS.toMillis(legacyTotal / SAMPLE_COUNT), TimeUnit.NANOSECONDS.toMillis(currentTotal / SAMPLE_COUNT));
+    }
+
+    /**
+     * 1.5.1 之前的实现：每次从磁盘重新读取上一次的输出，缩小10%后重新编码，直到满足大小。
+     */
+    private static void legacyHandle(File inputFile, File outputFile, int maxSizeKB) throws IOException {
+        long inputFileSize = Files.size(inputFile.toPath());
+        double scale = Math.sqrt((double) (maxSizeKB * 1024) / inputFileSize);
+        Thumbnails.of(inputFile).scale(scale).outputQuality(0.85).toFile(outputFile);
+        long outputFileSize = Files.size(outputFile.toPath());
+        while (outputFileSize > maxSizeKB * 1024L) {
+            scale *= 0.9;
+            Thumbnails.of(outputFile).scale(scale).outputQuality(0.85).toFile(outputFile);
+            outputFileSize = Files.size(outputFile.toPath());
+        }
+    }
+
+    private static void writeJpeg(BufferedImage image, float quality, File file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 生成类似照片的图片：平滑的渐变加上随机噪点，JPEG 压缩后的大小与照片相近。
+     */
+    private static BufferedImage photo(int width, int height, Random random) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(48);
+                int r = (x * 255 / width + noise) & 0xFF;
+                int g = (y * 255 / height + noise) & 0xFF;
+                int b = ((x + y) * 127 / (width + height) + noise * 2) & 0xFF;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        return image;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.demo.test;
+
+import com.biz.common.jwt.JwtDecodeResult;
+import com.biz.common.jwt.JwtDecryptHelper;
+import com.biz.common.jwt.JwtUtils;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 测试 {@link JwtUtils#decode(String, String, SignatureAlgorithm)} 对有效、过期、密钥错误和格式错误的 Token 的解析结果，
+ * {@link JwtDecryptHelper} 对这三种 Token 的状态区分，以及签名Key数量超过解析器缓存上限后仍能正确验签。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class JwtUtilsTest {
+
+    private static final String SECRET = "jwt-utils-test-secret-0123456789";
+
+    private static final String OTHER_SECRET = "jwt-utils-test-other-secret-0123";
+
+    @Test
+    void testDecodeValid() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("sub", "francis");
+        data.put("userId", 42);
+        String token = JwtUtils.createToken(SECRET, System.currentTimeMillis() + 60_000, SignatureAlgorithm.HS256, data);
+
+        JwtDecodeResult result = JwtUtils.decode(token, SECRET, SignatureAlgorithm.HS256);
+        Assertions.assertTrue(result.isValid());
+        Assertions.assertTrue(result.isVerified());
+        Assertions.assertFalse(result.isExpired());
+        Assertions.assertEquals("francis", result.getSubject());
+        Assertions.assertEquals(Integer.valueOf(42), result.get("userId"));
+        Assertions.assertEquals("HS256", result.getHeader().getAlgorithm());
+        Assertions.assertNotNull(result.getExpiration());
+
+        // 与逐项解析的方法结果一致
+        Assertions.assertTrue(JwtUtils.checkToken(token, SECRET, SignatureAlgorithm.HS256));
+        Assertions.assertEquals("francis", JwtUtils.getSub(token, SECRET, SignatureAlgorithm.HS256));
+        Assertions.assertEquals(42, JwtUtils.getData(token, "userId", SECRET));
+
+        String defaultToken = JwtUtils.createToken("user", "john_doe");
+        Assertions.assertEquals("john_doe", JwtUtils.decode(defaultToken).get("user"));
+    }
+
+    @Test
+    void testDecodeExpired() {
+        String token = JwtUtils.createToken(SECRET, System.currentTimeMillis() - 60_000, SignatureAlgorithm.HS256, "user", "john_doe");
+
+        JwtDecodeResult result = JwtUtils.decode(token, SECRET, SignatureAlgorithm.HS256);
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertTrue(result.isVerified());
+        Assertions.assertTrue(result.isExpired());
+        // 签名正确的过期 Token 仍然返回声明内容，便于刷新 Token
+        Assertions.assertEquals("john_doe", result.get("user"));
+        Assertions.assertFalse(JwtUtils.checkToken(token, SECRET, SignatureAlgorithm.HS256));
+
+        // 签名错误的过期 Token 不返回声明
+        JwtDecodeResult forged = JwtUtils.decode(token, OTHER_SECRET, SignatureAlgorithm.HS256);
+        Assertions.assertFalse(forged.isVerified());
+        Assertions.assertFalse(forged.isExpired());
+        Assertions.assertNull(forged.getClaims());
+    }
+
+    @Test
+    void testDecodeWithWrongKey() {
+        String token = JwtUtils.createToken(SECRET, System.currentTimeMillis() + 60_000, SignatureAlgorithm.HS256, "user", "john_doe");
+
+        JwtDecodeResult result = JwtUtils.decode(token, OTHER_SECRET, SignatureAlgorithm.HS256);
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertFalse(result.isVerified());
+        Assertions.assertNull(result.getClaims());
+        Assertions.assertNull(result.get("user"));
+        Assertions.assertFalse(JwtUtils.checkToken(token, OTHER_SECRET, SignatureAlgorithm.HS256));
+
+        // 篡改载荷后签名不再匹配
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1].substring(0, parts[1].length() - 2) + "AA." + parts[2];
+        Assertions.assertFalse(JwtUtils.decode(tampered, SECRET, SignatureAlgorithm.HS256).isVerified());
+
+        Assertions.assertFalse(JwtUtils.decode(null).isVerified());
+        Assertions.assertFalse(JwtUtils.decode(" ").isVerified());
+        Assertions.assertFalse(JwtUtils.decode("not.a.token").isVerified());
+    }
+
+    @Test
+    void testDecryptHelper() {
+        String valid = JwtUtils.createToken(SECRET, System.currentTimeMillis() + 60_000, SignatureAlgorithm.HS256, "sub", "francis");
+        JwtDecryptHelper helper = decryptHelper(valid, SECRET);
+        Assertions.assertTrue(helper.isValid());
+        Assertions.assertFalse(helper.isExpired());
+        Assertions.assertEquals("francis", helper.getSubject());
+
+        String expired = JwtUtils.createToken(SECRET, System.currentTimeMillis() - 60_000, SignatureAlgorithm.HS256, "sub", "francis");
+        helper = decryptHelper(expired, SECRET);
+        Assertions.assertFalse(helper.isValid());
+        Assertions.assertTrue(helper.isExpired());
+        Assertions.assertNull(helper.getSubject());
+
+        // 伪造的 Token 既不是有效的，也不是过期的
+        helper = decryptHelper(valid, OTHER_SECRET);
+        Assertions.assertFalse(helper.isValid());
+        Assertions.assertFalse(helper.isExpired());
+        Assertions.assertNull(helper.getSubject());
+    }
+
+    @Test
+    void testManySigningKeys() {
+        // 超过解析器缓存上限的Key每次临时创建解析器，结果不受影响
+        for (int i = 0; i < 200; i++) {
+            String secret = String.format("jwt-utils-test-tenant-%010d", i);
+            String token = JwtUtils.createToken(secret, System.currentTimeMillis() + 60_000, SignatureAlgorithm.HS256, "tenant", i);
+            JwtDecodeResult result = JwtUtils.decode(token, secret, SignatureAlgorithm.HS256);
+            Assertions.assertTrue(result.isValid());
+            Assertions.assertEquals(Integer.valueOf(i), result.get("tenant"));
+            Assertions.assertFalse(JwtUtils.decode(token, SECRET, SignatureAlgorithm.HS256).isVerified());
+        }
+    }
+
+    private static JwtDecryptHelper decryptHelper(String token, String secret) {
+        return JwtDecryptHelper.decryptBuilder()
+                .token(token)
+                .secret(secret)
+                .signatureAlgorithm(SignatureAlgorithm.HS256)
+                .build();
+    }
+
+}
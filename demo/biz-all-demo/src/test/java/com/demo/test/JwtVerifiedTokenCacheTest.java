@@ -0,0 +1,170 @@
+package com.demo.test;
+
+import com.biz.common.jwt.JwtDecodeResult;
+import com.biz.common.jwt.JwtUtils;
+import com.biz.common.jwt.JwtVerifiedTokenCache;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试 {@link JwtVerifiedTokenCache} 的命中、过期、换用其他Key时不命中和按最近使用顺序淘汰，
+ * 并输出大量不同 Token 持续写入已满缓存时的单次解析耗时。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class JwtVerifiedTokenCacheTest {
+
+    private static final String SECRET = "jwt-cache-test-secret-0123456789";
+
+    private static final String OTHER_SECRET = "jwt-cache-test-other-secret-0123";
+
+    @AfterEach
+    void tearDown() {
+        JwtUtils.setVerifiedTokenCache(null);
+    }
+
+    @Test
+    void testHit() {
+        JwtVerifiedTokenCache cache = install(100, 60_000);
+        String token = token("john_doe", 60_000);
+
+        JwtDecodeResult first = decode(token, SECRET);
+        JwtDecodeResult second = decode(token, SECRET);
+        Assertions.assertTrue(first.isValid());
+        Assertions.assertTrue(second.isValid());
+        Assertions.assertEquals("john_doe", second.get("user"));
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getHitCount());
+        Assertions.assertEquals(1, cache.size());
+
+        // 修改返回的声明不影响缓存中的结果
+        first.getClaims().put("user", "changed");
+        second.getClaims().remove("user");
+        JwtDecodeResult third = decode(token, SECRET);
+        Assertions.assertEquals("john_doe", third.get("user"));
+        Assertions.assertEquals(2, cache.getHitCount());
+
+        // 验签失败的 Token 不进入缓存
+        Assertions.assertFalse(decode("not.a.token", SECRET).isVerified());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testDifferentKeyMisses() {
+        JwtVerifiedTokenCache cache = install(100, 60_000);
+        String token = token("john_doe", 60_000);
+        Assertions.assertTrue(decode(token, SECRET).isValid());
+
+        // 同一个 Token 换用其他Key时不能命中缓存，而是重新验签并失败
+        JwtDecodeResult result = decode(token, OTHER_SECRET);
+        Assertions.assertFalse(result.isVerified());
+        Assertions.assertNull(result.getClaims());
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testExpiry() throws InterruptedException {
+        // 条目存活时间到期后重新验签
+        JwtVerifiedTokenCache cache = install(100, 200);
+        String token = token("john_doe", 60_000);
+        Assertions.assertTrue(decode(token, SECRET).isValid());
+        TimeUnit.MILLISECONDS.sleep(300);
+        Assertions.assertTrue(decode(token, SECRET).isValid());
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+
+        // Token 自身过期后不再命中，返回过期结果
+        cache = install(100, 60_000);
+        String shortLived = token("jane_doe", 1_000);
+        JwtDecodeResult result = decode(shortLived, SECRET);
+        Assertions.assertTrue(result.isValid());
+        long waitMillis = result.getExpiration().getTime() - System.currentTimeMillis() + 50;
+        TimeUnit.MILLISECONDS.sleep(Math.max(waitMillis, 0));
+        JwtDecodeResult expired = decode(shortLived, SECRET);
+        Assertions.assertTrue(expired.isExpired());
+        Assertions.assertFalse(expired.isValid());
+        Assertions.assertEquals(0, cache.getHitCount());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        JwtVerifiedTokenCache cache = install(3, 60_000);
+        String a = token("a", 60_000);
+        String b = token("b", 60_000);
+        String c = token("c", 60_000);
+        String d = token("d", 60_000);
+        decode(a, SECRET);
+        decode(b, SECRET);
+        decode(c, SECRET);
+        // 访问 a 之后，最久未使用的是 b
+        decode(a, SECRET);
+        decode(d, SECRET);
+        Assertions.assertEquals(3, cache.size());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+
+        long hits = cache.getHitCount();
+        decode(a, SECRET);
+        decode(c, SECRET);
+        decode(d, SECRET);
+        Assertions.assertEquals(hits + 3, cache.getHitCount());
+        long misses = cache.getMissCount();
+        decode(b, SECRET);
+        Assertions.assertEquals(misses + 1, cache.getMissCount());
+        Assertions.assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testFloodOfDistinctTokens() {
+        int maxSize = 1000;
+        JwtVerifiedTokenCache cache = install(maxSize, 60_000);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            tokens.add(token("user-" + i, 60_000));
+        }
+
+        long start = System.nanoTime();
+        for (String token : tokens.subList(0, maxSize)) {
+            decode(token, SECRET);
+        }
+        long filling = (System.nanoTime() - start) / maxSize;
+
+        start = System.nanoTime();
+        for (String token : tokens.subList(maxSize, tokens.size())) {
+            decode(token, SECRET);
+        }
+        long full = (System.nanoTime() - start) / (tokens.size() - maxSize);
+
+        log.info("distinct tokens: {} ns/op while filling, {} ns/op once full", filling, full);
+        Assertions.assertEquals(maxSize, cache.size());
+        Assertions.assertEquals(tokens.size() - maxSize, cache.getEvictionCount());
+        Assertions.assertEquals(0, cache.getHitCount());
+    }
+
+    private static JwtVerifiedTokenCache install(int maxSize, long maxTtl) {
+        JwtVerifiedTokenCache cache = new JwtVerifiedTokenCache(maxSize, maxTtl);
+        JwtUtils.setVerifiedTokenCache(cache);
+        return cache;
+    }
+
+    private static String token(String user, long ttlMillis) {
+        return JwtUtils.createToken(SECRET, System.currentTimeMillis() + ttlMillis, SignatureAlgorithm.HS256, "user", user);
+    }
+
+    private static JwtDecodeResult decode(String token, String secret) {
+        return JwtUtils.decode(token, secret, SignatureAlgorithm.HS256);
+    }
+
+}
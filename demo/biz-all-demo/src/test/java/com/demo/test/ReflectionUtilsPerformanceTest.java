@@ -0,0 +1,82 @@
+package com.demo.test;
+
+import com.biz.common.reflection.ReflectionUtils;
+import com.biz.common.reflection.model.FieldModel;
+import com.demo.controller.vo.TestVerificationVo;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 性能测试类，用于对比 ReflectionUtils 缓存元数据前后获取字段信息的单次调用耗时。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class ReflectionUtilsPerformanceTest {
+
+    private static final int WARMUP = 100_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    void testGetFieldsReturnsCachedSet() {
+        Set<FieldModel> first = ReflectionUtils.getFields(TestVerificationVo.class);
+        Set<FieldModel> second = ReflectionUtils.getFields(TestVerificationVo.class);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(TestVerificationVo.class.getDeclaredFields().length, first.size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+    }
+
+    @Test
+    void testGetFieldsPerCallCost() {
+        Class<?> clazz = TestVerificationVo.class;
+        Assertions.assertEquals(buildWithoutCache(clazz), ReflectionUtils.getFields(clazz));
+        long blackhole = 0;
+
+        for (int i = 0; i < WARMUP; i++) {
+            blackhole += buildWithoutCache(clazz).size();
+            blackhole += ReflectionUtils.getFields(clazz).size();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += buildWithoutCache(clazz).size();
+        }
+        long uncached = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += ReflectionUtils.getFields(clazz).size();
+        }
+        long cached = System.nanoTime() - start;
+
+        log.info("getFields without cache: {} ns/op", uncached / ITERATIONS);
+        log.info("getFields with ClassValue cache: {} ns/op", cached / ITERATIONS);
+        log.info("blackhole: {}", blackhole);
+    }
+
+    /**
+     * 与缓存前的 ReflectionUtils#getFields 实现一致，每次调用都重新构建字段模型集合。
+     */
+    private static Set<FieldModel> buildWithoutCache(Class<?> clazz) {
+        Set<FieldModel> set = new HashSet<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            field.setAccessible(true);
+            set.add(FieldModel.builder()
+                    .modifier(Modifier.toString(field.getModifiers()))
+                    .typeName(field.getType().getSimpleName())
+                    .name(field.getName())
+                    .annotations(field.getAnnotations())
+                    .field(field)
+                    .build());
+        }
+        return set;
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.demo.test;
+
+import com.biz.common.jts.ShapefileToGeoJSON;
+import lombok.extern.slf4j.Slf4j;
+import org.geotools.data.FeatureWriter;
+import org.geotools.data.Transaction;
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geojson.feature.FeatureJSON;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 测试 {@link ShapefileToGeoJSON} 转换嵌套目录下的多个大文件，并输出与一次性写出整个要素集合的耗时对比。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class ShapefileToGeoJSONTest {
+
+    private static final int LARGE_FEATURES = 120_000;
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("shapefile-to-geojson");
+        createShapefile(dir.resolve("large.shp"), LARGE_FEATURES);
+        createShapefile(Files.createDirectories(dir.resolve("a")).resolve("medium.shp"), 50_000);
+        createShapefile(Files.createDirectories(dir.resolve("a/b")).resolve("small.shp"), 10);
+        createShapefile(dir.resolve("a/b/empty.shp"), 0);
+        Files.write(dir.resolve("a/broken.shp"), new byte[]{1, 2, 3});
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void testConvert() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long start = System.nanoTime();
+            List<ShapefileToGeoJSON.Result> results = ShapefileToGeoJSON.convert(dir, executor);
+            log.info("converted {} files in {} ms", results.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            results.forEach(result -> log.info("{}", result));
+
+            // 按路径排列：a/b/empty、a/b/small、a/broken、a/medium、large
+            Assertions.assertEquals(5, results.size());
+            Assertions.assertEquals(0, results.get(0).getFeatureCount());
+            Assertions.assertEquals(10, results.get(1).getFeatureCount());
+            Assertions.assertFalse(results.get(2).isSuccess());
+            Assertions.assertFalse(Files.exists(results.get(2).getTarget()));
+            Assertions.assertEquals(50_000, results.get(3).getFeatureCount());
+            Assertions.assertEquals(LARGE_FEATURES, results.get(4).getFeatureCount());
+
+            Assertions.assertEquals(0, countFeatures(dir.resolve("a/b/empty.geojson")));
+            Assertions.assertEquals(50_000, countFeatures(dir.resolve("a/medium.geojson")));
+            Assertions.assertEquals(LARGE_FEATURES, countFeatures(dir.resolve("large.geojson")));
+        } finally {
+            executor.shutdown();
+        }
+
+        // 旧实现在第一次调用后关闭了共享的线程池，第二次调用的任务会被拒绝
+        ShapefileToGeoJSON.traverseDirectory(dir.toFile());
+        List<ShapefileToGeoJSON.Result> again = ShapefileToGeoJSON.convert(dir);
+        Assertions.assertEquals(LARGE_FEATURES, again.get(4).getFeatureCount());
+    }
+
+    @Test
+    void testPerformance() throws Exception {
+        Path shapefile = dir.resolve("large.shp");
+
+        long start = System.nanoTime();
+        ShapefileDataStore dataStore = new ShapefileDataStore(shapefile.toUri().toURL());
+        dataStore.setCharset(Charset.forName("GBK"));
+        try (Writer writer = Files.newBufferedWriter(dir.resolve("legacy.geojson"))) {
+            new FeatureJSON().writeFeatureCollection(dataStore.getFeatureSource().getFeatures(), writer);
+        } finally {
+            dataStore.dispose();
+        }
+        long legacy = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        ShapefileToGeoJSON.convertShpToGeoJSON(shapefile.toFile());
+        long current = System.nanoTime() - start;
+
+        log.info("{} features: writeFeatureCollection {} ms, streaming {} ms", LARGE_FEATURES,
+                TimeUnit.NANOSECONDS.toMillis(legacy), TimeUnit.NANOSECONDS.toMillis(current));
+        Assertions.assertEquals(LARGE_FEATURES, countFeatures(dir.resolve("large.geojson")));
+    }
+
+    private static void createShapefile(Path file, int count) throws IOException {
+        SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
+        typeBuilder.setName("poi");
+        typeBuilder.setCRS(DefaultGeographicCRS.WGS84);
+        typeBuilder.add("the_geom", Point.class);
+        typeBuilder.add("name", String.class);
+        typeBuilder.add("code", Integer.class);
+        SimpleFeatureType type = typeBuilder.buildFeatureType();
+
+        GeometryFactory geometryFactory = new GeometryFactory();
+        ShapefileDataStore dataStore = new ShapefileDataStore(file.toUri().toURL());
+        try {
+            dataStore.setCharset(Charset.forName("GBK"));
+            dataStore.createSchema(type);
+            try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer = dataStore.getFeatureWriterAppend(Transaction.AUTO_COMMIT)) {
+                for (int i = 0; i < count; i++) {
+                    SimpleFeature feature = writer.next();
+                    feature.setAttribute("the_geom", geometryFactory.createPoint(new Coordinate(73 + i % 600 * 0.1, 18 + i / 600 * 0.1)));
+                    feature.setAttribute("name", "兴趣点" + i);
+                    feature.setAttribute("code", i);
+                    writer.write();
+                }
+            }
+        } finally {
+            dataStore.dispose();
+        }
+    }
+
+    private static long countFeatures(Path geoJson) throws IOException {
+        long count = 0;
+        // 传入 InputStream 时 GeoTools 按平台默认字符集解码，输出文件是 UTF-8，需要显式指定
+        try (Reader in = Files.newBufferedReader(geoJson, StandardCharsets.UTF_8)) {
+            FeatureIterator<SimpleFeature> features = new FeatureJSON().streamFeatureCollection(in);
+            try {
+                while (features.hasNext()) {
+                    SimpleFeature feature = features.next();
+                    if (count++ == 0) {
+                        Assertions.assertEquals("兴趣点0", feature.getAttribute("name"));
+                    }
+                }
+            } finally {
+                features.close();
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.demo.test;
+
+import com.biz.common.jts.GeometryUtils;
+import com.biz.common.jts.JTSUtils;
+import com.biz.common.jts.SpatialIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 测试 {@link SpatialIndex} 的查询结果与线性扫描一致，并输出单次查询耗时。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class SpatialIndexTest {
+
+    private static final int FENCE_COUNT = 5000;
+
+    private static final int QUERY_COUNT = 20_000;
+
+    private static final int NEAREST_CHECK_COUNT = 200;
+
+    private final Map<Integer, String> wkts = new LinkedHashMap<>();
+
+    private final Map<Integer, Geometry> geometries = new LinkedHashMap<>();
+
+    private double[][] points;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(3);
+        for (int i = 0; i < FENCE_COUNT; i++) {
+            // 在 100 x 100 的范围内随机分布、互相重叠的多边形围栏
+            Point center = JTSUtils.GEOMETRY_FACTORY.createPoint(new Coordinate(random.nextDouble() * 100, random.nextDouble() * 100));
+            Geometry fence = center.buffer(0.5 + random.nextDouble() * 1.5, 8);
+            geometries.put(i, fence);
+            wkts.put(i, fence.toText());
+        }
+        points = new double[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            points[i] = new double[]{random.nextDouble() * 100, random.nextDouble() * 100};
+        }
+    }
+
+    @Test
+    void testParseInParallel() {
+        List<String> texts = new ArrayList<>(wkts.values());
+        List<Geometry> parsed = IntStream.range(0, texts.size()).parallel()
+                .mapToObj(i -> GeometryUtils.geometryStrToGeometry(texts.get(i)))
+                .collect(Collectors.toList());
+        for (int i = 0; i < texts.size(); i++) {
+            Assertions.assertEquals(texts.get(i), parsed.get(i).toText());
+        }
+    }
+
+    @Test
+    void testMatchesLinearScan() {
+        SpatialIndex<Integer> index = SpatialIndex.<Integer>builder().addAllWkt(wkts).build();
+        Assertions.assertEquals(FENCE_COUNT, index.size());
+
+        for (int i = 0; i < 2000; i++) {
+            double[] p = points[i];
+            Point point = point(p);
+            Assertions.assertEquals(new HashSet<>(linearContaining(point)), new HashSet<>(index.containing(p[0], p[1])));
+        }
+
+        // 最近邻的线性扫描需要计算到每个围栏的距离，只检查一部分点
+        for (int i = 0; i < NEAREST_CHECK_COUNT; i++) {
+            double[] p = points[i];
+            Point point = point(p);
+            Map<Integer, Double> distances = new HashMap<>();
+            geometries.forEach((id, geometry) -> distances.put(id, geometry.distance(point)));
+
+            List<Integer> nearest = index.nearest(p[0], p[1], 5);
+            List<Double> expected = distances.values().stream()
+                    .sorted()
+                    .limit(5)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(5, nearest.size());
+            for (int k = 0; k < 5; k++) {
+                Assertions.assertEquals(expected.get(k), distances.get(nearest.get(k)), 1e-9);
+            }
+        }
+
+        Geometry road = GeometryUtils.geometryStrToGeometry("LINESTRING (0 0, 50 60, 100 20)");
+        List<Integer> expected = geometries.keySet().stream()
+                .filter(id -> geometries.get(id).intersects(road))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(new HashSet<>(expected), new HashSet<>(index.intersecting(road)));
+
+        Assertions.assertTrue(SpatialIndex.<Integer>builder().build().nearest(0, 0, 3).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.nearest(0, 0, 0));
+    }
+
+    @Test
+    void testPerformance() {
+        long start = System.nanoTime();
+        SpatialIndex<Integer> index = SpatialIndex.<Integer>builder().addAllWkt(wkts).build();
+        log.info("parsed and indexed {} fences in {} ms", FENCE_COUNT, (System.nanoTime() - start) / 1_000_000);
+
+        // 预热
+        int hits = 0;
+        for (double[] p : points) {
+            hits += index.containing(p[0], p[1]).size();
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < 500; i++) {
+            hits += linearContaining(point(points[i])).size();
+        }
+        long linear = (System.nanoTime() - start) / 500;
+
+        start = System.nanoTime();
+        for (double[] p : points) {
+            hits += index.containing(p[0], p[1]).size();
+        }
+        long indexed = (System.nanoTime() - start) / QUERY_COUNT;
+
+        start = System.nanoTime();
+        for (double[] p : points) {
+            hits += index.nearest(p[0], p[1], 3).size();
+        }
+        long nearest = (System.nanoTime() - start) / QUERY_COUNT;
+
+        start = System.nanoTime();
+        int parallelHits = IntStream.range(0, QUERY_COUNT).parallel()
+                .map(i -> index.containing(points[i][0], points[i][1]).size())
+                .sum();
+        long parallel = (System.nanoTime() - start) / QUERY_COUNT;
+
+        log.info("point in polygon over {} fences: linear scan {} ns/op, index {} ns/op, index from {} threads {} ns/op amortized; 3-nearest {} ns/op ({}, {})",
+                FENCE_COUNT, linear, indexed, Runtime.getRuntime().availableProcessors(), parallel, nearest, hits, parallelHits);
+    }
+
+    private List<Integer> linearContaining(Point point) {
+        List<Integer> result = new ArrayList<>();
+        for (Map.Entry<Integer, Geometry> entry : geometries.entrySet()) {
+            if (entry.getValue().covers(point)) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    private static Point point(double[] p) {
+        return JTSUtils.GEOMETRY_FACTORY.createPoint(new Coordinate(p[0], p[1]));
+    }
+
+}
@@ -85,4 +85,31 @@ public class TimedDeletionMapTest {
         assertNull(retrievedValue);
     }
 
+    @Test
+    void testBuilderDefaultsToSharedWheel() throws Exception {
+        TimedDeletionMap<String, String> map = new TimedDeletionMap.TimedDeletionMapBuilder<String, String>()
+                .withMapSupplier(ConcurrentHashMap::new)
+                .withCleanupInterval(20, TimeUnit.MILLISECONDS)
+                .build();
+        try {
+            map.put("key1", "value1", 50, TimeUnit.MILLISECONDS);
+            assertEquals(1, map.size());
+
+            // 未指定线程池时，清理任务在共享时间轮上反复执行，过期条目会被移除
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (map.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, map.size());
+        } finally {
+            map.close();
+        }
+
+        // 关闭后清理任务不再执行
+        Thread.sleep(50);
+        map.put("key2", "value2", 1, TimeUnit.MILLISECONDS);
+        Thread.sleep(200);
+        assertEquals(1, map.size());
+    }
+
 }
@@ -0,0 +1,147 @@
+package com.demo.test;
+
+import com.biz.common.concurrent.ConcurrencyLimiter;
+import com.biz.common.concurrent.ExecutorsUtils;
+import com.biz.common.concurrent.LimitedExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 性能测试类，用模拟的阻塞I/O任务对比固定大小线程池与虚拟线程执行器（低版本 Java 下为有界缓存线程池）的吞吐量。
+ *
+ * @author francis
+ * @since 1.5.1
+ **/
+@Slf4j
+public class VirtualThreadExecutorPerformanceTest {
+
+    private static final int TASKS = 2_000;
+    private static final long IO_MILLIS = 20;
+
+    @Test
+    void testBlockingIoThroughput() throws Exception {
+        ThreadPoolExecutor fixedPool = ExecutorsUtils.buildThreadPoolExecutor();
+        ExecutorService virtualExecutor = ExecutorsUtils.buildVirtualThreadExecutor();
+        try {
+            long fixed = runBlockingTasks(fixedPool);
+            long virtual = runBlockingTasks(virtualExecutor);
+            log.info("virtual threads supported: {}", ExecutorsUtils.isVirtualThreadSupported());
+            log.info("fixed pool ({} threads): {} tasks/s", fixedPool.getMaximumPoolSize(), TASKS * 1000L / fixed);
+            log.info("virtual thread executor: {} tasks/s", TASKS * 1000L / virtual);
+        } finally {
+            ExecutorsUtils.shutdownThreadPool(fixedPool);
+            virtualExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrencyLimit() throws Exception {
+        int limit = 10;
+        ExecutorService executor = ExecutorsUtils.buildVirtualThreadExecutor("limited", limit);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(5);
+                    running.decrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            if (executor instanceof LimitedExecutorService) {
+                Assertions.assertEquals(0, ((LimitedExecutorService) executor).getLimiter().getInFlight());
+            }
+            log.info("peak concurrency: {}", peak.get());
+            Assertions.assertTrue(peak.get() <= limit);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testShutdownNowWhileWaitingForPermits() throws Exception {
+        // 4 个线程、1 个许可：1 个任务执行中，3 个任务在执行线程中等待许可，其余任务在线程池队列中
+        LimitedExecutorService executor = new LimitedExecutorService(Executors.newFixedThreadPool(4), new ConcurrencyLimiter(1));
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            started.countDown();
+            sleep(60_000);
+        });
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> async = CompletableFuture.supplyAsync(() -> {
+            sleep(60_000);
+            return Thread.currentThread().isInterrupted() ? "interrupted" : "done";
+        }, executor);
+        List<Future<?>> waiting = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            waiting.add(executor.submit(() -> sleep(60_000)));
+        }
+        List<Future<?>> queued = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            queued.add(executor.submit(() -> sleep(60_000)));
+        }
+        while (executor.getLimiter().getWaiting() < 3) {
+            Thread.sleep(1);
+        }
+
+        List<Runnable> pending = executor.shutdownNow();
+        // 返回的是提交时的原始任务，而不是包装后的任务
+        Assertions.assertEquals(2, pending.size());
+        for (int i = 0; i < queued.size(); i++) {
+            Assertions.assertSame(queued.get(i), pending.get(i));
+        }
+        // 等待许可的任务被取消或执行完毕，等待结果的线程不会永远阻塞
+        running.get(5, TimeUnit.SECONDS);
+        for (Future<?> future : waiting) {
+            Assertions.assertThrows(CancellationException.class, () -> future.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals("interrupted", async.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, executor.getLimiter().getInFlight());
+    }
+
+    /**
+     * 提交一批模拟阻塞I/O的任务并等待全部完成。
+     *
+     * @return 总耗时，单位毫秒
+     */
+    private static long runBlockingTasks(ExecutorService executor) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(TASKS);
+        long start = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            futures.add(executor.submit(() -> sleep(IO_MILLIS)));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}